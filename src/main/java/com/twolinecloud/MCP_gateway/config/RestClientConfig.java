@@ -1,18 +1,46 @@
 package com.twolinecloud.MCP_gateway.config;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
 @Configuration
 public class RestClientConfig {
-    
+
     private static final String USER_AGENT = "MCP-Gateway/1.0";
-    
+
+    @Value("${openapi.http.connect-timeout:10s}")
+    private Duration connectTimeout = Duration.ofSeconds(10);
+
+    @Value("${openapi.http.read-timeout:30s}")
+    private Duration readTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Shared JDK client: keeps connections alive per host and multiplexes
+     * requests over one connection when the server speaks HTTP/2 (h2 / h2c upgrade),
+     * falling back to HTTP/1.1 otherwise
+     */
+    @Bean
+    public HttpClient httpClient() {
+        return HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(connectTimeout)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+    }
+
     @Bean
-    public RestClient restClient() {
+    public RestClient restClient(HttpClient httpClient) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(readTimeout);
         return RestClient.builder()
+            .requestFactory(requestFactory)
             .defaultHeader("User-Agent", USER_AGENT)
             .build();
     }
-}
\ No newline at end of file
+}
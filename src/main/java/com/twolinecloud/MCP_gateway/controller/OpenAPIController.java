@@ -1,9 +1,12 @@
 package com.twolinecloud.MCP_gateway.controller;
 
+import java.util.List;
+
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer;
+import com.twolinecloud.MCP_gateway.service.BulkIngestionService;
 import com.twolinecloud.MCP_gateway.service.OpenAPIService;
 
 @RestController
@@ -11,9 +14,11 @@ import com.twolinecloud.MCP_gateway.service.OpenAPIService;
 public class OpenAPIController {
 
     private final OpenAPIService openAPIService;
+    private final BulkIngestionService bulkIngestionService;
 
-    public OpenAPIController(OpenAPIService openAPIService) {
+    public OpenAPIController(OpenAPIService openAPIService, BulkIngestionService bulkIngestionService) {
         this.openAPIService = openAPIService;
+        this.bulkIngestionService = bulkIngestionService;
     }
 
     /**
@@ -30,6 +35,18 @@ public class OpenAPIController {
         }
     }
 
+    /**
+     * Ingests a list of spec URLs concurrently and returns per-URL results
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkIngestionService.BulkIngestionResult> ingestBulk(
+            @RequestBody BulkIngestionRequest request) {
+        if (request.urls() == null || request.urls().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(bulkIngestionService.ingestAll(request.urls(), request.includeResponses()));
+    }
+
     /**
      * Check health
      */
@@ -37,4 +54,9 @@ public class OpenAPIController {
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("OK");
     }
+
+    public record BulkIngestionRequest(
+        List<String> urls,
+        boolean includeResponses
+    ) {}
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.twolinecloud.MCP_gateway.controller;
+
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.twolinecloud.MCP_gateway.openapi.schema.SchemaCache;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidatorInterner;
+
+@RestController
+@RequestMapping("/api/admin/schema-cache")
+public class SchemaCacheAdminController {
+
+    private final SchemaCache schemaCache;
+    private final ValidatorInterner validatorInterner;
+
+    public SchemaCacheAdminController(SchemaCache schemaCache, ValidatorInterner validatorInterner) {
+        this.schemaCache = schemaCache;
+        this.validatorInterner = validatorInterner;
+    }
+
+    /**
+     * Schema cache and validator interner statistics
+     * (schemaCache.bySpec lists the spec keys accepted by DELETE /specs/{specKey})
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> stats() {
+        return ResponseEntity.ok(Map.of(
+            "schemaCache", schemaCache.getStats(),
+            "interner", validatorInterner.getStats()
+        ));
+    }
+
+    /**
+     * Evict cached schemas of one spec (key = spec content hash, see /stats)
+     */
+    @DeleteMapping("/specs/{specKey}")
+    public ResponseEntity<Map<String, Object>> evictSpec(@PathVariable String specKey) {
+        int removed = schemaCache.evictSpec(specKey);
+        return ResponseEntity.ok(Map.of("specKey", specKey, "evicted", removed));
+    }
+
+    /**
+     * Evict all cached schemas
+     */
+    @DeleteMapping
+    public ResponseEntity<Map<String, Object>> clear() {
+        schemaCache.clear();
+        return ResponseEntity.ok(schemaCache.getStats());
+    }
+}
@@ -1,17 +1,14 @@
 package com.twolinecloud.MCP_gateway.openapi.parser;
 
-import io.swagger.parser.OpenAPIParser;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.media.MediaType;
 import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.oas.models.responses.ApiResponse;
-import io.swagger.v3.parser.OpenAPIV3Parser;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
-import io.swagger.v3.parser.core.models.SwaggerParseResult;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -23,6 +20,13 @@ import java.util.stream.Collectors;
 public class OpenAPIAnalyzer {
 
 	private static final Logger log = LoggerFactory.getLogger(OpenAPIAnalyzer.class);
+
+    private final OpenAPISpecParser specParser;
+
+    public OpenAPIAnalyzer(OpenAPISpecParser specParser) {
+        this.specParser = specParser;
+    }
+
     /**
      * Parse and analyze OpenAPI via string
      * 
@@ -30,25 +34,17 @@ public class OpenAPIAnalyzer {
      * @return Analysis result
      */
     public AnalysisResult analyze(String specContent) {
-        log.info("OpenAPI 스펙 분석 시작...");
-        
-        // Detect Version (Before parsing)
-        String detectedVersion = detectVersionFromContent(specContent);
-        log.info("감지된 스펙 형식: " + detectedVersion);
+        return analyze(specParser.parse(specContent).openAPI());
+    }
 
-        // Parsing OpenAPI Spec (2.0 automatically converts to 3.0)
-        SwaggerParseResult parseResult = new OpenAPIParser().readContents(specContent, null, null);
-        OpenAPI openAPI = parseResult.getOpenAPI();
-        
-        if (openAPI == null) {
-            log.error("파싱 실패 상세:");
-            if (parseResult.getMessages() != null) {
-                parseResult.getMessages().forEach(msg -> log.error("  - " + msg));
-            }
-            throw new OpenAPIAnalysisException(
-                "OpenAPI 스펙 파싱 실패. 스펙 형식을 확인하세요."
-            );
-        }
+    /**
+     * Analyze an already parsed OpenAPI model
+     * 
+     * @param openAPI Parsed OpenAPI model
+     * @return Analysis result
+     */
+    public AnalysisResult analyze(OpenAPI openAPI) {
+        log.info("OpenAPI 스펙 분석 시작...");
 
         // Analysis
         //Number of end points
@@ -211,13 +207,61 @@ public class OpenAPIAnalyzer {
     }
 
     /**
-     * Extract schema info
+     * Extract schema info (also used by SchemaConverter for component schemas)
      */
-    private SchemaInfo extractSchemaInfo(Schema<?> schema) {
+    public static SchemaInfo extractSchemaInfo(Schema<?> schema) {
         if (schema == null) {
             return null;
         }
         
+        SchemaInfo schemaInfo = extractOwnSchemaInfo(schema);
+        
+        // Composition (allOf / anyOf / oneOf)
+        if (schema.get$ref() == null && 
+            (schema.getAllOf() != null || schema.getAnyOf() != null || schema.getOneOf() != null)) {
+            return schemaInfo.withComposition(
+                extractSchemaInfos(schema.getAllOf()),
+                extractSchemaInfos(schema.getAnyOf()),
+                extractSchemaInfos(schema.getOneOf()),
+                extractDiscriminator(schema)
+            );
+        }
+        
+        return schemaInfo;
+    }
+    
+    /**
+     * Extract list of composed schemas
+     */
+    private static List<SchemaInfo> extractSchemaInfos(List<?> schemas) {
+        if (schemas == null || schemas.isEmpty()) {
+            return null;
+        }
+        List<SchemaInfo> result = new ArrayList<>();
+        for (Object schema : schemas) {
+            result.add(extractSchemaInfo((Schema<?>) schema));
+        }
+        return result;
+    }
+    
+    /**
+     * Extract discriminator
+     */
+    private static DiscriminatorInfo extractDiscriminator(Schema<?> schema) {
+        if (schema.getDiscriminator() == null || 
+            schema.getDiscriminator().getPropertyName() == null) {
+            return null;
+        }
+        return new DiscriminatorInfo(
+            schema.getDiscriminator().getPropertyName(),
+            schema.getDiscriminator().getMapping()
+        );
+    }
+    
+    /**
+     * Extract schema info without composition keywords
+     */
+    private static SchemaInfo extractOwnSchemaInfo(Schema<?> schema) {
         String ref = schema.get$ref();
         if (ref != null) {
             // If $ref exists, return immediately with just the reference
@@ -232,70 +276,101 @@ public class OpenAPIAnalyzer {
             );
         }
 
-        String type = schema.getType();
+        String type = resolveType(schema);
         String format = schema.getFormat();
         
+        SchemaInfo itemsSchema = null;
+        Map<String, SchemaInfo> properties = null;
+        List<String> required = null;
+        
         // Arrays
         if ("array".equals(type) && schema.getItems() != null) {
-            SchemaInfo itemsSchema = extractSchemaInfo(schema.getItems());
-            return new SchemaInfo(
-                "array",
-                format,
-                null,
-                itemsSchema,
-                null,
-                schema.getDescription(),
-                null
-            );
+            itemsSchema = extractSchemaInfo(schema.getItems());
         }
 
-        // Objects
-        if ("object".equals(type) && schema.getProperties() != null) {
-            Map<String, SchemaInfo> properties = new HashMap<>();
-            schema.getProperties().forEach((propName, propSchema) -> {
-                properties.put(propName, extractSchemaInfo((Schema<?>) propSchema));
-            });
-
-            return new SchemaInfo(
-                "object",
-                format,
-                properties,
-                null,
-                schema.getRequired(),
-                schema.getDescription(),
-                null
-            );
+        // Objects (type inferred as object when only properties are given)
+        if (("object".equals(type) || type == null) && schema.getProperties() != null) {
+            type = "object";
+            properties = new HashMap<>();
+            for (Map.Entry<String, ?> entry : schema.getProperties().entrySet()) {
+                properties.put(entry.getKey(), extractSchemaInfo((Schema<?>) entry.getValue()));
+            }
         }
 
-        if (type == null && schema.getProperties() != null) {
-            Map<String, SchemaInfo> properties = new HashMap<>();
-            schema.getProperties().forEach((propName, propSchema) -> {
-                properties.put(propName, extractSchemaInfo((Schema<?>) propSchema));
-            });
+        // Required applies to objects, with or without own properties
+        // (e.g. an allOf part that only adds required fields)
+        if (("object".equals(type) || type == null) && schema.getRequired() != null
+            && !schema.getRequired().isEmpty()) {
+            required = schema.getRequired();
+        }
 
-            return new SchemaInfo(
-                "object",  // Infer type as object
-                format,
-                properties,
-                null,
-                schema.getRequired(),
-                schema.getDescription(),
-                null  // no $ref
-            );
+        // Numeric bounds: OpenAPI 3.0 uses boolean exclusive flags, 3.1 numeric values
+        Number minimum = schema.getMinimum();
+        Number maximum = schema.getMaximum();
+        Number exclusiveMinimum = schema.getExclusiveMinimumValue();
+        Number exclusiveMaximum = schema.getExclusiveMaximumValue();
+        if (Boolean.TRUE.equals(schema.getExclusiveMinimum()) && minimum != null) {
+            exclusiveMinimum = minimum;
+            minimum = null;
+        }
+        if (Boolean.TRUE.equals(schema.getExclusiveMaximum()) && maximum != null) {
+            exclusiveMaximum = maximum;
+            maximum = null;
         }
 
-        // Basic types (string, number, integer, boolean)
         return new SchemaInfo(
             type,
             format,
-            null,
-            null,
-            null,
+            properties,
+            itemsSchema,
+            required,
             schema.getDescription(),
-            null  // no $ref
+            null,  // no $ref
+            minimum,
+            maximum,
+            exclusiveMinimum,
+            exclusiveMaximum,
+            schema.getMinLength(),
+            schema.getMaxLength(),
+            schema.getPattern(),
+            extractEnumValues(schema),
+            schema.getMinItems(),
+            schema.getMaxItems(),
+            schema.getUniqueItems(),
+            null, null, null, null  // composition
         );
     }
-
+    
+    /**
+     * Resolve type (OpenAPI 3.1 type arrays: first non-null type)
+     */
+    private static String resolveType(Schema<?> schema) {
+        if (schema.getType() != null) {
+            return schema.getType();
+        }
+        if (schema.getTypes() != null) {
+            for (String type : schema.getTypes()) {
+                if (!"null".equals(type)) {
+                    return type;
+                }
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Extract allowed values (enum, or const as a single-value enum)
+     */
+    private static List<?> extractEnumValues(Schema<?> schema) {
+        if (schema.getEnum() != null && !schema.getEnum().isEmpty()) {
+            return new ArrayList<>(schema.getEnum());
+        }
+        if (schema.getConst() != null) {
+            return List.of(schema.getConst());
+        }
+        return null;
+    }
+    
     /**
      * Grouping HTTP methods
      */
@@ -327,31 +402,6 @@ public class OpenAPIAnalyzer {
         }
     }
     
-    /**
-     * Detect Spec Version
-     */
-    private String detectVersionFromContent(String specContent) {
-        if (specContent == null || specContent.isEmpty()) {
-            return "Unknown";
-        }
-        
-        // Detect Swagger 2.0
-        if ((specContent.substring(0, 20).contains("2.0"))
-        		) {
-            return "Swagger 2.0 (OpenAPI 2.0)";
-        }
-        
-        // Detect OpenAPI 3.x
-        if (specContent.substring(0, 20).contains("3.0")) {
-                return "OpenAPI 3.0";
-            } 
-        if (specContent.substring(0, 20).contains("3.1")) {
-                return "OpenAPI 3.1";
-            }
-        
-        return "Unknown";
-    }
-
     /**
      * End point Info
      */
@@ -425,7 +475,12 @@ public class OpenAPIAnalyzer {
         List<?> enumValues,                    // enum values
         Integer minItems,                      // minimum array items
         Integer maxItems,                      // maximum array items
-        Boolean uniqueItems  
+        Boolean uniqueItems,
+        
+        List<SchemaInfo> allOf,                // composition: must match all
+        List<SchemaInfo> anyOf,                // composition: must match at least one
+        List<SchemaInfo> oneOf,                // composition: must match exactly one
+        DiscriminatorInfo discriminator        // polymorphism hint for anyOf/oneOf
     ) {
     	public SchemaInfo(
     	        String type, 
@@ -440,7 +495,8 @@ public class OpenAPIAnalyzer {
     	             null,
     	             null, null, null, null,  // ⭐ NEW
     	             null, null, null, null,  // ⭐ NEW
-    	             null, null, null);       // ⭐ NEW
+    	             null, null, null,        // ⭐ NEW
+    	             null, null, null, null); // composition
     	    }
     	    
     	    // ⭐ NEW: Constructor with ref
@@ -458,10 +514,51 @@ public class OpenAPIAnalyzer {
     	             ref,
     	             null, null, null, null,  // ⭐ NEW
     	             null, null, null, null,  // ⭐ NEW
-    	             null, null, null);       // ⭐ NEW
+    	             null, null, null,        // ⭐ NEW
+    	             null, null, null, null); // composition
+    	    }
+    	    
+    	    /**
+    	     * Whether allOf / anyOf / oneOf is present
+    	     */
+    	    public boolean hasComposition() {
+    	        return (allOf != null && !allOf.isEmpty()) ||
+    	               (anyOf != null && !anyOf.isEmpty()) ||
+    	               (oneOf != null && !oneOf.isEmpty());
+    	    }
+    	    
+    	    /**
+    	     * Copy with composition keywords and discriminator added
+    	     */
+    	    public SchemaInfo withComposition(
+    	        List<SchemaInfo> allOf, 
+    	        List<SchemaInfo> anyOf, 
+    	        List<SchemaInfo> oneOf,
+    	        DiscriminatorInfo discriminator
+    	    ) {
+    	        return new SchemaInfo(type, format, properties, items, required, description, ref,
+    	             minimum, maximum, exclusiveMinimum, exclusiveMaximum,
+    	             minLength, maxLength, pattern, enumValues,
+    	             minItems, maxItems, uniqueItems,
+    	             allOf, anyOf, oneOf, discriminator);
+    	    }
+    	    
+    	    /**
+    	     * Copy without composition keywords (own type and constraints only)
+    	     */
+    	    public SchemaInfo withoutComposition() {
+    	        return withComposition(null, null, null, null);
     	    }
     	}
     
+    /**
+     * Discriminator info (OpenAPI discriminator object)
+     */
+    public record DiscriminatorInfo(
+        String propertyName,
+        Map<String, String> mapping            // discriminator value -> $ref (optional)
+    ) {}
+    
     
     
     /**
@@ -1,16 +1,39 @@
 package com.twolinecloud.MCP_gateway.openapi.parser;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
 
 
 @Component
@@ -19,11 +42,38 @@ public class OpenAPIDownloader {
 	private static final Logger log = LoggerFactory.getLogger(OpenAPIDownloader.class);
 
     private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Closes response bodies still being read at their deadline (a blocked read never returns to check it)
+     */
+    private static final ScheduledThreadPoolExecutor DEADLINES = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "openapi-download-deadline");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        DEADLINES.setRemoveOnCancelPolicy(true);
+    }
     
     private final RestClient restClient;
+    private final HttpClient httpClient;
 
-    public OpenAPIDownloader(RestClient restClient) {
+    /**
+     * Clients honoring the timeout and redirect policy of DownloadOptions
+     */
+    private final Map<ClientSettings, RestClient> clients = new ConcurrentHashMap<>();
+
+    /**
+     * Maximum decoded spec size in bytes (default for DownloadOptions)
+     */
+    @Value("${openapi.download.max-size:104857600}")
+    private long maxSize = 100L * 1024 * 1024;
+
+    public OpenAPIDownloader(RestClient restClient, HttpClient httpClient) {
         this.restClient = restClient;
+        this.httpClient = httpClient;
     }
     
 
@@ -53,32 +103,31 @@ public class OpenAPIDownloader {
         log.info("OpenAPI 명세서 다운로드 시작: " + url);
 
         try {
-            var requestSpec = restClient.get()
+            var requestSpec = clientFor(options).get()
                 .uri(url)
-                .headers(headers -> {
-                    headers.setAccept(List.of(
-                        MediaType.APPLICATION_JSON,
-                        MediaType.valueOf("application/yaml"),
-                        MediaType.valueOf("application/x-yaml"),
-                        MediaType.valueOf("text/yaml"),
-                        MediaType.TEXT_PLAIN
-                    ));
-                    
-                    // Add custom header
-                    if (options.getHeaders() != null) {
-                        options.getHeaders().forEach(headers::add);
-                    }
-                });
+                .headers(headers -> applyHeaders(headers, options));
 
-            String data = requestSpec
+            ResponseEntity<String> response = requestSpec
                 .retrieve()
-                .onStatus(HttpStatusCode::isError, (request, response) -> {
+                .onStatus(HttpStatusCode::isError, (request, errorResponse) -> {
                     throw new OpenAPIDownloadException(
-                        "다운로드 실패: HTTP " + response.getStatusCode() + 
-                        " " + response.getStatusText()
+                        "다운로드 실패: HTTP " + errorResponse.getStatusCode() + 
+                        " " + errorResponse.getStatusText()
                     );
                 })
-                .body(String.class);
+                .toEntity(String.class);
+
+            String etag = response.getHeaders().getFirst(HttpHeaders.ETAG);
+            String lastModified = response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+
+            if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                log.info("변경 없음 (304): " + url);
+                return new DownloadResult(null, null, url, true,
+                    etag != null ? etag : options.getIfNoneMatch(),
+                    lastModified != null ? lastModified : options.getIfModifiedSince());
+            }
+
+            String data = response.getBody();
 
             // Check if empty
             if (data == null || data.trim().isEmpty()) {
@@ -87,7 +136,10 @@ public class OpenAPIDownloader {
 
             log.info("다운로드 완료: " + data.length() + " byte");
 
-            return new DownloadResult(data, "application/json", url);
+            MediaType contentType = response.getHeaders().getContentType();
+            return new DownloadResult(data, 
+                contentType != null ? contentType.toString() : "application/json", 
+                url, false, etag, lastModified);
 
         } catch (Exception e) {
             if (e instanceof OpenAPIDownloadException) {
@@ -97,6 +149,212 @@ public class OpenAPIDownloader {
         }
     }
 
+    /**
+     * Download OpenAPI Spec straight to disk
+     * Asks for gzip/deflate and streams the decoded body through a SHA-256 digest
+     * into a temporary file of the directory; no in-memory copy of the spec is kept.
+     * 
+     * @param url 
+     * @param directory directory the file is created in (move it into place afterwards)
+     * @param options timeout (whole transfer), redirects, max size, conditional headers
+     * @return handle to the stored bytes (no file when not modified)
+     * @throws OpenAPIDownloadException 
+     */
+    public StoredSpec downloadSpecToFile(String url, Path directory, DownloadOptions options) {
+        validateUrl(url);
+
+        log.info("OpenAPI 명세서 스트리밍 다운로드 시작: " + url);
+
+        long limit = options.getMaxSize() != null ? options.getMaxSize() : maxSize;
+        long deadline = System.nanoTime() + options.getTimeout().toNanos();
+        Path temp = null;
+        try {
+            Files.createDirectories(directory);
+            Path target = Files.createTempFile(directory, "download-", ".part");
+            temp = target;
+
+            StoredSpec stored = clientFor(options).get()
+                .uri(url)
+                .headers(headers -> {
+                    applyHeaders(headers, options);
+                    headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+                })
+                .exchange((request, response) -> {
+                    HttpStatusCode status = response.getStatusCode();
+                    HttpHeaders headers = response.getHeaders();
+                    String etag = headers.getFirst(HttpHeaders.ETAG);
+                    String lastModified = headers.getFirst(HttpHeaders.LAST_MODIFIED);
+
+                    if (status.isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                        log.info("변경 없음 (304): " + url);
+                        return new StoredSpec(null, 0, 0, null, null, url, true,
+                            etag != null ? etag : options.getIfNoneMatch(),
+                            lastModified != null ? lastModified : options.getIfModifiedSince());
+                    }
+                    if (!status.is2xxSuccessful()) {
+                        throw new OpenAPIDownloadException(
+                            "다운로드 실패: HTTP " + status + " " + response.getStatusText());
+                    }
+
+                    String encoding = headers.getFirst(HttpHeaders.CONTENT_ENCODING);
+                    if (encoding == null && headers.getContentLength() > limit) {
+                        throw new OpenAPIDownloadException(
+                            "명세서가 최대 크기를 초과합니다: " + headers.getContentLength() + " > " + limit + " bytes");
+                    }
+
+                    CountingInputStream wire = new CountingInputStream(response.getBody());
+                    MessageDigest digest = sha256();
+                    long size = 0;
+                    // A stalled server blocks read(): the body is closed under it at the deadline
+                    AtomicBoolean expired = new AtomicBoolean();
+                    Future<?> watchdog = DEADLINES.schedule(() -> {
+                        expired.set(true);
+                        closeQuietly(wire);
+                    }, deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    try (InputStream body = new DigestInputStream(decode(wire, encoding), digest);
+                         OutputStream out = Files.newOutputStream(target)) {
+                        byte[] buffer = new byte[BUFFER_SIZE];
+                        int read;
+                        while ((read = body.read(buffer)) != -1) {
+                            size += read;
+                            if (size > limit) {
+                                throw new OpenAPIDownloadException(
+                                    "명세서가 최대 크기를 초과합니다: > " + limit + " bytes");
+                            }
+                            if (System.nanoTime() > deadline) {
+                                expired.set(true);
+                                break;
+                            }
+                            out.write(buffer, 0, read);
+                        }
+                    } catch (IOException e) {
+                        // Closed by the watchdog, or by the request factory's own read timeout
+                        if (!expired.get() && System.nanoTime() < deadline) {
+                            throw e;
+                        }
+                        expired.set(true);
+                    } finally {
+                        watchdog.cancel(false);
+                    }
+                    // A body closed at the deadline may also look like a normal end of stream
+                    if (expired.get()) {
+                        throw new OpenAPIDownloadException(
+                            "다운로드 시간 초과: " + options.getTimeout().toSeconds() + "s");
+                    }
+
+                    if (size == 0) {
+                        throw new OpenAPIDownloadException("다운로드한 명세서가 비어있습니다");
+                    }
+
+                    MediaType contentType = headers.getContentType();
+                    return new StoredSpec(target, size, wire.count,
+                        HexFormat.of().formatHex(digest.digest()),
+                        contentType != null ? contentType.toString() : "application/json",
+                        url, false, etag, lastModified);
+                });
+
+            if (stored.notModified()) {
+                Files.deleteIfExists(target);
+            } else {
+                log.info("다운로드 완료: " + stored.size() + " byte (전송 " + stored.transferredBytes() + " byte)");
+            }
+            temp = null;
+            return stored;
+
+        } catch (OpenAPIDownloadException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new OpenAPIDownloadException("다운로드 실패: " + e.getMessage(), e);
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    log.warn("임시 파일 삭제 실패: " + temp);
+                }
+            }
+        }
+    }
+
+    /**
+     * Accept, conditional and custom headers
+     */
+    private void applyHeaders(HttpHeaders headers, DownloadOptions options) {
+        headers.setAccept(List.of(
+            MediaType.APPLICATION_JSON,
+            MediaType.valueOf("application/yaml"),
+            MediaType.valueOf("application/x-yaml"),
+            MediaType.valueOf("text/yaml"),
+            MediaType.TEXT_PLAIN
+        ));
+        
+        // Conditional request: the server answers 304 while the spec is unchanged
+        if (options.getIfNoneMatch() != null) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, options.getIfNoneMatch());
+        }
+        if (options.getIfModifiedSince() != null) {
+            headers.set(HttpHeaders.IF_MODIFIED_SINCE, options.getIfModifiedSince());
+        }
+        
+        // Add custom header
+        if (options.getHeaders() != null) {
+            options.getHeaders().forEach(headers::add);
+        }
+    }
+
+    /**
+     * Client with the timeout and redirect policy of the options
+     * (connect and time to response headers; the body deadline is enforced while reading).
+     * The shared HTTP/2 client and its connections are reused when its redirect policy matches
+     * and its connect timeout fits within the timeout of the options.
+     */
+    private RestClient clientFor(DownloadOptions options) {
+        ClientSettings settings = new ClientSettings(options.getTimeout(), options.isFollowRedirects());
+        return clients.computeIfAbsent(settings, s -> {
+            boolean sharedFollows = httpClient.followRedirects() != HttpClient.Redirect.NEVER;
+            boolean sharedConnects = httpClient.connectTimeout()
+                .map(timeout -> timeout.compareTo(s.timeout()) <= 0)
+                .orElse(false);
+            HttpClient client = s.followRedirects() == sharedFollows && sharedConnects
+                ? httpClient
+                : HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(s.timeout())
+                    .followRedirects(s.followRedirects() ? HttpClient.Redirect.NORMAL : HttpClient.Redirect.NEVER)
+                    .build();
+            JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(client);
+            requestFactory.setReadTimeout(s.timeout());
+            return restClient.mutate().requestFactory(requestFactory).build();
+        });
+    }
+
+    private static InputStream decode(InputStream body, String encoding) throws IOException {
+        if (encoding == null || encoding.isBlank() || encoding.equalsIgnoreCase("identity")) {
+            return body;
+        }
+        return switch (encoding.trim().toLowerCase()) {
+            case "gzip", "x-gzip" -> new GZIPInputStream(body, BUFFER_SIZE);
+            case "deflate" -> new InflaterInputStream(body);
+            default -> throw new OpenAPIDownloadException("지원하지 않는 Content-Encoding: " + encoding);
+        };
+    }
+
+    private static void closeQuietly(InputStream in) {
+        try {
+            in.close();
+        } catch (IOException e) {
+            log.debug("응답 스트림 닫기 실패: " + e.getMessage());
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     /**
      * Check URL validation
      * 
@@ -132,6 +390,9 @@ public class OpenAPIDownloader {
         private Duration timeout = DEFAULT_TIMEOUT;
         private Map<String, String> headers;
         private boolean followRedirects = true;
+        private String ifNoneMatch;
+        private String ifModifiedSince;
+        private Long maxSize;
 
         public Duration getTimeout() {
             return timeout;
@@ -156,17 +417,91 @@ public class OpenAPIDownloader {
         public void setFollowRedirects(boolean followRedirects) {
             this.followRedirects = followRedirects;
         }
+
+        public Long getMaxSize() {
+            return maxSize;
+        }
+
+        /**
+         * @param maxSize maximum decoded size in bytes (null: openapi.download.max-size)
+         */
+        public void setMaxSize(Long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public String getIfNoneMatch() {
+            return ifNoneMatch;
+        }
+
+        /**
+         * @param ifNoneMatch ETag of the previous download
+         */
+        public void setIfNoneMatch(String ifNoneMatch) {
+            this.ifNoneMatch = ifNoneMatch;
+        }
+
+        public String getIfModifiedSince() {
+            return ifModifiedSince;
+        }
+
+        /**
+         * @param ifModifiedSince Last-Modified of the previous download (sent verbatim)
+         */
+        public void setIfModifiedSince(String ifModifiedSince) {
+            this.ifModifiedSince = ifModifiedSince;
+        }
     }
 
     /**
      * Download result
      */
     public record DownloadResult(
-        String data,        // Downloaded Spec data
-        String contentType, // Content-Type
-        String url          // Final URL
+        String data,          // Downloaded Spec data (null when not modified)
+        String contentType,   // Content-Type
+        String url,           // Final URL
+        boolean notModified,  // 304: the previously saved spec is still current
+        String etag,          // ETag response header
+        String lastModified   // Last-Modified response header
     ) {}
 
+    private record ClientSettings(Duration timeout, boolean followRedirects) {}
+
+    /**
+     * Counts bytes read from the wire (before decoding)
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+
     /**
      * Download Exception
      */
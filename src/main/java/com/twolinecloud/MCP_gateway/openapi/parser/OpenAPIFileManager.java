@@ -4,55 +4,190 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
 
 
+/**
+ * OpenAPI File Manager
+ * Specs are stored content-addressed: every distinct content is kept once as a
+ * gzip blob named by its SHA-256 ({@code blobs/<ab>/<hash>.gz}), and a small
+ * index ({@code specs.index.json}) maps saved file names to blobs.
+ * Plain files saved before the blob store are still read.
+ */
 @Component
 public class OpenAPIFileManager {
 	private static final Logger log = LoggerFactory.getLogger(OpenAPIFileManager.class);
 
+    private static final String VALIDATORS_SUFFIX = ".validators.json";
+    private static final String INDEX_FILE = "specs.index.json";
+    private static final String BLOBS_DIRECTORY = "blobs";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, IndexEntry>> INDEX_TYPE = new TypeReference<>() {};
+
     @Value("${openapi.storage.directory:downloaded-specs}")
     private String storageDirectory;
 
     /**
+     * Saved file name → stored blob (loaded on first use, guarded by this)
+     */
+    private Map<String, IndexEntry> index;
+
+    /**
+     * Store spec content (content-addressed, see class comment)
+     * 
      * @param content (YAML or JSON)
      * @param fileName 
+     * @return saved file name (with extension)
      */
-    public void saveSpec(String content, String fileName) {
+    public String saveSpec(String content, String fileName) {
         try {
-            Path storagePath = getStoragePath();
-            
-            // Create if no directory
-            if (!Files.exists(storagePath)) {
-                Files.createDirectories(storagePath);
-                log.info("저장 디렉토리 생성: " + storagePath);
-            }
+            getStorageDirectory();
 
             // Add if no extension
             String finalFileName = ensureFileExtension(fileName, content);
-            Path filePath = storagePath.resolve(finalFileName);
 
-            // Save file
-            Files.writeString(filePath, content, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
-            log.info("저장 완료: " + filePath);
+            byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+            String hash = HexFormat.of().formatHex(sha256().digest(bytes));
+            store(finalFileName, hash, bytes.length, new ByteArrayInputStream(bytes));
+            return finalFileName;
 
         } catch (IOException e) {
             throw new RuntimeException("스펙 파일 저장 실패: " + fileName, e);
         }
     }
 
+    /**
+     * Store a file downloaded into the storage directory (the file is removed afterwards)
+     * 
+     * @param downloaded file inside the storage directory (see {@link #getStorageDirectory})
+     * @param contentHash SHA-256 hex of the file (computed while downloading)
+     * @param fileName requested file name (extension added from the content if missing)
+     * @return saved file name (with extension)
+     */
+    public String storeDownloaded(Path downloaded, String contentHash, String fileName) {
+        try {
+            String finalFileName = ensureFileExtension(fileName, firstCharacter(downloaded));
+
+            try (InputStream in = Files.newInputStream(downloaded)) {
+                store(finalFileName, contentHash, Files.size(downloaded), in);
+            }
+            return finalFileName;
+
+        } catch (IOException e) {
+            throw new RuntimeException("스펙 파일 저장 실패: " + fileName, e);
+        } finally {
+            try {
+                Files.deleteIfExists(downloaded);
+            } catch (IOException e) {
+                log.warn("임시 파일 삭제 실패: " + downloaded);
+            }
+        }
+    }
+
+    /**
+     * @return storage directory (created if missing)
+     */
+    public Path getStorageDirectory() {
+        Path storagePath = getStoragePath();
+        try {
+            if (!Files.exists(storagePath)) {
+                Files.createDirectories(storagePath);
+                log.info("저장 디렉토리 생성: " + storagePath);
+            }
+            return storagePath;
+        } catch (IOException e) {
+            throw new RuntimeException("저장 디렉토리 생성 실패: " + storagePath, e);
+        }
+    }
+
     /**
      * @param content
      * @param url
+     * @return saved file name (with extension)
      */
-    public void saveSpecFromUrl(String content, String url) {
+    public String saveSpecFromUrl(String content, String url) {
         String fileName = generateFileNameFromUrl(url);
-        saveSpec(content, fileName);
+        return saveSpec(content, fileName);
+    }
+
+    /**
+     * @param fileName requested file name (null or empty: derived from URL)
+     * @param url
+     * @return name the spec is saved under, before the extension is added
+     */
+    public String resolveFileName(String fileName, String url) {
+        return fileName == null || fileName.isEmpty() ? generateFileNameFromUrl(url) : fileName;
+    }
+
+    /**
+     * Cache validators of a saved spec (sidecar next to the spec file)
+     * 
+     * @param fileName requested file name (see {@link #resolveFileName})
+     * @return validators, empty if there is no sidecar or the saved spec is gone
+     */
+    public Optional<SpecValidators> readValidators(String fileName) {
+        Path sidecar = getStoragePath().resolve(fileName + VALIDATORS_SUFFIX);
+        if (!Files.exists(sidecar)) {
+            return Optional.empty();
+        }
+        try {
+            SpecValidators validators = MAPPER.readValue(sidecar.toFile(), SpecValidators.class);
+            if (validators.fileName() == null || !exists(validators.fileName())) {
+                return Optional.empty();
+            }
+            return Optional.of(validators);
+        } catch (IOException e) {
+            log.warn("검증자 파일 읽기 실패: " + sidecar + " (" + e.getMessage() + ")");
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @param fileName requested file name (see {@link #resolveFileName})
+     * @param validators
+     */
+    public void saveValidators(String fileName, SpecValidators validators) {
+        Path sidecar = getStoragePath().resolve(fileName + VALIDATORS_SUFFIX);
+        try {
+            Path temp = Files.createTempFile(getStoragePath(), fileName, ".tmp");
+            try {
+                MAPPER.writeValue(temp.toFile(), validators);
+                Files.move(temp, sidecar, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("검증자 파일 저장 실패: " + sidecar, e);
+        }
+    }
+
+    /**
+     * @param fileName saved file name
+     * @return whether the spec is stored (blob or plain file from before the blob store)
+     */
+    public boolean exists(String fileName) {
+        return lookup(fileName) != null || Files.isRegularFile(getStoragePath().resolve(fileName));
     }
 
     /**
@@ -61,6 +196,17 @@ public class OpenAPIFileManager {
      */
     public String readSpec(String fileName) {
         try {
+            IndexEntry entry = lookup(fileName);
+            if (entry != null) {
+                String content;
+                try (InputStream in = blobs().open(entry.hash())) {
+                    content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                }
+                log.info("읽기 완료: " + fileName + " → " + entry.hash() + " (" + entry.size() + " bytes)");
+                return content;
+            }
+
+            // Plain file saved before the blob store
             Path filePath = getStoragePath().resolve(fileName);
 
             if (!Files.exists(filePath)) {
@@ -76,6 +222,170 @@ public class OpenAPIFileManager {
         }
     }
 
+    /**
+     * Stored spec bytes, memory-mapped (blobs are inflated while reading)
+     * For parsing without a String copy: {@link OpenAPISpecParser#parse(OpenAPISpecParser.SpecSource, String)}
+     * 
+     * @param fileName saved file name
+     * @return uncompressed spec bytes
+     */
+    public InputStream openSpec(String fileName) {
+        try {
+            IndexEntry entry = lookup(fileName);
+            if (entry != null) {
+                return blobs().open(entry.hash());
+            }
+
+            // Plain file saved before the blob store
+            Path filePath = getStoragePath().resolve(fileName);
+            if (!Files.exists(filePath)) {
+                throw new RuntimeException("파일을 찾을 수 없습니다: " + fileName);
+            }
+            return SpecBlobStore.map(filePath);
+
+        } catch (IOException e) {
+            throw new RuntimeException("스펙 파일 읽기 실패: " + fileName, e);
+        }
+    }
+
+    /**
+     * Stored bytes of one specific content of a spec (see {@link #openSpec(String)})
+     * For readers that come back to the same content later, e.g. by byte offset.
+     * 
+     * @param fileName saved file name
+     * @param contentHash content hash the reader expects
+     * @return uncompressed spec bytes
+     * @throws IOException if that content is no longer stored
+     */
+    public InputStream openSpec(String fileName, String contentHash) throws IOException {
+        IndexEntry entry = lookup(fileName);
+        if (entry == null) {
+            // Plain file saved before the blob store (never replaced in place)
+            return openSpec(fileName);
+        }
+        if (!blobs().contains(contentHash)) {
+            throw new IOException("저장된 명세서가 변경되었습니다: " + fileName + " (" + contentHash + ")");
+        }
+        return blobs().open(contentHash);
+    }
+
+    /**
+     * @param fileName saved file name
+     * @return content hash (SHA-256 hex) of the stored spec
+     */
+    public String getContentHash(String fileName) {
+        IndexEntry entry = lookup(fileName);
+        if (entry != null) {
+            return entry.hash();
+        }
+
+        // Plain file saved before the blob store
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(openSpec(fileName), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new RuntimeException("스펙 파일 읽기 실패: " + fileName, e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // ========================================================================
+    // CONTENT-ADDRESSED STORE
+    // ========================================================================
+
+    private synchronized IndexEntry lookup(String fileName) {
+        return index().get(fileName);
+    }
+
+    /**
+     * Store content as a blob and point the name at it
+     * Compression runs outside the lock. Moving the blob into place and registering
+     * the name happen under the lock that guards blob deletes, so a concurrent
+     * {@link #register} cannot delete the blob in between.
+     */
+    private void store(String fileName, String hash, long size, InputStream content) throws IOException {
+        SpecBlobStore blobs = blobs();
+        Path staged = blobs.contains(hash) ? null : blobs.stage(hash, content);
+        try {
+            synchronized (this) {
+                if (staged == null && !blobs.contains(hash)) {
+                    // Deleted since the check above
+                    staged = blobs.stage(hash, content);
+                }
+                long stored = staged != null ? blobs.commit(hash, staged) : blobs.size(hash);
+                register(fileName, hash, size, stored);
+            }
+        } finally {
+            if (staged != null) {
+                Files.deleteIfExists(staged);
+            }
+        }
+    }
+
+    /**
+     * Point a name at a stored blob; the previous blob is deleted when no other name uses it
+     */
+    private synchronized void register(String fileName, String hash, long size, long storedSize) throws IOException {
+        Map<String, IndexEntry> index = index();
+        IndexEntry previous = index.put(fileName, new IndexEntry(hash, size));
+        saveIndex(index);
+
+        if (previous != null && !previous.hash().equals(hash)
+                && index.values().stream().noneMatch(e -> e.hash().equals(previous.hash()))) {
+            try {
+                blobs().delete(previous.hash());
+                log.info("이전 블롭 삭제: " + previous.hash());
+            } catch (IOException e) {
+                // Still open by a reader (Windows); left behind as an unreferenced blob
+                log.warn("이전 블롭 삭제 실패: " + previous.hash() + " (" + e.getMessage() + ")");
+            }
+        }
+
+        // Plain file of the same name from before the blob store
+        Files.deleteIfExists(getStoragePath().resolve(fileName));
+
+        log.info("저장 완료: " + fileName + " → " + hash + " (" + size + " → " + storedSize + " bytes)");
+    }
+
+    private Map<String, IndexEntry> index() {
+        if (index == null) {
+            Path file = getStoragePath().resolve(INDEX_FILE);
+            if (Files.isRegularFile(file)) {
+                try {
+                    index = new TreeMap<>(MAPPER.readValue(file.toFile(), INDEX_TYPE));
+                } catch (IOException e) {
+                    throw new RuntimeException("인덱스 읽기 실패: " + file, e);
+                }
+            } else {
+                index = new TreeMap<>();
+            }
+        }
+        return index;
+    }
+
+    private void saveIndex(Map<String, IndexEntry> index) throws IOException {
+        Path file = getStoragePath().resolve(INDEX_FILE);
+        Path temp = Files.createTempFile(getStoragePath(), INDEX_FILE, ".tmp");
+        try {
+            MAPPER.writeValue(temp.toFile(), index);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private SpecBlobStore blobs() {
+        return new SpecBlobStore(getStoragePath().resolve(BLOBS_DIRECTORY));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     /**
      * @return directory Path
      */
@@ -118,6 +428,22 @@ public class OpenAPIFileManager {
         }
     }
 
+    /**
+     * First non-whitespace character of a file (enough to tell JSON from YAML)
+     */
+    private String firstCharacter(Path file) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            int b;
+            while ((b = in.read()) != -1) {
+                // skip whitespace and a UTF-8 BOM
+                if (!Character.isWhitespace(b) && b != 0xEF && b != 0xBB && b != 0xBF) {
+                    return String.valueOf((char) b);
+                }
+            }
+            return "";
+        }
+    }
+
     /**
      * @param fileName 
      * @param content (check JSON/YAML)
@@ -141,4 +467,10 @@ public class OpenAPIFileManager {
         }
     }
 
+    /**
+     * @param hash SHA-256 hex of the content
+     * @param size uncompressed size in bytes
+     */
+    record IndexEntry(String hash, long size) {}
+
 }
\ No newline at end of file
@@ -0,0 +1,284 @@
+package com.twolinecloud.MCP_gateway.openapi.parser;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer.OpenAPIAnalysisException;
+
+import org.yaml.snakeyaml.LoaderOptions;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * OpenAPI Spec Parser
+ * Parses a spec once and shares the model between analyzer and converter.
+ *
+ * Parsed models are cached by content hash (LRU), so the same content
+ * downloaded again, or analyzed from URL and from file, is not parsed twice.
+ * Cached models are shared and must be treated as read-only.
+ *
+ * Stored specs can be parsed from bytes ({@link #parse(SpecSource, String)}):
+ * the JSON/YAML tree is read straight from the stream, without decoding the
+ * whole spec into a String first.
+ */
+@Component
+public class OpenAPISpecParser {
+
+    private static final Logger log = LoggerFactory.getLogger(OpenAPISpecParser.class);
+
+    private static final int VERSION_PREFIX_LENGTH = 20;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+    private static final ObjectMapper YAML_MAPPER = new ObjectMapper(
+        YAMLFactory.builder().loaderOptions(yamlLoaderOptions()).build());
+
+    /**
+     * Maximum number of parsed models kept (0 disables the cache)
+     */
+    @Value("${openapi.parse.cache-size:4}")
+    private int cacheSize = 4;
+
+    private final Map<String, ParsedSpec> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Parse spec content
+     *
+     * @param specContent OpenAPI spec (JSON or YAML, 2.0 is converted to 3.0)
+     * @return Parsed spec
+     * @throws OpenAPIAnalysisException if the content cannot be parsed
+     */
+    public ParsedSpec parse(String specContent) {
+        return parse(specContent, contentHash(specContent));
+    }
+
+    /**
+     * Parse spec content whose hash is already known
+     */
+    public ParsedSpec parse(String specContent, String contentHash) {
+        ParsedSpec cached = getCached(contentHash);
+        if (cached != null) {
+            return cached;
+        }
+
+        String detectedVersion = detectVersionFromContent(specContent);
+        log.info("감지된 스펙 형식: " + detectedVersion);
+
+        // Parsing OpenAPI Spec (2.0 automatically converts to 3.0)
+        SwaggerParseResult parseResult = new OpenAPIParser().readContents(specContent, null, null);
+        return complete(parseResult, contentHash, detectedVersion);
+    }
+
+    /**
+     * Parse spec bytes (UTF-8 JSON or YAML) whose hash is already known
+     * The source is not opened when the model is cached.
+     *
+     * @param source Spec bytes, e.g. a memory-mapped stored spec
+     * @param contentHash SHA-256 of the bytes
+     * @return Parsed spec
+     * @throws OpenAPIAnalysisException if the content cannot be read or parsed
+     */
+    public ParsedSpec parse(SpecSource source, String contentHash) {
+        ParsedSpec cached = getCached(contentHash);
+        if (cached != null) {
+            return cached;
+        }
+
+        JsonNode root;
+        try (InputStream in = new BufferedInputStream(source.open(), BUFFER_SIZE)) {
+            root = startsWithJson(in) ? JSON_MAPPER.readTree(in) : YAML_MAPPER.readTree(in);
+        } catch (IOException e) {
+            throw new OpenAPIAnalysisException("OpenAPI 스펙 읽기 실패: " + e.getMessage(), e);
+        }
+        if (root == null || !root.isObject()) {
+            throw new OpenAPIAnalysisException("OpenAPI 스펙 파싱 실패. 스펙 형식을 확인하세요.");
+        }
+
+        String detectedVersion = detectVersionFromTree(root);
+        log.info("감지된 스펙 형식: " + detectedVersion);
+
+        SwaggerParseResult parseResult;
+        if (root.has("swagger")) {
+            // 2.0 → 3.0 conversion only reads text
+            try {
+                parseResult = new OpenAPIParser().readContents(JSON_MAPPER.writeValueAsString(root), null, null);
+            } catch (IOException e) {
+                throw new OpenAPIAnalysisException("OpenAPI 스펙 읽기 실패: " + e.getMessage(), e);
+            }
+        } else {
+            parseResult = new OpenAPIV3Parser().parseJsonNode(null, root);
+        }
+        return complete(parseResult, contentHash, detectedVersion);
+    }
+
+    private ParsedSpec getCached(String contentHash) {
+        synchronized (cache) {
+            ParsedSpec cached = cache.get(contentHash);
+            if (cached != null) {
+                log.info("파싱 캐시 사용: " + cached.detectedVersion());
+            }
+            return cached;
+        }
+    }
+
+    private ParsedSpec complete(SwaggerParseResult parseResult, String contentHash, String detectedVersion) {
+        OpenAPI openAPI = parseResult.getOpenAPI();
+
+        if (openAPI == null) {
+            log.error("파싱 실패 상세:");
+            if (parseResult.getMessages() != null) {
+                parseResult.getMessages().forEach(msg -> log.error("  - " + msg));
+            }
+            throw new OpenAPIAnalysisException(
+                "OpenAPI 스펙 파싱 실패. 스펙 형식을 확인하세요."
+            );
+        }
+
+        ParsedSpec parsed = new ParsedSpec(contentHash, detectedVersion, openAPI);
+        if (cacheSize > 0) {
+            synchronized (cache) {
+                cache.put(contentHash, parsed);
+                while (cache.size() > cacheSize) {
+                    String eldest = cache.keySet().iterator().next();
+                    cache.remove(eldest);
+                }
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Drop all cached models
+     */
+    public void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * SHA-256 of spec content (hex)
+     */
+    public static String contentHash(String specContent) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(specContent.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Detect Spec Version (looks at the first characters only)
+     */
+    private String detectVersionFromContent(String specContent) {
+        if (specContent == null || specContent.isEmpty()) {
+            return "Unknown";
+        }
+
+        String prefix = specContent.substring(0, Math.min(VERSION_PREFIX_LENGTH, specContent.length()));
+
+        // Detect Swagger 2.0
+        if (prefix.contains("2.0")) {
+            return "Swagger 2.0 (OpenAPI 2.0)";
+        }
+
+        // Detect OpenAPI 3.x
+        if (prefix.contains("3.0")) {
+            return "OpenAPI 3.0";
+        }
+        if (prefix.contains("3.1")) {
+            return "OpenAPI 3.1";
+        }
+
+        return "Unknown";
+    }
+
+    /**
+     * Detect Spec Version from the parsed tree
+     */
+    private String detectVersionFromTree(JsonNode root) {
+        if (root.has("swagger")) {
+            return "Swagger 2.0 (OpenAPI 2.0)";
+        }
+        String version = root.path("openapi").asText("");
+        if (version.startsWith("3.0")) {
+            return "OpenAPI 3.0";
+        }
+        if (version.startsWith("3.1")) {
+            return "OpenAPI 3.1";
+        }
+        return "Unknown";
+    }
+
+    /**
+     * Whether the first non-whitespace byte opens a JSON document (stream is reset)
+     */
+    private static boolean startsWithJson(InputStream in) throws IOException {
+        in.mark(BUFFER_SIZE);
+        try {
+            int b;
+            for (int i = 0; i < BUFFER_SIZE && (b = in.read()) != -1; i++) {
+                // skip whitespace and a UTF-8 BOM
+                if (Character.isWhitespace(b) || b == 0xEF || b == 0xBB || b == 0xBF) {
+                    continue;
+                }
+                return b == '{' || b == '[';
+            }
+            return false;
+        } finally {
+            in.reset();
+        }
+    }
+
+    /**
+     * Spec size is already bounded by openapi.download.max-size;
+     * alias expansion and recursive keys stay restricted
+     */
+    private static LoaderOptions yamlLoaderOptions() {
+        LoaderOptions options = new LoaderOptions();
+        options.setCodePointLimit(Integer.MAX_VALUE);
+        options.setMaxAliasesForCollections(50);
+        options.setAllowRecursiveKeys(false);
+        return options;
+    }
+
+    /**
+     * Source of spec bytes (opened only when the spec has to be parsed)
+     */
+    @FunctionalInterface
+    public interface SpecSource {
+        InputStream open() throws IOException;
+    }
+
+    /**
+     * Parsed Spec
+     *
+     * @param contentHash SHA-256 of the spec content
+     * @param detectedVersion Spec format detected before parsing
+     * @param openAPI Parsed model (shared, read-only)
+     */
+    public record ParsedSpec(
+        String contentHash,
+        String detectedVersion,
+        OpenAPI openAPI
+    ) {}
+}
@@ -0,0 +1,174 @@
+package com.twolinecloud.MCP_gateway.openapi.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Spec Blob Store
+ * Content-addressed, gzip-compressed spec contents: {@code <root>/<ab>/<sha256>.gz}.
+ * Identical content is stored once; blobs are immutable and written atomically.
+ *
+ * Storing is split in two: {@link #stage} compresses into a temporary file and
+ * needs no lock, {@link #commit} moves it into place. Callers that delete blobs
+ * commit under the same lock as their deletes.
+ */
+final class SpecBlobStore {
+
+    private static final String SUFFIX = ".gz";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+
+    SpecBlobStore(Path root) {
+        this.root = root;
+    }
+
+    boolean contains(String hash) {
+        return Files.isRegularFile(path(hash));
+    }
+
+    /**
+     * Compress content into a temporary file next to its blob
+     *
+     * @param hash SHA-256 hex of the uncompressed content
+     * @param content uncompressed content (consumed, not closed)
+     * @return staged file, for {@link #commit} (the caller deletes it if it is not committed)
+     */
+    Path stage(String hash, InputStream content) throws IOException {
+        Path target = path(hash);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), hash, ".tmp");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp), BUFFER_SIZE)) {
+            content.transferTo(out);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        return temp;
+    }
+
+    /**
+     * Move a staged file into place (dropped if the blob is already stored)
+     *
+     * @return compressed size in bytes
+     */
+    long commit(String hash, Path staged) throws IOException {
+        Path target = path(hash);
+        if (Files.isRegularFile(target)) {
+            Files.deleteIfExists(staged);
+        } else {
+            Files.move(staged, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        return Files.size(target);
+    }
+
+    /**
+     * @return compressed size in bytes
+     */
+    long size(String hash) throws IOException {
+        return Files.size(path(hash));
+    }
+
+    /**
+     * @return uncompressed content, inflated from the memory-mapped blob
+     */
+    InputStream open(String hash) throws IOException {
+        return new GZIPInputStream(map(path(hash)), BUFFER_SIZE);
+    }
+
+    /**
+     * Memory-mapped file contents (the mapping outlives the channel)
+     * Closing the stream closes the mapping's arena, which unmaps the file:
+     * a mapped file cannot be deleted on Windows.
+     */
+    static InputStream map(Path file) throws IOException {
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MemorySegment segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            return new MappedInputStream(arena, segment.asByteBuffer());
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    void delete(String hash) throws IOException {
+        Files.deleteIfExists(path(hash));
+    }
+
+    Path path(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash + SUFFIX);
+    }
+
+    /**
+     * Stream over a mapped buffer; unmapped once on close, never read afterwards
+     */
+    private static final class MappedInputStream extends InputStream {
+        private final Arena arena;
+        private ByteBuffer buffer;
+
+        MappedInputStream(Arena arena, ByteBuffer buffer) {
+            this.arena = arena;
+            this.buffer = buffer;
+        }
+
+        @Override
+        public synchronized int read() throws IOException {
+            ByteBuffer buffer = open();
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) throws IOException {
+            ByteBuffer buffer = open();
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public synchronized long skip(long n) throws IOException {
+            ByteBuffer buffer = open();
+            int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public synchronized int available() throws IOException {
+            return open().remaining();
+        }
+
+        @Override
+        public synchronized void close() {
+            if (buffer != null) {
+                buffer = null;
+                arena.close();
+            }
+        }
+
+        private ByteBuffer open() throws IOException {
+            if (buffer == null) {
+                throw new IOException("Stream closed");
+            }
+            return buffer;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.twolinecloud.MCP_gateway.openapi.parser;
+
+/**
+ * Spec Validators
+ * HTTP cache validators of a saved spec, stored in a sidecar next to the spec file
+ * and sent back as {@code If-None-Match} / {@code If-Modified-Since} on the next download.
+ *
+ * @param url Download URL
+ * @param fileName Saved spec file name (with extension)
+ * @param etag ETag response header, or null
+ * @param lastModified Last-Modified response header (kept verbatim), or null
+ * @param contentHash SHA-256 of the saved content ({@link OpenAPISpecParser#contentHash})
+ */
+public record SpecValidators(
+    String url,
+    String fileName,
+    String etag,
+    String lastModified,
+    String contentHash
+) {
+
+    /**
+     * Whether a conditional request can be made
+     */
+    public boolean hasValidators() {
+        return etag != null || lastModified != null;
+    }
+}
@@ -0,0 +1,55 @@
+package com.twolinecloud.MCP_gateway.openapi.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Stored Spec
+ * Handle to a spec downloaded straight to disk (decoded, i.e. after gzip/deflate).
+ *
+ * @param path Stored file, null when not modified
+ * @param size Stored (decoded) size in bytes
+ * @param transferredBytes Bytes received on the wire (compressed size if encoded)
+ * @param sha256 SHA-256 hex of the stored bytes (same as {@link OpenAPISpecParser#contentHash})
+ * @param contentType Content-Type response header
+ * @param url Requested URL
+ * @param notModified 304: the previously saved spec is still current
+ * @param etag ETag response header
+ * @param lastModified Last-Modified response header
+ */
+public record StoredSpec(
+    Path path,
+    long size,
+    long transferredBytes,
+    String sha256,
+    String contentType,
+    String url,
+    boolean notModified,
+    String etag,
+    String lastModified
+) {
+
+    /**
+     * @return stored bytes as stream
+     */
+    public InputStream openStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+
+    /**
+     * @return stored content (UTF-8)
+     */
+    public String readString() throws IOException {
+        return Files.readString(path, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return handle to the same bytes at another location (after a move)
+     */
+    public StoredSpec withPath(Path newPath) {
+        return new StoredSpec(newPath, size, transferredBytes, sha256, contentType, url, notModified, etag, lastModified);
+    }
+}
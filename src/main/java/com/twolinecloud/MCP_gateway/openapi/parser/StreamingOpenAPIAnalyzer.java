@@ -0,0 +1,938 @@
+package com.twolinecloud.MCP_gateway.openapi.parser;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer.AnalysisResult;
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer.DiscriminatorInfo;
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer.EndpointInfo;
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer.OpenAPIAnalysisException;
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer.ParameterInfo;
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer.SchemaInfo;
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPISpecParser.SpecSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Streaming OpenAPI Analyzer
+ * Low-memory alternative to {@link OpenAPIAnalyzer} for very large JSON specs.
+ *
+ * One pass over the document with Jackson's streaming parser emits
+ * {@link EndpointInfo} records directly from {@code paths}; the swagger-parser
+ * object model is never built. The spec is read as bytes from a
+ * {@link SpecSource} (e.g. the memory-mapped stored spec), never as a String.
+ * Component schemas are not read during the pass: only the byte offset of each
+ * {@code components.schemas} entry is kept, and the source is opened again to
+ * parse a schema from there when a {@code $ref} to it is resolved.
+ *
+ * The result matches {@link OpenAPIAnalyzer#analyze(String)} (same endpoint
+ * order, same SchemaInfo trees). YAML and Swagger 2.0 documents are not
+ * handled; {@link #analyze(String)} returns empty for them so callers can fall
+ * back to the model-based analyzer.
+ */
+@Component
+public class StreamingOpenAPIAnalyzer {
+
+    private static final Logger log = LoggerFactory.getLogger(StreamingOpenAPIAnalyzer.class);
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // Same order as OpenAPIAnalyzer.extractEndpoints
+    private static final List<String> HTTP_METHODS =
+        List.of("GET", "POST", "PUT", "PATCH", "DELETE", "HEAD", "OPTIONS");
+
+    private static final String COMPONENTS_SCHEMAS_REF = "#/components/schemas/";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    /**
+     * Analyze spec content in one streaming pass
+     * (for content already in memory; stored specs are analyzed from their
+     * bytes with {@link #analyze(SpecSource)})
+     *
+     * @param specContent OpenAPI 3.x spec (JSON)
+     * @return Analysis with on-demand component schemas, or empty if the
+     *         content is YAML or Swagger 2.0
+     * @throws OpenAPIAnalysisException if the JSON is malformed
+     */
+    public Optional<StreamingAnalysis> analyze(String specContent) {
+        if (specContent == null) {
+            return Optional.empty();
+        }
+        byte[] bytes = specContent.getBytes(StandardCharsets.UTF_8);
+        return analyze(() -> new ByteArrayInputStream(bytes));
+    }
+
+    /**
+     * Analyze spec bytes in one streaming pass
+     *
+     * @param source OpenAPI 3.x spec (JSON, UTF-8); opened once for the pass
+     *        and again for every component schema lookup, so it must keep
+     *        returning the same content
+     * @return Analysis with on-demand component schemas, or empty if the
+     *         content is YAML or Swagger 2.0
+     * @throws OpenAPIAnalysisException if the JSON is malformed or cannot be read
+     */
+    public Optional<StreamingAnalysis> analyze(SpecSource source) {
+        log.info("OpenAPI 스펙 스트리밍 분석 시작...");
+
+        try (InputStream in = openContent(source)) {
+            if (!isJson(in)) {
+                log.info("스트리밍 분석 미지원 형식 (JSON 아님)");
+                return Optional.empty();
+            }
+            return analyze(source, in);
+        } catch (IOException e) {
+            throw new OpenAPIAnalysisException("OpenAPI 스펙 파싱 실패. 스펙 형식을 확인하세요.", e);
+        }
+    }
+
+    private Optional<StreamingAnalysis> analyze(SpecSource source, InputStream in) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new OpenAPIAnalysisException("OpenAPI 스펙 파싱 실패. 스펙 형식을 확인하세요.");
+            }
+
+            String openapiVersion = null;
+            boolean pathsRead = false;
+            String title = null;
+            String version = null;
+            List<EndpointInfo> endpoints = new ArrayList<>();
+            ComponentOffsets componentOffsets = new ComponentOffsets();
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "swagger" -> {
+                        log.info("스트리밍 분석 미지원 형식 (Swagger 2.0)");
+                        return Optional.empty();
+                    }
+                    case "openapi" -> {
+                        openapiVersion = parser.getValueAsString();
+                        if (pathsRead && isOpenAPI31(openapiVersion)) {
+                            // paths were read with 3.0 rules; let the model analyzer handle it
+                            return Optional.empty();
+                        }
+                    }
+                    case "info" -> {
+                        String[] info = readInfo(parser);
+                        title = info[0];
+                        version = info[1];
+                    }
+                    case "paths" -> {
+                        new DocumentReader(isOpenAPI31(openapiVersion)).readPaths(parser, endpoints);
+                        pathsRead = true;
+                    }
+                    case "components" -> readComponentOffsets(parser, componentOffsets);
+                    default -> parser.skipChildren();
+                }
+            }
+
+            if (openapiVersion == null) {
+                return Optional.empty();
+            }
+
+            Map<String, List<EndpointInfo>> groupedByMethod = new HashMap<>();
+            for (EndpointInfo endpoint : endpoints) {
+                groupedByMethod.computeIfAbsent(endpoint.method(), k -> new ArrayList<>()).add(endpoint);
+            }
+
+            log.info("스트리밍 분석 완료: " + endpoints.size() + "개 엔드포인트, "
+                + componentOffsets.schemas.size() + "개 컴포넌트 스키마 (필요 시 로드)");
+
+            return Optional.of(new StreamingAnalysis(
+                new AnalysisResult(title, version, endpoints, groupedByMethod),
+                new ComponentSchemas(source, componentOffsets, isOpenAPI31(openapiVersion))
+            ));
+        }
+    }
+
+    /**
+     * Open spec bytes past a UTF-8 byte order mark (offsets are counted from there)
+     */
+    private static InputStream openContent(SpecSource source) throws IOException {
+        InputStream in = new BufferedInputStream(source.open(), BUFFER_SIZE);
+        try {
+            in.mark(UTF8_BOM.length);
+            if (!Arrays.equals(in.readNBytes(UTF8_BOM.length), UTF8_BOM)) {
+                in.reset();
+            }
+            return in;
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Whether the first non-whitespace byte opens a JSON object (stream is reset)
+     */
+    private static boolean isJson(InputStream in) throws IOException {
+        in.mark(BUFFER_SIZE);
+        try {
+            for (int i = 0; i < BUFFER_SIZE - 1; i++) {
+                int b = in.read();
+                if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+                    return b == '{';
+                }
+            }
+            return false;
+        } finally {
+            in.reset();
+        }
+    }
+
+    private static boolean isOpenAPI31(String openapiVersion) {
+        return openapiVersion != null && openapiVersion.startsWith("3.1");
+    }
+
+    private static String[] readInfo(JsonParser parser) throws IOException {
+        String[] info = new String[2];
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return info;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "title" -> info[0] = parser.getValueAsString();
+                case "version" -> info[1] = parser.getValueAsString();
+                default -> parser.skipChildren();
+            }
+        }
+        return info;
+    }
+
+    /**
+     * Record where each component schema starts, without reading it
+     */
+    private static void readComponentOffsets(JsonParser parser, ComponentOffsets offsets) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if (!"schemas".equals(field) || parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            offsets.start = parser.currentTokenLocation().getByteOffset();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                if (parser.nextToken() == JsonToken.START_OBJECT) {
+                    offsets.schemas.put(name, parser.currentTokenLocation().getByteOffset());
+                }
+                parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Byte offsets of {@code components.schemas} and of each schema in it
+     */
+    private static final class ComponentOffsets {
+        private long start = -1;
+        private final Map<String, Long> schemas = new LinkedHashMap<>();
+    }
+
+    /**
+     * Streaming Analysis
+     *
+     * @param analysisResult Same result as the model-based analyzer
+     * @param components Component schemas, parsed on demand
+     */
+    public record StreamingAnalysis(
+        AnalysisResult analysisResult,
+        ComponentSchemas components
+    ) {}
+
+    /**
+     * Component schemas of a streamed spec
+     * Holds only the source and name -> byte offset; each lookup opens the
+     * source again and parses that one schema (a compressed source is inflated
+     * up to the offset, so lookups of many schemas should go through
+     * {@link #scan}). Safe for concurrent use.
+     */
+    public static final class ComponentSchemas {
+
+        private final SpecSource source;
+        private final long start;
+        private final Map<String, Long> offsets;
+        private final boolean openApi31;
+
+        ComponentSchemas(SpecSource source, ComponentOffsets offsets, boolean openApi31) {
+            this.source = source;
+            this.start = offsets.start;
+            this.offsets = Collections.unmodifiableMap(offsets.schemas);
+            this.openApi31 = openApi31;
+        }
+
+        /**
+         * Component schema names
+         */
+        public Set<String> names() {
+            return offsets.keySet();
+        }
+
+        /**
+         * Parse component schema by name
+         *
+         * @return Schema info, or null if there is no such component
+         */
+        public SchemaInfo get(String name) {
+            Long offset = offsets.get(name);
+            if (offset == null) {
+                return null;
+            }
+            try (InputStream in = openAt(offset);
+                 JsonParser parser = JSON_FACTORY.createParser(in)) {
+                parser.nextToken();
+                return new DocumentReader(openApi31).readSchema(parser);
+            } catch (IOException e) {
+                throw new OpenAPIAnalysisException("컴포넌트 스키마 읽기 실패: " + name, e);
+            }
+        }
+
+        /**
+         * Parse several component schemas in one pass over {@code components.schemas}
+         * (schemas not asked for are skipped without being built)
+         *
+         * @param names Component names; names without a component are ignored
+         * @param visitor Called once per schema, in document order
+         */
+        public void scan(Collection<String> names, BiConsumer<String, SchemaInfo> visitor) {
+            Set<String> wanted = new HashSet<>(names);
+            wanted.retainAll(offsets.keySet());
+            if (wanted.isEmpty()) {
+                return;
+            }
+            try (InputStream in = openAt(start);
+                 JsonParser parser = JSON_FACTORY.createParser(in)) {
+                parser.nextToken();
+                while (!wanted.isEmpty() && parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    parser.nextToken();
+                    // Same entry as get(name) when a name occurs twice
+                    long offset = start + parser.currentTokenLocation().getByteOffset();
+                    if (wanted.contains(name) && offsets.get(name) == offset) {
+                        wanted.remove(name);
+                        visitor.accept(name, new DocumentReader(openApi31).readSchema(parser));
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } catch (IOException e) {
+                throw new OpenAPIAnalysisException("컴포넌트 스키마 읽기 실패", e);
+            }
+        }
+
+        private InputStream openAt(long offset) throws IOException {
+            InputStream in = openContent(source);
+            try {
+                in.skipNBytes(offset);
+                return in;
+            } catch (IOException | RuntimeException e) {
+                in.close();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Reads paths, operations and schemas from the token stream
+     * Mirrors what OpenAPIAnalyzer extracts from the swagger-parser model.
+     */
+    private static final class DocumentReader {
+
+        private final boolean openApi31;
+
+        DocumentReader(boolean openApi31) {
+            this.openApi31 = openApi31;
+        }
+
+        void readPaths(JsonParser parser, List<EndpointInfo> endpoints) throws IOException {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                return;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String path = parser.currentName();
+                parser.nextToken();
+                readPathItem(parser, path, endpoints);
+            }
+        }
+
+        private void readPathItem(JsonParser parser, String path, List<EndpointInfo> endpoints) throws IOException {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                return;
+            }
+            Map<String, EndpointInfo> operations = new HashMap<>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String method = parser.currentName().toUpperCase(Locale.ROOT);
+                parser.nextToken();
+                if (HTTP_METHODS.contains(method) && parser.currentToken() == JsonToken.START_OBJECT) {
+                    operations.put(method, readOperation(parser, path, method));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            for (String method : HTTP_METHODS) {
+                EndpointInfo endpoint = operations.get(method);
+                if (endpoint != null) {
+                    endpoints.add(endpoint);
+                }
+            }
+        }
+
+        private EndpointInfo readOperation(JsonParser parser, String path, String method) throws IOException {
+            String operationId = null;
+            String summary = null;
+            String description = null;
+            List<String> tags = null;
+            List<ParameterInfo> parameters = new ArrayList<>();
+            SchemaInfo requestBodySchema = null;
+            Map<String, SchemaInfo> responseSchemas = new HashMap<>();
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "operationId" -> operationId = parser.getValueAsString();
+                    case "summary" -> summary = parser.getValueAsString();
+                    case "description" -> description = parser.getValueAsString();
+                    case "tags" -> tags = readStringList(parser);
+                    case "parameters" -> readParameters(parser, parameters);
+                    case "requestBody" -> requestBodySchema = readContentHolder(parser);
+                    case "responses" -> readResponses(parser, responseSchemas);
+                    default -> parser.skipChildren();
+                }
+            }
+
+            return new EndpointInfo(path, method, operationId, summary, description,
+                tags, parameters, requestBodySchema, responseSchemas);
+        }
+
+        private void readParameters(JsonParser parser, List<ParameterInfo> parameters) throws IOException {
+            if (parser.currentToken() != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                return;
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (parser.currentToken() != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+                String name = null;
+                String in = null;
+                Boolean required = null;
+                String description = null;
+                SchemaInfo schema = null;
+                boolean reference = false;
+
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    switch (field) {
+                        case "$ref" -> reference = true;
+                        case "name" -> name = parser.getValueAsString();
+                        case "in" -> in = parser.getValueAsString();
+                        case "required" -> required = readBoolean(parser);
+                        case "description" -> description = parser.getValueAsString();
+                        case "schema" -> schema = readSchema(parser);
+                        default -> parser.skipChildren();
+                    }
+                }
+
+                if (reference) {
+                    // Unresolved parameter reference: the model keeps only $ref (3.1: plus description)
+                    parameters.add(new ParameterInfo(null, null, false, openApi31 ? description : null, null));
+                } else {
+                    parameters.add(new ParameterInfo(name, in, required != null ? required : false,
+                        description, schema));
+                }
+            }
+        }
+
+        private void readResponses(JsonParser parser, Map<String, SchemaInfo> responseSchemas) throws IOException {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                return;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String statusCode = parser.currentName();
+                parser.nextToken();
+                SchemaInfo schema = readContentHolder(parser);
+                if (schema != null) {
+                    responseSchemas.put(statusCode, schema);
+                }
+            }
+        }
+
+        /**
+         * Request body or response: schema of application/json, else of the first media type
+         * (a $ref'd request body / response has no content)
+         */
+        private SchemaInfo readContentHolder(JsonParser parser) throws IOException {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                return null;
+            }
+            boolean reference = false;
+            MediaTypeSchema content = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "$ref" -> reference = true;
+                    case "content" -> content = readContent(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+            return reference || content == null ? null : content.schema();
+        }
+
+        private MediaTypeSchema readContent(JsonParser parser) throws IOException {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                return null;
+            }
+            MediaTypeSchema first = null;
+            MediaTypeSchema json = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String mediaType = parser.currentName();
+                parser.nextToken();
+                boolean wanted = first == null || (json == null && "application/json".equals(mediaType));
+                if (!wanted || parser.currentToken() != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    if (first == null) {
+                        first = new MediaTypeSchema(null);
+                    }
+                    continue;
+                }
+                SchemaInfo schema = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    if ("schema".equals(field)) {
+                        schema = readSchema(parser);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                MediaTypeSchema read = new MediaTypeSchema(schema);
+                if (first == null) {
+                    first = read;
+                }
+                if ("application/json".equals(mediaType)) {
+                    json = read;
+                }
+            }
+            return json != null ? json : first;
+        }
+
+        // ====================================================================
+        // SCHEMA
+        // ====================================================================
+
+        /**
+         * Read schema object (same result as OpenAPIAnalyzer.extractSchemaInfo on the model)
+         */
+        SchemaInfo readSchema(JsonParser parser) throws IOException {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                return null;
+            }
+
+            RawSchema raw = new RawSchema();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "$ref" -> raw.ref = parser.getValueAsString();
+                    case "type" -> raw.type = readType(parser);
+                    case "format" -> raw.format = parser.getValueAsString();
+                    case "description" -> raw.description = parser.getValueAsString();
+                    case "properties" -> raw.properties = readProperties(parser);
+                    case "items" -> raw.items = readSchema(parser);
+                    case "required" -> raw.required = readStringList(parser);
+                    case "minimum" -> raw.minimum = readDecimal(parser);
+                    case "maximum" -> raw.maximum = readDecimal(parser);
+                    case "exclusiveMinimum" -> {
+                        if (parser.currentToken().isBoolean()) {
+                            raw.exclusiveMinimumFlag = parser.getBooleanValue();
+                        } else {
+                            raw.exclusiveMinimum = readDecimal(parser);
+                        }
+                    }
+                    case "exclusiveMaximum" -> {
+                        if (parser.currentToken().isBoolean()) {
+                            raw.exclusiveMaximumFlag = parser.getBooleanValue();
+                        } else {
+                            raw.exclusiveMaximum = readDecimal(parser);
+                        }
+                    }
+                    case "minLength" -> raw.minLength = readInteger(parser);
+                    case "maxLength" -> raw.maxLength = readInteger(parser);
+                    case "pattern" -> raw.pattern = parser.getValueAsString();
+                    case "enum" -> raw.enumValues = readValueList(parser);
+                    case "const" -> {
+                        raw.constValue = readValue(parser);
+                        raw.hasConst = true;
+                    }
+                    case "minItems" -> raw.minItems = readInteger(parser);
+                    case "maxItems" -> raw.maxItems = readInteger(parser);
+                    case "uniqueItems" -> raw.uniqueItems = readBoolean(parser);
+                    case "allOf" -> raw.allOf = readSchemaList(parser);
+                    case "anyOf" -> raw.anyOf = readSchemaList(parser);
+                    case "oneOf" -> raw.oneOf = readSchemaList(parser);
+                    case "discriminator" -> raw.discriminator = readDiscriminator(parser);
+                    case "additionalProperties" -> {
+                        raw.additionalPropertiesSchema = parser.currentToken() == JsonToken.START_OBJECT;
+                        parser.skipChildren();
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+            return raw.toSchemaInfo();
+        }
+
+        /**
+         * type: string, or (3.1) array of types -> first non-null type
+         */
+        private String readType(JsonParser parser) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_STRING) {
+                return parser.getText();
+            }
+            if (parser.currentToken() == JsonToken.START_ARRAY) {
+                String type = null;
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (type == null && parser.currentToken() == JsonToken.VALUE_STRING
+                            && !"null".equals(parser.getText())) {
+                        type = parser.getText();
+                    }
+                    parser.skipChildren();
+                }
+                return type;
+            }
+            parser.skipChildren();
+            return null;
+        }
+
+        private Map<String, SchemaInfo> readProperties(JsonParser parser) throws IOException {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                return null;
+            }
+            Map<String, SchemaInfo> properties = new HashMap<>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                properties.put(name, readSchema(parser));
+            }
+            return properties;
+        }
+
+        private List<SchemaInfo> readSchemaList(JsonParser parser) throws IOException {
+            if (parser.currentToken() != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                return null;
+            }
+            List<SchemaInfo> schemas = new ArrayList<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                schemas.add(readSchema(parser));
+            }
+            return schemas;
+        }
+
+        private DiscriminatorInfo readDiscriminator(JsonParser parser) throws IOException {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                return null;
+            }
+            String propertyName = null;
+            Map<String, String> mapping = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("propertyName".equals(field)) {
+                    propertyName = parser.getValueAsString();
+                } else if ("mapping".equals(field) && parser.currentToken() == JsonToken.START_OBJECT) {
+                    mapping = new LinkedHashMap<>();
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String value = parser.currentName();
+                        parser.nextToken();
+                        mapping.put(value, parser.getValueAsString());
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return propertyName != null ? new DiscriminatorInfo(propertyName, mapping) : null;
+        }
+
+        /**
+         * Schema fields collected before building SchemaInfo (keyword order is free)
+         */
+        private final class RawSchema {
+            String ref;
+            String type;
+            String format;
+            String description;
+            Map<String, SchemaInfo> properties;
+            SchemaInfo items;
+            List<String> required;
+            BigDecimal minimum;
+            BigDecimal maximum;
+            BigDecimal exclusiveMinimum;
+            BigDecimal exclusiveMaximum;
+            boolean exclusiveMinimumFlag;
+            boolean exclusiveMaximumFlag;
+            Integer minLength;
+            Integer maxLength;
+            String pattern;
+            List<Object> enumValues;
+            Object constValue;
+            boolean hasConst;
+            Integer minItems;
+            Integer maxItems;
+            Boolean uniqueItems;
+            List<SchemaInfo> allOf;
+            List<SchemaInfo> anyOf;
+            List<SchemaInfo> oneOf;
+            DiscriminatorInfo discriminator;
+            boolean additionalPropertiesSchema;
+
+            SchemaInfo toSchemaInfo() {
+                if (ref != null) {
+                    // 3.0: siblings of $ref are dropped by the parser; 3.1 keeps them
+                    return new SchemaInfo(null, null, null, null, null,
+                        openApi31 ? description : null, normalizeRef(ref));
+                }
+
+                boolean composed = allOf != null || anyOf != null || oneOf != null;
+                String resolvedType = type;
+                if (resolvedType == null && !openApi31 && !composed) {
+                    // 3.0 model classes carry a default type (ArraySchema, MapSchema)
+                    if (items != null) {
+                        resolvedType = "array";
+                    } else if (additionalPropertiesSchema) {
+                        resolvedType = "object";
+                    }
+                }
+
+                SchemaInfo itemsSchema = "array".equals(resolvedType) ? items : null;
+                Map<String, SchemaInfo> ownProperties = null;
+                List<String> ownRequired = null;
+                if (("object".equals(resolvedType) || resolvedType == null) && properties != null) {
+                    resolvedType = "object";
+                    ownProperties = properties;
+                }
+                if (("object".equals(resolvedType) || resolvedType == null)
+                    && required != null && !required.isEmpty()) {
+                    ownRequired = required;
+                }
+
+                Number ownMinimum = minimum;
+                Number ownMaximum = maximum;
+                Number ownExclusiveMinimum = exclusiveMinimum;
+                Number ownExclusiveMaximum = exclusiveMaximum;
+                if (exclusiveMinimumFlag && ownMinimum != null) {
+                    ownExclusiveMinimum = ownMinimum;
+                    ownMinimum = null;
+                }
+                if (exclusiveMaximumFlag && ownMaximum != null) {
+                    ownExclusiveMaximum = ownMaximum;
+                    ownMaximum = null;
+                }
+
+                SchemaInfo info = new SchemaInfo(
+                    resolvedType,
+                    format,
+                    ownProperties,
+                    itemsSchema,
+                    ownRequired,
+                    description,
+                    null,
+                    ownMinimum,
+                    ownMaximum,
+                    ownExclusiveMinimum,
+                    ownExclusiveMaximum,
+                    minLength,
+                    maxLength,
+                    pattern,
+                    allowedValues(resolvedType),
+                    minItems,
+                    maxItems,
+                    uniqueItems,
+                    null, null, null, null
+                );
+
+                if (composed) {
+                    return info.withComposition(
+                        nonEmpty(allOf), nonEmpty(anyOf), nonEmpty(oneOf),
+                        discriminator);
+                }
+                return info;
+            }
+
+            /**
+             * enum (cast like the typed 3.0 model schemas), or const as a single-value enum
+             */
+            private List<?> allowedValues(String resolvedType) {
+                if (enumValues != null && !enumValues.isEmpty()) {
+                    List<Object> values = new ArrayList<>(enumValues.size());
+                    for (Object value : enumValues) {
+                        values.add(cast(value, resolvedType));
+                    }
+                    return values;
+                }
+                if (hasConst && constValue != null) {
+                    return List.of(cast(constValue, resolvedType));
+                }
+                return null;
+            }
+
+            private Object cast(Object value, String resolvedType) {
+                if (openApi31) {
+                    // 3.1 model (JsonSchema) keeps values as Jackson read them: decimals are Double
+                    return value instanceof BigDecimal decimal ? (Object) decimal.doubleValue() : value;
+                }
+                if (value == null || resolvedType == null) {
+                    return value;
+                }
+                switch (resolvedType) {
+                    case "string":
+                        return value.toString();
+                    case "integer":
+                        if (value instanceof Number number) {
+                            // Integer when it fits, whatever the format (as IntegerSchema keeps it)
+                            long longValue = number.longValue();
+                            return longValue == (int) longValue ? (Object) (int) longValue : (Object) longValue;
+                        }
+                        return value;
+                    case "number":
+                        return value instanceof Number number ? new BigDecimal(number.toString()) : value;
+                    default:
+                        return value;
+                }
+            }
+        }
+
+        private static List<SchemaInfo> nonEmpty(List<SchemaInfo> schemas) {
+            return schemas == null || schemas.isEmpty() ? null : schemas;
+        }
+
+        private static String normalizeRef(String ref) {
+            // Bare names refer to component schemas (as in the swagger-parser model)
+            return ref.indexOf('.') == -1 && ref.indexOf('/') == -1
+                ? COMPONENTS_SCHEMAS_REF + ref
+                : ref;
+        }
+    }
+
+    /**
+     * Schema of one media type (schema may be null)
+     */
+    private record MediaTypeSchema(SchemaInfo schema) {}
+
+    // ========================================================================
+    // VALUES
+    // ========================================================================
+
+    private static List<String> readStringList(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            values.add(parser.getValueAsString());
+            parser.skipChildren();
+        }
+        return values;
+    }
+
+    private static List<Object> readValueList(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        List<Object> values = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            values.add(readValue(parser));
+        }
+        return values;
+    }
+
+    /**
+     * Plain Java value of the current token (objects as LinkedHashMap, arrays as ArrayList)
+     */
+    private static Object readValue(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+                return parser.getNumberValue();
+            case VALUE_NUMBER_FLOAT:
+                return parser.getDecimalValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case START_ARRAY:
+                return readValueList(parser);
+            case START_OBJECT: {
+                Map<String, Object> map = new LinkedHashMap<>();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    parser.nextToken();
+                    map.put(name, readValue(parser));
+                }
+                return map;
+            }
+            default:
+                return null;
+        }
+    }
+
+    private static BigDecimal readDecimal(JsonParser parser) throws IOException {
+        if (parser.currentToken().isNumeric()) {
+            return parser.getDecimalValue();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private static Integer readInteger(JsonParser parser) throws IOException {
+        if (parser.currentToken().isNumeric()) {
+            return parser.getIntValue();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private static Boolean readBoolean(JsonParser parser) throws IOException {
+        if (parser.currentToken().isBoolean()) {
+            return parser.getBooleanValue();
+        }
+        parser.skipChildren();
+        return null;
+    }
+}
@@ -0,0 +1,222 @@
+package com.twolinecloud.MCP_gateway.openapi.schema;
+
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer.SchemaInfo;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Component Index
+ * One-time index of a spec's component schemas: the {@code $ref} dependency
+ * graph between them. Only the graph is kept; the schemas are read once, in one
+ * scan, for their references and then dropped (streamed specs stay on demand,
+ * the converter reads a schema again when it converts it).
+ *
+ * The graph is split into strongly connected components (Tarjan). Each SCC is
+ * a set of mutually recursive schemas (or a single schema); SCCs are grouped
+ * into levels so that every SCC only depends on SCCs of lower levels. All
+ * SCCs of one level are independent and can be converted in parallel.
+ */
+public final class ComponentIndex {
+
+    private static final String COMPONENTS_SCHEMAS_REF = "#/components/schemas/";
+
+    private final Map<String, Set<String>> dependencies;
+    private final List<List<String>> stronglyConnected;
+    private final List<List<List<String>>> levels;
+
+    ComponentIndex(Set<String> componentNames, Function<String, SchemaInfo> resolver) {
+        this(componentNames, ConversionContext.oneByOne(resolver));
+    }
+
+    ComponentIndex(Set<String> componentNames, ConversionContext.ComponentScanner scanner) {
+        this.dependencies = new HashMap<>();
+        scanner.scan(componentNames, (name, schema) -> {
+            Set<String> refs = new LinkedHashSet<>();
+            collectReferences(schema, refs);
+            dependencies.put(name, refs);
+        });
+        // References to components that do not resolve are not edges
+        for (Set<String> refs : dependencies.values()) {
+            refs.retainAll(dependencies.keySet());
+        }
+        this.stronglyConnected = findStronglyConnected();
+        this.levels = groupByLevel();
+    }
+
+    /**
+     * Components referenced directly by the given component
+     */
+    public Set<String> getDependencies(String name) {
+        return dependencies.getOrDefault(name, Set.of());
+    }
+
+    /**
+     * Strongly connected components, dependencies before dependents
+     */
+    public List<List<String>> getStronglyConnected() {
+        return stronglyConnected;
+    }
+
+    /**
+     * SCCs grouped by level; SCCs of a level depend only on lower levels
+     */
+    public List<List<List<String>>> getLevels() {
+        return levels;
+    }
+
+    /**
+     * Whether the SCC contains a reference cycle (several members, or a self reference)
+     */
+    public boolean isCyclic(List<String> scc) {
+        return scc.size() > 1 || getDependencies(scc.get(0)).contains(scc.get(0));
+    }
+
+    public int size() {
+        return dependencies.size();
+    }
+
+    // ========================================================================
+    // GRAPH
+    // ========================================================================
+
+    /**
+     * Component names referenced anywhere inside the schema (discriminator mappings included)
+     */
+    private void collectReferences(SchemaInfo schema, Set<String> refs) {
+        if (schema == null) {
+            return;
+        }
+        if (schema.ref() != null) {
+            addReference(schema.ref(), refs);
+            return;
+        }
+        if (schema.properties() != null) {
+            for (SchemaInfo property : schema.properties().values()) {
+                collectReferences(property, refs);
+            }
+        }
+        collectReferences(schema.items(), refs);
+        collectAll(schema.allOf(), refs);
+        collectAll(schema.anyOf(), refs);
+        collectAll(schema.oneOf(), refs);
+        if (schema.discriminator() != null && schema.discriminator().mapping() != null) {
+            for (String target : schema.discriminator().mapping().values()) {
+                addReference(target.contains("/") ? target : COMPONENTS_SCHEMAS_REF + target, refs);
+            }
+        }
+    }
+
+    private void collectAll(List<SchemaInfo> list, Set<String> refs) {
+        if (list != null) {
+            for (SchemaInfo schema : list) {
+                collectReferences(schema, refs);
+            }
+        }
+    }
+
+    private void addReference(String ref, Set<String> refs) {
+        if (!ref.startsWith(COMPONENTS_SCHEMAS_REF)) {
+            return;
+        }
+        refs.add(ref.substring(COMPONENTS_SCHEMAS_REF.length()));
+    }
+
+    /**
+     * Tarjan's algorithm (iterative, deep graphs do not overflow the stack)
+     * SCCs are emitted after every SCC they depend on.
+     */
+    private List<List<String>> findStronglyConnected() {
+        Map<String, Integer> index = new HashMap<>();
+        Map<String, Integer> lowLink = new HashMap<>();
+        Set<String> onStack = new HashSet<>();
+        Deque<String> stack = new ArrayDeque<>();
+        List<List<String>> result = new ArrayList<>();
+        int counter = 0;
+
+        // Sorted start order: the same spec always yields the same order
+        for (String start : new TreeSet<>(dependencies.keySet())) {
+            if (index.containsKey(start)) {
+                continue;
+            }
+
+            Deque<Frame> work = new ArrayDeque<>();
+            work.push(new Frame(start, getDependencies(start).iterator()));
+            index.put(start, counter);
+            lowLink.put(start, counter);
+            counter++;
+            stack.push(start);
+            onStack.add(start);
+
+            while (!work.isEmpty()) {
+                Frame frame = work.peek();
+                if (frame.successors.hasNext()) {
+                    String next = frame.successors.next();
+                    if (!index.containsKey(next)) {
+                        index.put(next, counter);
+                        lowLink.put(next, counter);
+                        counter++;
+                        stack.push(next);
+                        onStack.add(next);
+                        work.push(new Frame(next, getDependencies(next).iterator()));
+                    } else if (onStack.contains(next)) {
+                        lowLink.put(frame.node, Math.min(lowLink.get(frame.node), index.get(next)));
+                    }
+                    continue;
+                }
+
+                work.pop();
+                if (!work.isEmpty()) {
+                    Frame parent = work.peek();
+                    lowLink.put(parent.node, Math.min(lowLink.get(parent.node), lowLink.get(frame.node)));
+                }
+
+                if (lowLink.get(frame.node).equals(index.get(frame.node))) {
+                    List<String> scc = new ArrayList<>();
+                    String member;
+                    do {
+                        member = stack.pop();
+                        onStack.remove(member);
+                        scc.add(member);
+                    } while (!member.equals(frame.node));
+                    result.add(Collections.unmodifiableList(scc));
+                }
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Level of an SCC = 1 + highest level among the SCCs it depends on
+     */
+    private List<List<List<String>>> groupByLevel() {
+        Map<String, Integer> sccOf = new HashMap<>();
+        for (int i = 0; i < stronglyConnected.size(); i++) {
+            for (String member : stronglyConnected.get(i)) {
+                sccOf.put(member, i);
+            }
+        }
+
+        int[] levelOf = new int[stronglyConnected.size()];
+        List<List<List<String>>> result = new ArrayList<>();
+        for (int i = 0; i < stronglyConnected.size(); i++) {
+            int level = 0;
+            for (String member : stronglyConnected.get(i)) {
+                for (String dependency : getDependencies(member)) {
+                    int other = sccOf.get(dependency);
+                    if (other != i) {
+                        level = Math.max(level, levelOf[other] + 1);
+                    }
+                }
+            }
+            levelOf[i] = level;
+            while (result.size() <= level) {
+                result.add(new ArrayList<>());
+            }
+            result.get(level).add(stronglyConnected.get(i));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private record Frame(String node, Iterator<String> successors) {}
+}
@@ -0,0 +1,193 @@
+package com.twolinecloud.MCP_gateway.openapi.schema;
+
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer;
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer.SchemaInfo;
+import com.twolinecloud.MCP_gateway.openapi.parser.StreamingOpenAPIAnalyzer;
+import com.twolinecloud.MCP_gateway.openapi.schema.validator.ReferenceValidator;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Conversion Context
+ * Per-spec state for {@link SchemaConverter}: the spec's component schemas
+ * (fixed when the context is created) and the schemas converted so far
+ * (kept in the shared, bounded {@link SchemaCache} under the spec key).
+ *
+ * One context per spec, created with one of:
+ * - {@link SchemaConverter#createContext(String, OpenAPI)}: a parsed model; its
+ *   component schema infos are extracted once per name and kept with the context
+ * - {@link SchemaConverter#createContext(String, StreamingOpenAPIAnalyzer.ComponentSchemas)}:
+ *   a streamed spec, whose component schemas are read on demand (several at
+ *   once through a {@link ComponentScanner})
+ * - {@link SchemaConverter#createContext(String, Set, Function)}: any other
+ *   source of component schema infos, resolved one by one
+ * Contexts share nothing, so different specs can be converted in parallel,
+ * and a single context can be used from several threads.
+ */
+public final class ConversionContext {
+
+    private final Set<String> componentNames;
+    private final Function<String, SchemaInfo> componentResolver;
+    private final ComponentScanner componentScanner;
+
+    // $ref graph only, built once by getComponentIndex()
+    private volatile ComponentIndex componentIndex;
+
+    // Converted schemas ($ref or schema name -> validator), stored under specKey
+    private final SchemaCache schemaCache;
+    private final String specKey;
+
+    // Reference validators waiting for their target (cache key -> placeholders)
+    private final Map<String, Queue<ReferenceValidator>> pendingReferences = new ConcurrentHashMap<>();
+
+    ConversionContext(SchemaCache schemaCache, String specKey, OpenAPI openAPI) {
+        this.schemaCache = schemaCache;
+        this.specKey = specKey;
+        Map<String, Schema<?>> components = new HashMap<>();
+        if (openAPI != null && openAPI.getComponents() != null
+            && openAPI.getComponents().getSchemas() != null) {
+            openAPI.getComponents().getSchemas().forEach(components::put);
+        }
+        this.componentNames = Collections.unmodifiableSet(components.keySet());
+        // Extracted once per name (filled while the index is built), reused by the converter
+        Map<String, SchemaInfo> extracted = new ConcurrentHashMap<>();
+        this.componentResolver = name -> extracted.computeIfAbsent(name, key -> {
+            Schema<?> schema = components.get(key);
+            return schema != null ? OpenAPIAnalyzer.extractSchemaInfo(schema) : null;
+        });
+        this.componentScanner = oneByOne(componentResolver);
+    }
+
+    /**
+     * @param schemaCache Shared schema cache
+     * @param specKey Key of the spec in the schema cache
+     * @param componentNames Component schema names
+     * @param componentResolver Component schema info by name (must be thread-safe)
+     * @param componentScanner Reads several component schemas at once (must be thread-safe),
+     *        or null to resolve them one by one
+     */
+    ConversionContext(SchemaCache schemaCache, String specKey,
+                      Set<String> componentNames, Function<String, SchemaInfo> componentResolver,
+                      ComponentScanner componentScanner) {
+        this.schemaCache = schemaCache;
+        this.specKey = specKey;
+        this.componentNames = Collections.unmodifiableSet(componentNames);
+        this.componentResolver = componentResolver;
+        this.componentScanner = componentScanner != null ? componentScanner : oneByOne(componentResolver);
+    }
+
+    /**
+     * Reads several component schemas at once (e.g. in one pass over a streamed spec)
+     */
+    @FunctionalInterface
+    public interface ComponentScanner {
+        /**
+         * @param names Component names (names without a component are ignored)
+         * @param visitor Called once per component schema, in any order
+         */
+        void scan(Collection<String> names, BiConsumer<String, SchemaInfo> visitor);
+    }
+
+    static ComponentScanner oneByOne(Function<String, SchemaInfo> resolver) {
+        return (names, visitor) -> {
+            for (String name : names) {
+                SchemaInfo schema = resolver.apply(name);
+                if (schema != null) {
+                    visitor.accept(name, schema);
+                }
+            }
+        };
+    }
+
+    /**
+     * Component schema info by name, or null
+     */
+    SchemaInfo getComponentSchema(String name) {
+        return componentNames.contains(name) ? componentResolver.apply(name) : null;
+    }
+
+    /**
+     * Component schema infos by name, read together where the source allows
+     */
+    void scanComponentSchemas(Collection<String> names, BiConsumer<String, SchemaInfo> visitor) {
+        componentScanner.scan(names, visitor);
+    }
+
+    /**
+     * Component index ($ref graph and SCCs), built on first call
+     */
+    public ComponentIndex getComponentIndex() {
+        ComponentIndex index = componentIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = componentIndex;
+                if (index == null) {
+                    index = new ComponentIndex(componentNames, componentScanner);
+                    componentIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    boolean hasComponents() {
+        return !componentNames.isEmpty();
+    }
+
+    /**
+     * Component schema names
+     */
+    public Set<String> getComponentNames() {
+        return componentNames;
+    }
+
+    /**
+     * Key of the spec in the schema cache
+     */
+    public String getSpecKey() {
+        return specKey;
+    }
+
+    ValidationSchema getCached(String key) {
+        return schemaCache.get(specKey, key);
+    }
+
+    /**
+     * Cache converted schema (first conversion wins when converted concurrently)
+     * 
+     * @param loadNanos Time spent converting the schema
+     */
+    ValidationSchema cache(String key, ValidationSchema schema, long loadNanos) {
+        return schemaCache.putIfAbsent(specKey, key, schema, loadNanos);
+    }
+
+    void addPendingReference(String key, ReferenceValidator reference) {
+        pendingReferences.computeIfAbsent(key, k -> new ConcurrentLinkedQueue<>()).add(reference);
+    }
+
+    Queue<ReferenceValidator> removePendingReferences(String key) {
+        return pendingReferences.remove(key);
+    }
+
+    /**
+     * Converted schemas still cached (read-only copy)
+     */
+    public Map<String, ValidationSchema> getConvertedSchemas() {
+        return Collections.unmodifiableMap(schemaCache.getEntries(specKey));
+    }
+
+    public int size() {
+        return schemaCache.size(specKey);
+    }
+}
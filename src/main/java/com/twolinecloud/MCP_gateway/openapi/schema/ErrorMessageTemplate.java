@@ -20,6 +20,7 @@ public class ErrorMessageTemplate {
         TEMPLATES.put("type.boolean", "불리언(true/false)이어야 합니다");
         TEMPLATES.put("type.array", "배열이어야 합니다");
         TEMPLATES.put("type.object", "객체여야 합니다");
+        TEMPLATES.put("validation.failed", "유효하지 않은 값입니다");
         
         // String 관련
         TEMPLATES.put("string.minLength", "최소 {minLength}자 이상이어야 합니다");
@@ -29,10 +30,17 @@ public class ErrorMessageTemplate {
         TEMPLATES.put("string.format.uuid", "올바른 UUID 형식이 아닙니다");
         TEMPLATES.put("string.format.date", "올바른 날짜 형식(YYYY-MM-DD)이 아닙니다");
         TEMPLATES.put("string.format.uri", "올바른 URI 형식이 아닙니다");
+        TEMPLATES.put("string.format.url", "올바른 URI 형식이 아닙니다");
+        TEMPLATES.put("string.format.date-time", "올바른 날짜-시간 형식(RFC 3339)이 아닙니다");
+        TEMPLATES.put("string.format.hostname", "올바른 호스트명 형식이 아닙니다");
+        TEMPLATES.put("string.format.ipv4", "올바른 IPv4 주소 형식이 아닙니다");
+        TEMPLATES.put("string.format.ipv6", "올바른 IPv6 주소 형식이 아닙니다");
         
         // Number 관련
         TEMPLATES.put("number.minimum", "최소값은 {minimum}입니다");
         TEMPLATES.put("number.maximum", "최대값은 {maximum}입니다");
+        TEMPLATES.put("number.exclusiveMinimum", "{exclusiveMinimum}보다 커야 합니다");
+        TEMPLATES.put("number.exclusiveMaximum", "{exclusiveMaximum}보다 작아야 합니다");
         
         // Array 관련
         TEMPLATES.put("array.minItems", "최소 {minItems}개 이상의 항목이 필요합니다");
@@ -46,6 +54,15 @@ public class ErrorMessageTemplate {
         
         // Enum 관련
         TEMPLATES.put("enum", "허용된 값: {values}");
+        
+        // Discriminator 관련
+        TEMPLATES.put("discriminator.unknown", "알 수 없는 유형입니다. 허용된 값: {values}");
+        
+        // 재귀 스키마 관련
+        TEMPLATES.put("depth.exceeded", "허용된 최대 중첩 깊이({max})를 초과했습니다");
+        
+        // JSON 관련
+        TEMPLATES.put("json.malformed", "올바른 JSON 형식이 아닙니다");
     }
     
     /**
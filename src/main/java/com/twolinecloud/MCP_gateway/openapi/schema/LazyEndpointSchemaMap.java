@@ -0,0 +1,131 @@
+package com.twolinecloud.MCP_gateway.openapi.schema;
+
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer.EndpointInfo;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Lazy Endpoint Schema Map
+ * Endpoint key ("METHOD /path") -> schemas, converted on first access.
+ *
+ * Each entry keeps only the analyzed {@link EndpointInfo} until the endpoint
+ * is first looked up; conversion then runs exactly once even when many
+ * threads arrive at the same time (double-checked locking per entry).
+ * Iterating values or entries converts every endpoint.
+ */
+public class LazyEndpointSchemaMap extends AbstractMap<String, EndpointSchemas> {
+
+    private final Map<String, LazyEntry> entries;
+    private final Function<EndpointInfo, EndpointSchemas> converter;
+
+    public LazyEndpointSchemaMap(Iterable<EndpointInfo> endpoints,
+                                 Function<EndpointInfo, EndpointSchemas> converter) {
+        this.entries = new LinkedHashMap<>();
+        this.converter = converter;
+        for (EndpointInfo endpoint : endpoints) {
+            entries.put(endpoint.method() + " " + endpoint.path(), new LazyEntry(endpoint));
+        }
+    }
+
+    @Override
+    public EndpointSchemas get(Object key) {
+        LazyEntry entry = entries.get(key);
+        return entry != null ? entry.get() : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return entries.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    @Override
+    public Set<Entry<String, EndpointSchemas>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, EndpointSchemas>> iterator() {
+                Iterator<Entry<String, LazyEntry>> iterator = entries.entrySet().iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, EndpointSchemas> next() {
+                        Entry<String, LazyEntry> next = iterator.next();
+                        return new SimpleImmutableEntry<>(next.getKey(), next.getValue().get());
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return entries.size();
+            }
+        };
+    }
+
+    /**
+     * Whether endpoint has been converted already
+     */
+    public boolean isConverted(String key) {
+        LazyEntry entry = entries.get(key);
+        return entry != null && entry.schemas != null;
+    }
+
+    /**
+     * Number of endpoints converted so far
+     */
+    public int getConvertedCount() {
+        int count = 0;
+        for (LazyEntry entry : entries.values()) {
+            if (entry.schemas != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Endpoint metadata, converted on first get
+     */
+    private final class LazyEntry {
+        private final EndpointInfo endpoint;
+        private volatile EndpointSchemas schemas;
+
+        LazyEntry(EndpointInfo endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        EndpointSchemas get() {
+            EndpointSchemas result = schemas;
+            if (result == null) {
+                synchronized (this) {
+                    result = schemas;
+                    if (result == null) {
+                        result = converter.apply(endpoint);
+                        schemas = result;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
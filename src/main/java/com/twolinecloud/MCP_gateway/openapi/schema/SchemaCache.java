@@ -0,0 +1,334 @@
+package com.twolinecloud.MCP_gateway.openapi.schema;
+
+import com.twolinecloud.MCP_gateway.openapi.schema.compiler.CompiledValidator;
+import com.twolinecloud.MCP_gateway.openapi.schema.validator.*;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Schema Cache
+ * Converted schemas of all specs, shared by every {@link ConversionContext}.
+ *
+ * Bounded by entry count and by estimated weight (number of validator nodes);
+ * when either limit is exceeded the least recently used entries are evicted
+ * down to 90% of the limits. Entries can also be dropped per spec.
+ *
+ * The weight counts each validator node once: nodes of another cached schema
+ * (e.g. a component referenced from an endpoint schema) are counted only by
+ * that schema's entry. Once that entry is evicted, its nodes still reachable
+ * from other entries are no longer counted; they are freed with those entries.
+ *
+ * An evicted schema is simply converted again on its next use. Validators
+ * already handed out (including bound recursive references) stay valid.
+ */
+@Component
+public class SchemaCache {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaCache.class);
+
+    private static final double EVICTION_TARGET = 0.9;
+
+    @Value("${openapi.schema-cache.max-entries:10000}")
+    private long maxEntries = 10_000;
+
+    @Value("${openapi.schema-cache.max-weight:1000000}")
+    private long maxWeight = 1_000_000;
+
+    private final Map<CacheKey, CacheEntry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> keysBySpec = new ConcurrentHashMap<>();
+
+    // Root validators of the cached entries (-> number of entries), counted by their own entry
+    private final Map<Root, Integer> cachedRoots = new ConcurrentHashMap<>();
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong totalWeight = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong totalLoadNanos = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong clears = new AtomicLong();
+    private final AtomicLong clearedEntries = new AtomicLong();
+
+    /**
+     * Cached schema, or null
+     */
+    public ValidationSchema get(String specKey, String key) {
+        CacheEntry entry = entries.get(new CacheKey(specKey, key));
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        entry.lastAccess = clock.incrementAndGet();
+        return entry.schema;
+    }
+
+    /**
+     * Cache converted schema (first conversion wins when converted concurrently)
+     *
+     * @param loadNanos Time spent converting the schema
+     * @return Cached schema (the existing one if another thread was first)
+     */
+    public ValidationSchema putIfAbsent(String specKey, String key, ValidationSchema schema, long loadNanos) {
+        loads.incrementAndGet();
+        totalLoadNanos.addAndGet(loadNanos);
+
+        long weight = estimateWeight(schema, node -> cachedRoots.containsKey(new Root(node)));
+        CacheEntry candidate = new CacheEntry(schema, weight, clock.incrementAndGet());
+        CacheEntry existing = entries.putIfAbsent(new CacheKey(specKey, key), candidate);
+        if (existing != null) {
+            return existing.schema;
+        }
+        cachedRoots.merge(new Root(schema), 1, Integer::sum);
+
+        keysBySpec.computeIfAbsent(specKey, k -> ConcurrentHashMap.newKeySet()).add(key);
+        totalWeight.addAndGet(candidate.weight);
+
+        if (entries.size() > maxEntries || totalWeight.get() > maxWeight) {
+            evictLeastRecentlyUsed();
+        }
+        return schema;
+    }
+
+    /**
+     * Cached schemas of one spec (copy)
+     */
+    public Map<String, ValidationSchema> getEntries(String specKey) {
+        Map<String, ValidationSchema> result = new HashMap<>();
+        for (String key : keysBySpec.getOrDefault(specKey, Set.of())) {
+            CacheEntry entry = entries.get(new CacheKey(specKey, key));
+            if (entry != null) {
+                result.put(key, entry.schema);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Number of cached schemas of one spec
+     */
+    public int size(String specKey) {
+        return keysBySpec.getOrDefault(specKey, Set.of()).size();
+    }
+
+    /**
+     * Drop every cached schema of a spec
+     *
+     * @return Number of removed entries
+     */
+    public int evictSpec(String specKey) {
+        Set<String> keys = keysBySpec.remove(specKey);
+        if (keys == null) {
+            return 0;
+        }
+        int removed = 0;
+        for (String key : keys) {
+            if (remove(new CacheKey(specKey, key))) {
+                removed++;
+            }
+        }
+        evictions.addAndGet(removed);
+        log.info("🧹 Schema cache: {} entries of spec {} evicted", removed, specKey);
+        return removed;
+    }
+
+    /**
+     * Drop all entries (counted as clears, not as evictions)
+     */
+    public void clear() {
+        int removed = entries.size();
+        entries.clear();
+        keysBySpec.clear();
+        cachedRoots.clear();
+        totalWeight.set(0);
+        clears.incrementAndGet();
+        clearedEntries.addAndGet(removed);
+        log.info("🧹 Schema cache cleared ({} entries)", removed);
+    }
+
+    /**
+     * Cache statistics, with the entry count and weight of each cached spec
+     * (bySpec, heaviest first; its keys are the spec keys for {@link #evictSpec})
+     */
+    public Map<String, Object> getStats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long loadCount = loads.get();
+        long requests = hitCount + missCount;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", entries.size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("weight", totalWeight.get());
+        stats.put("maxWeight", maxWeight);
+        stats.put("specs", keysBySpec.size());
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", requests > 0 ? (double) hitCount / requests : 0.0);
+        stats.put("loads", loadCount);
+        stats.put("totalLoadTimeMillis", totalLoadNanos.get() / 1_000_000.0);
+        stats.put("averageLoadTimeMillis", loadCount > 0 ? totalLoadNanos.get() / 1_000_000.0 / loadCount : 0.0);
+        stats.put("evictions", evictions.get());
+        stats.put("clears", clears.get());
+        stats.put("clearedEntries", clearedEntries.get());
+        stats.put("bySpec", getStatsBySpec());
+        return stats;
+    }
+
+    /**
+     * Entry count and weight per spec key, heaviest first
+     */
+    private Map<String, Map<String, Object>> getStatsBySpec() {
+        Map<String, long[]> totals = new HashMap<>();   // spec key -> {entries, weight}
+        entries.forEach((key, entry) -> {
+            long[] total = totals.computeIfAbsent(key.specKey(), k -> new long[2]);
+            total[0]++;
+            total[1] += entry.weight;
+        });
+
+        List<Map.Entry<String, long[]>> sorted = new ArrayList<>(totals.entrySet());
+        sorted.sort(Comparator.comparingLong((Map.Entry<String, long[]> e) -> e.getValue()[1]).reversed());
+        Map<String, Map<String, Object>> bySpec = new LinkedHashMap<>();
+        for (Map.Entry<String, long[]> total : sorted) {
+            Map<String, Object> spec = new LinkedHashMap<>();
+            spec.put("entries", total.getValue()[0]);
+            spec.put("weight", total.getValue()[1]);
+            bySpec.put(total.getKey(), spec);
+        }
+        return bySpec;
+    }
+
+    /**
+     * Evict least recently used entries until both limits are met with some headroom
+     */
+    private synchronized void evictLeastRecentlyUsed() {
+        long entryTarget = (long) (maxEntries * EVICTION_TARGET);
+        long weightTarget = (long) (maxWeight * EVICTION_TARGET);
+        if (entries.size() <= maxEntries && totalWeight.get() <= maxWeight) {
+            return;   // another thread already evicted
+        }
+
+        // Access times keep changing; sort a stable copy
+        List<AccessSnapshot> candidates = new ArrayList<>(entries.size());
+        entries.forEach((key, entry) -> candidates.add(new AccessSnapshot(key, entry.lastAccess)));
+        candidates.sort(Comparator.comparingLong(AccessSnapshot::lastAccess));
+
+        int removed = 0;
+        for (AccessSnapshot candidate : candidates) {
+            if (entries.size() <= entryTarget && totalWeight.get() <= weightTarget) {
+                break;
+            }
+            CacheKey key = candidate.key();
+            if (remove(key)) {
+                Set<String> specKeys = keysBySpec.get(key.specKey());
+                if (specKeys != null) {
+                    specKeys.remove(key.key());
+                }
+                removed++;
+            }
+        }
+        evictions.addAndGet(removed);
+        log.debug("🧹 Schema cache: {} least recently used entries evicted", removed);
+    }
+
+    private boolean remove(CacheKey key) {
+        CacheEntry entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        totalWeight.addAndGet(-entry.weight);
+        cachedRoots.computeIfPresent(new Root(entry.schema), (root, count) -> count > 1 ? count - 1 : null);
+        return true;
+    }
+
+    /**
+     * Estimated weight: validator nodes reachable from the schema
+     * (recursive references are not followed; enum values count per 8)
+     */
+    static long estimateWeight(ValidationSchema schema) {
+        return estimateWeight(schema, node -> false);
+    }
+
+    /**
+     * Estimated weight without the subtrees that are already counted
+     *
+     * @param counted Nodes whose subtree is counted elsewhere (not visited)
+     */
+    static long estimateWeight(ValidationSchema schema, Predicate<ValidationSchema> counted) {
+        Set<ValidationSchema> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<ValidationSchema> pending = new ArrayDeque<>();
+        if (schema != null) {
+            pending.push(schema);
+        }
+        long weight = 0;
+        while (!pending.isEmpty()) {
+            ValidationSchema node = pending.pop();
+            if (!visited.add(node) || counted.test(node)) {
+                continue;
+            }
+            weight++;
+            if (node instanceof CompiledValidator compiled) {
+                pending.push(compiled.getInterpreted());
+            } else if (node instanceof ObjectValidator object) {
+                object.getProperties().values().forEach(pending::push);
+            } else if (node instanceof ArrayValidator array && array.getItemsSchema() != null) {
+                pending.push(array.getItemsSchema());
+            } else if (node instanceof AllOfValidator allOf) {
+                allOf.getSchemas().forEach(pending::push);
+            } else if (node instanceof AnyOfValidator anyOf) {
+                anyOf.getSchemas().forEach(pending::push);
+            } else if (node instanceof OneOfValidator oneOf) {
+                oneOf.getSchemas().forEach(pending::push);
+            } else if (node instanceof DiscriminatorValidator discriminator) {
+                discriminator.getMapping().values().forEach(pending::push);
+            } else if (node instanceof EnumValidator enumValidator) {
+                weight += enumValidator.getAllowedValues().size() / 8;
+                if (enumValidator.getDelegate() != null) {
+                    pending.push(enumValidator.getDelegate());
+                }
+            }
+        }
+        return weight;
+    }
+
+    private record CacheKey(String specKey, String key) {}
+
+    /**
+     * Identity key of a cached root validator
+     */
+    private record Root(ValidationSchema schema) {
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Root root && root.schema == schema;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(schema);
+        }
+    }
+
+    private record AccessSnapshot(CacheKey key, long lastAccess) {}
+
+    private static final class CacheEntry {
+        private final ValidationSchema schema;
+        private final long weight;
+        private volatile long lastAccess;
+
+        CacheEntry(ValidationSchema schema, long weight, long lastAccess) {
+            this.schema = schema;
+            this.weight = weight;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
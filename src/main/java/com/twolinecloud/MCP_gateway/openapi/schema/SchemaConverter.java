@@ -3,15 +3,18 @@ package com.twolinecloud.MCP_gateway.openapi.schema;
 import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer;
 import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer.SchemaInfo;
 import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer.ParameterInfo;
+import com.twolinecloud.MCP_gateway.openapi.parser.StreamingOpenAPIAnalyzer;
+import com.twolinecloud.MCP_gateway.openapi.schema.compiler.SchemaCompiler;
 import com.twolinecloud.MCP_gateway.openapi.schema.validator.*;
 import io.swagger.v3.oas.models.OpenAPI;
-import io.swagger.v3.oas.models.media.Schema;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
+import java.util.function.Function;
 
 /**
  * Phase 1.2: Schema Converter (Revamped)
@@ -28,12 +31,32 @@ import java.util.*;
 public class SchemaConverter {
     
     private static final Logger log = LoggerFactory.getLogger(SchemaConverter.class);
+
+    private static final String COMPONENTS_SCHEMAS_REF = "#/components/schemas/";
     
-    // Cache for schema resolution
-    private final ThreadLocal<Set<String>> processingSchemas = 
-        ThreadLocal.withInitial(HashSet::new);
-    private final Map<String, ValidationSchema> schemaCache = new HashMap<>();
-    private OpenAPI openAPI;
+    private final SchemaCompiler schemaCompiler;
+    private final ValidatorInterner validatorInterner;
+    private final SchemaCache schemaCache;
+
+    /**
+     * true: compiled validators, false: interpreted validator tree
+     */
+    @Value("${openapi.validation.compiled:false}")
+    private boolean compiledValidation;
+
+    /**
+     * Maximum nesting depth when validating recursive schemas
+     */
+    @Value("${openapi.validation.max-depth:" + ReferenceValidator.DEFAULT_MAX_DEPTH + "}")
+    private int maxValidationDepth = ReferenceValidator.DEFAULT_MAX_DEPTH;
+
+    public SchemaConverter(SchemaCompiler schemaCompiler, 
+                           ValidatorInterner validatorInterner,
+                           SchemaCache schemaCache) {
+        this.schemaCompiler = schemaCompiler;
+        this.validatorInterner = validatorInterner;
+        this.schemaCache = schemaCache;
+    }
 
     /**
      * Type mapping: OpenAPI type → Java type
@@ -64,11 +87,132 @@ public class SchemaConverter {
     );
 
     /**
-     * Set OpenAPI object for $ref resolution
+     * Create conversion context for one spec ($ref resolution and schema cache)
+     * Conversion state lives only in the context, so specs can be converted in parallel.
+     * 
+     * @param specKey Key of the spec in the schema cache (e.g. content hash)
+     */
+    public ConversionContext createContext(String specKey, OpenAPI openAPI) {
+        ConversionContext context = new ConversionContext(schemaCache, specKey, openAPI);
+        if (context.hasComponents()) {
+            log.info("✅ OpenAPI components loaded for $ref resolution");
+        }
+        return context;
+    }
+
+    /**
+     * Create conversion context from component schemas that are read on demand
+     * (streamed specs: no OpenAPI model is built)
+     * 
+     * @param specKey Key of the spec in the schema cache (e.g. content hash)
+     * @param componentNames Component schema names
+     * @param componentResolver Component schema info by name (thread-safe)
+     */
+    public ConversionContext createContext(String specKey,
+                                           Set<String> componentNames,
+                                           Function<String, SchemaInfo> componentResolver) {
+        return createContext(specKey, componentNames, componentResolver, null);
+    }
+
+    /**
+     * Create conversion context from the component schemas of a streamed spec
+     * (read again from the spec source per lookup; the index and each level of
+     * {@link #convertComponents} read theirs in one pass)
+     * 
+     * @param specKey Key of the spec in the schema cache (e.g. content hash)
+     * @param components Component schemas from {@link StreamingOpenAPIAnalyzer}
+     */
+    public ConversionContext createContext(String specKey, StreamingOpenAPIAnalyzer.ComponentSchemas components) {
+        return createContext(specKey, components.names(), components::get, components::scan);
+    }
+
+    private ConversionContext createContext(String specKey,
+                                            Set<String> componentNames,
+                                            Function<String, SchemaInfo> componentResolver,
+                                            ConversionContext.ComponentScanner componentScanner) {
+        ConversionContext context = new ConversionContext(schemaCache, specKey, 
+            componentNames, componentResolver, componentScanner);
+        if (context.hasComponents()) {
+            log.info("✅ {} component schemas indexed for $ref resolution", componentNames.size());
+        }
+        return context;
+    }
+
+    /**
+     * Convert every component schema of the spec once
+     * Components are converted SCC by SCC in dependency order (see {@link ComponentIndex}),
+     * so each is converted exactly once; endpoint conversions started afterwards
+     * (also in parallel) reuse the cached validators.
+     * 
+     * @param context Conversion context of the spec
+     * @param parallel Convert independent SCCs of the same level in parallel
+     * @return Number of converted component schemas
      */
-    public void setOpenAPI(OpenAPI openAPI) {
-        this.openAPI = openAPI;
-        log.info("✅ OpenAPI components loaded for $ref resolution");
+    public int convertComponents(ConversionContext context, boolean parallel) {
+        ComponentIndex index = context.getComponentIndex();
+        
+        int cyclic = 0;
+        for (List<List<String>> level : index.getLevels()) {
+            // Read the level's schemas together (one pass over a streamed spec)
+            List<String> pending = new ArrayList<>();
+            for (List<String> scc : level) {
+                for (String name : scc) {
+                    if (context.getCached(COMPONENTS_SCHEMAS_REF + name) == null) {
+                        pending.add(name);
+                    }
+                }
+            }
+            Map<String, SchemaInfo> schemas = new HashMap<>();
+            context.scanComponentSchemas(pending, schemas::put);
+            
+            (parallel ? level.parallelStream() : level.stream())
+                .forEach(scc -> convertStronglyConnected(context, scc, schemas));
+            for (List<String> scc : level) {
+                if (index.isCyclic(scc)) {
+                    cyclic++;
+                }
+            }
+        }
+        
+        log.info("✅ {} component schemas converted ({} SCCs, {} cyclic, {} levels)", 
+            index.size(), index.getStronglyConnected().size(), cyclic, index.getLevels().size());
+        return index.size();
+    }
+
+    /**
+     * Convert one SCC; its dependencies outside the SCC are already cached
+     * References between members become placeholders that are bound once the
+     * referenced member is converted (the cycle is wired explicitly, members
+     * are never converted recursively from each other).
+     * Members missing from schemas (the level's pre-read schema infos) are
+     * resolved one by one.
+     */
+    private void convertStronglyConnected(ConversionContext context, List<String> scc,
+                                          Map<String, SchemaInfo> schemas) {
+        Set<String> inProgress = new HashSet<>();
+        for (String name : scc) {
+            inProgress.add(COMPONENTS_SCHEMAS_REF + name);
+        }
+        
+        // Kept locally: cache entries may be evicted before the placeholders are bound
+        Map<String, ValidationSchema> converted = new HashMap<>();
+        for (String name : scc) {
+            String ref = COMPONENTS_SCHEMAS_REF + name;
+            ValidationSchema cached = context.getCached(ref);
+            if (cached != null) {
+                converted.put(ref, cached);
+                continue;
+            }
+            long start = System.nanoTime();
+            SchemaInfo schemaInfo = schemas.get(name);
+            if (schemaInfo == null) {
+                schemaInfo = context.getComponentSchema(name);
+            }
+            ValidationSchema schema = convertInternal(context, inProgress, schemaInfo, name);
+            converted.put(ref, cacheComponent(context, ref, schema, start));
+        }
+        
+        converted.forEach((ref, schema) -> bindPendingReferences(context, ref, schema));
     }
 
     // ========================================================================
@@ -142,12 +286,14 @@ public class SchemaConverter {
      * ⭐ 2. CONVERT REQUEST BODY
      * Convert requestBody.content["application/json"].schema to Java metadata
      * 
+     * @param context Conversion context of the spec
      * @param requestBodySchema Request body schema info
      * @param required Whether request body is required
      * @param operationId Operation ID for naming
      * @return Converted request body metadata
      */
     public EndpointSchemas.ConvertedRequestBody convertRequestBody(
+            ConversionContext context,
             SchemaInfo requestBodySchema, 
             boolean required,
             String operationId) {
@@ -157,7 +303,8 @@ public class SchemaConverter {
         }
 
         String schemaName = operationId + ".requestBody";
-        ValidationSchema schema = convert(requestBodySchema, schemaName);
+        ValidationSchema schema = forValidation(
+            convert(context, new HashSet<>(), requestBodySchema, schemaName));
 
         String javaType = convertToJavaType(
             requestBodySchema.type(), 
@@ -180,11 +327,13 @@ public class SchemaConverter {
      * ⭐ 3. CONVERT RESPONSES (Optional for Phase 1.2)
      * Convert responses[statusCode].content["application/json"].schema
      * 
+     * @param context Conversion context of the spec
      * @param responseSchemas Map of status code to schema info
      * @param operationId Operation ID for naming
      * @return List of converted response metadata
      */
     public List<EndpointSchemas.ConvertedResponse> convertResponses(
+            ConversionContext context,
             Map<String, SchemaInfo> responseSchemas,
             String operationId) {
         
@@ -203,7 +352,8 @@ public class SchemaConverter {
             }
 
             String schemaName = operationId + ".response." + statusCode;
-            ValidationSchema schema = convert(responseSchema, schemaName);
+            ValidationSchema schema = forValidation(
+                convert(context, new HashSet<>(), responseSchema, schemaName));
 
             String javaType = convertToJavaType(
                 responseSchema.type(),
@@ -249,6 +399,27 @@ public class SchemaConverter {
         return isArray ? "List<" + javaType + ">" : javaType;
     }
 
+    /**
+     * Settings that shape the converted validators (stored with snapshots)
+     * Compiled validation is not included: snapshots keep the interpreted tree.
+     */
+    public String getSettingsFingerprint() {
+        return "max-depth=" + maxValidationDepth;
+    }
+
+    /**
+     * Select compiled or interpreted validator for an endpoint schema
+     * Identical trees (across endpoints and specs) share one interned instance,
+     * and so do their compiled forms.
+     * Also used for validator trees restored from a snapshot.
+     */
+    public ValidationSchema forValidation(ValidationSchema schema) {
+        ValidationSchema canonical = validatorInterner.intern(schema);
+        return compiledValidation 
+            ? validatorInterner.intern(schemaCompiler.compile(canonical)) 
+            : canonical;
+    }
+
     /**
      * Extract validation metadata from schema
      */
@@ -260,23 +431,19 @@ public class SchemaConverter {
             return EndpointSchemas.ValidationMetadata.empty();
         }
 
-        // Note: Current SchemaInfo doesn't have all validation fields
-        // This is a placeholder - you may need to enhance SchemaInfo
-        // to include minimum, maximum, minLength, maxLength, pattern, enum, etc.
-        
         return new EndpointSchemas.ValidationMetadata(
             required,
-            null, // minimum - add to SchemaInfo if needed
-            null, // maximum
-            null, // exclusiveMinimum
-            null, // exclusiveMaximum
-            null, // minLength
-            null, // maxLength
-            null, // pattern
-            null, // enum values
-            null, // minItems
-            null, // maxItems
-            null  // uniqueItems
+            schema.minimum(),
+            schema.maximum(),
+            schema.exclusiveMinimum(),
+            schema.exclusiveMaximum(),
+            schema.minLength(),
+            schema.maxLength(),
+            schema.pattern(),
+            schema.enumValues(),
+            schema.minItems(),
+            schema.maxItems(),
+            schema.uniqueItems()
         );
     }
 
@@ -287,77 +454,120 @@ public class SchemaConverter {
     /**
      * Internal schema conversion - converts SchemaInfo to ValidationSchema
      * This method handles $ref resolution, caching, and circular reference detection
+     * (inProgress holds the schemas on the current conversion path)
      */
-    private ValidationSchema convert(SchemaInfo schemaInfo, String schemaName) {
+    private ValidationSchema convert(
+            ConversionContext context,
+            Set<String> inProgress,
+            SchemaInfo schemaInfo,
+            String schemaName) {
         if (schemaInfo == null) {
             return new AnyValidator("No schema defined");
         }
         
         // Handle $ref first
         if (schemaInfo.ref() != null) {
-            return resolveReference(schemaInfo.ref(), schemaName);
+            return resolveReference(context, inProgress, schemaInfo.ref(), schemaName);
         }
         
         // Check cache
-        if (schemaCache.containsKey(schemaName)) {
+        ValidationSchema cached = context.getCached(schemaName);
+        if (cached != null) {
             log.debug("  ♻️ Using cached schema: {}", schemaName);
-            return schemaCache.get(schemaName);
+            return cached;
         }
 
         // Detect circular reference
-        if (processingSchemas.get().contains(schemaName)) {
+        if (inProgress.contains(schemaName)) {
             log.debug("  ⚠️ Circular reference detected: {}", schemaName);
-            return new ReferenceValidator(schemaName);
+            return circularReference(context, schemaName, schemaName);
         }
 
         try {
-            processingSchemas.get().add(schemaName);
-            ValidationSchema schema = convertInternal(schemaInfo, schemaName);
-            schemaCache.put(schemaName, schema);
+            inProgress.add(schemaName);
+            long start = System.nanoTime();
+            ValidationSchema converted = convertInternal(context, inProgress, schemaInfo, schemaName);
+            ValidationSchema schema = context.cache(schemaName, converted, System.nanoTime() - start);
+            bindPendingReferences(context, schemaName, schema);
             return schema;
         } finally {
-            processingSchemas.get().remove(schemaName);
+            inProgress.remove(schemaName);
         }
     }
 
     /**
      * Resolve $ref to actual schema
      */
-    private ValidationSchema resolveReference(String ref, String contextName) {
+    private ValidationSchema resolveReference(
+            ConversionContext context,
+            Set<String> inProgress,
+            String ref,
+            String contextName) {
         String schemaName = extractSchemaName(ref);
         
-        if (schemaCache.containsKey(ref)) {
+        ValidationSchema cached = context.getCached(ref);
+        if (cached != null) {
             log.debug("  ♻️ Using cached $ref: {}", schemaName);
-            return schemaCache.get(ref);
+            return cached;
         }
         
         log.debug("  🔗 Resolving $ref: {}", schemaName);
         
-        if (openAPI == null || openAPI.getComponents() == null) {
+        if (!context.hasComponents()) {
             log.error("  ❌ Cannot resolve $ref: OpenAPI components not available");
             return new AnyValidator("Unresolved reference: " + ref);
         }
         
-        Schema<?> referencedSchema = openAPI.getComponents().getSchemas().get(schemaName);
-        if (referencedSchema == null) {
+        SchemaInfo resolvedSchemaInfo = context.getComponentSchema(schemaName);
+        if (resolvedSchemaInfo == null) {
             log.error("  ❌ Schema not found: {}", schemaName);
             return new AnyValidator("Schema not found: " + schemaName);
         }
         
-        SchemaInfo resolvedSchemaInfo = extractSchemaInfoFromSwaggerSchema(referencedSchema);
-        
-        if (processingSchemas.get().contains(ref)) {
+        if (inProgress.contains(ref)) {
             log.debug("  ⚠️ Circular reference in $ref: {}", schemaName);
-            return new ReferenceValidator(schemaName);
+            return circularReference(context, ref, schemaName);
         }
         
         try {
-            processingSchemas.get().add(ref);
-            ValidationSchema converted = convertInternal(resolvedSchemaInfo, schemaName);
-            schemaCache.put(ref, converted);
+            inProgress.add(ref);
+            long start = System.nanoTime();
+            ValidationSchema converted = cacheComponent(context, ref, 
+                convertInternal(context, inProgress, resolvedSchemaInfo, schemaName), start);
+            bindPendingReferences(context, ref, converted);
             return converted;
         } finally {
-            processingSchemas.get().remove(ref);
+            inProgress.remove(ref);
+        }
+    }
+
+    /**
+     * Cache a converted component in its canonical form
+     * Interned before any endpoint uses it, so endpoints share the component instance
+     * itself whatever order endpoints are converted in (parallel or sequential).
+     * Placeholders inside keep their identity and are bound afterwards.
+     */
+    private ValidationSchema cacheComponent(ConversionContext context, String ref, ValidationSchema schema, long start) {
+        return context.cache(ref, validatorInterner.intern(schema), System.nanoTime() - start);
+    }
+
+    /**
+     * Placeholder for a schema that is still being converted (bound when it completes)
+     */
+    private ReferenceValidator circularReference(ConversionContext context, String key, String schemaName) {
+        ReferenceValidator reference = new ReferenceValidator(schemaName, maxValidationDepth);
+        context.addPendingReference(key, reference);
+        return reference;
+    }
+
+    /**
+     * Link placeholders to the converted schema (no re-conversion, no copy)
+     */
+    private void bindPendingReferences(ConversionContext context, String key, ValidationSchema converted) {
+        Queue<ReferenceValidator> pending = context.removePendingReferences(key);
+        if (pending != null) {
+            pending.forEach(reference -> reference.bind(converted));
+            log.debug("  🔗 Linked {} recursive reference(s) to: {}", pending.size(), key);
         }
     }
 
@@ -373,101 +583,300 @@ public class SchemaConverter {
     }
 
     /**
-     * Convert Swagger Schema to SchemaInfo
+     * Internal conversion logic - converts SchemaInfo to specific Validator
      */
-    private SchemaInfo extractSchemaInfoFromSwaggerSchema(Schema<?> schema) {
-        if (schema == null) {
-            return null;
+    private ValidationSchema convertInternal(
+            ConversionContext context,
+            Set<String> inProgress,
+            SchemaInfo schemaInfo,
+            String schemaName) {
+        if (schemaInfo.hasComposition()) {
+            return convertComposition(context, inProgress, schemaInfo, schemaName);
         }
         
-        String ref = schema.get$ref();
-        if (ref != null) {
-            return new SchemaInfo(null, null, null, null, null, null, ref);
-        }
-        
-        String type = schema.getType();
-        String format = schema.getFormat();
-        
-        if ("array".equals(type) && schema.getItems() != null) {
-            SchemaInfo items = extractSchemaInfoFromSwaggerSchema(schema.getItems());
-            return new SchemaInfo("array", format, null, items, null, 
-                                 schema.getDescription(), null);
-        }
-        
-        if ("object".equals(type) || (type == null && schema.getProperties() != null)) {
-            Map<String, SchemaInfo> properties = new HashMap<>();
-            if (schema.getProperties() != null) {
-                schema.getProperties().forEach((name, prop) -> {
-                    properties.put(name, 
-                        extractSchemaInfoFromSwaggerSchema((Schema<?>) prop));
-                });
-            }
-            return new SchemaInfo("object", format, properties, null, 
-                                 schema.getRequired(), schema.getDescription(), null);
-        }
-        
-        return new SchemaInfo(type, format, null, null, null, 
-                             schema.getDescription(), null);
-    }
-
-    /**
-     * Internal conversion logic - converts SchemaInfo to specific Validator
-     */
-    private ValidationSchema convertInternal(SchemaInfo schemaInfo, String schemaName) {
         String type = schemaInfo.type();
         
         if (type == null) {
             if (schemaInfo.properties() != null && !schemaInfo.properties().isEmpty()) {
                 type = "object";
+            } else if (hasRequired(schemaInfo)) {
+                // Only required fields: object constraint (merged into sibling allOf objects)
+                type = "object";
             } else if (schemaInfo.items() != null) {
                 type = "array";
             } else {
                 log.debug("  ⚠️ No type specified for: {}, using 'any'", schemaName);
-                return new AnyValidator(schemaInfo.description());
+                return withEnum(new AnyValidator(schemaInfo.description()), schemaInfo);
             }
         }
         
-        return switch (type.toLowerCase()) {
+        ValidationSchema validator = switch (type.toLowerCase()) {
             case "string" -> new StringValidator(schemaInfo.format(), 
-                                                 schemaInfo.description());
+                                                 schemaInfo.description(),
+                                                 schemaInfo.minLength(),
+                                                 schemaInfo.maxLength(),
+                                                 schemaInfo.pattern());
             case "number" -> new NumberValidator(schemaInfo.format(), 
-                                                 schemaInfo.description());
+                                                 schemaInfo.description(),
+                                                 schemaInfo.minimum(),
+                                                 schemaInfo.maximum(),
+                                                 schemaInfo.exclusiveMinimum(),
+                                                 schemaInfo.exclusiveMaximum());
             case "integer" -> new IntegerValidator(schemaInfo.format(), 
-                                                   schemaInfo.description());
+                                                   schemaInfo.description(),
+                                                   schemaInfo.minimum(),
+                                                   schemaInfo.maximum(),
+                                                   schemaInfo.exclusiveMinimum(),
+                                                   schemaInfo.exclusiveMaximum());
             case "boolean" -> new BooleanValidator(schemaInfo.description());
-            case "array" -> convertArraySchema(schemaInfo, schemaName);
-            case "object" -> convertObjectSchema(schemaInfo, schemaName);
+            case "array" -> convertArraySchema(context, inProgress, schemaInfo, schemaName);
+            case "object" -> convertObjectSchema(context, inProgress, schemaInfo, schemaName);
             default -> {
                 log.debug("  ⚠️ Unknown type: {}, using 'any'", type);
                 yield new AnyValidator(schemaInfo.description());
             }
         };
+        
+        return withEnum(validator, schemaInfo);
+    }
+    
+    private static boolean hasRequired(SchemaInfo schemaInfo) {
+        return schemaInfo.required() != null && !schemaInfo.required().isEmpty();
+    }
+    
+    /**
+     * Restrict to enum / const values when present
+     */
+    private ValidationSchema withEnum(ValidationSchema validator, SchemaInfo schemaInfo) {
+        if (schemaInfo.enumValues() == null || schemaInfo.enumValues().isEmpty()) {
+            return validator;
+        }
+        return new EnumValidator(validator, schemaInfo.enumValues());
+    }
+
+    /**
+     * Convert composed schema (allOf / anyOf / oneOf, with optional discriminator)
+     * Own type/properties/required next to the composition keywords are combined with allOf semantics.
+     */
+    private ValidationSchema convertComposition(
+            ConversionContext context,
+            Set<String> inProgress,
+            SchemaInfo schemaInfo,
+            String schemaName) {
+        List<ValidationSchema> parts = new ArrayList<>();
+        
+        SchemaInfo ownSchema = schemaInfo.withoutComposition();
+        if (ownSchema.type() != null || 
+            (ownSchema.properties() != null && !ownSchema.properties().isEmpty()) ||
+            hasRequired(ownSchema)) {
+            parts.add(convertInternal(context, inProgress, ownSchema, schemaName));
+        }
+        
+        if (schemaInfo.allOf() != null) {
+            for (int i = 0; i < schemaInfo.allOf().size(); i++) {
+                parts.add(convert(context, inProgress, schemaInfo.allOf().get(i), schemaName + "[allOf" + i + "]"));
+            }
+        }
+        
+        if (schemaInfo.anyOf() != null && !schemaInfo.anyOf().isEmpty()) {
+            parts.add(convertBranches(context, inProgress, schemaInfo, schemaInfo.anyOf(), "anyOf", schemaName));
+        }
+        
+        if (schemaInfo.oneOf() != null && !schemaInfo.oneOf().isEmpty()) {
+            parts.add(convertBranches(context, inProgress, schemaInfo, schemaInfo.oneOf(), "oneOf", schemaName));
+        }
+        
+        if (parts.isEmpty()) {
+            log.debug("  ⚠️ Unsupported composition for: {}, using 'any'", schemaName);
+            return new AnyValidator(schemaInfo.description());
+        }
+        
+        List<ValidationSchema> flattened = flattenAllOf(parts, schemaInfo.description());
+        return flattened.size() == 1 
+            ? flattened.get(0) 
+            : new AllOfValidator(flattened, schemaInfo.description());
+    }
+    
+    /**
+     * Flatten allOf parts at conversion time
+     * - nested allOf validators are inlined
+     * - object parts are merged into one ObjectValidator (properties and required fields united),
+     *   so inheritance chains are checked in a single pass over the payload
+     */
+    private List<ValidationSchema> flattenAllOf(List<ValidationSchema> parts, String description) {
+        List<ValidationSchema> inlined = new ArrayList<>();
+        for (ValidationSchema part : parts) {
+            if (part instanceof AllOfValidator allOf) {
+                inlined.addAll(flattenAllOf(allOf.getSchemas(), description));
+            } else {
+                inlined.add(part);
+            }
+        }
+        
+        List<ObjectValidator> objectParts = new ArrayList<>();
+        List<ValidationSchema> result = new ArrayList<>();
+        for (ValidationSchema part : inlined) {
+            // Closed objects reject sibling properties, so they cannot be merged
+            if (part instanceof ObjectValidator object && 
+                !Boolean.FALSE.equals(object.getAdditionalPropertiesAllowed())) {
+                objectParts.add(object);
+            } else {
+                result.add(part);
+            }
+        }
+        
+        if (objectParts.size() == 1) {
+            result.add(0, objectParts.get(0));
+        } else if (objectParts.size() > 1) {
+            result.add(0, mergeObjects(objectParts, description));
+        }
+        return result;
+    }
+    
+    /**
+     * Merge object validators (a property defined by several parts must satisfy all of them)
+     */
+    private ObjectValidator mergeObjects(List<ObjectValidator> objects, String description) {
+        Map<String, List<ValidationSchema>> propertyParts = new LinkedHashMap<>();
+        Set<String> requiredFields = new HashSet<>();
+        
+        for (ObjectValidator object : objects) {
+            object.getProperties().forEach((propName, propSchema) -> {
+                List<ValidationSchema> schemas = 
+                    propertyParts.computeIfAbsent(propName, k -> new ArrayList<>());
+                if (!schemas.contains(propSchema)) {
+                    schemas.add(propSchema);
+                }
+            });
+            requiredFields.addAll(object.getRequiredFields());
+        }
+        
+        Map<String, ValidationSchema> properties = new HashMap<>();
+        propertyParts.forEach((propName, schemas) -> properties.put(propName, 
+            schemas.size() == 1 ? schemas.get(0) : new AllOfValidator(schemas, description)));
+        
+        log.debug("  🧩 Merged {} allOf object parts: {} properties, {} required", 
+            objects.size(), properties.size(), requiredFields.size());
+        
+        return new ObjectValidator(properties, requiredFields, description, true);
+    }
+    
+    /**
+     * Convert anyOf / oneOf branches
+     * With a discriminator, builds a dispatching validator that validates only the matching branch
+     */
+    private ValidationSchema convertBranches(
+            ConversionContext context,
+            Set<String> inProgress,
+            SchemaInfo schemaInfo,
+            List<SchemaInfo> branchInfos,
+            String keyword,
+            String schemaName) {
+        List<ValidationSchema> branches = new ArrayList<>();
+        for (int i = 0; i < branchInfos.size(); i++) {
+            branches.add(convert(context, inProgress, branchInfos.get(i), schemaName + "[" + keyword + i + "]"));
+        }
+        
+        OpenAPIAnalyzer.DiscriminatorInfo discriminator = schemaInfo.discriminator();
+        if (discriminator != null) {
+            Map<String, ValidationSchema> mapping = 
+                buildDiscriminatorMapping(context, inProgress, discriminator, branchInfos, branches, schemaName);
+            if (!mapping.isEmpty()) {
+                log.debug("  🔀 Discriminator '{}' on {}: {}", 
+                    discriminator.propertyName(), schemaName, mapping.keySet());
+                return new DiscriminatorValidator(
+                    keyword,
+                    discriminator.propertyName(),
+                    mapping,
+                    schemaInfo.description()
+                );
+            }
+        }
+        
+        return "oneOf".equals(keyword)
+            ? new OneOfValidator(branches, schemaInfo.description())
+            : new AnyOfValidator(branches, schemaInfo.description());
+    }
+    
+    /**
+     * Discriminator value -> branch validator
+     * Implicit values are the component names of $ref branches; explicit mapping overrides them.
+     * Empty when an inline branch has no discriminator value (dispatch could never reach it).
+     */
+    private Map<String, ValidationSchema> buildDiscriminatorMapping(
+            ConversionContext context,
+            Set<String> inProgress,
+            OpenAPIAnalyzer.DiscriminatorInfo discriminator,
+            List<SchemaInfo> branchInfos,
+            List<ValidationSchema> branches,
+            String schemaName) {
+        
+        Map<String, ValidationSchema> mapping = new LinkedHashMap<>();
+        Map<String, ValidationSchema> branchesByRef = new HashMap<>();
+        
+        for (int i = 0; i < branchInfos.size(); i++) {
+            String ref = branchInfos.get(i).ref();
+            if (ref == null) {
+                log.warn("  ⚠️ Discriminator '{}' on {}: inline branch {} has no mapping value, " +
+                    "validating every branch instead", discriminator.propertyName(), schemaName, i);
+                return Map.of();
+            }
+            branchesByRef.put(ref, branches.get(i));
+            mapping.put(extractSchemaName(ref), branches.get(i));
+        }
+        
+        if (discriminator.mapping() != null) {
+            discriminator.mapping().forEach((value, target) -> {
+                String ref = target.contains("/") ? target : COMPONENTS_SCHEMAS_REF + target;
+                ValidationSchema branch = branchesByRef.get(ref);
+                if (branch == null) {
+                    branch = resolveReference(context, inProgress, ref, schemaName);
+                }
+                mapping.put(value, branch);
+            });
+        }
+        
+        return mapping;
     }
 
     /**
      * Convert array schema
      */
-    private ValidationSchema convertArraySchema(SchemaInfo schemaInfo, String schemaName) {
+    private ValidationSchema convertArraySchema(
+            ConversionContext context,
+            Set<String> inProgress,
+            SchemaInfo schemaInfo,
+            String schemaName) {
         ValidationSchema itemsSchema = null;
         
         if (schemaInfo.items() != null) {
             String itemsSchemaName = schemaName + "[items]";
-            itemsSchema = convert(schemaInfo.items(), itemsSchemaName);
+            itemsSchema = convert(context, inProgress, schemaInfo.items(), itemsSchemaName);
         }
         
-        return new ArrayValidator(itemsSchema, schemaInfo.description());
+        return new ArrayValidator(
+            itemsSchema, 
+            schemaInfo.description(),
+            schemaInfo.minItems(),
+            schemaInfo.maxItems(),
+            schemaInfo.uniqueItems()
+        );
     }
 
     /**
      * Convert object schema
      */
-    private ValidationSchema convertObjectSchema(SchemaInfo schemaInfo, String schemaName) {
+    private ValidationSchema convertObjectSchema(
+            ConversionContext context,
+            Set<String> inProgress,
+            SchemaInfo schemaInfo,
+            String schemaName) {
         Map<String, ValidationSchema> properties = new HashMap<>();
         
         if (schemaInfo.properties() != null) {
             schemaInfo.properties().forEach((propName, propSchema) -> {
                 String propSchemaName = schemaName + "." + propName;
-                ValidationSchema validationSchema = convert(propSchema, propSchemaName);
+                ValidationSchema validationSchema = convert(context, inProgress, propSchema, propSchemaName);
                 properties.put(propName, validationSchema);
             });
         }
@@ -489,32 +898,17 @@ public class SchemaConverter {
     // UTILITY METHODS
     // ========================================================================
 
-    /**
-     * Clear schema cache
-     */
-    public void clearCache() {
-        schemaCache.clear();
-        log.info("Schema cache cleared");
-    }
-
-    /**
-     * Cleanup thread-local resources
-     */
-    public void cleanup() {
-        processingSchemas.remove();
-    }
-    
     /**
      * Print conversion summary
      */
-    public void printConversionSummary() {
+    public void printConversionSummary(ConversionContext context) {
         log.info("Schema Conversion Summary");
         log.info("=".repeat(60));
-        log.info("Total schemas converted: {}", schemaCache.size());
+        log.info("Total schemas converted: {}", context.size());
         
         // Count by type
         Map<String, Integer> typeCounts = new HashMap<>();
-        schemaCache.values().forEach(schema -> {
+        context.getConvertedSchemas().values().forEach(schema -> {
             String type = schema.getType();
             typeCounts.put(type, typeCounts.getOrDefault(type, 0) + 1);
         });
@@ -525,23 +919,26 @@ public class SchemaConverter {
         );
         
         // Show resolved $refs
-        long refCount = schemaCache.keySet().stream()
-            .filter(key -> key.startsWith("#/components/schemas/"))
+        long refCount = context.getConvertedSchemas().keySet().stream()
+            .filter(key -> key.startsWith(COMPONENTS_SCHEMAS_REF))
             .count();
         
         if (refCount > 0) {
             log.info("Resolved $ref schemas: {}", refCount);
         }
+        validatorInterner.printStats();
         log.info("");
     }
 
     /**
      * Get cache statistics
      */
-    public Map<String, Object> getCacheStats() {
+    public Map<String, Object> getCacheStats(ConversionContext context) {
         Map<String, Object> stats = new HashMap<>();
-        stats.put("cacheSize", schemaCache.size());
-        stats.put("cachedSchemas", new ArrayList<>(schemaCache.keySet()));
+        stats.put("specKey", context.getSpecKey());
+        stats.put("cacheSize", context.size());
+        stats.put("cachedSchemas", new ArrayList<>(context.getConvertedSchemas().keySet()));
+        stats.put("sharedCache", schemaCache.getStats());
         return stats;
     }
 }
\ No newline at end of file
@@ -0,0 +1,433 @@
+package com.twolinecloud.MCP_gateway.openapi.schema;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.twolinecloud.MCP_gateway.openapi.schema.compiler.CompiledValidator;
+import com.twolinecloud.MCP_gateway.openapi.schema.validator.AnyValidator;
+import com.twolinecloud.MCP_gateway.openapi.schema.validator.ArrayValidator;
+import com.twolinecloud.MCP_gateway.openapi.schema.validator.BooleanValidator;
+import com.twolinecloud.MCP_gateway.openapi.schema.validator.IntegerValidator;
+import com.twolinecloud.MCP_gateway.openapi.schema.validator.NumberValidator;
+import com.twolinecloud.MCP_gateway.openapi.schema.validator.ObjectValidator;
+import com.twolinecloud.MCP_gateway.openapi.schema.validator.ReferenceValidator;
+import com.twolinecloud.MCP_gateway.openapi.schema.validator.StringValidator;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Streaming Validator
+ * Validates a JSON payload straight off a Jackson token stream.
+ *
+ * Objects and arrays are walked token by token against the validator tree,
+ * so no Map/List graph is built for the payload. Scalars are handed to the
+ * regular validators, bound $refs are followed in place (recursive trees
+ * stay streamed). Validators that need the whole value (composition,
+ * uniqueItems, ...) get just their own subtree materialized; an object or
+ * array of the wrong type is skipped and reported by its token kind.
+ *
+ * Errors are reported in the same order as the tree validators. So after an
+ * error the stream is only read on while an enclosing object may still miss
+ * a required field or an enclosing array may still break minItems/maxItems
+ * (either would replace the error); otherwise validation stops right there.
+ */
+public final class StreamingValidator {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private StreamingValidator() {
+    }
+
+    /**
+     * Validate JSON body from input stream
+     *
+     * @param schema Validator tree
+     * @param body JSON body
+     * @return Validation result (stops at the first error unless a later
+     *         required/size check could still replace it)
+     */
+    public static ValidationResult validate(ValidationSchema schema, InputStream body) {
+        try (JsonParser parser = MAPPER.getFactory().createParser(body)) {
+            return validate(schema, parser);
+        } catch (IOException e) {
+            return malformed(e);
+        }
+    }
+
+    /**
+     * Validate JSON value at the parser's current (or next) token
+     * A root-level value must be the only content of the stream.
+     *
+     * @param schema Validator tree
+     * @param parser Parser positioned before or at the value
+     * @return Validation result (same errors as {@link ValidationSchema#validate(Object)})
+     */
+    public static ValidationResult validate(ValidationSchema schema, JsonParser parser) {
+        try {
+            if (!parser.hasCurrentToken() && parser.nextToken() == null) {
+                return ValidationResult.failure(
+                    "",
+                    "json.malformed",
+                    ErrorMessageTemplate.getTemplate("json.malformed"),
+                    null
+                );
+            }
+            ValidationContext context = ValidationContext.acquire();
+            boolean valid = validateValue(schema, parser, context, true);
+            ValidationResult result = valid ? null : context.toResult();
+            context.release();
+            if (!valid) {
+                return result;
+            }
+
+            // Nothing may follow the root value
+            if (parser.getParsingContext().inRoot() && parser.nextToken() != null) {
+                return ValidationResult.failure(
+                    "",
+                    "json.malformed",
+                    ErrorMessageTemplate.getTemplate("json.malformed") + " (루트 값 뒤에 추가 내용이 있습니다)",
+                    null
+                );
+            }
+            return ValidationResult.success();
+        } catch (IOException e) {
+            return malformed(e);
+        }
+    }
+
+    /**
+     * Validate value starting at current token
+     *
+     * @param settled true if no enclosing object/array could still replace an
+     *        error recorded here; the value may then be left partly unread
+     */
+    private static boolean validateValue(ValidationSchema schema, JsonParser parser, ValidationContext context,
+                                         boolean settled) throws IOException {
+        if (schema instanceof CompiledValidator compiled) {
+            schema = compiled.getInterpreted();
+        }
+
+        JsonToken token = parser.currentToken();
+
+        // Recursive schemas: follow the bound target token by token, with the same limit
+        if (schema instanceof ReferenceValidator reference) {
+            ValidationSchema target = reference.getTarget();
+            if (target == null) {
+                // Not bound: not validated
+                parser.skipChildren();
+                return true;
+            }
+            if (!reference.withinDepth(context)) {
+                parser.skipChildren();
+                return false;
+            }
+            context.enterReference();
+            boolean valid = validateValue(target, parser, context, settled);
+            context.exitReference();
+            return valid;
+        }
+
+        if (schema instanceof ObjectValidator objectValidator && token == JsonToken.START_OBJECT) {
+            return validateObject(objectValidator, parser, context, settled);
+        }
+
+        if (schema instanceof ArrayValidator arrayValidator && token == JsonToken.START_ARRAY
+            && !Boolean.TRUE.equals(arrayValidator.getUniqueItems())) {
+            return validateArray(arrayValidator, parser, context, settled);
+        }
+
+        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+            if (schema instanceof AnyValidator) {
+                parser.skipChildren();
+                return true;
+            }
+            if (checksTypeOnly(schema, token)) {
+                // Wrong type: the validator only needs to know it is a container
+                return schema.validate(skipValue(parser), context);
+            }
+        }
+
+        // Scalars and whole-value validators
+        return schema.validate(readValue(parser), context);
+    }
+
+    /**
+     * Validators that reject an object/array they do not walk without looking inside
+     * (an object reaching an ObjectValidator, or a uniqueItems array, is walked or read)
+     */
+    private static boolean checksTypeOnly(ValidationSchema schema, JsonToken token) {
+        return (schema instanceof ObjectValidator && token == JsonToken.START_ARRAY)
+               || (schema instanceof ArrayValidator && token == JsonToken.START_OBJECT)
+               || schema instanceof StringValidator
+               || schema instanceof IntegerValidator
+               || schema instanceof NumberValidator
+               || schema instanceof BooleanValidator;
+    }
+
+    /**
+     * Validate object field by field
+     *
+     * Like {@link ObjectValidator}, a missing required field is reported before
+     * any property error; so after a property error the object is only read on
+     * while a required field has not been seen yet.
+     */
+    private static boolean validateObject(ObjectValidator validator, JsonParser parser, ValidationContext context,
+                                          boolean settled) throws IOException {
+        int requiredCount = validator.getRequiredCount();
+        boolean additionalAllowed = !Boolean.FALSE.equals(validator.getAdditionalPropertiesAllowed());
+
+        // Required fields seen with a non-null / null value
+        RequiredSet present = RequiredSet.of(requiredCount);
+        RequiredSet nulls = RequiredSet.of(requiredCount);
+
+        int mark = context.mark();
+        boolean propertiesValid = true;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String propName = parser.currentName();
+            JsonToken valueToken = parser.nextToken();
+
+            int required = requiredCount > 0 ? validator.getRequiredNumber(propName) : -1;
+            if (required >= 0) {
+                if (valueToken == JsonToken.VALUE_NULL) {
+                    nulls.add(required);
+                } else {
+                    present.add(required);
+                }
+            }
+
+            if (!propertiesValid) {
+                // Only required fields still matter, until all of them are seen
+                if (settled && present.containsAll(requiredCount)) {
+                    return false;
+                }
+                parser.skipChildren();
+                continue;
+            }
+
+            // An error here is final once every required field has been seen
+            boolean errorFinal = settled && present.containsAll(requiredCount);
+
+            ValidationSchema propSchema = validator.getPropertySchema(propName);
+            if (propSchema == null) {
+                if (!additionalAllowed) {
+                    context.addError(
+                        propName,
+                        "additionalProperties",
+                        ErrorMessageTemplate.getTemplate("object.additionalProperties"),
+                        skipValue(parser)
+                    );
+                    if (errorFinal) {
+                        return false;
+                    }
+                    propertiesValid = false;
+                    continue;
+                }
+                parser.skipChildren();
+                continue;
+            }
+
+            context.enterProperty(propName);
+            boolean propValid = validateValue(propSchema, parser, context, errorFinal);
+            context.exit();
+            if (!propValid) {
+                if (errorFinal) {
+                    return false;
+                }
+                propertiesValid = false;
+            }
+        }
+
+        for (int number = 0; number < requiredCount; number++) {
+            if (!present.contains(number)) {
+                context.rollback(mark);
+                String message = ErrorMessageTemplate.getTemplate("required");
+                if (nulls.contains(number)) {
+                    message += " (null 값은 허용되지 않습니다)";
+                }
+                context.addError(validator.getRequiredName(number), "required", message, null);
+                return false;
+            }
+        }
+
+        return propertiesValid;
+    }
+
+    /**
+     * Validate array item by item
+     *
+     * Like {@link ArrayValidator}, size constraints are reported before item
+     * errors, so after an item error the array is only read on while its size
+     * could still break minItems or maxItems.
+     */
+    private static boolean validateArray(ArrayValidator validator, JsonParser parser, ValidationContext context,
+                                         boolean settled) throws IOException {
+        ValidationSchema itemsSchema = validator.getItemsSchema();
+        Integer minItems = validator.getMinItems();
+        Integer maxItems = validator.getMaxItems();
+
+        int mark = context.mark();
+        boolean itemsValid = true;
+
+        int count = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+            boolean tooMany = maxItems != null && count >= maxItems;
+            if (itemsSchema == null || !itemsValid || tooMany) {
+                parser.skipChildren();
+            } else {
+                // An error here is final once no size constraint can fail any more
+                boolean errorFinal = settled && maxItems == null && (minItems == null || count >= minItems - 1);
+                context.enterIndex(count);
+                itemsValid = validateValue(itemsSchema, parser, context, errorFinal);
+                context.exit();
+                if (!itemsValid && errorFinal) {
+                    return false;
+                }
+            }
+            count++;
+        }
+
+        if (minItems != null && count < minItems) {
+            context.rollback(mark);
+            context.addError(
+                "validation.failed",
+                "Array must have at least " + minItems + " items, but got " + count,
+                null
+            );
+            return false;
+        }
+
+        if (maxItems != null && count > maxItems) {
+            context.rollback(mark);
+            context.addError(
+                "validation.failed",
+                "Array must have at most " + maxItems + " items, but got " + count,
+                null
+            );
+            return false;
+        }
+
+        return itemsValid;
+    }
+
+    /**
+     * Read current value (scalar or subtree) as plain Java object
+     */
+    private static Object readValue(JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_NULL -> null;
+            case VALUE_TRUE -> Boolean.TRUE;
+            case VALUE_FALSE -> Boolean.FALSE;
+            case VALUE_STRING -> parser.getText();
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getNumberValue();
+            default -> MAPPER.readValue(parser, Object.class);
+        };
+    }
+
+    /**
+     * Read current value for an error report: scalars as they are, objects and
+     * arrays skipped and stood in for by their token kind
+     */
+    private static Object skipValue(JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case START_OBJECT -> {
+                parser.skipChildren();
+                yield JsonObject.INSTANCE;
+            }
+            case START_ARRAY -> {
+                parser.skipChildren();
+                yield JsonArray.INSTANCE;
+            }
+            default -> readValue(parser);
+        };
+    }
+
+    private static ValidationResult malformed(IOException e) {
+        return ValidationResult.failure(
+            "",
+            "json.malformed",
+            ErrorMessageTemplate.getTemplate("json.malformed") + " (" + e.getMessage() + ")",
+            null
+        );
+    }
+
+    /**
+     * Skipped JSON object (its class name is what type errors report)
+     */
+    private static final class JsonObject {
+        static final JsonObject INSTANCE = new JsonObject();
+
+        @Override
+        public String toString() {
+            return "{...}";
+        }
+    }
+
+    /**
+     * Skipped JSON array (its class name is what type errors report)
+     */
+    private static final class JsonArray {
+        static final JsonArray INSTANCE = new JsonArray();
+
+        @Override
+        public String toString() {
+            return "[...]";
+        }
+    }
+
+    /**
+     * Set of required field numbers (bit mask; a bit array beyond 64 fields)
+     */
+    private static final class RequiredSet {
+        private static final RequiredSet EMPTY = new RequiredSet(null);
+
+        private long bits;
+        private final long[] words;
+
+        private RequiredSet(long[] words) {
+            this.words = words;
+        }
+
+        static RequiredSet of(int size) {
+            if (size == 0) {
+                return EMPTY;
+            }
+            return new RequiredSet(size > Long.SIZE ? new long[(size + Long.SIZE - 1) / Long.SIZE] : null);
+        }
+
+        void add(int number) {
+            if (words == null) {
+                bits |= 1L << number;
+            } else {
+                words[number >>> 6] |= 1L << number;
+            }
+        }
+
+        boolean contains(int number) {
+            long word = words == null ? bits : words[number >>> 6];
+            return (word & (1L << number)) != 0;
+        }
+
+        /**
+         * True if numbers 0..size-1 are all in the set
+         */
+        boolean containsAll(int size) {
+            if (size == 0) {
+                return true;
+            }
+            if (words == null) {
+                return size == Long.SIZE ? bits == -1L : bits == (1L << size) - 1;
+            }
+            int full = size >>> 6;
+            for (int i = 0; i < full; i++) {
+                if (words[i] != -1L) {
+                    return false;
+                }
+            }
+            int rest = size & 63;
+            return rest == 0 || words[full] == (1L << rest) - 1;
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.twolinecloud.MCP_gateway.openapi.schema;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Validation Context
+ * Error accumulator passed down the validator tree.
+ *
+ * Tracks the current field path as a stack of property names / array indexes
+ * and only turns it into a string when an error is recorded, so validating a
+ * valid payload allocates nothing. Callers either reuse one context and call
+ * {@link #reset()} between payloads, or borrow a reset context with
+ * {@link #acquire()} and hand it back with {@link #release()}.
+ *
+ * Not thread-safe: use one context per validation at a time.
+ */
+public final class ValidationContext {
+
+    private static final int INITIAL_DEPTH = 16;
+
+    // Small lock-free pool of reset contexts for one-shot validations
+    private static final int POOL_SIZE = Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+    private static final AtomicReferenceArray<ValidationContext> POOL = new AtomicReferenceArray<>(POOL_SIZE);
+
+    // Error lists that grew past this are dropped instead of pooled
+    private static final int POOLED_ERROR_CAPACITY = 64;
+
+    private String[] names = new String[INITIAL_DEPTH];   // property name, or null for index
+    private int[] indexes = new int[INITIAL_DEPTH];       // array index when name is null
+    private int depth;
+    private int referenceDepth;                           // $ref hops on the current path
+    private List<ValidationErrorMessage> errors;          // created on first error
+    private Object[] scratch = new Object[INITIAL_DEPTH]; // reusable helpers by nesting level
+    private int scratchDepth;
+
+    // ========================================================================
+    // POOL
+    // ========================================================================
+
+    /**
+     * Borrow a reset context (a new one when the pool is empty)
+     * Pair with {@link #release()} once the result has been taken.
+     */
+    public static ValidationContext acquire() {
+        int start = (int) (Thread.currentThread().threadId() % POOL_SIZE);
+        for (int i = 0; i < POOL_SIZE; i++) {
+            ValidationContext pooled = POOL.getAndSet((start + i) % POOL_SIZE, null);
+            if (pooled != null) {
+                return pooled;
+            }
+        }
+        return new ValidationContext();
+    }
+
+    /**
+     * Reset and return to the pool (dropped when the pool is full)
+     * The context must not be used afterwards.
+     */
+    public void release() {
+        if (errors != null && errors.size() > POOLED_ERROR_CAPACITY) {
+            errors = null;
+        }
+        reset();
+        int start = (int) (Thread.currentThread().threadId() % POOL_SIZE);
+        for (int i = 0; i < POOL_SIZE; i++) {
+            if (POOL.compareAndSet((start + i) % POOL_SIZE, null, this)) {
+                return;
+            }
+        }
+    }
+
+    // ========================================================================
+    // PATH
+    // ========================================================================
+
+    /**
+     * Enter object property
+     */
+    public void enterProperty(String name) {
+        ensureCapacity();
+        names[depth] = name;
+        depth++;
+    }
+
+    /**
+     * Enter array item
+     */
+    public void enterIndex(int index) {
+        ensureCapacity();
+        names[depth] = null;
+        indexes[depth] = index;
+        depth++;
+    }
+
+    /**
+     * Leave current property or array item
+     */
+    public void exit() {
+        depth--;
+        names[depth] = null;
+    }
+
+    /**
+     * Current path depth
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Follow a bound $ref (composition-only cycles never grow the path depth)
+     */
+    public void enterReference() {
+        referenceDepth++;
+    }
+
+    /**
+     * Return from a $ref target
+     */
+    public void exitReference() {
+        referenceDepth--;
+    }
+
+    /**
+     * Number of $ref hops on the current path
+     */
+    public int getReferenceDepth() {
+        return referenceDepth;
+    }
+
+    /**
+     * New context at the same path (and depth), for validating part of the value
+     * on another thread; errors go to the fork until {@link #merge(ValidationContext)}
+     */
+    public ValidationContext fork() {
+        ValidationContext fork = new ValidationContext();
+        fork.names = Arrays.copyOf(names, names.length);
+        fork.indexes = Arrays.copyOf(indexes, indexes.length);
+        fork.depth = depth;
+        fork.referenceDepth = referenceDepth;
+        return fork;
+    }
+
+    private void ensureCapacity() {
+        if (depth == names.length) {
+            names = Arrays.copyOf(names, depth * 2);
+            indexes = Arrays.copyOf(indexes, depth * 2);
+        }
+    }
+
+    // ========================================================================
+    // SCRATCH
+    // ========================================================================
+
+    /**
+     * Reusable helper for the validator at the next nesting level (e.g. an
+     * object's entry visitor). Helpers survive {@link #reset()}, so a reused
+     * context hands out the same instance per level and type.
+     * Pair every call with {@link #releaseScratch()}.
+     */
+    public <T> T acquireScratch(Class<T> type, Supplier<T> factory) {
+        if (scratchDepth == scratch.length) {
+            scratch = Arrays.copyOf(scratch, scratchDepth * 2);
+        }
+        Object existing = scratch[scratchDepth];
+        T helper;
+        if (type.isInstance(existing)) {
+            helper = type.cast(existing);
+        } else {
+            helper = factory.get();
+            scratch[scratchDepth] = helper;
+        }
+        scratchDepth++;
+        return helper;
+    }
+
+    /**
+     * Release the helper returned by the last {@link #acquireScratch}
+     */
+    public void releaseScratch() {
+        scratchDepth--;
+    }
+
+    // ========================================================================
+    // ERRORS
+    // ========================================================================
+
+    /**
+     * Record error at current path
+     */
+    public void addError(String errorCode, String message, Object rejectedValue) {
+        addError(null, errorCode, message, rejectedValue);
+    }
+
+    /**
+     * Record error for a field of the value at current path (e.g. missing required field)
+     */
+    public void addError(String fieldName, String errorCode, String message, Object rejectedValue) {
+        if (errors == null) {
+            errors = new ArrayList<>();
+        }
+        errors.add(new ValidationErrorMessage(
+            buildPath(fieldName),
+            errorCode,
+            message,
+            rejectedValue
+        ));
+    }
+
+    /**
+     * Append errors recorded in a fork (their paths are already complete)
+     */
+    public void merge(ValidationContext fork) {
+        if (fork.hasErrors()) {
+            if (errors == null) {
+                errors = new ArrayList<>();
+            }
+            errors.addAll(fork.errors);
+        }
+    }
+
+    public boolean hasErrors() {
+        return errors != null && !errors.isEmpty();
+    }
+
+    /**
+     * Number of recorded errors (use with {@link #rollback(int)})
+     */
+    public int mark() {
+        return errors == null ? 0 : errors.size();
+    }
+
+    /**
+     * Discard errors recorded after mark (e.g. failed anyOf branch)
+     */
+    public void rollback(int mark) {
+        if (errors != null && errors.size() > mark) {
+            errors.subList(mark, errors.size()).clear();
+        }
+    }
+
+    /**
+     * Errors recorded after mark
+     */
+    public List<ValidationErrorMessage> getErrorsSince(int mark) {
+        if (errors == null || errors.size() <= mark) {
+            return List.of();
+        }
+        return errors.subList(mark, errors.size());
+    }
+
+    /**
+     * Reset for reuse
+     */
+    public void reset() {
+        if (errors != null) {
+            errors.clear();
+        }
+        Arrays.fill(names, 0, depth, null);
+        depth = 0;
+        referenceDepth = 0;
+        scratchDepth = 0;
+    }
+
+    /**
+     * Convert recorded errors to a failure result
+     * (call after a validator returned false; a validator that failed without
+     * recording an error still yields a failure, never success)
+     */
+    public ValidationResult toResult() {
+        if (!hasErrors()) {
+            return ValidationResult.failure(
+                buildPath(null),
+                "validation.failed",
+                ErrorMessageTemplate.getTemplate("validation.failed"),
+                null
+            );
+        }
+        return ValidationResult.failure(errors);
+    }
+
+    private String buildPath(String fieldName) {
+        if (depth == 0) {
+            return fieldName != null ? fieldName : "";
+        }
+        StringBuilder path = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            if (names[i] == null) {
+                path.append('[').append(indexes[i]).append(']');
+            } else {
+                if (path.length() > 0) {
+                    path.append('.');
+                }
+                path.append(names[i]);
+            }
+        }
+        if (fieldName != null) {
+            path.append('.').append(fieldName);
+        }
+        return path.toString();
+    }
+}
@@ -9,6 +9,8 @@ import java.util.stream.Collectors;
  */
 public class ValidationResult {
     
+    private static final ValidationResult SUCCESS = new ValidationResult(true, List.of(), "");
+    
     private final boolean valid;
     private final List<ValidationErrorMessage> errors;
     private final String path;
@@ -20,10 +22,10 @@ public class ValidationResult {
     }
     
     /**
-     * Create success result
+     * Create success result (shared instance)
      */
     public static ValidationResult success() {
-        return new ValidationResult(true, new ArrayList<>(), "");
+        return SUCCESS;
     }
     
     /**
@@ -36,18 +38,24 @@ public class ValidationResult {
             errorMessage,
             null
         );
-        List<ValidationErrorMessage> errors = new ArrayList<>();
-        errors.add(error);
-        return new ValidationResult(false, errors, "");
+        return new ValidationResult(false, List.of(error), "");
     }
     
     /**
      * Create failure with custom error
      */
     public static ValidationResult failure(ValidationErrorMessage error) {
-        List<ValidationErrorMessage> errors = new ArrayList<>();
-        errors.add(error);
-        return new ValidationResult(false, errors, "");
+        return new ValidationResult(false, List.of(error), error.getFieldPath());
+    }
+    
+    /**
+     * Create failure from accumulated errors
+     */
+    public static ValidationResult failure(List<ValidationErrorMessage> errors) {
+        if (errors.isEmpty()) {
+            throw new IllegalArgumentException("Failure requires at least one error");
+        }
+        return new ValidationResult(false, List.copyOf(errors), errors.get(0).getFieldPath());
     }
     
     /**
@@ -60,15 +68,16 @@ public class ValidationResult {
             message,
             rejectedValue
         );
-        List<ValidationErrorMessage> errors = new ArrayList<>();
-        errors.add(error);
-        return new ValidationResult(false, errors, fieldPath);
+        return new ValidationResult(false, List.of(error), fieldPath);
     }
     
     public boolean isValid() {
         return valid;
     }
     
+    /**
+     * Get errors (a modifiable copy)
+     */
     public List<ValidationErrorMessage> getErrors() {
         return new ArrayList<>(errors);
     }
@@ -1,5 +1,7 @@
 package com.twolinecloud.MCP_gateway.openapi.schema;
 
+import com.fasterxml.jackson.core.JsonParser;
+
 /**
  * Validation Schema Interface
  * All validators must implement this interface
@@ -20,10 +22,35 @@ public interface ValidationSchema {
     
     /**
      * Validate value
+     * (borrows a pooled context, so a valid payload allocates nothing)
      * @param value Value to validate
      * @return Validation result
      */
-    ValidationResult validate(Object value);
+    default ValidationResult validate(Object value) {
+        ValidationContext context = ValidationContext.acquire();
+        ValidationResult result = validate(value, context) ? ValidationResult.success() : context.toResult();
+        context.release();
+        return result;
+    }
+    
+    /**
+     * Validate value, recording errors into the context
+     * (allocation-free when the value is valid; return false only after
+     * recording at least one error)
+     * @param value Value to validate
+     * @param context Error accumulator with current field path
+     * @return true if valid
+     */
+    boolean validate(Object value, ValidationContext context);
+    
+    /**
+     * Validate JSON value straight off a token stream (no Map/List graph)
+     * @param parser Parser positioned before or at the value
+     * @return Validation result
+     */
+    default ValidationResult validateStream(JsonParser parser) {
+        return StreamingValidator.validate(this, parser);
+    }
     
     /**
      * Get format (for string, number types)
@@ -0,0 +1,354 @@
+package com.twolinecloud.MCP_gateway.openapi.schema;
+
+import com.twolinecloud.MCP_gateway.openapi.schema.compiler.CompiledValidator;
+import com.twolinecloud.MCP_gateway.openapi.schema.validator.*;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Validator Interner
+ * Structural hash-consing of converted validators: structurally identical
+ * subtrees share one instance across all endpoints and all loaded specs.
+ *
+ * Trees are interned bottom-up. A node's key is its own settings plus the
+ * identity of its (already interned) children, so a lookup never walks a
+ * subtree twice. A node whose children were replaced by canonical instances
+ * is rebuilt before its own lookup.
+ *
+ * Canonical instances are weakly held: once no converted schema uses a
+ * node, its entry is dropped. Recursive references are kept as they are
+ * (identity), so cyclic graphs are never hashed.
+ *
+ * Input nodes are never modified: a node with replaced children is rebuilt
+ * from fresh collections. All tables are concurrent, so specs converted in
+ * parallel intern without a shared lock.
+ */
+@Component
+public class ValidatorInterner {
+
+    private static final Logger log = LoggerFactory.getLogger(ValidatorInterner.class);
+
+    private final Map<NodeKey, CanonicalRef> table = new ConcurrentHashMap<>();
+    private final ReferenceQueue<ValidationSchema> queue = new ReferenceQueue<>();
+
+    // Nodes known to be canonical (identity, weak), so shared subtrees are not walked again
+    private final Set<WeakIdentity> canonicalNodes = ConcurrentHashMap.newKeySet();
+    private final ReferenceQueue<ValidationSchema> canonicalQueue = new ReferenceQueue<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Intern validator tree
+     *
+     * @param schema Converted validator tree
+     * @return Canonical tree (may be the given instance)
+     */
+    public ValidationSchema intern(ValidationSchema schema) {
+        if (schema == null) {
+            return null;
+        }
+        expungeStaleEntries();
+        return internNode(schema, new IdentityHashMap<>());
+    }
+
+    private ValidationSchema internNode(ValidationSchema schema,
+                                        Map<ValidationSchema, ValidationSchema> visited) {
+        if (canonicalNodes.contains(new WeakIdentity(schema, null))) {
+            return schema;
+        }
+        ValidationSchema done = visited.get(schema);
+        if (done != null) {
+            return done;
+        }
+
+        ValidationSchema rebuilt = internChildren(schema, visited);
+        NodeKey key = keyOf(rebuilt);
+        ValidationSchema canonical = key != null ? lookup(key, rebuilt) : rebuilt;
+
+        visited.put(schema, canonical);
+        return canonical;
+    }
+
+    /**
+     * Return node with interned children (same instance if nothing changed)
+     */
+    private ValidationSchema internChildren(ValidationSchema schema,
+                                            Map<ValidationSchema, ValidationSchema> visited) {
+        if (schema instanceof ObjectValidator object) {
+            Map<String, ValidationSchema> properties = internValues(object.getProperties(), visited);
+            return properties != null
+                ? new ObjectValidator(properties, object.getRequiredFields(),
+                    object.getDescription(), object.getAdditionalPropertiesAllowed())
+                : schema;
+        }
+
+        if (schema instanceof ArrayValidator array && array.getItemsSchema() != null) {
+            ValidationSchema items = internNode(array.getItemsSchema(), visited);
+            return items != array.getItemsSchema()
+                ? new ArrayValidator(items, array.getDescription(),
+                    array.getMinItems(), array.getMaxItems(), array.getUniqueItems())
+                : schema;
+        }
+
+        if (schema instanceof AllOfValidator allOf) {
+            List<ValidationSchema> schemas = internAll(allOf.getSchemas(), visited);
+            return schemas != null ? new AllOfValidator(schemas, allOf.getDescription()) : schema;
+        }
+
+        if (schema instanceof AnyOfValidator anyOf) {
+            List<ValidationSchema> schemas = internAll(anyOf.getSchemas(), visited);
+            return schemas != null ? new AnyOfValidator(schemas, anyOf.getDescription()) : schema;
+        }
+
+        if (schema instanceof OneOfValidator oneOf) {
+            List<ValidationSchema> schemas = internAll(oneOf.getSchemas(), visited);
+            return schemas != null ? new OneOfValidator(schemas, oneOf.getDescription()) : schema;
+        }
+
+        if (schema instanceof DiscriminatorValidator discriminator) {
+            Map<String, ValidationSchema> mapping = internValues(discriminator.getMapping(), visited);
+            return mapping != null
+                ? new DiscriminatorValidator(discriminator.getType(), discriminator.getPropertyName(),
+                    mapping, discriminator.getDescription())
+                : schema;
+        }
+
+        if (schema instanceof EnumValidator enumValidator && enumValidator.getDelegate() != null) {
+            ValidationSchema delegate = internNode(enumValidator.getDelegate(), visited);
+            return delegate != enumValidator.getDelegate()
+                ? new EnumValidator(delegate, enumValidator.getAllowedValues())
+                : schema;
+        }
+
+        return schema;
+    }
+
+    /**
+     * Intern list elements into a new list, returns null if no element changed
+     */
+    private List<ValidationSchema> internAll(List<ValidationSchema> schemas,
+                                             Map<ValidationSchema, ValidationSchema> visited) {
+        List<ValidationSchema> result = new ArrayList<>(schemas.size());
+        boolean changed = false;
+        for (ValidationSchema schema : schemas) {
+            ValidationSchema child = internNode(schema, visited);
+            changed |= child != schema;
+            result.add(child);
+        }
+        return changed ? result : null;
+    }
+
+    /**
+     * Intern map values into a new map (same key order), returns null if no value changed
+     */
+    private Map<String, ValidationSchema> internValues(Map<String, ValidationSchema> schemas,
+                                                       Map<ValidationSchema, ValidationSchema> visited) {
+        Map<String, ValidationSchema> result = new LinkedHashMap<>();
+        boolean changed = false;
+        for (Map.Entry<String, ValidationSchema> entry : schemas.entrySet()) {
+            ValidationSchema child = internNode(entry.getValue(), visited);
+            changed |= child != entry.getValue();
+            result.put(entry.getKey(), child);
+        }
+        return changed ? result : null;
+    }
+
+    /**
+     * Structural key (children by identity), or null for nodes that are not interned
+     */
+    private NodeKey keyOf(ValidationSchema schema) {
+        if (schema instanceof StringValidator string) {
+            return new NodeKey(StringValidator.class, string.getDescription(), string.getFormat(),
+                string.getMinLength(), string.getMaxLength(), string.getPattern());
+        }
+        if (schema instanceof IntegerValidator integer) {
+            return new NodeKey(IntegerValidator.class, integer.getDescription(), integer.getFormat(),
+                integer.getMinimum(), integer.getMaximum(),
+                integer.getExclusiveMinimum(), integer.getExclusiveMaximum());
+        }
+        if (schema instanceof NumberValidator number) {
+            return new NodeKey(NumberValidator.class, number.getDescription(), number.getFormat(),
+                number.getMinimum(), number.getMaximum(),
+                number.getExclusiveMinimum(), number.getExclusiveMaximum());
+        }
+        if (schema instanceof BooleanValidator || schema instanceof AnyValidator) {
+            return new NodeKey(schema.getClass(), schema.getDescription());
+        }
+        if (schema instanceof ObjectValidator object) {
+            // Declared order is kept: it decides which error is reported first
+            List<Map.Entry<String, Identity>> properties = new ArrayList<>();
+            object.getProperties().forEach((name, child) -> properties.add(Map.entry(name, new Identity(child))));
+            return new NodeKey(ObjectValidator.class, object.getDescription(),
+                object.getAdditionalPropertiesAllowed(),
+                new ArrayList<>(object.getRequiredFields()), properties);
+        }
+        if (schema instanceof ArrayValidator array) {
+            return new NodeKey(ArrayValidator.class, array.getDescription(),
+                new Identity(array.getItemsSchema()),
+                array.getMinItems(), array.getMaxItems(), array.getUniqueItems());
+        }
+        if (schema instanceof AllOfValidator allOf) {
+            return new NodeKey(AllOfValidator.class, allOf.getDescription(), identities(allOf.getSchemas()));
+        }
+        if (schema instanceof AnyOfValidator anyOf) {
+            return new NodeKey(AnyOfValidator.class, anyOf.getDescription(), identities(anyOf.getSchemas()));
+        }
+        if (schema instanceof OneOfValidator oneOf) {
+            return new NodeKey(OneOfValidator.class, oneOf.getDescription(), identities(oneOf.getSchemas()));
+        }
+        if (schema instanceof DiscriminatorValidator discriminator) {
+            Map<String, Identity> mapping = new TreeMap<>();
+            discriminator.getMapping().forEach((value, branch) -> mapping.put(value, new Identity(branch)));
+            return new NodeKey(DiscriminatorValidator.class, discriminator.getDescription(),
+                discriminator.getType(), discriminator.getPropertyName(), mapping);
+        }
+        if (schema instanceof EnumValidator enumValidator) {
+            return new NodeKey(EnumValidator.class, new Identity(enumValidator.getDelegate()),
+                enumValidator.getAllowedValues());
+        }
+        if (schema instanceof CompiledValidator compiled) {
+            return new NodeKey(CompiledValidator.class, new Identity(compiled.getInterpreted()));
+        }
+        // ReferenceValidator and unknown validators keep their identity
+        return null;
+    }
+
+    private static List<Identity> identities(List<ValidationSchema> schemas) {
+        List<Identity> result = new ArrayList<>(schemas.size());
+        for (ValidationSchema schema : schemas) {
+            result.add(new Identity(schema));
+        }
+        return result;
+    }
+
+    /**
+     * Canonical instance for key (registers candidate if there is none)
+     */
+    private ValidationSchema lookup(NodeKey key, ValidationSchema candidate) {
+        while (true) {
+            CanonicalRef ref = table.compute(key, (k, existing) ->
+                existing != null && existing.get() != null ? existing : new CanonicalRef(k, candidate, queue));
+            ValidationSchema canonical = ref.get();
+            if (canonical != null) {
+                if (canonical == candidate) {
+                    misses.incrementAndGet();
+                    canonicalNodes.add(new WeakIdentity(candidate, canonicalQueue));
+                } else {
+                    hits.incrementAndGet();
+                }
+                return canonical;
+            }
+        }
+    }
+
+    /**
+     * Remove entries whose canonical instance was collected
+     */
+    private void expungeStaleEntries() {
+        Reference<? extends ValidationSchema> ref;
+        while ((ref = queue.poll()) != null) {
+            CanonicalRef stale = (CanonicalRef) ref;
+            table.remove(stale.key, stale);
+        }
+        while ((ref = canonicalQueue.poll()) != null) {
+            canonicalNodes.remove(ref);
+        }
+    }
+
+    /**
+     * Number of canonical nodes
+     */
+    public int size() {
+        expungeStaleEntries();
+        return table.size();
+    }
+
+    /**
+     * Interner statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("canonicalNodes", size());
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        return stats;
+    }
+
+    /**
+     * Log interner statistics
+     */
+    public void printStats() {
+        log.info("Validator interner: {} canonical nodes, {} shared, {} new",
+            size(), hits.get(), misses.get());
+    }
+
+    /**
+     * Structural key: node class plus settings (children wrapped in {@link Identity})
+     */
+    private record NodeKey(Class<?> type, List<Object> parts) {
+        NodeKey(Class<?> type, Object... parts) {
+            this(type, Arrays.asList(parts));
+        }
+    }
+
+    /**
+     * Identity wrapper for child nodes
+     */
+    private record Identity(Object target) {
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Identity identity && identity.target == target;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(target);
+        }
+    }
+
+    /**
+     * Weak identity key: equal while both refer to the same live node
+     * (a cleared key only equals itself, so it can still be removed)
+     */
+    private static final class WeakIdentity extends WeakReference<ValidationSchema> {
+        private final int hash;
+
+        WeakIdentity(ValidationSchema schema, ReferenceQueue<ValidationSchema> queue) {
+            super(schema, queue);
+            this.hash = System.identityHashCode(schema);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            ValidationSchema schema = get();
+            return schema != null && other instanceof WeakIdentity identity && identity.get() == schema;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class CanonicalRef extends WeakReference<ValidationSchema> {
+        private final NodeKey key;
+
+        CanonicalRef(NodeKey key, ValidationSchema schema, ReferenceQueue<ValidationSchema> queue) {
+            super(schema, queue);
+            this.key = key;
+        }
+    }
+}
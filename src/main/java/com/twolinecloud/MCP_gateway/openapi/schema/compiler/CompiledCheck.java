@@ -0,0 +1,216 @@
+package com.twolinecloud.MCP_gateway.openapi.schema.compiler;
+
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationContext;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationSchema;
+import com.twolinecloud.MCP_gateway.openapi.schema.validator.ArrayValidator;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Compiled Check
+ * Specialized predicate node produced by {@link SchemaCompiler}.
+ *
+ * Each node answers only "valid or not". Detailed error messages are always
+ * produced by the interpreted validator tree (see {@link CompiledValidator}).
+ */
+abstract class CompiledCheck {
+
+    // Inline type tags (checked in a switch instead of a virtual call)
+    static final byte KIND_ANY = 0;
+    static final byte KIND_STRING = 1;
+    static final byte KIND_INTEGER = 2;
+    static final byte KIND_NUMBER = 3;
+    static final byte KIND_BOOLEAN = 4;
+    static final byte KIND_NESTED = 5;
+
+    /**
+     * @param value Value to check
+     * @param context Passed through to interpreted nodes (errors are discarded by the caller)
+     */
+    abstract boolean test(Object value, ValidationContext context);
+
+    /**
+     * Inline type check for primitive kinds
+     */
+    static boolean testKind(byte kind, Object value) {
+        if (value == null) {
+            return true;
+        }
+        return switch (kind) {
+            case KIND_STRING -> value instanceof String;
+            case KIND_INTEGER -> isInteger(value);
+            case KIND_NUMBER -> value instanceof Number;
+            case KIND_BOOLEAN -> value instanceof Boolean;
+            default -> true;
+        };
+    }
+
+    static boolean isInteger(Object value) {
+        if (value instanceof Integer || value instanceof Long) {
+            return true;
+        }
+        if (value instanceof Number) {
+            double d = ((Number) value).doubleValue();
+            return d == Math.floor(d);
+        }
+        return false;
+    }
+
+    /**
+     * Primitive node (used when the root itself is a primitive)
+     */
+    static final class KindCheck extends CompiledCheck {
+        private final byte kind;
+
+        KindCheck(byte kind) {
+            this.kind = kind;
+        }
+
+        @Override
+        boolean test(Object value, ValidationContext context) {
+            return testKind(kind, value);
+        }
+    }
+
+    /**
+     * Object node with properties unrolled into parallel arrays
+     * (one lookup per declared property, so wide schemas with sparse
+     * payloads are cheaper in the interpreted single entry pass)
+     */
+    static final class ObjectCheck extends CompiledCheck {
+        private final String[] names;
+        private final byte[] kinds;
+        private final CompiledCheck[] nested;
+        private final String[] requiredNames;
+        private final boolean additionalPropertiesAllowed;
+
+        ObjectCheck(String[] names, byte[] kinds, CompiledCheck[] nested,
+                    String[] requiredNames, boolean additionalPropertiesAllowed) {
+            this.names = names;
+            this.kinds = kinds;
+            this.nested = nested;
+            this.requiredNames = requiredNames;
+            this.additionalPropertiesAllowed = additionalPropertiesAllowed;
+        }
+
+        @Override
+        boolean test(Object value, ValidationContext context) {
+            if (value == null) {
+                return true;
+            }
+            if (!(value instanceof Map)) {
+                return false;
+            }
+            Map<?, ?> map = (Map<?, ?>) value;
+
+            for (String requiredName : requiredNames) {
+                if (map.get(requiredName) == null) {
+                    return false;
+                }
+            }
+
+            int matched = 0;
+            for (int i = 0; i < names.length; i++) {
+                Object propValue = map.get(names[i]);
+                if (propValue == null) {
+                    if (!additionalPropertiesAllowed && map.containsKey(names[i])) {
+                        matched++;
+                    }
+                    continue;
+                }
+                matched++;
+                byte kind = kinds[i];
+                if (kind == KIND_NESTED) {
+                    if (!nested[i].test(propValue, context)) {
+                        return false;
+                    }
+                } else if (!testKind(kind, propValue)) {
+                    return false;
+                }
+            }
+
+            // Every payload key must be a declared property
+            return additionalPropertiesAllowed || matched == map.size();
+        }
+    }
+
+    /**
+     * Array node with inline item type check
+     */
+    static final class ArrayCheck extends CompiledCheck {
+        private final byte itemKind;
+        private final CompiledCheck itemCheck;
+        private final int minItems;
+        private final int maxItems;
+
+        ArrayCheck(byte itemKind, CompiledCheck itemCheck, int minItems, int maxItems) {
+            this.itemKind = itemKind;
+            this.itemCheck = itemCheck;
+            this.minItems = minItems;
+            this.maxItems = maxItems;
+        }
+
+        @Override
+        boolean test(Object value, ValidationContext context) {
+            if (value == null) {
+                return true;
+            }
+            if (!(value instanceof List)) {
+                return false;
+            }
+            List<?> list = (List<?>) value;
+            int size = list.size();
+            if (size < minItems || size > maxItems) {
+                return false;
+            }
+            if (itemKind == KIND_ANY) {
+                return true;
+            }
+            if (size >= ArrayValidator.PARALLEL_THRESHOLD) {
+                return testInParallel(list, size, context);
+            }
+            return testRange(list, 0, size, context);
+        }
+
+        private boolean testRange(List<?> list, int from, int to, ValidationContext context) {
+            for (int i = from; i < to; i++) {
+                Object item = list.get(i);
+                if (itemKind == KIND_NESTED) {
+                    if (!itemCheck.test(item, context)) {
+                        return false;
+                    }
+                } else if (!testKind(itemKind, item)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean testInParallel(List<?> list, int size, ValidationContext context) {
+            int chunkSize = ArrayValidator.PARALLEL_CHUNK_SIZE;
+            int chunks = (size + chunkSize - 1) / chunkSize;
+            return IntStream.range(0, chunks).parallel().allMatch(chunk ->
+                testRange(list, chunk * chunkSize, Math.min(size, (chunk + 1) * chunkSize),
+                          context.fork())
+            );
+        }
+    }
+
+    /**
+     * Fallback node - delegates to the interpreted validator
+     */
+    static final class InterpretedCheck extends CompiledCheck {
+        private final ValidationSchema schema;
+
+        InterpretedCheck(ValidationSchema schema) {
+            this.schema = schema;
+        }
+
+        @Override
+        boolean test(Object value, ValidationContext context) {
+            return schema.validate(value, context);
+        }
+    }
+}
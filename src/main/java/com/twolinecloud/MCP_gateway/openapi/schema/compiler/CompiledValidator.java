@@ -0,0 +1,60 @@
+package com.twolinecloud.MCP_gateway.openapi.schema.compiler;
+
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationContext;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationSchema;
+
+/**
+ * Compiled Validator
+ * Runs the specialized check produced by {@link SchemaCompiler} and falls back
+ * to the interpreted validator tree only to explain a failure.
+ */
+public final class CompiledValidator implements ValidationSchema {
+
+    private final ValidationSchema interpreted;
+    private final CompiledCheck check;
+
+    CompiledValidator(ValidationSchema interpreted, CompiledCheck check) {
+        this.interpreted = interpreted;
+        this.check = check;
+    }
+
+    @Override
+    public String getType() {
+        return interpreted.getType();
+    }
+
+    @Override
+    public String getDescription() {
+        return interpreted.getDescription();
+    }
+
+    @Override
+    public String getFormat() {
+        return interpreted.getFormat();
+    }
+
+    @Override
+    public boolean validate(Object value, ValidationContext context) {
+        int mark = context.mark();
+        if (check.test(value, context)) {
+            return true;
+        }
+        // Slow path: the interpreted tree builds the detailed error
+        context.rollback(mark);
+        return interpreted.validate(value, context);
+    }
+
+    /**
+     * Get the interpreted validator tree this was compiled from
+     */
+    public ValidationSchema getInterpreted() {
+        return interpreted;
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledValidator{" +
+               "interpreted=" + interpreted +
+               '}';
+    }
+}
@@ -0,0 +1,144 @@
+package com.twolinecloud.MCP_gateway.openapi.schema.compiler;
+
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationSchema;
+import com.twolinecloud.MCP_gateway.openapi.schema.validator.*;
+
+import org.springframework.stereotype.Component;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Schema Compiler
+ * Compiles an interpreted {@link ValidationSchema} tree (as produced by
+ * SchemaConverter) into a tree of specialized check nodes. No bytecode is
+ * generated; the nodes are ordinary classes:
+ * - object properties are unrolled into parallel arrays
+ * - unconstrained string/integer/number/boolean properties are checked by
+ *   type tag instead of a virtual call
+ * - everything else (format, length, pattern, bounds, enum, composition,
+ *   $ref, uniqueItems) stays an {@link CompiledCheck.InterpretedCheck}
+ *
+ * Nested nodes are still called through {@link CompiledCheck#test}, so that
+ * call site sees every node class. Only schemas made mostly of plain typed
+ * objects and arrays benefit; the interpreted tree remains the default.
+ *
+ * The result is a {@link CompiledValidator} that keeps the interpreted tree
+ * for error reporting.
+ */
+@Component
+public class SchemaCompiler {
+
+    /**
+     * Compile validator tree
+     *
+     * @param schema Interpreted validator tree
+     * @return Compiled validator wrapping the interpreted tree
+     */
+    public ValidationSchema compile(ValidationSchema schema) {
+        if (schema == null || schema instanceof CompiledValidator) {
+            return schema;
+        }
+        CompiledCheck check = compileNode(schema, new IdentityHashMap<>());
+        return new CompiledValidator(schema, check);
+    }
+
+    /**
+     * Compile a single node (shared subtrees are compiled once)
+     */
+    private CompiledCheck compileNode(ValidationSchema schema,
+                                      Map<ValidationSchema, CompiledCheck> compiled) {
+        CompiledCheck existing = compiled.get(schema);
+        if (existing != null) {
+            return existing;
+        }
+
+        CompiledCheck check;
+        byte kind = kindOf(schema);
+        if (kind != CompiledCheck.KIND_NESTED) {
+            check = new CompiledCheck.KindCheck(kind);
+        } else if (schema instanceof ObjectValidator objectValidator) {
+            check = compileObject(objectValidator, compiled);
+        } else if (schema instanceof ArrayValidator arrayValidator
+                   && !Boolean.TRUE.equals(arrayValidator.getUniqueItems())) {
+            check = compileArray(arrayValidator, compiled);
+        } else {
+            check = new CompiledCheck.InterpretedCheck(schema);
+        }
+
+        compiled.put(schema, check);
+        return check;
+    }
+
+    private CompiledCheck compileObject(ObjectValidator validator,
+                                        Map<ValidationSchema, CompiledCheck> compiled) {
+        Map<String, ValidationSchema> properties = validator.getProperties();
+        Set<String> requiredFields = validator.getRequiredFields();
+
+        int size = properties.size();
+        String[] names = new String[size];
+        byte[] kinds = new byte[size];
+        CompiledCheck[] nested = new CompiledCheck[size];
+
+        int i = 0;
+        for (Map.Entry<String, ValidationSchema> entry : properties.entrySet()) {
+            names[i] = entry.getKey();
+            kinds[i] = kindOf(entry.getValue());
+            if (kinds[i] == CompiledCheck.KIND_NESTED) {
+                nested[i] = compileNode(entry.getValue(), compiled);
+            }
+            i++;
+        }
+
+        return new CompiledCheck.ObjectCheck(
+            names,
+            kinds,
+            nested,
+            requiredFields.toArray(new String[0]),
+            !Boolean.FALSE.equals(validator.getAdditionalPropertiesAllowed())
+        );
+    }
+
+    private CompiledCheck compileArray(ArrayValidator validator,
+                                       Map<ValidationSchema, CompiledCheck> compiled) {
+        ValidationSchema itemsSchema = validator.getItemsSchema();
+        byte itemKind = itemsSchema == null ? CompiledCheck.KIND_ANY : kindOf(itemsSchema);
+        CompiledCheck itemCheck = itemKind == CompiledCheck.KIND_NESTED
+            ? compileNode(itemsSchema, compiled)
+            : null;
+
+        return new CompiledCheck.ArrayCheck(
+            itemKind,
+            itemCheck,
+            validator.getMinItems() != null ? validator.getMinItems() : 0,
+            validator.getMaxItems() != null ? validator.getMaxItems() : Integer.MAX_VALUE
+        );
+    }
+
+    /**
+     * Inline type tag for unconstrained primitives, KIND_NESTED otherwise
+     */
+    private byte kindOf(ValidationSchema schema) {
+        if (schema instanceof AnyValidator) {
+            return CompiledCheck.KIND_ANY;
+        }
+        if (schema instanceof StringValidator stringValidator
+            && stringValidator.getFormat() == null
+            && stringValidator.getMinLength() == null
+            && stringValidator.getMaxLength() == null
+            && stringValidator.getPattern() == null) {
+            return CompiledCheck.KIND_STRING;
+        }
+        if (schema instanceof IntegerValidator integerValidator && !integerValidator.hasBounds()) {
+            return CompiledCheck.KIND_INTEGER;
+        }
+        if (schema instanceof NumberValidator numberValidator && !numberValidator.hasBounds()) {
+            return CompiledCheck.KIND_NUMBER;
+        }
+        if (schema instanceof BooleanValidator) {
+            return CompiledCheck.KIND_BOOLEAN;
+        }
+        return CompiledCheck.KIND_NESTED;
+    }
+}
@@ -0,0 +1,384 @@
+package com.twolinecloud.MCP_gateway.openapi.schema.format;
+
+/**
+ * Built-in Format Checkers
+ * Hand-written single-pass scanners (no regex, no allocation).
+ */
+final class BuiltInFormats {
+
+    private static final int MAX_HOSTNAME_LENGTH = 253;
+    private static final int MAX_LABEL_LENGTH = 63;
+
+    private BuiltInFormats() {
+    }
+
+    // ========================================================================
+    // UUID
+    // ========================================================================
+
+    /**
+     * 8-4-4-4-12 hex digits (case-insensitive)
+     */
+    static boolean isUuid(String value) {
+        if (value.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = value.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if (!isHex(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ========================================================================
+    // DATE / DATE-TIME (RFC 3339)
+    // ========================================================================
+
+    /**
+     * full-date: YYYY-MM-DD
+     */
+    static boolean isDate(String value) {
+        return value.length() == 10 && isFullDate(value, 0);
+    }
+
+    /**
+     * date-time: full-date "T" partial-time time-offset
+     * e.g. 2024-01-31T23:59:60.123+09:00
+     */
+    static boolean isDateTime(String value) {
+        int length = value.length();
+        // Shortest form: YYYY-MM-DDTHH:MM:SSZ
+        if (length < 20 || !isFullDate(value, 0)) {
+            return false;
+        }
+
+        char separator = value.charAt(10);
+        if (separator != 'T' && separator != 't') {
+            return false;
+        }
+
+        // partial-time: HH:MM:SS
+        int hour = twoDigits(value, 11);
+        int minute = twoDigits(value, 14);
+        int second = twoDigits(value, 17);
+        if (hour < 0 || hour > 23 || value.charAt(13) != ':'
+            || minute < 0 || minute > 59 || value.charAt(16) != ':'
+            || second < 0 || second > 60) {
+            return false;
+        }
+
+        // time-secfrac
+        int pos = 19;
+        if (value.charAt(pos) == '.') {
+            pos++;
+            int fractionStart = pos;
+            while (pos < length && isDigit(value.charAt(pos))) {
+                pos++;
+            }
+            if (pos == fractionStart || pos == length) {
+                return false;
+            }
+        }
+
+        // time-offset: Z / +HH:MM / -HH:MM
+        char offset = value.charAt(pos);
+        if (offset == 'Z' || offset == 'z') {
+            return pos + 1 == length;
+        }
+        if ((offset != '+' && offset != '-') || pos + 6 != length) {
+            return false;
+        }
+        int offsetHour = twoDigits(value, pos + 1);
+        int offsetMinute = twoDigits(value, pos + 4);
+        return offsetHour >= 0 && offsetHour <= 23
+            && value.charAt(pos + 3) == ':'
+            && offsetMinute >= 0 && offsetMinute <= 59;
+    }
+
+    private static boolean isFullDate(String value, int start) {
+        int year = fourDigits(value, start);
+        int month = twoDigits(value, start + 5);
+        int day = twoDigits(value, start + 8);
+        return year >= 0
+            && value.charAt(start + 4) == '-'
+            && value.charAt(start + 7) == '-'
+            && month >= 1 && month <= 12
+            && day >= 1 && day <= daysInMonth(year, month);
+    }
+
+    private static int daysInMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> isLeapYear(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+    }
+
+    // ========================================================================
+    // IP ADDRESSES
+    // ========================================================================
+
+    /**
+     * Dotted-quad, each octet 0-255 (1-3 digits)
+     */
+    static boolean isIpv4(String value) {
+        return ipv4End(value, 0) == value.length();
+    }
+
+    /**
+     * Scan dotted-quad starting at start
+     * @return index after the address, or -1 if invalid
+     */
+    private static int ipv4End(String value, int start) {
+        int length = value.length();
+        int pos = start;
+        for (int octet = 0; octet < 4; octet++) {
+            if (octet > 0) {
+                if (pos >= length || value.charAt(pos) != '.') {
+                    return -1;
+                }
+                pos++;
+            }
+            int digits = 0;
+            int number = 0;
+            while (pos < length && digits < 3 && isDigit(value.charAt(pos))) {
+                number = number * 10 + (value.charAt(pos) - '0');
+                digits++;
+                pos++;
+            }
+            if (digits == 0 || number > 255) {
+                return -1;
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * RFC 4291 text form: up to 8 groups of 1-4 hex digits, at most one "::",
+     * optional trailing dotted-quad
+     */
+    static boolean isIpv6(String value) {
+        int length = value.length();
+        if (length < 2) {
+            return false;
+        }
+
+        int groups = 0;
+        boolean compressed = false;
+        int pos = 0;
+
+        if (value.charAt(0) == ':') {
+            if (value.charAt(1) != ':') {
+                return false;
+            }
+            compressed = true;
+            pos = 2;
+            if (pos == length) {
+                return true; // "::"
+            }
+        }
+
+        while (pos < length) {
+            // Embedded IPv4 (must be last, takes two groups)
+            int groupStart = pos;
+            int digits = 0;
+            while (pos < length && digits < 5 && isHex(value.charAt(pos))) {
+                digits++;
+                pos++;
+            }
+            if (pos < length && value.charAt(pos) == '.') {
+                if (ipv4End(value, groupStart) != length) {
+                    return false;
+                }
+                groups += 2;
+                pos = length;
+                break;
+            }
+            if (digits == 0 || digits > 4) {
+                return false;
+            }
+            groups++;
+
+            if (pos == length) {
+                break;
+            }
+            if (value.charAt(pos) != ':') {
+                return false;
+            }
+            pos++;
+            if (pos < length && value.charAt(pos) == ':') {
+                if (compressed) {
+                    return false;
+                }
+                compressed = true;
+                pos++;
+                if (pos == length) {
+                    break; // trailing "::"
+                }
+            } else if (pos == length) {
+                return false; // trailing single ':'
+            }
+        }
+
+        return compressed ? groups < 8 : groups == 8;
+    }
+
+    // ========================================================================
+    // HOSTNAME / EMAIL / URI
+    // ========================================================================
+
+    /**
+     * RFC 1123 hostname: dot-separated labels of letters, digits and hyphens,
+     * 1-63 chars each, no leading/trailing hyphen, 253 chars total
+     */
+    static boolean isHostname(String value) {
+        return isHostname(value, 0, value.length());
+    }
+
+    private static boolean isHostname(String value, int start, int end) {
+        if (end - start < 1 || end - start > MAX_HOSTNAME_LENGTH) {
+            return false;
+        }
+        int labelLength = 0;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c == '.') {
+                if (labelLength == 0 || value.charAt(i - 1) == '-') {
+                    return false;
+                }
+                labelLength = 0;
+            } else if (isAlphaNumeric(c) || (c == '-' && labelLength > 0)) {
+                if (++labelLength > MAX_LABEL_LENGTH) {
+                    return false;
+                }
+            } else {
+                return false;
+            }
+        }
+        return labelLength > 0 && value.charAt(end - 1) != '-';
+    }
+
+    /**
+     * local-part "@" hostname, local-part of RFC 5322 atext and single dots;
+     * the domain must contain a dot (single-label domains such as "a@b" are rejected,
+     * as before the format registry)
+     */
+    static boolean isEmail(String value) {
+        int at = value.lastIndexOf('@');
+        if (at < 1 || at > 64) {
+            return false;
+        }
+        for (int i = 0; i < at; i++) {
+            char c = value.charAt(i);
+            if (c == '.') {
+                if (i == 0 || i == at - 1 || value.charAt(i - 1) == '.') {
+                    return false;
+                }
+            } else if (!isAtext(c)) {
+                return false;
+            }
+        }
+        return value.indexOf('.', at + 1) > 0 && isHostname(value, at + 1, value.length());
+    }
+
+    /**
+     * Absolute URI (scheme ":" ...) or absolute path ("/..."), RFC 3986 characters
+     * with well-formed percent-encoding
+     */
+    static boolean isUri(String value) {
+        int length = value.length();
+        if (length == 0) {
+            return false;
+        }
+
+        int pos = 0;
+        if (value.charAt(0) != '/') {
+            // scheme = ALPHA *( ALPHA / DIGIT / "+" / "-" / "." )
+            if (!isAlpha(value.charAt(0))) {
+                return false;
+            }
+            pos = 1;
+            while (pos < length && value.charAt(pos) != ':') {
+                char c = value.charAt(pos);
+                if (!isAlphaNumeric(c) && c != '+' && c != '-' && c != '.') {
+                    return false;
+                }
+                pos++;
+            }
+            if (pos == length) {
+                return false;
+            }
+            pos++;
+        }
+
+        while (pos < length) {
+            char c = value.charAt(pos);
+            if (c == '%') {
+                if (pos + 2 >= length || !isHex(value.charAt(pos + 1)) || !isHex(value.charAt(pos + 2))) {
+                    return false;
+                }
+                pos += 3;
+                continue;
+            }
+            if (!isUriChar(c)) {
+                return false;
+            }
+            pos++;
+        }
+        return true;
+    }
+
+    // ========================================================================
+    // CHARACTER CLASSES
+    // ========================================================================
+
+    private static int twoDigits(String value, int start) {
+        char c1 = value.charAt(start);
+        char c2 = value.charAt(start + 1);
+        if (!isDigit(c1) || !isDigit(c2)) {
+            return -1;
+        }
+        return (c1 - '0') * 10 + (c2 - '0');
+    }
+
+    private static int fourDigits(String value, int start) {
+        int high = twoDigits(value, start);
+        int low = twoDigits(value, start + 2);
+        return high < 0 || low < 0 ? -1 : high * 100 + low;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isAlpha(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isAlphaNumeric(char c) {
+        return isAlpha(c) || isDigit(c);
+    }
+
+    private static boolean isHex(char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    private static boolean isAtext(char c) {
+        return isAlphaNumeric(c) || "!#$%&'*+-/=?^_`{|}~".indexOf(c) >= 0;
+    }
+
+    private static boolean isUriChar(char c) {
+        // unreserved / gen-delims / sub-delims
+        return isAlphaNumeric(c) || "-._~:/?#[]@!$&'()*+,;=".indexOf(c) >= 0;
+    }
+}
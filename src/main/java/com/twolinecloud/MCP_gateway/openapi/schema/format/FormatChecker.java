@@ -0,0 +1,18 @@
+package com.twolinecloud.MCP_gateway.openapi.schema.format;
+
+/**
+ * Format Checker
+ * Checks a string value against a named format (uuid, date, email, ...).
+ *
+ * Implementations are called on every validated value, so they should be
+ * single-pass and must not allocate.
+ */
+@FunctionalInterface
+public interface FormatChecker {
+
+    /**
+     * @param value String value (never null)
+     * @return true if value matches the format
+     */
+    boolean isValid(String value);
+}
@@ -0,0 +1,69 @@
+package com.twolinecloud.MCP_gateway.openapi.schema.format;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Format Registry
+ * Maps OpenAPI string formats to their checkers.
+ *
+ * Built-in: uuid, date, date-time (RFC 3339), ipv4, ipv6, hostname, email, uri (url).
+ * Custom formats can be added with {@link #register(String, FormatChecker)} at any time:
+ * every registration bumps {@link #version()}, and validators built earlier
+ * (cached, interned or read from a snapshot) re-resolve their checker on the
+ * next validation.
+ */
+public final class FormatRegistry {
+
+    private static final Map<String, FormatChecker> CHECKERS = new ConcurrentHashMap<>();
+
+    private static volatile int version;
+
+    static {
+        CHECKERS.put("uuid", BuiltInFormats::isUuid);
+        CHECKERS.put("date", BuiltInFormats::isDate);
+        CHECKERS.put("date-time", BuiltInFormats::isDateTime);
+        CHECKERS.put("ipv4", BuiltInFormats::isIpv4);
+        CHECKERS.put("ipv6", BuiltInFormats::isIpv6);
+        CHECKERS.put("hostname", BuiltInFormats::isHostname);
+        CHECKERS.put("email", BuiltInFormats::isEmail);
+        CHECKERS.put("uri", BuiltInFormats::isUri);
+        CHECKERS.put("url", BuiltInFormats::isUri);
+    }
+
+    private FormatRegistry() {
+    }
+
+    /**
+     * Get checker for format
+     *
+     * @param format Format name
+     * @return Checker, or null if the format is unknown (not validated)
+     */
+    public static FormatChecker get(String format) {
+        return format != null ? CHECKERS.get(format) : null;
+    }
+
+    /**
+     * Register custom format (replaces an existing checker with the same name)
+     */
+    public static synchronized void register(String format, FormatChecker checker) {
+        CHECKERS.put(format, checker);
+        version++;
+    }
+
+    /**
+     * Registration counter (changes whenever a checker is registered)
+     */
+    public static int version() {
+        return version;
+    }
+
+    /**
+     * Get registered format names
+     */
+    public static Set<String> getFormats() {
+        return Set.copyOf(CHECKERS.keySet());
+    }
+}
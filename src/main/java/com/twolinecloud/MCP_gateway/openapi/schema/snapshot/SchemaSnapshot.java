@@ -0,0 +1,30 @@
+package com.twolinecloud.MCP_gateway.openapi.schema.snapshot;
+
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer.AnalysisResult;
+import com.twolinecloud.MCP_gateway.openapi.schema.EndpointSchemas;
+
+import java.util.Map;
+
+/**
+ * Schema Snapshot
+ * Converted endpoint schemas of one spec, persisted so a restart can skip
+ * parsing and conversion.
+ *
+ * The restored analysis keeps endpoint metadata (path, method, operationId,
+ * summary, tags, parameters) but not the raw SchemaInfo trees; the converted
+ * validators replace them.
+ *
+ * @param specHash SHA-256 of the spec content
+ * @param converterSettings Converter settings the validators were built with
+ *        ({@code SchemaConverter#getSettingsFingerprint})
+ * @param includeResponses Whether response schemas were converted
+ * @param analysis Analysis result (endpoint metadata)
+ * @param endpointSchemas Endpoint key -> converted schemas
+ */
+public record SchemaSnapshot(
+    String specHash,
+    String converterSettings,
+    boolean includeResponses,
+    AnalysisResult analysis,
+    Map<String, EndpointSchemas> endpointSchemas
+) {}
@@ -0,0 +1,738 @@
+package com.twolinecloud.MCP_gateway.openapi.schema.snapshot;
+
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer.AnalysisResult;
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer.EndpointInfo;
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer.ParameterInfo;
+import com.twolinecloud.MCP_gateway.openapi.schema.EndpointSchemas;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationSchema;
+import com.twolinecloud.MCP_gateway.openapi.schema.compiler.CompiledValidator;
+import com.twolinecloud.MCP_gateway.openapi.schema.validator.*;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * Schema Snapshot Codec
+ * Versioned binary format for {@link SchemaSnapshot}.
+ *
+ * Layout:
+ * - header: magic, format version, spec hash, converter settings, includeResponses
+ * - analysis: title, version, endpoint metadata
+ * - node table: every distinct validator once, children before parents
+ *   (shared subtrees stay shared; recursive references store the id of
+ *   their target and are bound after the whole table is read)
+ * - endpoints: parameters, request body and responses, validators as node ids
+ *
+ * Compiled validators are stored as their interpreted tree; the reader passes
+ * each endpoint root through a finisher (compile / intern) on load.
+ */
+public final class SchemaSnapshotCodec {
+
+    private static final int MAGIC = 0x4D435053;   // "MCPS"
+
+    /**
+     * Bump whenever the layout or validator semantics change
+     * (2: converter settings in the header, required kept without properties)
+     */
+    public static final int FORMAT_VERSION = 2;
+
+    // Node tags
+    private static final byte NODE_STRING = 1;
+    private static final byte NODE_INTEGER = 2;
+    private static final byte NODE_NUMBER = 3;
+    private static final byte NODE_BOOLEAN = 4;
+    private static final byte NODE_ANY = 5;
+    private static final byte NODE_ARRAY = 6;
+    private static final byte NODE_OBJECT = 7;
+    private static final byte NODE_ALL_OF = 8;
+    private static final byte NODE_ANY_OF = 9;
+    private static final byte NODE_ONE_OF = 10;
+    private static final byte NODE_DISCRIMINATOR = 11;
+    private static final byte NODE_ENUM = 12;
+    private static final byte NODE_REFERENCE = 13;
+
+    // Value tags
+    private static final byte VALUE_NULL = 0;
+    private static final byte VALUE_STRING = 1;
+    private static final byte VALUE_INTEGER = 2;
+    private static final byte VALUE_LONG = 3;
+    private static final byte VALUE_DOUBLE = 4;
+    private static final byte VALUE_BIG_DECIMAL = 5;
+    private static final byte VALUE_BIG_INTEGER = 6;
+    private static final byte VALUE_BOOLEAN = 7;
+    private static final byte VALUE_LIST = 8;
+    private static final byte VALUE_MAP = 9;
+
+    private static final int NO_NODE = -1;
+
+    private SchemaSnapshotCodec() {
+    }
+
+    // ========================================================================
+    // WRITE
+    // ========================================================================
+
+    /**
+     * Write snapshot
+     *
+     * @throws IllegalArgumentException if a validator type cannot be stored
+     */
+    public static void write(SchemaSnapshot snapshot, DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        writeString(out, snapshot.specHash());
+        writeString(out, snapshot.converterSettings());
+        out.writeBoolean(snapshot.includeResponses());
+
+        writeAnalysis(out, snapshot.analysis());
+
+        NodeTable table = new NodeTable();
+        for (EndpointSchemas schemas : snapshot.endpointSchemas().values()) {
+            if (schemas.requestBody() != null) {
+                table.add(schemas.requestBody().schema());
+            }
+            if (schemas.responses() != null) {
+                for (EndpointSchemas.ConvertedResponse response : schemas.responses()) {
+                    table.add(response.schema());
+                }
+            }
+        }
+        table.finish();
+        writeNodes(out, table);
+
+        out.writeInt(snapshot.endpointSchemas().size());
+        for (Map.Entry<String, EndpointSchemas> entry : snapshot.endpointSchemas().entrySet()) {
+            writeString(out, entry.getKey());
+            writeEndpoint(out, entry.getValue(), table);
+        }
+    }
+
+    private static void writeAnalysis(DataOutput out, AnalysisResult analysis) throws IOException {
+        writeString(out, analysis.apiTitle());
+        writeString(out, analysis.apiVersion());
+        out.writeInt(analysis.endpoints().size());
+        for (EndpointInfo endpoint : analysis.endpoints()) {
+            writeString(out, endpoint.path());
+            writeString(out, endpoint.method());
+            writeString(out, endpoint.operationId());
+            writeString(out, endpoint.summary());
+            writeString(out, endpoint.description());
+            writeValue(out, endpoint.tags());
+
+            List<ParameterInfo> parameters = endpoint.parameters() != null ? endpoint.parameters() : List.of();
+            out.writeInt(parameters.size());
+            for (ParameterInfo parameter : parameters) {
+                writeString(out, parameter.name());
+                writeString(out, parameter.in());
+                out.writeBoolean(parameter.required());
+                writeString(out, parameter.description());
+            }
+        }
+    }
+
+    private static void writeEndpoint(DataOutput out, EndpointSchemas schemas, NodeTable table)
+            throws IOException {
+        writeString(out, schemas.path());
+        writeString(out, schemas.method());
+
+        List<EndpointSchemas.ConvertedParameter> parameters =
+            schemas.parameters() != null ? schemas.parameters() : List.of();
+        out.writeInt(parameters.size());
+        for (EndpointSchemas.ConvertedParameter parameter : parameters) {
+            writeString(out, parameter.name());
+            writeString(out, parameter.location());
+            writeString(out, parameter.javaType());
+            writeString(out, parameter.description());
+            writeMetadata(out, parameter.validations());
+            writeString(out, parameter.format());
+            out.writeBoolean(parameter.isArray());
+            writeString(out, parameter.arrayItemType());
+        }
+
+        EndpointSchemas.ConvertedRequestBody requestBody = schemas.requestBody();
+        out.writeBoolean(requestBody != null);
+        if (requestBody != null) {
+            writeString(out, requestBody.contentType());
+            writeString(out, requestBody.javaType());
+            writeString(out, requestBody.description());
+            out.writeBoolean(requestBody.required());
+            out.writeInt(table.idOf(requestBody.schema()));
+        }
+
+        out.writeBoolean(schemas.responses() != null);
+        if (schemas.responses() != null) {
+            out.writeInt(schemas.responses().size());
+            for (EndpointSchemas.ConvertedResponse response : schemas.responses()) {
+                writeString(out, response.statusCode());
+                writeString(out, response.contentType());
+                writeString(out, response.javaType());
+                writeString(out, response.description());
+                out.writeInt(table.idOf(response.schema()));
+            }
+        }
+    }
+
+    private static void writeMetadata(DataOutput out, EndpointSchemas.ValidationMetadata metadata)
+            throws IOException {
+        out.writeBoolean(metadata != null);
+        if (metadata == null) {
+            return;
+        }
+        writeValue(out, metadata.required());
+        writeValue(out, metadata.minimum());
+        writeValue(out, metadata.maximum());
+        writeValue(out, metadata.exclusiveMinimum());
+        writeValue(out, metadata.exclusiveMaximum());
+        writeValue(out, metadata.minLength());
+        writeValue(out, metadata.maxLength());
+        writeString(out, metadata.pattern());
+        writeValue(out, metadata.enumValues());
+        writeValue(out, metadata.minItems());
+        writeValue(out, metadata.maxItems());
+        writeValue(out, metadata.uniqueItems());
+    }
+
+    private static void writeNodes(DataOutput out, NodeTable table) throws IOException {
+        out.writeInt(table.nodes.size());
+        for (ValidationSchema node : table.nodes) {
+            writeNode(out, node, table);
+        }
+    }
+
+    private static void writeNode(DataOutput out, ValidationSchema node, NodeTable table) throws IOException {
+        if (node instanceof StringValidator string) {
+            out.writeByte(NODE_STRING);
+            writeString(out, string.getFormat());
+            writeString(out, string.getDescription());
+            writeValue(out, string.getMinLength());
+            writeValue(out, string.getMaxLength());
+            writeString(out, string.getPattern());
+        } else if (node instanceof IntegerValidator integer) {
+            out.writeByte(NODE_INTEGER);
+            writeString(out, integer.getFormat());
+            writeString(out, integer.getDescription());
+            writeValue(out, integer.getMinimum());
+            writeValue(out, integer.getMaximum());
+            writeValue(out, integer.getExclusiveMinimum());
+            writeValue(out, integer.getExclusiveMaximum());
+        } else if (node instanceof NumberValidator number) {
+            out.writeByte(NODE_NUMBER);
+            writeString(out, number.getFormat());
+            writeString(out, number.getDescription());
+            writeValue(out, number.getMinimum());
+            writeValue(out, number.getMaximum());
+            writeValue(out, number.getExclusiveMinimum());
+            writeValue(out, number.getExclusiveMaximum());
+        } else if (node instanceof BooleanValidator) {
+            out.writeByte(NODE_BOOLEAN);
+            writeString(out, node.getDescription());
+        } else if (node instanceof AnyValidator) {
+            out.writeByte(NODE_ANY);
+            writeString(out, node.getDescription());
+        } else if (node instanceof ArrayValidator array) {
+            out.writeByte(NODE_ARRAY);
+            out.writeInt(table.idOf(array.getItemsSchema()));
+            writeString(out, array.getDescription());
+            writeValue(out, array.getMinItems());
+            writeValue(out, array.getMaxItems());
+            writeValue(out, array.getUniqueItems());
+        } else if (node instanceof ObjectValidator object) {
+            out.writeByte(NODE_OBJECT);
+            Map<String, ValidationSchema> properties = object.getProperties();
+            out.writeInt(properties.size());
+            for (Map.Entry<String, ValidationSchema> entry : properties.entrySet()) {
+                writeString(out, entry.getKey());
+                out.writeInt(table.idOf(entry.getValue()));
+            }
+            writeValue(out, new ArrayList<>(object.getRequiredFields()));
+            writeString(out, object.getDescription());
+            writeValue(out, object.getAdditionalPropertiesAllowed());
+        } else if (node instanceof AllOfValidator allOf) {
+            out.writeByte(NODE_ALL_OF);
+            writeNodeList(out, allOf.getSchemas(), table);
+            writeString(out, allOf.getDescription());
+        } else if (node instanceof AnyOfValidator anyOf) {
+            out.writeByte(NODE_ANY_OF);
+            writeNodeList(out, anyOf.getSchemas(), table);
+            writeString(out, anyOf.getDescription());
+        } else if (node instanceof OneOfValidator oneOf) {
+            out.writeByte(NODE_ONE_OF);
+            writeNodeList(out, oneOf.getSchemas(), table);
+            writeString(out, oneOf.getDescription());
+        } else if (node instanceof DiscriminatorValidator discriminator) {
+            out.writeByte(NODE_DISCRIMINATOR);
+            writeString(out, discriminator.getType());
+            writeString(out, discriminator.getPropertyName());
+            Map<String, ValidationSchema> mapping = discriminator.getMapping();
+            out.writeInt(mapping.size());
+            for (Map.Entry<String, ValidationSchema> entry : mapping.entrySet()) {
+                writeString(out, entry.getKey());
+                out.writeInt(table.idOf(entry.getValue()));
+            }
+            writeString(out, discriminator.getDescription());
+        } else if (node instanceof EnumValidator enumValidator) {
+            out.writeByte(NODE_ENUM);
+            out.writeInt(table.idOf(enumValidator.getDelegate()));
+            writeValue(out, enumValidator.getAllowedValues());
+        } else if (node instanceof ReferenceValidator reference) {
+            out.writeByte(NODE_REFERENCE);
+            writeString(out, reference.getReferenceName());
+            out.writeInt(reference.getMaxDepth());
+            out.writeInt(table.idOf(reference.getTarget()));
+        } else {
+            throw new IllegalArgumentException("Unsupported validator in snapshot: " + node.getClass().getName());
+        }
+    }
+
+    private static void writeNodeList(DataOutput out, List<ValidationSchema> schemas, NodeTable table)
+            throws IOException {
+        out.writeInt(schemas.size());
+        for (ValidationSchema schema : schemas) {
+            out.writeInt(table.idOf(schema));
+        }
+    }
+
+    // ========================================================================
+    // READ
+    // ========================================================================
+
+    /**
+     * Read snapshot
+     *
+     * @param in Snapshot data
+     * @param finisher Applied to every endpoint root validator (e.g. compile)
+     * @return Snapshot, or null if the data was written by another format version
+     */
+    public static SchemaSnapshot read(DataInput in, UnaryOperator<ValidationSchema> finisher)
+            throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a schema snapshot");
+        }
+        if (in.readInt() != FORMAT_VERSION) {
+            return null;
+        }
+        String specHash = readString(in);
+        String converterSettings = readString(in);
+        boolean includeResponses = in.readBoolean();
+
+        AnalysisResult analysis = readAnalysis(in);
+        ValidationSchema[] nodes = readNodes(in);
+
+        // Endpoint roots share finished validators like the nodes they wrap
+        Map<ValidationSchema, ValidationSchema> finished = new IdentityHashMap<>();
+        UnaryOperator<ValidationSchema> finish = schema -> schema == null
+            ? null
+            : finished.computeIfAbsent(schema, finisher);
+
+        int endpointCount = in.readInt();
+        Map<String, EndpointSchemas> endpointSchemas = new LinkedHashMap<>();
+        for (int i = 0; i < endpointCount; i++) {
+            String key = readString(in);
+            endpointSchemas.put(key, readEndpoint(in, nodes, finish));
+        }
+
+        return new SchemaSnapshot(specHash, converterSettings, includeResponses, analysis, endpointSchemas);
+    }
+
+    private static AnalysisResult readAnalysis(DataInput in) throws IOException {
+        String title = readString(in);
+        String version = readString(in);
+        int count = in.readInt();
+        List<EndpointInfo> endpoints = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String path = readString(in);
+            String method = readString(in);
+            String operationId = readString(in);
+            String summary = readString(in);
+            String description = readString(in);
+            @SuppressWarnings("unchecked")
+            List<String> tags = (List<String>) readValue(in);
+
+            int parameterCount = in.readInt();
+            List<ParameterInfo> parameters = new ArrayList<>(parameterCount);
+            for (int p = 0; p < parameterCount; p++) {
+                parameters.add(new ParameterInfo(
+                    readString(in), readString(in), in.readBoolean(), readString(in), null));
+            }
+
+            endpoints.add(new EndpointInfo(path, method, operationId, summary, description,
+                tags, parameters, null, null));
+        }
+
+        Map<String, List<EndpointInfo>> groupedByMethod = new LinkedHashMap<>();
+        for (EndpointInfo endpoint : endpoints) {
+            groupedByMethod.computeIfAbsent(endpoint.method(), k -> new ArrayList<>()).add(endpoint);
+        }
+        return new AnalysisResult(title, version, endpoints, groupedByMethod);
+    }
+
+    private static EndpointSchemas readEndpoint(DataInput in, ValidationSchema[] nodes,
+                                                UnaryOperator<ValidationSchema> finish) throws IOException {
+        String path = readString(in);
+        String method = readString(in);
+
+        int parameterCount = in.readInt();
+        List<EndpointSchemas.ConvertedParameter> parameters = new ArrayList<>(parameterCount);
+        for (int i = 0; i < parameterCount; i++) {
+            parameters.add(new EndpointSchemas.ConvertedParameter(
+                readString(in),
+                readString(in),
+                readString(in),
+                readString(in),
+                readMetadata(in),
+                readString(in),
+                in.readBoolean(),
+                readString(in)
+            ));
+        }
+
+        EndpointSchemas.ConvertedRequestBody requestBody = null;
+        if (in.readBoolean()) {
+            requestBody = new EndpointSchemas.ConvertedRequestBody(
+                readString(in),
+                readString(in),
+                readString(in),
+                in.readBoolean(),
+                finish.apply(node(nodes, in.readInt()))
+            );
+        }
+
+        List<EndpointSchemas.ConvertedResponse> responses = null;
+        if (in.readBoolean()) {
+            int responseCount = in.readInt();
+            responses = new ArrayList<>(responseCount);
+            for (int i = 0; i < responseCount; i++) {
+                responses.add(new EndpointSchemas.ConvertedResponse(
+                    readString(in),
+                    readString(in),
+                    readString(in),
+                    readString(in),
+                    finish.apply(node(nodes, in.readInt()))
+                ));
+            }
+        }
+
+        return new EndpointSchemas(path, method, parameters, requestBody, responses);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static EndpointSchemas.ValidationMetadata readMetadata(DataInput in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return new EndpointSchemas.ValidationMetadata(
+            (Boolean) readValue(in),
+            (Number) readValue(in),
+            (Number) readValue(in),
+            (Number) readValue(in),
+            (Number) readValue(in),
+            (Integer) readValue(in),
+            (Integer) readValue(in),
+            readString(in),
+            (List<Object>) readValue(in),
+            (Integer) readValue(in),
+            (Integer) readValue(in),
+            (Boolean) readValue(in)
+        );
+    }
+
+    private static ValidationSchema[] readNodes(DataInput in) throws IOException {
+        int count = in.readInt();
+        ValidationSchema[] nodes = new ValidationSchema[count];
+        int[] referenceTargets = new int[count];
+        Arrays.fill(referenceTargets, NO_NODE);
+
+        for (int id = 0; id < count; id++) {
+            byte tag = in.readByte();
+            nodes[id] = switch (tag) {
+                case NODE_STRING -> new StringValidator(
+                    readString(in), readString(in),
+                    (Integer) readValue(in), (Integer) readValue(in), readString(in));
+                case NODE_INTEGER -> new IntegerValidator(
+                    readString(in), readString(in),
+                    (Number) readValue(in), (Number) readValue(in),
+                    (Number) readValue(in), (Number) readValue(in));
+                case NODE_NUMBER -> new NumberValidator(
+                    readString(in), readString(in),
+                    (Number) readValue(in), (Number) readValue(in),
+                    (Number) readValue(in), (Number) readValue(in));
+                case NODE_BOOLEAN -> new BooleanValidator(readString(in));
+                case NODE_ANY -> new AnyValidator(readString(in));
+                case NODE_ARRAY -> new ArrayValidator(
+                    node(nodes, in.readInt()), readString(in),
+                    (Integer) readValue(in), (Integer) readValue(in), (Boolean) readValue(in));
+                case NODE_OBJECT -> readObject(in, nodes);
+                case NODE_ALL_OF -> new AllOfValidator(readNodeList(in, nodes), readString(in));
+                case NODE_ANY_OF -> new AnyOfValidator(readNodeList(in, nodes), readString(in));
+                case NODE_ONE_OF -> new OneOfValidator(readNodeList(in, nodes), readString(in));
+                case NODE_DISCRIMINATOR -> readDiscriminator(in, nodes);
+                case NODE_ENUM -> new EnumValidator(node(nodes, in.readInt()), (List<?>) readValue(in));
+                case NODE_REFERENCE -> {
+                    ReferenceValidator reference = new ReferenceValidator(readString(in), in.readInt());
+                    referenceTargets[id] = in.readInt();
+                    yield reference;
+                }
+                default -> throw new IOException("Unknown node tag: " + tag);
+            };
+        }
+
+        // Recursive references may point forward (to an ancestor)
+        for (int id = 0; id < count; id++) {
+            if (referenceTargets[id] != NO_NODE) {
+                ((ReferenceValidator) nodes[id]).bind(node(nodes, referenceTargets[id]));
+            }
+        }
+        return nodes;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectValidator readObject(DataInput in, ValidationSchema[] nodes) throws IOException {
+        int size = in.readInt();
+        Map<String, ValidationSchema> properties = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            properties.put(readString(in), node(nodes, in.readInt()));
+        }
+        Set<String> required = new HashSet<>((List<String>) readValue(in));
+        return new ObjectValidator(properties, required, readString(in), (Boolean) readValue(in));
+    }
+
+    private static DiscriminatorValidator readDiscriminator(DataInput in, ValidationSchema[] nodes)
+            throws IOException {
+        String compositionType = readString(in);
+        String propertyName = readString(in);
+        int size = in.readInt();
+        Map<String, ValidationSchema> mapping = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            mapping.put(readString(in), node(nodes, in.readInt()));
+        }
+        return new DiscriminatorValidator(compositionType, propertyName, mapping, readString(in));
+    }
+
+    private static List<ValidationSchema> readNodeList(DataInput in, ValidationSchema[] nodes) throws IOException {
+        int size = in.readInt();
+        List<ValidationSchema> schemas = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            schemas.add(node(nodes, in.readInt()));
+        }
+        return schemas;
+    }
+
+    private static ValidationSchema node(ValidationSchema[] nodes, int id) {
+        return id == NO_NODE ? null : nodes[id];
+    }
+
+    // ========================================================================
+    // VALUES
+    // ========================================================================
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Write JSON-like value (null, string, number, boolean, list, map)
+     */
+    private static void writeValue(DataOutput out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(VALUE_NULL);
+        } else if (value instanceof String s) {
+            out.writeByte(VALUE_STRING);
+            writeString(out, s);
+        } else if (value instanceof Integer i) {
+            out.writeByte(VALUE_INTEGER);
+            out.writeInt(i);
+        } else if (value instanceof Long || value instanceof Short || value instanceof Byte) {
+            out.writeByte(VALUE_LONG);
+            out.writeLong(((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeByte(VALUE_DOUBLE);
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof BigDecimal decimal) {
+            out.writeByte(VALUE_BIG_DECIMAL);
+            writeString(out, decimal.toString());
+        } else if (value instanceof BigInteger integer) {
+            out.writeByte(VALUE_BIG_INTEGER);
+            writeString(out, integer.toString());
+        } else if (value instanceof Number number) {
+            out.writeByte(VALUE_BIG_DECIMAL);
+            writeString(out, new BigDecimal(number.toString()).toString());
+        } else if (value instanceof Boolean b) {
+            out.writeByte(VALUE_BOOLEAN);
+            out.writeBoolean(b);
+        } else if (value instanceof List<?> list) {
+            out.writeByte(VALUE_LIST);
+            out.writeInt(list.size());
+            for (Object element : list) {
+                writeValue(out, element);
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            out.writeByte(VALUE_MAP);
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeString(out, String.valueOf(entry.getKey()));
+                writeValue(out, entry.getValue());
+            }
+        } else {
+            // Other enum values (dates, UUIDs, ...) are compared as their JSON string form
+            out.writeByte(VALUE_STRING);
+            writeString(out, value.toString());
+        }
+    }
+
+    private static Object readValue(DataInput in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_STRING:
+                return readString(in);
+            case VALUE_INTEGER:
+                return in.readInt();
+            case VALUE_LONG:
+                return in.readLong();
+            case VALUE_DOUBLE:
+                return in.readDouble();
+            case VALUE_BIG_DECIMAL:
+                return new BigDecimal(readString(in));
+            case VALUE_BIG_INTEGER:
+                return new BigInteger(readString(in));
+            case VALUE_BOOLEAN:
+                return in.readBoolean();
+            case VALUE_LIST: {
+                int size = in.readInt();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                return list;
+            }
+            case VALUE_MAP: {
+                int size = in.readInt();
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) {
+                    map.put(readString(in), readValue(in));
+                }
+                return map;
+            }
+            default:
+                throw new IOException("Unknown value tag: " + tag);
+        }
+    }
+
+    // ========================================================================
+    // NODE TABLE
+    // ========================================================================
+
+    /**
+     * Distinct validators in write order (children first)
+     */
+    private static final class NodeTable {
+        private final List<ValidationSchema> nodes = new ArrayList<>();
+        private final Map<ValidationSchema, Integer> ids = new IdentityHashMap<>();
+        private final Deque<ValidationSchema> deferredTargets = new ArrayDeque<>();
+
+        void add(ValidationSchema schema) {
+            visit(schema);
+        }
+
+        /**
+         * Visit targets of recursive references (they may not be reachable otherwise)
+         */
+        void finish() {
+            while (!deferredTargets.isEmpty()) {
+                visit(deferredTargets.poll());
+            }
+        }
+
+        int idOf(ValidationSchema schema) {
+            if (schema == null) {
+                return NO_NODE;
+            }
+            Integer id = ids.get(unwrap(schema));
+            if (id == null) {
+                throw new IllegalStateException("Validator not in node table: " + schema);
+            }
+            return id;
+        }
+
+        private void visit(ValidationSchema schema) {
+            if (schema == null) {
+                return;
+            }
+            schema = unwrap(schema);
+            if (ids.containsKey(schema)) {
+                return;
+            }
+
+            if (schema instanceof ReferenceValidator reference) {
+                // Target may be an ancestor that is still being visited
+                register(schema);
+                if (reference.getTarget() != null) {
+                    deferredTargets.add(reference.getTarget());
+                }
+                return;
+            }
+
+            for (ValidationSchema child : childrenOf(schema)) {
+                visit(child);
+            }
+            register(schema);
+        }
+
+        private void register(ValidationSchema schema) {
+            ids.put(schema, nodes.size());
+            nodes.add(schema);
+        }
+
+        private static ValidationSchema unwrap(ValidationSchema schema) {
+            return schema instanceof CompiledValidator compiled ? compiled.getInterpreted() : schema;
+        }
+
+        private static List<ValidationSchema> childrenOf(ValidationSchema schema) {
+            if (schema instanceof ArrayValidator array) {
+                return array.getItemsSchema() != null ? List.of(array.getItemsSchema()) : List.of();
+            }
+            if (schema instanceof ObjectValidator object) {
+                return new ArrayList<>(object.getProperties().values());
+            }
+            if (schema instanceof AllOfValidator allOf) {
+                return allOf.getSchemas();
+            }
+            if (schema instanceof AnyOfValidator anyOf) {
+                return anyOf.getSchemas();
+            }
+            if (schema instanceof OneOfValidator oneOf) {
+                return oneOf.getSchemas();
+            }
+            if (schema instanceof DiscriminatorValidator discriminator) {
+                return new ArrayList<>(discriminator.getMapping().values());
+            }
+            if (schema instanceof EnumValidator enumValidator && enumValidator.getDelegate() != null) {
+                return List.of(enumValidator.getDelegate());
+            }
+            return List.of();
+        }
+    }
+}
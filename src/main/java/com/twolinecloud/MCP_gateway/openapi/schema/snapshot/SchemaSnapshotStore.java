@@ -0,0 +1,123 @@
+package com.twolinecloud.MCP_gateway.openapi.schema.snapshot;
+
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationSchema;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * Schema Snapshot Store
+ * Keeps converted endpoint schemas next to the downloaded specs, keyed by the
+ * SHA-256 of the spec content, so an unchanged spec is not parsed or converted
+ * again after a restart.
+ *
+ * Snapshots are memory-mapped on load (unmapped as soon as they are decoded)
+ * and written atomically (temp file + move).
+ * A snapshot from another format version, or converted with other converter
+ * settings (e.g. a changed max validation depth), is ignored and overwritten.
+ */
+@Component
+public class SchemaSnapshotStore {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaSnapshotStore.class);
+
+    private static final String SUFFIX = ".schemas.snapshot";
+
+    @Value("${openapi.storage.directory:downloaded-specs}")
+    private String storageDirectory;
+
+    /**
+     * Load snapshot
+     *
+     * @param specHash Spec content hash (OpenAPISpecParser.contentHash)
+     * @param converterSettings Current converter settings (SchemaConverter.getSettingsFingerprint)
+     * @param includeResponses Whether response schemas are required
+     * @param finisher Applied to every endpoint root validator
+     * @return Snapshot, or empty if there is none (or it is unusable)
+     */
+    public Optional<SchemaSnapshot> load(String specHash, String converterSettings, boolean includeResponses,
+                                         UnaryOperator<ValidationSchema> finisher) {
+        Path file = getSnapshotPath(specHash, includeResponses);
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+
+        // Closing the arena unmaps the file (the codec copies everything it keeps),
+        // so a later save() can replace it even on Windows
+        try (Arena arena = Arena.ofConfined();
+             FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MemorySegment segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            DataInputStream in = new DataInputStream(new ByteBufferBackedInputStream(segment.asByteBuffer()));
+
+            SchemaSnapshot snapshot = SchemaSnapshotCodec.read(in, finisher);
+            if (snapshot == null) {
+                log.info("스냅샷 버전 불일치, 무시: " + file);
+                return Optional.empty();
+            }
+            if (!specHash.equals(snapshot.specHash())) {
+                log.warn("⚠️ 스냅샷 해시 불일치, 무시: " + file);
+                return Optional.empty();
+            }
+            if (!converterSettings.equals(snapshot.converterSettings())) {
+                log.info("변환 설정 변경, 스냅샷 무시: " + file + " (" + snapshot.converterSettings()
+                    + " -> " + converterSettings + ")");
+                return Optional.empty();
+            }
+
+            log.info("스냅샷 로드 완료: " + file + " (" + snapshot.endpointSchemas().size() + " endpoints)");
+            return Optional.of(snapshot);
+
+        } catch (IOException | RuntimeException e) {
+            log.warn("⚠️ 스냅샷 읽기 실패, 다시 변환합니다: " + file, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Save snapshot (replaces an existing one atomically)
+     */
+    public void save(SchemaSnapshot snapshot) {
+        Path file = getSnapshotPath(snapshot.specHash(), snapshot.includeResponses());
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), snapshot.specHash(), ".tmp");
+            try {
+                try (OutputStream stream = Files.newOutputStream(temp);
+                     DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 64 * 1024))) {
+                    SchemaSnapshotCodec.write(snapshot, out);
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            log.info("스냅샷 저장 완료: " + file);
+
+        } catch (IOException e) {
+            throw new RuntimeException("스냅샷 저장 실패: " + file, e);
+        }
+    }
+
+    private Path getSnapshotPath(String specHash, boolean includeResponses) {
+        String fileName = specHash + (includeResponses ? "-responses" : "") + SUFFIX;
+        return Paths.get(storageDirectory).resolve(fileName);
+    }
+}
@@ -1,6 +1,6 @@
 package com.twolinecloud.MCP_gateway.openapi.schema.validator;
 
-import com.twolinecloud.MCP_gateway.openapi.schema.ValidationResult;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationContext;
 import com.twolinecloud.MCP_gateway.openapi.schema.ValidationSchema;
 
 import java.util.ArrayList;
@@ -20,7 +20,7 @@ public class AllOfValidator implements ValidationSchema {
     private final String description;
     
     public AllOfValidator(List<ValidationSchema> schemas, String description) {
-        this.schemas = schemas != null ? schemas : new ArrayList<>();
+        this.schemas = schemas != null ? new ArrayList<>(schemas) : new ArrayList<>();
         this.description = description;
     }
     
@@ -35,25 +35,21 @@ public class AllOfValidator implements ValidationSchema {
     }
     
     @Override
-    public ValidationResult validate(Object value) {
+    public boolean validate(Object value, ValidationContext context) {
         if (schemas.isEmpty()) {
-            return ValidationResult.failure("AllOf validator has no schemas defined");
+            context.addError("validation.failed", "AllOf validator has no schemas defined", null);
+            return false;
         }
         
-        // All schemas must match
+        // All schemas must match (the failing schema records its own error)
         for (int i = 0; i < schemas.size(); i++) {
-            ValidationSchema schema = schemas.get(i);
-            ValidationResult result = schema.validate(value);
-            
-            if (!result.isValid()) {
-                return ValidationResult.failure(
-                    "AllOf validation failed at schema [" + i + "]: " + result.getFirstError()
-                );
+            if (!schemas.get(i).validate(value, context)) {
+                return false;
             }
         }
         
         // All schemas matched
-        return ValidationResult.success();
+        return true;
     }
     
     public List<ValidationSchema> getSchemas() {
@@ -1,6 +1,6 @@
 package com.twolinecloud.MCP_gateway.openapi.schema.validator;
 
-import com.twolinecloud.MCP_gateway.openapi.schema.ValidationResult;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationContext;
 import com.twolinecloud.MCP_gateway.openapi.schema.ValidationSchema;
 
 import java.util.ArrayList;
@@ -18,10 +18,12 @@ public class AnyOfValidator implements ValidationSchema {
     
     private final List<ValidationSchema> schemas;
     private final String description;
+    private final BranchFilter filter;
     
     public AnyOfValidator(List<ValidationSchema> schemas, String description) {
-        this.schemas = schemas != null ? schemas : new ArrayList<>();
+        this.schemas = schemas != null ? new ArrayList<>(schemas) : new ArrayList<>();
         this.description = description;
+        this.filter = new BranchFilter(this.schemas);
     }
     
     @Override
@@ -35,31 +37,42 @@ public class AnyOfValidator implements ValidationSchema {
     }
     
     @Override
-    public ValidationResult validate(Object value) {
+    public boolean validate(Object value, ValidationContext context) {
         if (schemas.isEmpty()) {
-            return ValidationResult.failure("AnyOf validator has no schemas defined");
+            context.addError("validation.failed", "AnyOf validator has no schemas defined", null);
+            return false;
         }
         
-        List<String> allErrors = new ArrayList<>();
+        int mark = context.mark();
+        int[] branchEnds = null;   // error count after each failed branch
         
-        // Check if at least one schema matches
+        // Check if at least one schema matches (skipping branches that cannot match)
         for (int i = 0; i < schemas.size(); i++) {
-            ValidationSchema schema = schemas.get(i);
-            ValidationResult result = schema.validate(value);
-            
-            if (result.isValid()) {
+            if (!filter.mayMatch(i, value)) {
+                continue;
+            }
+            if (schemas.get(i).validate(value, context)) {
                 // At least one match found, success!
-                return ValidationResult.success();
-            } else {
-                allErrors.add("Schema [" + i + "]: " + result.getFirstError());
+                context.rollback(mark);
+                return true;
+            }
+            if (branchEnds == null) {
+                branchEnds = new int[schemas.size()];
             }
+            branchEnds[i] = context.mark();
         }
         
-        // No schema matched
-        return ValidationResult.failure(
+        // No schema matched: summarize the errors of each branch
+        List<String> allErrors = filter.summarize(value, context, mark, branchEnds);
+        context.rollback(mark);
+        
+        context.addError(
+            "validation.failed",
             "Value does not match any of the anyOf schemas. Errors: " + 
-            String.join("; ", allErrors)
+            String.join("; ", allErrors),
+            value
         );
+        return false;
     }
     
     public List<ValidationSchema> getSchemas() {
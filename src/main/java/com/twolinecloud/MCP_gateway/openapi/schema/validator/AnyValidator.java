@@ -1,6 +1,6 @@
 package com.twolinecloud.MCP_gateway.openapi.schema.validator;
 
-import com.twolinecloud.MCP_gateway.openapi.schema.ValidationResult;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationContext;
 import com.twolinecloud.MCP_gateway.openapi.schema.ValidationSchema;
 
 public class AnyValidator implements ValidationSchema {
@@ -22,7 +22,7 @@ public class AnyValidator implements ValidationSchema {
     }
     
     @Override
-    public ValidationResult validate(Object value) {
-        return ValidationResult.success();
+    public boolean validate(Object value, ValidationContext context) {
+        return true;
     }
 }
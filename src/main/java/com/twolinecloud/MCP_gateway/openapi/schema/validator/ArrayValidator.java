@@ -1,17 +1,33 @@
 package com.twolinecloud.MCP_gateway.openapi.schema.validator;
 
-import com.twolinecloud.MCP_gateway.openapi.schema.ValidationResult;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationContext;
 import com.twolinecloud.MCP_gateway.openapi.schema.ValidationSchema;
 
-import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 /**
  * Array Type Validator
  * Validates array/list values and their items
+ * 
+ * - uniqueItems: hash-based check with JSON-semantic equality (1 equals 1.0)
+ * - arrays of PARALLEL_THRESHOLD items or more are validated on the fork-join pool
  */
 public class ArrayValidator implements ValidationSchema {
     
+    /**
+     * Minimum array size for parallel item validation
+     */
+    public static final int PARALLEL_THRESHOLD = 4096;
+    
+    /**
+     * Items per parallel task
+     */
+    public static final int PARALLEL_CHUNK_SIZE = 1024;
+    
     private final ValidationSchema itemsSchema;
     private final String description;
     private final Integer minItems;
@@ -42,79 +58,163 @@ public class ArrayValidator implements ValidationSchema {
     }
     
     @Override
-    public ValidationResult validate(Object value) {
+    public boolean validate(Object value, ValidationContext context) {
         if (value == null) {
-            return ValidationResult.success();
+            return true;
         }
         
         if (!(value instanceof List)) {
-            return ValidationResult.failure(
-                "Expected array, but got: " + value.getClass().getSimpleName()
+            context.addError(
+                "validation.failed",
+                "Expected array, but got: " + value.getClass().getSimpleName(),
+                value
             );
+            return false;
         }
         
         List<?> list = (List<?>) value;
         
         // Validate array length
         if (minItems != null && list.size() < minItems) {
-            return ValidationResult.failure(
-                "Array must have at least " + minItems + " items, but got " + list.size()
+            context.addError(
+                "validation.failed",
+                "Array must have at least " + minItems + " items, but got " + list.size(),
+                null
             );
+            return false;
         }
         
         if (maxItems != null && list.size() > maxItems) {
-            return ValidationResult.failure(
-                "Array must have at most " + maxItems + " items, but got " + list.size()
+            context.addError(
+                "validation.failed",
+                "Array must have at most " + maxItems + " items, but got " + list.size(),
+                null
             );
+            return false;
         }
         
         // Validate unique items
         if (Boolean.TRUE.equals(uniqueItems) && hasDuplicates(list)) {
-            return ValidationResult.failure("Array must contain unique items");
+            context.addError("validation.failed", "Array must contain unique items", null);
+            return false;
         }
         
         // Validate each item
         if (itemsSchema != null) {
+            // Large arrays: check chunks in parallel
+            if (list.size() >= PARALLEL_THRESHOLD) {
+                return allItemsValidInParallel(list, context);
+            }
+            
             for (int i = 0; i < list.size(); i++) {
-                Object item = list.get(i);
-                ValidationResult itemResult = itemsSchema.validate(item);
+                context.enterIndex(i);
+                boolean itemValid = itemsSchema.validate(list.get(i), context);
+                context.exit();
                 
-                if (!itemResult.isValid()) {
-                    return ValidationResult.failure(
-                        "Array item at index [" + i + "]: " + itemResult.getFirstError()
-                    );
+                if (!itemValid) {
+                    return false;
                 }
             }
         }
         
-        return ValidationResult.success();
+        return true;
     }
     
     /**
-     * Check if list has duplicates
+     * Validate items in chunks on the common fork-join pool
+     * 
+     * Each chunk works on a fork of the context (same path and depth, so the
+     * reference depth guard still applies) and stops at its first failing item.
+     * The errors of the lowest failing chunk are merged, which are the errors
+     * a sequential pass would have reported; chunks after it are skipped.
      */
-    private boolean hasDuplicates(List<?> list) {
-        for (int i = 0; i < list.size(); i++) {
-            for (int j = i + 1; j < list.size(); j++) {
-                Object item1 = list.get(i);
-                Object item2 = list.get(j);
-                
-                if (item1 == null && item2 == null) {
-                    return true;
+    private boolean allItemsValidInParallel(List<?> list, ValidationContext context) {
+        int size = list.size();
+        int chunks = (size + PARALLEL_CHUNK_SIZE - 1) / PARALLEL_CHUNK_SIZE;
+        AtomicInteger firstFailedChunk = new AtomicInteger(Integer.MAX_VALUE);
+        ValidationContext[] failures = new ValidationContext[chunks];
+        
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            ValidationContext chunkContext = context.fork();
+            int end = Math.min(size, (chunk + 1) * PARALLEL_CHUNK_SIZE);
+            for (int i = chunk * PARALLEL_CHUNK_SIZE; i < end; i++) {
+                if (chunk > firstFailedChunk.get()) {
+                    return;
                 }
+                chunkContext.enterIndex(i);
+                boolean itemValid = itemsSchema.validate(list.get(i), chunkContext);
+                chunkContext.exit();
                 
-                if (item1 != null && item1.equals(item2)) {
-                    return true;
+                if (!itemValid) {
+                    failures[chunk] = chunkContext;
+                    firstFailedChunk.accumulateAndGet(chunk, Math::min);
+                    return;
                 }
             }
+        });
+        
+        int failed = firstFailedChunk.get();
+        if (failed == Integer.MAX_VALUE) {
+            return true;
         }
+        context.merge(failures[failed]);
         return false;
     }
     
+    /**
+     * Check if list has duplicates (JSON-semantic equality, linear time)
+     */
+    private boolean hasDuplicates(List<?> list) {
+        Set<JsonKey> seen = new HashSet<>(list.size() * 2);
+        for (int i = 0; i < list.size(); i++) {
+            if (!seen.add(new JsonKey(list.get(i)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Hash key with JSON-semantic equals/hashCode
+     */
+    private static final class JsonKey {
+        private final Object value;
+        private final int hash;
+        
+        JsonKey(Object value) {
+            this.value = value;
+            this.hash = JsonEquality.hashCode(value);
+        }
+        
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof JsonKey key
+                && hash == key.hash
+                && JsonEquality.equals(value, key.value);
+        }
+        
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+    
     public ValidationSchema getItemsSchema() {
         return itemsSchema;
     }
     
+    public Integer getMinItems() {
+        return minItems;
+    }
+    
+    public Integer getMaxItems() {
+        return maxItems;
+    }
+    
+    public Boolean getUniqueItems() {
+        return uniqueItems;
+    }
+    
     @Override
     public String toString() {
         return "ArrayValidator{" +
@@ -1,6 +1,6 @@
 package com.twolinecloud.MCP_gateway.openapi.schema.validator;
 
-import com.twolinecloud.MCP_gateway.openapi.schema.ValidationResult;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationContext;
 import com.twolinecloud.MCP_gateway.openapi.schema.ValidationSchema;
 
 public class BooleanValidator implements ValidationSchema {
@@ -22,17 +22,20 @@ public class BooleanValidator implements ValidationSchema {
     }
     
     @Override
-    public ValidationResult validate(Object value) {
+    public boolean validate(Object value, ValidationContext context) {
         if (value == null) {
-            return ValidationResult.success();
+            return true;
         }
         
         if (!(value instanceof Boolean)) {
-            return ValidationResult.failure(
-                "Expected boolean, but got: " + value.getClass().getSimpleName()
+            context.addError(
+                "validation.failed",
+                "Expected boolean, but got: " + value.getClass().getSimpleName(),
+                value
             );
+            return false;
         }
         
-        return ValidationResult.success();
+        return true;
     }
 }
\ No newline at end of file
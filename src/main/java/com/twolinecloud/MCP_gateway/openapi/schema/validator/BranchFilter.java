@@ -0,0 +1,141 @@
+package com.twolinecloud.MCP_gateway.openapi.schema.validator;
+
+import com.twolinecloud.MCP_gateway.openapi.schema.ErrorMessageTemplate;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationContext;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationErrorMessage;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationSchema;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Branch Filter
+ * Precomputed per-branch JSON type masks and required-property sets for
+ * anyOf / oneOf, so branches that cannot match a value are skipped without
+ * being evaluated. Also summarizes the errors of failed branches.
+ */
+final class BranchFilter {
+
+    private static final int NULL = 1;
+    private static final int BOOLEAN = 1 << 1;
+    private static final int NUMBER = 1 << 2;
+    private static final int STRING = 1 << 3;
+    private static final int ARRAY = 1 << 4;
+    private static final int OBJECT = 1 << 5;
+    private static final int ANY = NULL | BOOLEAN | NUMBER | STRING | ARRAY | OBJECT;
+
+    private final int[] typeMasks;
+    private final String[][] requiredNames;   // null when the branch has no required properties
+
+    BranchFilter(List<ValidationSchema> branches) {
+        this.typeMasks = new int[branches.size()];
+        this.requiredNames = new String[branches.size()][];
+
+        for (int i = 0; i < branches.size(); i++) {
+            ValidationSchema branch = branches.get(i);
+            typeMasks[i] = typeMaskOf(branch);
+            if (branch instanceof ObjectValidator objectValidator
+                && !objectValidator.getRequiredFields().isEmpty()) {
+                requiredNames[i] = objectValidator.getRequiredFields().toArray(new String[0]);
+            }
+        }
+    }
+
+    /**
+     * Whether branch can possibly accept value
+     * (false means the branch would fail on type or a missing required property)
+     */
+    boolean mayMatch(int branch, Object value) {
+        if ((typeMasks[branch] & kindOf(value)) == 0) {
+            return false;
+        }
+        String[] required = requiredNames[branch];
+        if (required != null && value instanceof Map<?, ?> map) {
+            for (String name : required) {
+                if (map.get(name) == null) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * One entry per branch, in branch order, once no branch matched
+     *
+     * @param mark Error count before the first branch
+     * @param branchEnds Error count after each evaluated branch (null when none was evaluated)
+     */
+    List<String> summarize(Object value, ValidationContext context, int mark, int[] branchEnds) {
+        List<String> summary = new ArrayList<>();
+        int start = mark;
+        for (int i = 0; i < typeMasks.length; i++) {
+            if (!mayMatch(i, value)) {
+                summary.add("Schema [" + i + "]: incompatible type or missing required property");
+                continue;
+            }
+            int end = branchEnds[i];
+            List<ValidationErrorMessage> branchErrors = context.getErrorsSince(start);
+            branchErrors = branchErrors.subList(0, Math.min(branchErrors.size(), end - start));
+            start = end;
+
+            List<String> messages = new ArrayList<>();
+            for (ValidationErrorMessage error : branchErrors) {
+                messages.add(error.getMessage());
+            }
+            if (messages.isEmpty()) {
+                messages.add(ErrorMessageTemplate.getTemplate("validation.failed"));
+            }
+            summary.add("Schema [" + i + "]: " + String.join(", ", messages));
+        }
+        return summary;
+    }
+
+    private static int kindOf(Object value) {
+        if (value == null) {
+            return NULL;
+        }
+        if (value instanceof String) {
+            return STRING;
+        }
+        if (value instanceof Number) {
+            return NUMBER;
+        }
+        if (value instanceof Boolean) {
+            return BOOLEAN;
+        }
+        if (value instanceof List) {
+            return ARRAY;
+        }
+        if (value instanceof Map) {
+            return OBJECT;
+        }
+        return ANY;
+    }
+
+    /**
+     * All validators accept null, so NULL is part of every mask
+     */
+    private static int typeMaskOf(ValidationSchema schema) {
+        if (schema instanceof EnumValidator enumValidator && enumValidator.getDelegate() != null) {
+            return typeMaskOf(enumValidator.getDelegate());
+        }
+        if (schema instanceof StringValidator) {
+            return NULL | STRING;
+        }
+        if (schema instanceof IntegerValidator || schema instanceof NumberValidator) {
+            return NULL | NUMBER;
+        }
+        if (schema instanceof BooleanValidator) {
+            return NULL | BOOLEAN;
+        }
+        if (schema instanceof ArrayValidator) {
+            return NULL | ARRAY;
+        }
+        if (schema instanceof ObjectValidator || schema instanceof DiscriminatorValidator) {
+            return NULL | OBJECT;
+        }
+        return ANY;
+    }
+}
@@ -0,0 +1,98 @@
+package com.twolinecloud.MCP_gateway.openapi.schema.validator;
+
+import com.twolinecloud.MCP_gateway.openapi.schema.ErrorMessageTemplate;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationContext;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationSchema;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Discriminator Validator
+ * anyOf / oneOf with an OpenAPI discriminator: reads the discriminator
+ * property and validates only the branch mapped to its value.
+ *
+ * Example: { "oneOf": [{"$ref": "#/components/schemas/Cat"}, {"$ref": "#/components/schemas/Dog"}],
+ *            "discriminator": {"propertyName": "petType"} }
+ * Valid: {"petType": "Cat", ...} that satisfies Cat
+ * Invalid: missing petType, unknown petType, or Cat payload that fails Cat
+ */
+public class DiscriminatorValidator implements ValidationSchema {
+
+    private final String compositionType;   // anyOf / oneOf
+    private final String propertyName;
+    private final Map<String, ValidationSchema> mapping;
+    private final String description;
+
+    public DiscriminatorValidator(String compositionType,
+                                  String propertyName,
+                                  Map<String, ValidationSchema> mapping,
+                                  String description) {
+        this.compositionType = compositionType;
+        this.propertyName = propertyName;
+        this.mapping = mapping != null ? new LinkedHashMap<>(mapping) : new LinkedHashMap<>();
+        this.description = description;
+    }
+
+    @Override
+    public String getType() {
+        return compositionType;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public boolean validate(Object value, ValidationContext context) {
+        if (value == null) {
+            return true;
+        }
+
+        if (!(value instanceof Map)) {
+            String message = ErrorMessageTemplate.getTemplate("type.object");
+            context.addError(
+                "type.mismatch",
+                message + " (받은 타입: " + value.getClass().getSimpleName() + ")",
+                value
+            );
+            return false;
+        }
+
+        Object discriminatorValue = ((Map<?, ?>) value).get(propertyName);
+        if (discriminatorValue == null) {
+            context.addError(propertyName, "required",
+                ErrorMessageTemplate.getTemplate("required"), null);
+            return false;
+        }
+
+        ValidationSchema branch = mapping.get(discriminatorValue.toString());
+        if (branch == null) {
+            String template = ErrorMessageTemplate.getTemplate("discriminator.unknown");
+            String message = ErrorMessageTemplate.formatMessage(template,
+                Map.of("values", mapping.keySet()));
+            context.addError(propertyName, "discriminator.unknown", message, discriminatorValue);
+            return false;
+        }
+
+        return branch.validate(value, context);
+    }
+
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    public Map<String, ValidationSchema> getMapping() {
+        return new LinkedHashMap<>(mapping);
+    }
+
+    @Override
+    public String toString() {
+        return "DiscriminatorValidator{" +
+               "propertyName='" + propertyName + '\'' +
+               ", mapping=" + mapping.keySet() +
+               ", description='" + description + '\'' +
+               '}';
+    }
+}
@@ -0,0 +1,209 @@
+package com.twolinecloud.MCP_gateway.openapi.schema.validator;
+
+import com.twolinecloud.MCP_gateway.openapi.schema.ErrorMessageTemplate;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationContext;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationSchema;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Enum Validator
+ * Wraps a type validator and restricts the value to a fixed set (enum, or const
+ * as a single-value enum).
+ *
+ * Allowed values are split into lookup structures at construction time:
+ * - strings: hash set, or a trie for enums of TRIE_THRESHOLD values or more
+ * - integral numbers: sorted long[] (binary search, 1 equals 1.0)
+ * - other numbers: sorted double[]
+ * - anything else (booleans, objects, arrays): JSON-semantic comparison
+ *
+ * Example: { "type": "string", "enum": ["KRW", "USD", "JPY"] }
+ * Valid: "KRW"
+ * Invalid: "EUR"
+ */
+public class EnumValidator implements ValidationSchema {
+    
+    /**
+     * Minimum number of string values for trie lookup
+     */
+    public static final int TRIE_THRESHOLD = 64;
+    
+    private static final int MAX_VALUES_IN_MESSAGE = 20;
+    
+    private final ValidationSchema delegate;
+    private final List<?> allowedValues;
+    
+    private final Set<String> strings;      // null when trie is used
+    private final StringTrie stringTrie;    // null for small enums
+    private final long[] longs;
+    private final double[] doubles;
+    private final List<Number> numbers;     // exact comparison for BigDecimal / BigInteger values
+    private final List<Object> others;
+    
+    public EnumValidator(ValidationSchema delegate, List<?> allowedValues) {
+        this.delegate = delegate;
+        this.allowedValues = allowedValues != null ? new ArrayList<>(allowedValues) : new ArrayList<>();
+        
+        Set<String> stringValues = new HashSet<>();
+        List<Long> longValues = new ArrayList<>();
+        List<Double> doubleValues = new ArrayList<>();
+        List<Number> numberValues = new ArrayList<>();
+        List<Object> otherValues = new ArrayList<>();
+        
+        for (Object allowed : this.allowedValues) {
+            if (allowed instanceof String s) {
+                stringValues.add(s);
+            } else if (allowed instanceof Number number) {
+                numberValues.add(number);
+                Long exact = exactLong(number);
+                if (exact != null) {
+                    longValues.add(exact);
+                } else {
+                    doubleValues.add(number.doubleValue());
+                }
+            } else if (allowed != null) {
+                otherValues.add(allowed);
+            }
+        }
+        
+        if (stringValues.size() >= TRIE_THRESHOLD) {
+            this.strings = null;
+            this.stringTrie = new StringTrie(stringValues);
+        } else {
+            this.strings = stringValues;
+            this.stringTrie = null;
+        }
+        this.longs = longValues.stream().mapToLong(Long::longValue).sorted().toArray();
+        this.doubles = doubleValues.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+        this.numbers = numberValues;
+        this.others = otherValues;
+    }
+    
+    @Override
+    public String getType() {
+        return delegate != null ? delegate.getType() : "enum";
+    }
+    
+    @Override
+    public String getDescription() {
+        return delegate != null ? delegate.getDescription() : null;
+    }
+    
+    @Override
+    public String getFormat() {
+        return delegate != null ? delegate.getFormat() : null;
+    }
+    
+    @Override
+    public boolean validate(Object value, ValidationContext context) {
+        if (value == null) {
+            return true;
+        }
+        
+        if (delegate != null && !delegate.validate(value, context)) {
+            return false;
+        }
+        
+        if (isAllowed(value)) {
+            return true;
+        }
+        
+        String template = ErrorMessageTemplate.getTemplate("enum");
+        String message = ErrorMessageTemplate.formatMessage(template, 
+            Map.of("values", describeAllowedValues()));
+        context.addError("enum", message, value);
+        return false;
+    }
+    
+    private boolean isAllowed(Object value) {
+        if (value instanceof String s) {
+            return stringTrie != null ? stringTrie.contains(s) : strings.contains(s);
+        }
+        
+        if (value instanceof Number number) {
+            if (number instanceof BigDecimal || number instanceof BigInteger) {
+                for (Number allowed : numbers) {
+                    if (JsonEquality.equals(number, allowed)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            
+            double d = number.doubleValue();
+            if (number instanceof Double || number instanceof Float) {
+                if (JsonEquality.isExactLong(d) && Arrays.binarySearch(longs, (long) d) >= 0) {
+                    return true;
+                }
+                return Arrays.binarySearch(doubles, d) >= 0;
+            }
+            return Arrays.binarySearch(longs, number.longValue()) >= 0;
+        }
+        
+        for (Object allowed : others) {
+            if (JsonEquality.equals(value, allowed)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Long value of an integral number, or null
+     */
+    private static Long exactLong(Number number) {
+        if (number instanceof Integer || number instanceof Long 
+            || number instanceof Short || number instanceof Byte) {
+            return number.longValue();
+        }
+        if (number instanceof Double || number instanceof Float) {
+            // Exact range check: the shortest decimal form of a large double is not its value
+            double d = number.doubleValue();
+            return JsonEquality.isExactLong(d) ? (long) d : null;
+        }
+        try {
+            BigDecimal decimal = number instanceof BigDecimal bigDecimal
+                ? bigDecimal
+                : number instanceof BigInteger bigInteger
+                    ? new BigDecimal(bigInteger)
+                    : new BigDecimal(number.toString());
+            return decimal.longValueExact();
+        } catch (ArithmeticException | NumberFormatException e) {
+            return null;
+        }
+    }
+    
+    private String describeAllowedValues() {
+        String values = allowedValues.stream()
+            .limit(MAX_VALUES_IN_MESSAGE)
+            .map(String::valueOf)
+            .collect(Collectors.joining(", "));
+        return allowedValues.size() > MAX_VALUES_IN_MESSAGE
+            ? values + ", ... (" + allowedValues.size() + "개)"
+            : values;
+    }
+    
+    public ValidationSchema getDelegate() {
+        return delegate;
+    }
+    
+    public List<?> getAllowedValues() {
+        return new ArrayList<>(allowedValues);
+    }
+    
+    @Override
+    public String toString() {
+        return "EnumValidator{" +
+               "type=" + getType() +
+               ", values=" + allowedValues.size() +
+               '}';
+    }
+}
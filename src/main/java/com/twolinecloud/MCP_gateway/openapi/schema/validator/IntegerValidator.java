@@ -1,16 +1,24 @@
 package com.twolinecloud.MCP_gateway.openapi.schema.validator;
 
-import com.twolinecloud.MCP_gateway.openapi.schema.ValidationResult;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationContext;
 import com.twolinecloud.MCP_gateway.openapi.schema.ValidationSchema;
 
 public class IntegerValidator implements ValidationSchema {
     
     private final String format;
     private final String description;
+    private final NumericBounds bounds;
     
     public IntegerValidator(String format, String description) {
+        this(format, description, null, null, null, null);
+    }
+    
+    public IntegerValidator(String format, String description,
+                          Number minimum, Number maximum,
+                          Number exclusiveMinimum, Number exclusiveMaximum) {
         this.format = format;
         this.description = description;
+        this.bounds = new NumericBounds(minimum, maximum, exclusiveMinimum, exclusiveMaximum);
     }
     
     @Override
@@ -29,27 +37,56 @@ public class IntegerValidator implements ValidationSchema {
     }
     
     @Override
-    public ValidationResult validate(Object value) {
+    public boolean validate(Object value, ValidationContext context) {
         if (value == null) {
-            return ValidationResult.success();
+            return true;
         }
         
         if (value instanceof Integer || value instanceof Long) {
-            return ValidationResult.success();
+            return bounds.check((Number) value, context);
         }
         
         if (value instanceof Number) {
             double d = ((Number) value).doubleValue();
             if (d == Math.floor(d)) {
-                return ValidationResult.success();
+                return bounds.check((Number) value, context);
             }
-            return ValidationResult.failure(
-                "Expected integer, but got decimal: " + d
+            context.addError(
+                "validation.failed",
+                "Expected integer, but got decimal: " + d,
+                value
             );
+            return false;
         }
         
-        return ValidationResult.failure(
-            "Expected integer, but got: " + value.getClass().getSimpleName()
+        context.addError(
+            "validation.failed",
+            "Expected integer, but got: " + value.getClass().getSimpleName(),
+            value
         );
+        return false;
+    }
+    
+    /**
+     * Whether minimum / maximum / exclusive bounds are set
+     */
+    public boolean hasBounds() {
+        return !bounds.isEmpty();
+    }
+    
+    public Number getMinimum() {
+        return bounds.getMinimum();
+    }
+    
+    public Number getMaximum() {
+        return bounds.getMaximum();
+    }
+    
+    public Number getExclusiveMinimum() {
+        return bounds.getExclusiveMinimum();
+    }
+    
+    public Number getExclusiveMaximum() {
+        return bounds.getExclusiveMaximum();
     }
 }
\ No newline at end of file
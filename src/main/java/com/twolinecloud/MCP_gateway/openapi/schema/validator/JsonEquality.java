@@ -0,0 +1,166 @@
+package com.twolinecloud.MCP_gateway.openapi.schema.validator;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * JSON Equality
+ * Equality and hashing with JSON semantics for decoded payload values:
+ * - numbers compare by numeric value (1 equals 1.0, Integer equals Long)
+ * - arrays compare element by element
+ * - objects compare by content, ignoring key order
+ */
+public final class JsonEquality {
+
+    private JsonEquality() {
+    }
+
+    /**
+     * JSON-semantic equality
+     */
+    public static boolean equals(Object a, Object b) {
+        if (a == b) {
+            return true;
+        }
+        if (a == null || b == null) {
+            return false;
+        }
+
+        if (a instanceof Number numberA && b instanceof Number numberB) {
+            return numbersEqual(numberA, numberB);
+        }
+
+        if (a instanceof List<?> listA && b instanceof List<?> listB) {
+            int size = listA.size();
+            if (size != listB.size()) {
+                return false;
+            }
+            for (int i = 0; i < size; i++) {
+                if (!equals(listA.get(i), listB.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        if (a instanceof Map<?, ?> mapA && b instanceof Map<?, ?> mapB) {
+            if (mapA.size() != mapB.size()) {
+                return false;
+            }
+            for (Map.Entry<?, ?> entry : mapA.entrySet()) {
+                Object otherValue = mapB.get(entry.getKey());
+                if (otherValue == null && !mapB.containsKey(entry.getKey())) {
+                    return false;
+                }
+                if (!equals(entry.getValue(), otherValue)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        return a.equals(b);
+    }
+
+    /**
+     * Hash code consistent with {@link #equals(Object, Object)}
+     */
+    public static int hashCode(Object value) {
+        if (value == null) {
+            return 0;
+        }
+
+        if (value instanceof Number number) {
+            return numberHash(number);
+        }
+
+        if (value instanceof List<?> list) {
+            int hash = 1;
+            for (int i = 0; i < list.size(); i++) {
+                hash = 31 * hash + hashCode(list.get(i));
+            }
+            return hash;
+        }
+
+        if (value instanceof Map<?, ?> map) {
+            // Order-independent
+            int hash = 0;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                hash += Objects.hashCode(entry.getKey()) ^ hashCode(entry.getValue());
+            }
+            return hash;
+        }
+
+        return value.hashCode();
+    }
+
+    private static boolean numbersEqual(Number a, Number b) {
+        if (isIntegral(a) && isIntegral(b)) {
+            return a.longValue() == b.longValue();
+        }
+        if (isFloating(a) && isFloating(b)) {
+            return a.doubleValue() == b.doubleValue();
+        }
+        if (isIntegral(a) && isFloating(b)) {
+            return isExactLong(b.doubleValue()) && (long) b.doubleValue() == a.longValue();
+        }
+        if (isFloating(a) && isIntegral(b)) {
+            return isExactLong(a.doubleValue()) && (long) a.doubleValue() == b.longValue();
+        }
+        return toBigDecimal(a).compareTo(toBigDecimal(b)) == 0;
+    }
+
+    private static int numberHash(Number number) {
+        if (isIntegral(number)) {
+            return Long.hashCode(number.longValue());
+        }
+        if (number instanceof BigInteger bigInteger && bigInteger.bitLength() < 64) {
+            return Long.hashCode(bigInteger.longValue());
+        }
+        if (number instanceof BigDecimal bigDecimal) {
+            BigDecimal stripped = bigDecimal.stripTrailingZeros();
+            if (stripped.scale() <= 0 && stripped.toBigInteger().bitLength() < 64) {
+                return Long.hashCode(stripped.longValue());
+            }
+        }
+        double d = number.doubleValue();
+        if (isExactLong(d)) {
+            // Integral value stored as decimal (1.0) hashes like the integer
+            return Long.hashCode((long) d);
+        }
+        return Double.hashCode(d);
+    }
+
+    /**
+     * Whether d is an integral value within long range ((long) d is then exact;
+     * outside it the cast saturates, e.g. 2^63 would become Long.MAX_VALUE)
+     */
+    static boolean isExactLong(double d) {
+        return d >= -0x1p63 && d < 0x1p63 && d == Math.rint(d);
+    }
+
+    private static boolean isIntegral(Number number) {
+        return number instanceof Integer || number instanceof Long
+            || number instanceof Short || number instanceof Byte;
+    }
+
+    private static boolean isFloating(Number number) {
+        return number instanceof Double || number instanceof Float;
+    }
+
+    private static BigDecimal toBigDecimal(Number number) {
+        if (number instanceof BigDecimal bigDecimal) {
+            return bigDecimal;
+        }
+        if (number instanceof BigInteger bigInteger) {
+            return new BigDecimal(bigInteger);
+        }
+        if (isIntegral(number)) {
+            return BigDecimal.valueOf(number.longValue());
+        }
+        return BigDecimal.valueOf(number.doubleValue());
+    }
+}
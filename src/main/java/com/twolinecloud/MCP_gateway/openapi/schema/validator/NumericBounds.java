@@ -0,0 +1,181 @@
+package com.twolinecloud.MCP_gateway.openapi.schema.validator;
+
+import com.twolinecloud.MCP_gateway.openapi.schema.ErrorMessageTemplate;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationContext;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Map;
+
+/**
+ * Numeric Bounds
+ * minimum / maximum / exclusiveMinimum / exclusiveMaximum shared by the number
+ * and integer validators. Bounds are converted once.
+ *
+ * Integral values (and doubles of 2^53 or more, which are integral) are compared
+ * exactly against long thresholds derived from the bounds, so large ids are
+ * not rounded through double. BigDecimal / BigInteger values, and integral
+ * values when a bound lies outside the long range, are compared as BigDecimal.
+ * Other numbers are compared as double: below 2^53 that is exact.
+ */
+final class NumericBounds {
+
+    private static final double EXACT_DOUBLE_LIMIT = 0x1p53;   // every double at or above is integral
+    private static final double LONG_LIMIT = 0x1p63;
+
+    private final Number minimum;
+    private final Number maximum;
+    private final Number exclusiveMinimum;
+    private final Number exclusiveMaximum;
+
+    private final double min;
+    private final double max;
+    private final double exclusiveMin;
+    private final double exclusiveMax;
+
+    // Allowed integral range per bound (value < lowest or > highest violates it)
+    private final long minLong;
+    private final long maxLong;
+    private final long exclusiveMinLong;
+    private final long exclusiveMaxLong;
+    private final boolean longThresholds;   // false: some bound lies outside the long range
+
+    NumericBounds(Number minimum, Number maximum, Number exclusiveMinimum, Number exclusiveMaximum) {
+        this.minimum = minimum;
+        this.maximum = maximum;
+        this.exclusiveMinimum = exclusiveMinimum;
+        this.exclusiveMaximum = exclusiveMaximum;
+        this.min = minimum != null ? minimum.doubleValue() : Double.NEGATIVE_INFINITY;
+        this.max = maximum != null ? maximum.doubleValue() : Double.POSITIVE_INFINITY;
+        this.exclusiveMin = exclusiveMinimum != null ? exclusiveMinimum.doubleValue() : Double.NEGATIVE_INFINITY;
+        this.exclusiveMax = exclusiveMaximum != null ? exclusiveMaximum.doubleValue() : Double.POSITIVE_INFINITY;
+
+        BigDecimal lowest = BigDecimal.valueOf(Long.MIN_VALUE);
+        BigDecimal highest = BigDecimal.valueOf(Long.MAX_VALUE);
+        BigDecimal[] thresholds = {
+            minimum != null ? toBigDecimal(minimum).setScale(0, RoundingMode.CEILING) : lowest,
+            maximum != null ? toBigDecimal(maximum).setScale(0, RoundingMode.FLOOR) : highest,
+            exclusiveMinimum != null
+                ? toBigDecimal(exclusiveMinimum).setScale(0, RoundingMode.FLOOR).add(BigDecimal.ONE) : lowest,
+            exclusiveMaximum != null
+                ? toBigDecimal(exclusiveMaximum).setScale(0, RoundingMode.CEILING).subtract(BigDecimal.ONE) : highest
+        };
+        // Lower thresholds below the long range allow every long, upper ones above it too;
+        // anything else outside the range cannot be expressed as a long threshold
+        boolean fits = thresholds[0].compareTo(highest) <= 0 && thresholds[2].compareTo(highest) <= 0
+            && thresholds[1].compareTo(lowest) >= 0 && thresholds[3].compareTo(lowest) >= 0;
+        this.longThresholds = fits;
+        this.minLong = fits ? thresholds[0].max(lowest).longValue() : Long.MIN_VALUE;
+        this.maxLong = fits ? thresholds[1].min(highest).longValue() : Long.MAX_VALUE;
+        this.exclusiveMinLong = fits ? thresholds[2].max(lowest).longValue() : Long.MIN_VALUE;
+        this.exclusiveMaxLong = fits ? thresholds[3].min(highest).longValue() : Long.MAX_VALUE;
+    }
+
+    boolean isEmpty() {
+        return minimum == null && maximum == null && exclusiveMinimum == null && exclusiveMaximum == null;
+    }
+
+    /**
+     * Check value against bounds, recording the first violation
+     */
+    boolean check(Number value, ValidationContext context) {
+        if (value instanceof BigDecimal || value instanceof BigInteger) {
+            return checkExact(toBigDecimal(value), value, context);
+        }
+
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return checkIntegral(value.longValue(), value, context);
+        }
+
+        double d = value.doubleValue();
+        if (Math.abs(d) >= EXACT_DOUBLE_LIMIT && Math.abs(d) < LONG_LIMIT) {
+            // Integral at this magnitude, but bounds may not be representable as double
+            return checkIntegral((long) d, value, context);
+        }
+        if (d < min) {
+            return fail("number.minimum", "minimum", minimum, value, context);
+        }
+        if (d > max) {
+            return fail("number.maximum", "maximum", maximum, value, context);
+        }
+        if (d <= exclusiveMin) {
+            return fail("number.exclusiveMinimum", "exclusiveMinimum", exclusiveMinimum, value, context);
+        }
+        if (d >= exclusiveMax) {
+            return fail("number.exclusiveMaximum", "exclusiveMaximum", exclusiveMaximum, value, context);
+        }
+        return true;
+    }
+
+    private boolean checkIntegral(long l, Number value, ValidationContext context) {
+        if (!longThresholds) {
+            return checkExact(BigDecimal.valueOf(l), value, context);
+        }
+        if (l < minLong) {
+            return fail("number.minimum", "minimum", minimum, value, context);
+        }
+        if (l > maxLong) {
+            return fail("number.maximum", "maximum", maximum, value, context);
+        }
+        if (l < exclusiveMinLong) {
+            return fail("number.exclusiveMinimum", "exclusiveMinimum", exclusiveMinimum, value, context);
+        }
+        if (l > exclusiveMaxLong) {
+            return fail("number.exclusiveMaximum", "exclusiveMaximum", exclusiveMaximum, value, context);
+        }
+        return true;
+    }
+
+    private boolean checkExact(BigDecimal d, Number value, ValidationContext context) {
+        if (minimum != null && d.compareTo(toBigDecimal(minimum)) < 0) {
+            return fail("number.minimum", "minimum", minimum, value, context);
+        }
+        if (maximum != null && d.compareTo(toBigDecimal(maximum)) > 0) {
+            return fail("number.maximum", "maximum", maximum, value, context);
+        }
+        if (exclusiveMinimum != null && d.compareTo(toBigDecimal(exclusiveMinimum)) <= 0) {
+            return fail("number.exclusiveMinimum", "exclusiveMinimum", exclusiveMinimum, value, context);
+        }
+        if (exclusiveMaximum != null && d.compareTo(toBigDecimal(exclusiveMaximum)) >= 0) {
+            return fail("number.exclusiveMaximum", "exclusiveMaximum", exclusiveMaximum, value, context);
+        }
+        return true;
+    }
+
+    private static boolean fail(String code, String param, Number bound, Number value,
+                                ValidationContext context) {
+        String template = ErrorMessageTemplate.getTemplate(code);
+        context.addError(code, ErrorMessageTemplate.formatMessage(template, Map.of(param, bound)), value);
+        return false;
+    }
+
+    private static BigDecimal toBigDecimal(Number number) {
+        if (number instanceof BigDecimal bigDecimal) {
+            return bigDecimal;
+        }
+        if (number instanceof BigInteger bigInteger) {
+            return new BigDecimal(bigInteger);
+        }
+        if (number instanceof Double || number instanceof Float) {
+            return BigDecimal.valueOf(number.doubleValue());
+        }
+        return BigDecimal.valueOf(number.longValue());
+    }
+
+    Number getMinimum() {
+        return minimum;
+    }
+
+    Number getMaximum() {
+        return maximum;
+    }
+
+    Number getExclusiveMinimum() {
+        return exclusiveMinimum;
+    }
+
+    Number getExclusiveMaximum() {
+        return exclusiveMaximum;
+    }
+}
@@ -1,15 +1,23 @@
 package com.twolinecloud.MCP_gateway.openapi.schema.validator;
 
 import com.twolinecloud.MCP_gateway.openapi.schema.ErrorMessageTemplate;
-import com.twolinecloud.MCP_gateway.openapi.schema.ValidationErrorMessage;
-import com.twolinecloud.MCP_gateway.openapi.schema.ValidationResult;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationContext;
 import com.twolinecloud.MCP_gateway.openapi.schema.ValidationSchema;
 
 import java.util.*;
+import java.util.function.BiConsumer;
 
 /**
  * Object Type Validator (Updated with Custom Error Messages)
  * Validates object/map values and their properties
+ * 
+ * Declared property names and required names share one slot index built at
+ * construction time: declared properties take slots 0..n-1, required names that
+ * are not declared properties follow. Validation is a single pass over the
+ * payload entries with one slot lookup per entry, which also marks the required
+ * fields seen with a non-null / null value. Required names that are not declared
+ * properties are still rejected as additional properties with additionalProperties
+ * false. A missing required field is reported before any property error.
  */
 public class ObjectValidator implements ValidationSchema {
     
@@ -18,6 +26,13 @@ public class ObjectValidator implements ValidationSchema {
     private final String description;
     private final Boolean additionalPropertiesAllowed;
     
+    // Slot layout: declared properties, then required-only names
+    private final PropertyIndex index;
+    private final int declaredCount;
+    private final ValidationSchema[] slotSchemas;
+    private final int[] slotRequired;           // required number per slot, or -1
+    private final String[] requiredNames;
+    
     public ObjectValidator(Map<String, ValidationSchema> properties,
                           Set<String> requiredFields,
                           String description) {
@@ -28,10 +43,31 @@ public class ObjectValidator implements ValidationSchema {
                           Set<String> requiredFields,
                           String description,
                           Boolean additionalPropertiesAllowed) {
-        this.properties = properties != null ? properties : new HashMap<>();
-        this.requiredFields = requiredFields != null ? requiredFields : new HashSet<>();
+        this.properties = properties != null ? new LinkedHashMap<>(properties) : new HashMap<>();
+        this.requiredFields = requiredFields != null ? new LinkedHashSet<>(requiredFields) : new HashSet<>();
         this.description = description;
         this.additionalPropertiesAllowed = additionalPropertiesAllowed;
+        
+        this.requiredNames = this.requiredFields.toArray(new String[0]);
+        
+        List<String> slotNames = new ArrayList<>(this.properties.keySet());
+        this.declaredCount = slotNames.size();
+        for (String requiredName : requiredNames) {
+            if (!this.properties.containsKey(requiredName)) {
+                slotNames.add(requiredName);
+            }
+        }
+        
+        this.index = new PropertyIndex(slotNames.toArray(new String[0]));
+        this.slotSchemas = new ValidationSchema[declaredCount];
+        for (int slot = 0; slot < declaredCount; slot++) {
+            slotSchemas[slot] = this.properties.get(slotNames.get(slot));
+        }
+        this.slotRequired = new int[slotNames.size()];
+        Arrays.fill(slotRequired, -1);
+        for (int number = 0; number < requiredNames.length; number++) {
+            slotRequired[index.slotOf(requiredNames[number])] = number;
+        }
     }
     
     @Override
@@ -45,92 +81,204 @@ public class ObjectValidator implements ValidationSchema {
     }
     
     @Override
-    public ValidationResult validate(Object value) {
+    public boolean validate(Object value, ValidationContext context) {
         if (value == null) {
-            return ValidationResult.success();
+            return true;
         }
         
         // Type check with custom message
         if (!(value instanceof Map)) {
             String message = ErrorMessageTemplate.getTemplate("type.object");
-            return ValidationResult.failure(
-                "",
+            context.addError(
                 "type.mismatch",
                 message + " (받은 타입: " + value.getClass().getSimpleName() + ")",
                 value
             );
+            return false;
         }
         
         Map<?, ?> map = (Map<?, ?>) value;
+        int mark = context.mark();
         
-        // Validate required fields with custom messages
-        for (String requiredField : requiredFields) {
-            if (!map.containsKey(requiredField)) {
-                String message = ErrorMessageTemplate.getTemplate("required");
-                return ValidationResult.failure(
-                    requiredField,
-                    "required",
-                    message,
-                    null
-                );
-            }
-            
-            Object fieldValue = map.get(requiredField);
-            if (fieldValue == null) {
-                String message = ErrorMessageTemplate.getTemplate("required");
-                return ValidationResult.failure(
-                    requiredField,
-                    "required",
-                    message + " (null 값은 허용되지 않습니다)",
-                    null
-                );
+        // Single pass over the payload: one slot lookup per entry
+        EntryPass pass = context.acquireScratch(EntryPass.class, EntryPass::new);
+        int missing;
+        boolean missingIsNull;
+        boolean propertiesValid;
+        try {
+            pass.start(this, context);
+            map.forEach(pass);
+            propertiesValid = !pass.failed;
+            missing = pass.firstMissing();
+            missingIsNull = missing >= 0 && pass.nulls.contains(missing);
+        } finally {
+            pass.finish();
+            context.releaseScratch();
+        }
+        
+        // Required errors come first: drop the property error, if any
+        if (missing >= 0) {
+            context.rollback(mark);
+            String message = ErrorMessageTemplate.getTemplate("required");
+            if (missingIsNull) {
+                message += " (null 값은 허용되지 않습니다)";
             }
+            context.addError(requiredNames[missing], "required", message, null);
+            return false;
+        }
+        
+        return propertiesValid;
+    }
+    
+    /**
+     * Entry visitor for one object pass, reused per context and nesting level
+     * so a valid payload allocates nothing (no entry iterator)
+     */
+    private static final class EntryPass implements BiConsumer<Object, Object> {
+        private final RequiredBits present = new RequiredBits();
+        private final RequiredBits nulls = new RequiredBits();
+        private ObjectValidator validator;
+        private ValidationContext context;
+        private boolean failed;
+        
+        void start(ObjectValidator validator, ValidationContext context) {
+            this.validator = validator;
+            this.context = context;
+            this.failed = false;
+            present.clear(validator.requiredNames.length);
+            nulls.clear(validator.requiredNames.length);
         }
         
-        // Validate each property with custom messages
-        for (Map.Entry<?, ?> entry : map.entrySet()) {
-            String propName = entry.getKey().toString();
-            Object propValue = entry.getValue();
+        void finish() {
+            validator = null;
+            context = null;
+        }
+        
+        @Override
+        public void accept(Object key, Object propValue) {
+            String propName = key instanceof String name ? name : String.valueOf(key);
+            int slot = validator.index.slotOf(propName);
             
-            // Check if property is defined in schema
-            if (!properties.containsKey(propName)) {
-                if (Boolean.FALSE.equals(additionalPropertiesAllowed)) {
-                    String message = ErrorMessageTemplate.getTemplate("object.additionalProperties");
-                    return ValidationResult.failure(
-                        propName,
-                        "additionalProperties",
-                        message,
-                        propValue
-                    );
+            if (slot >= 0) {
+                int required = validator.slotRequired[slot];
+                if (required >= 0) {
+                    if (propValue == null) {
+                        nulls.add(required);
+                    } else {
+                        present.add(required);
+                    }
                 }
-                continue;
             }
             
-            // Validate property value
-            ValidationSchema propSchema = properties.get(propName);
-            ValidationResult propResult = propSchema.validate(propValue);
+            if (failed) {
+                // Only required fields still matter
+                return;
+            }
+            
+            if (slot < 0 || slot >= validator.declaredCount) {
+                // Property not defined in schema
+                if (Boolean.FALSE.equals(validator.additionalPropertiesAllowed)) {
+                    String message = ErrorMessageTemplate.getTemplate("object.additionalProperties");
+                    context.addError(propName, "additionalProperties", message, propValue);
+                    failed = true;
+                }
+                return;
+            }
             
-            if (!propResult.isValid()) {
-                // Add field path to error
-                ValidationErrorMessage originalError = propResult.getErrors().get(0);
-                return ValidationResult.failure(
-                    propName,
-                    originalError.getErrorCode(),
-                    originalError.getMessage(),
-                    propValue
-                );
+            ValidationSchema propSchema = validator.slotSchemas[slot];
+            if (propSchema != null) {
+                context.enterProperty(propName);
+                boolean propValid = propSchema.validate(propValue, context);
+                context.exit();
+                
+                if (!propValid) {
+                    failed = true;
+                }
             }
         }
         
-        return ValidationResult.success();
+        /**
+         * First required number (in required order) without a non-null value, or -1
+         */
+        int firstMissing() {
+            return present.firstClear(validator.requiredNames.length);
+        }
+    }
+    
+    /**
+     * Bit set over required numbers; the word array is kept and cleared between passes
+     */
+    private static final class RequiredBits {
+        private long[] words = new long[1];
+        
+        void clear(int size) {
+            int count = (size + Long.SIZE - 1) / Long.SIZE;
+            if (count > words.length) {
+                words = new long[count];
+            } else {
+                Arrays.fill(words, 0, count, 0L);
+            }
+        }
+        
+        void add(int number) {
+            words[number >>> 6] |= 1L << number;
+        }
+        
+        boolean contains(int number) {
+            return (words[number >>> 6] & (1L << number)) != 0;
+        }
+        
+        int firstClear(int size) {
+            for (int number = 0; number < size; number++) {
+                if (!contains(number)) {
+                    return number;
+                }
+            }
+            return -1;
+        }
     }
     
     public Map<String, ValidationSchema> getProperties() {
-        return new HashMap<>(properties);
+        return new LinkedHashMap<>(properties);
     }
     
     public Set<String> getRequiredFields() {
-        return new HashSet<>(requiredFields);
+        return new LinkedHashSet<>(requiredFields);
+    }
+    
+    public ValidationSchema getPropertySchema(String name) {
+        int slot = index.slotOf(name);
+        return slot >= 0 && slot < declaredCount ? slotSchemas[slot] : null;
+    }
+    
+    public boolean isRequired(String name) {
+        return getRequiredNumber(name) >= 0;
+    }
+    
+    /**
+     * Number of required fields (required names are numbered 0..count-1)
+     */
+    public int getRequiredCount() {
+        return requiredNames.length;
+    }
+    
+    /**
+     * Required name by number, in the order missing fields are reported
+     */
+    public String getRequiredName(int number) {
+        return requiredNames[number];
+    }
+    
+    /**
+     * Number of a required name, or -1 if the name is not required
+     */
+    public int getRequiredNumber(String name) {
+        int slot = index.slotOf(name);
+        return slot >= 0 ? slotRequired[slot] : -1;
+    }
+    
+    public Boolean getAdditionalPropertiesAllowed() {
+        return additionalPropertiesAllowed;
     }
     
     @Override
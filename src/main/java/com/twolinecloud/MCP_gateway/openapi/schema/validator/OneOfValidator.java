@@ -1,6 +1,6 @@
 package com.twolinecloud.MCP_gateway.openapi.schema.validator;
 
-import com.twolinecloud.MCP_gateway.openapi.schema.ValidationResult;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationContext;
 import com.twolinecloud.MCP_gateway.openapi.schema.ValidationSchema;
 
 import java.util.ArrayList;
@@ -18,10 +18,12 @@ public class OneOfValidator implements ValidationSchema {
     
     private final List<ValidationSchema> schemas;
     private final String description;
+    private final BranchFilter filter;
     
     public OneOfValidator(List<ValidationSchema> schemas, String description) {
-        this.schemas = schemas != null ? schemas : new ArrayList<>();
+        this.schemas = schemas != null ? new ArrayList<>(schemas) : new ArrayList<>();
         this.description = description;
+        this.filter = new BranchFilter(this.schemas);
     }
     
     @Override
@@ -35,41 +37,57 @@ public class OneOfValidator implements ValidationSchema {
     }
     
     @Override
-    public ValidationResult validate(Object value) {
+    public boolean validate(Object value, ValidationContext context) {
         if (schemas.isEmpty()) {
-            return ValidationResult.failure("OneOf validator has no schemas defined");
+            context.addError("validation.failed", "OneOf validator has no schemas defined", null);
+            return false;
         }
         
+        int mark = context.mark();
         int matchCount = 0;
-        List<String> allErrors = new ArrayList<>();
+        int[] branchEnds = null;   // error count after each failed branch
         
-        // Check how many schemas match
+        // Check how many schemas match (branches that cannot match by type
+        // or required properties are skipped)
         for (int i = 0; i < schemas.size(); i++) {
-            ValidationSchema schema = schemas.get(i);
-            ValidationResult result = schema.validate(value);
-            
-            if (result.isValid()) {
+            if (!filter.mayMatch(i, value)) {
+                continue;
+            }
+            if (schemas.get(i).validate(value, context)) {
                 matchCount++;
             } else {
-                allErrors.add("Schema [" + i + "]: " + result.getFirstError());
+                if (branchEnds == null) {
+                    branchEnds = new int[schemas.size()];
+                }
+                branchEnds[i] = context.mark();
             }
         }
         
         // Must match exactly one
         if (matchCount == 0) {
-            return ValidationResult.failure(
+            List<String> allErrors = filter.summarize(value, context, mark, branchEnds);
+            context.rollback(mark);
+            context.addError(
+                "validation.failed",
                 "Value does not match any of the oneOf schemas. Errors: " + 
-                String.join("; ", allErrors)
+                String.join("; ", allErrors),
+                value
             );
+            return false;
         }
         
+        context.rollback(mark);
+        
         if (matchCount > 1) {
-            return ValidationResult.failure(
-                "Value matches " + matchCount + " schemas, but oneOf requires exactly one match"
+            context.addError(
+                "validation.failed",
+                "Value matches " + matchCount + " schemas, but oneOf requires exactly one match",
+                value
             );
+            return false;
         }
         
-        return ValidationResult.success();
+        return true;
     }
     
     public List<ValidationSchema> getSchemas() {
@@ -0,0 +1,80 @@
+package com.twolinecloud.MCP_gateway.openapi.schema.validator;
+
+/**
+ * Property Index
+ * Fixed name -> slot table built once per object schema (open addressing, linear probing).
+ *
+ * The table size is grown (up to 8x the name count) until every name lands in its
+ * home bucket, so lookups for declared names are a single probe in practice;
+ * otherwise it falls back to linear probing at a load factor of 0.5 or less.
+ * Lookups compare cached String hash codes before equals.
+ */
+final class PropertyIndex {
+
+    private static final int MAX_GROWTH = 8;
+
+    private final String[] keys;
+    private final int[] hashes;
+    private final int[] slots;
+    private final int mask;
+
+    PropertyIndex(String[] names) {
+        int size = tableSizeFor(Math.max(2, names.length * 2));
+        int maxSize = tableSizeFor(Math.max(2, names.length * 2 * MAX_GROWTH));
+        while (size < maxSize && !collisionFree(names, size - 1)) {
+            size <<= 1;
+        }
+
+        this.keys = new String[size];
+        this.hashes = new int[size];
+        this.slots = new int[size];
+        this.mask = size - 1;
+
+        for (int slot = 0; slot < names.length; slot++) {
+            int hash = spread(names[slot].hashCode());
+            int bucket = hash & mask;
+            while (keys[bucket] != null) {
+                bucket = (bucket + 1) & mask;
+            }
+            keys[bucket] = names[slot];
+            hashes[bucket] = hash;
+            slots[bucket] = slot;
+        }
+    }
+
+    /**
+     * Slot of name, or -1 if the name is not declared
+     */
+    int slotOf(String name) {
+        int hash = spread(name.hashCode());
+        int bucket = hash & mask;
+        String key;
+        while ((key = keys[bucket]) != null) {
+            if (hashes[bucket] == hash && (key == name || key.equals(name))) {
+                return slots[bucket];
+            }
+            bucket = (bucket + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static boolean collisionFree(String[] names, int mask) {
+        boolean[] used = new boolean[mask + 1];
+        for (String name : names) {
+            int bucket = spread(name.hashCode()) & mask;
+            if (used[bucket]) {
+                return false;
+            }
+            used[bucket] = true;
+        }
+        return true;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int tableSizeFor(int capacity) {
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+}
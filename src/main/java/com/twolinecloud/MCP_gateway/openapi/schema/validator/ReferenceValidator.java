@@ -1,16 +1,38 @@
 package com.twolinecloud.MCP_gateway.openapi.schema.validator;
 
-import com.twolinecloud.MCP_gateway.openapi.schema.ValidationResult;
+import com.twolinecloud.MCP_gateway.openapi.schema.ErrorMessageTemplate;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationContext;
 import com.twolinecloud.MCP_gateway.openapi.schema.ValidationSchema;
 
+import java.util.Map;
+
+/**
+ * Reference Validator
+ * Stands in for a circular $ref during conversion and is bound to the
+ * converted target once it exists, so recursive schemas (trees, linked
+ * categories) are validated at every level without copying the tree.
+ *
+ * Nesting deeper than maxDepth is rejected instead of recursing further:
+ * either path depth in the validation context or the number of $ref hops,
+ * which also bounds cycles through allOf/anyOf/oneOf only (no path growth).
+ */
 public class ReferenceValidator implements ValidationSchema {
     
+    public static final int DEFAULT_MAX_DEPTH = 256;
+    
     private final String referenceName;
     private final String description;
+    private final int maxDepth;
+    private volatile ValidationSchema target;
     
     public ReferenceValidator(String referenceName) {
+        this(referenceName, DEFAULT_MAX_DEPTH);
+    }
+    
+    public ReferenceValidator(String referenceName, int maxDepth) {
         this.referenceName = referenceName;
         this.description = "Reference to " + referenceName;
+        this.maxDepth = maxDepth;
     }
     
     @Override
@@ -24,11 +46,65 @@ public class ReferenceValidator implements ValidationSchema {
     }
     
     @Override
-    public ValidationResult validate(Object value) {
-        return ValidationResult.success();
+    public boolean validate(Object value, ValidationContext context) {
+        ValidationSchema resolved = target;
+        if (resolved == null) {
+            // Not bound (target failed to convert): not validated
+            return true;
+        }
+        
+        if (!withinDepth(context)) {
+            return false;
+        }
+        
+        context.enterReference();
+        boolean valid = resolved.validate(value, context);
+        context.exitReference();
+        return valid;
+    }
+    
+    /**
+     * Check the nesting limit before following the reference
+     * (records depth.exceeded when it is reached)
+     */
+    public boolean withinDepth(ValidationContext context) {
+        if (context.getDepth() >= maxDepth || context.getReferenceDepth() >= maxDepth) {
+            String template = ErrorMessageTemplate.getTemplate("depth.exceeded");
+            context.addError(
+                "depth.exceeded",
+                ErrorMessageTemplate.formatMessage(template, Map.of("max", maxDepth)),
+                null
+            );
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Bind to converted target schema
+     */
+    public void bind(ValidationSchema target) {
+        this.target = target;
+    }
+    
+    public ValidationSchema getTarget() {
+        return target;
     }
     
     public String getReferenceName() {
         return referenceName;
     }
-}
\ No newline at end of file
+    
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+    
+    @Override
+    public String toString() {
+        return "ReferenceValidator{" +
+               "referenceName='" + referenceName + '\'' +
+               ", bound=" + (target != null) +
+               ", maxDepth=" + maxDepth +
+               '}';
+    }
+}
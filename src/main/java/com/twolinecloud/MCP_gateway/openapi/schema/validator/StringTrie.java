@@ -0,0 +1,84 @@
+package com.twolinecloud.MCP_gateway.openapi.schema.validator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * String Trie
+ * Immutable character trie for large string enums (country / currency codes etc).
+ * Each node keeps its edge characters sorted, so a lookup is one binary search per
+ * input character and rejects as soon as a prefix is not allowed, without hashing
+ * the payload string.
+ */
+final class StringTrie {
+
+    private final char[][] edges;      // node -> sorted edge characters
+    private final int[][] children;    // node -> child node per edge
+    private final boolean[] terminal;  // node -> a value ends here
+
+    StringTrie(Set<String> values) {
+        List<char[]> edgeList = new ArrayList<>();
+        List<int[]> childList = new ArrayList<>();
+        List<Boolean> terminalList = new ArrayList<>();
+        build(new ArrayList<>(new TreeSet<>(values)), 0, edgeList, childList, terminalList);
+
+        this.edges = edgeList.toArray(new char[0][]);
+        this.children = childList.toArray(new int[0][]);
+        this.terminal = new boolean[terminalList.size()];
+        for (int i = 0; i < terminal.length; i++) {
+            terminal[i] = terminalList.get(i);
+        }
+    }
+
+    /**
+     * Build node for sorted values sharing the first depth characters, returns node id
+     */
+    private static int build(List<String> sorted, int depth,
+                             List<char[]> edgeList, List<int[]> childList, List<Boolean> terminalList) {
+        int node = edgeList.size();
+        edgeList.add(null);
+        childList.add(null);
+        terminalList.add(false);
+
+        StringBuilder nodeEdges = new StringBuilder();
+        List<Integer> nodeChildren = new ArrayList<>();
+
+        int i = 0;
+        while (i < sorted.size()) {
+            String value = sorted.get(i);
+            if (value.length() == depth) {
+                terminalList.set(node, true);
+                i++;
+                continue;
+            }
+            char c = value.charAt(depth);
+            int end = i;
+            while (end < sorted.size() && sorted.get(end).length() > depth
+                   && sorted.get(end).charAt(depth) == c) {
+                end++;
+            }
+            nodeEdges.append(c);
+            nodeChildren.add(build(sorted.subList(i, end), depth + 1, edgeList, childList, terminalList));
+            i = end;
+        }
+
+        edgeList.set(node, nodeEdges.toString().toCharArray());
+        childList.set(node, nodeChildren.stream().mapToInt(Integer::intValue).toArray());
+        return node;
+    }
+
+    boolean contains(String value) {
+        int node = 0;
+        for (int i = 0; i < value.length(); i++) {
+            int edge = Arrays.binarySearch(edges[node], value.charAt(i));
+            if (edge < 0) {
+                return false;
+            }
+            node = children[node][edge];
+        }
+        return terminal[node];
+    }
+}
@@ -1,14 +1,20 @@
 package com.twolinecloud.MCP_gateway.openapi.schema.validator;
 
 import java.util.Map;
+import java.util.regex.Pattern;
 
 import com.twolinecloud.MCP_gateway.openapi.schema.ErrorMessageTemplate;
-import com.twolinecloud.MCP_gateway.openapi.schema.ValidationResult;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationContext;
 import com.twolinecloud.MCP_gateway.openapi.schema.ValidationSchema;
+import com.twolinecloud.MCP_gateway.openapi.schema.format.FormatChecker;
+import com.twolinecloud.MCP_gateway.openapi.schema.format.FormatRegistry;
 
 /**
  * String Type Validator
  * Validates string values and formats (email, uuid, date, etc.)
+ * Format checkers come from {@link FormatRegistry}, resolved on first use and again only
+ * after a format is registered; pattern is compiled once (matched anywhere in the value,
+ * as in JSON Schema).
  */
 public class StringValidator implements ValidationSchema {
     
@@ -17,6 +23,8 @@ public class StringValidator implements ValidationSchema {
     private final Integer minLength;
     private final Integer maxLength;
     private final String pattern;
+    private final Pattern compiledPattern;      // null: no pattern
+    private volatile ResolvedFormat resolvedFormat;
     
     public StringValidator(String format, String description) {
         this(format, description, null, null, null);
@@ -29,6 +37,7 @@ public class StringValidator implements ValidationSchema {
         this.minLength = minLength;
         this.maxLength = maxLength;
         this.pattern = pattern;
+        this.compiledPattern = pattern != null ? Pattern.compile(pattern) : null;
     }
     
     @Override
@@ -47,20 +56,20 @@ public class StringValidator implements ValidationSchema {
     }
     
     @Override
-    public ValidationResult validate(Object value) {
+    public boolean validate(Object value, ValidationContext context) {
         if (value == null) {
-            return ValidationResult.success();
+            return true;
         }
         
         // Type check with custom message
         if (!(value instanceof String)) {
             String message = ErrorMessageTemplate.getTemplate("type.string");
-            return ValidationResult.failure(
-                "",
+            context.addError(
                 "type.mismatch",
                 message + " (받은 값: " + value.getClass().getSimpleName() + ")",
                 value
             );
+            return false;
         }
         
         String strValue = (String) value;
@@ -70,109 +79,79 @@ public class StringValidator implements ValidationSchema {
             String template = ErrorMessageTemplate.getTemplate("string.minLength");
             String message = ErrorMessageTemplate.formatMessage(template, 
                 Map.of("minLength", minLength));
-            return ValidationResult.failure(
-                "",
+            context.addError(
                 "string.minLength",
                 message,
                 strValue
             );
+            return false;
         }
         
-        // Format validation with custom message
-        if (format != null) {
-            ValidationResult formatResult = validateFormat(strValue, format);
-            if (!formatResult.isValid()) {
-                return formatResult;
-            }
+        if (maxLength != null && strValue.length() > maxLength) {
+            String template = ErrorMessageTemplate.getTemplate("string.maxLength");
+            String message = ErrorMessageTemplate.formatMessage(template, 
+                Map.of("maxLength", maxLength));
+            context.addError(
+                "string.maxLength",
+                message,
+                strValue
+            );
+            return false;
         }
         
-        return ValidationResult.success();
-    }
-    
-    /**
-     * Validate string format
-     */
-    private ValidationResult validateFormat(String value, String format) {
-        return switch (format) {
-            case "email" -> validateEmail(value);
-            case "uuid" -> validateUuid(value);
-            case "date" -> validateDate(value);
-            case "date-time" -> validateDateTime(value);
-            case "uri", "url" -> validateUri(value);
-            case "hostname" -> validateHostname(value);
-            case "ipv4" -> validateIpv4(value);
-            case "ipv6" -> validateIpv6(value);
-            default -> ValidationResult.success(); // Unknown format, skip validation
-        };
-    }
-    
-    private ValidationResult validateEmail(String value) {
-        if (!value.contains("@") || !value.contains(".")) {
-            String message = ErrorMessageTemplate.getTemplate("string.format.email");
-            return ValidationResult.failure(
-                "",
-                "format.email",
-                message,
-                value
+        // Pattern validation with custom message
+        if (compiledPattern != null && !compiledPattern.matcher(strValue).find()) {
+            context.addError(
+                "string.pattern",
+                ErrorMessageTemplate.getTemplate("string.pattern"),
+                strValue
             );
+            return false;
         }
-        return ValidationResult.success();
-    }
-    
-    private ValidationResult validateUuid(String value) {
-        String uuidRegex = "^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$";
-        if (!value.toLowerCase().matches(uuidRegex)) {
-            return ValidationResult.failure("Invalid UUID format: " + value);
+        
+        // Format validation with custom message
+        FormatChecker formatChecker = formatChecker();
+        if (formatChecker != null && !formatChecker.isValid(strValue)) {
+            String message = ErrorMessageTemplate.getTemplate("string.format." + format);
+            context.addError(
+                "format." + format,
+                message,
+                strValue
+            );
+            return false;
         }
-        return ValidationResult.success();
+        
+        return true;
     }
     
-    private ValidationResult validateDate(String value) {
-        // ISO 8601 date format: YYYY-MM-DD
-        String dateRegex = "^\\d{4}-\\d{2}-\\d{2}$";
-        if (!value.matches(dateRegex)) {
-            return ValidationResult.failure("Invalid date format (expected YYYY-MM-DD): " + value);
+    /**
+     * Checker for format (null: no format or unknown format), cached per registry version
+     */
+    private FormatChecker formatChecker() {
+        if (format == null) {
+            return null;
         }
-        return ValidationResult.success();
-    }
-    
-    private ValidationResult validateDateTime(String value) {
-        // ISO 8601 datetime format: YYYY-MM-DDTHH:mm:ss or with timezone
-        if (!value.contains("T")) {
-            return ValidationResult.failure("Invalid date-time format (expected ISO 8601): " + value);
+        int version = FormatRegistry.version();
+        ResolvedFormat resolved = resolvedFormat;
+        if (resolved == null || resolved.version() != version) {
+            resolved = new ResolvedFormat(version, FormatRegistry.get(format));
+            resolvedFormat = resolved;
         }
-        return ValidationResult.success();
+        return resolved.checker();
     }
     
-    private ValidationResult validateUri(String value) {
-        if (!value.contains("://") && !value.startsWith("/")) {
-            return ValidationResult.failure("Invalid URI format: " + value);
-        }
-        return ValidationResult.success();
-    }
+    private record ResolvedFormat(int version, FormatChecker checker) {}
     
-    private ValidationResult validateHostname(String value) {
-        String hostnameRegex = "^[a-zA-Z0-9]([a-zA-Z0-9-]{0,61}[a-zA-Z0-9])?(\\.[a-zA-Z0-9]([a-zA-Z0-9-]{0,61}[a-zA-Z0-9])?)*$";
-        if (!value.matches(hostnameRegex)) {
-            return ValidationResult.failure("Invalid hostname format: " + value);
-        }
-        return ValidationResult.success();
+    public Integer getMinLength() {
+        return minLength;
     }
     
-    private ValidationResult validateIpv4(String value) {
-        String ipv4Regex = "^((25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)\\.){3}(25[0-5]|2[0-4][0-9]|[01]?[0-9][0-9]?)$";
-        if (!value.matches(ipv4Regex)) {
-            return ValidationResult.failure("Invalid IPv4 format: " + value);
-        }
-        return ValidationResult.success();
+    public Integer getMaxLength() {
+        return maxLength;
     }
     
-    private ValidationResult validateIpv6(String value) {
-        // Simplified IPv6 validation
-        if (!value.contains(":")) {
-            return ValidationResult.failure("Invalid IPv6 format: " + value);
-        }
-        return ValidationResult.success();
+    public String getPattern() {
+        return pattern;
     }
     
     @Override
@@ -0,0 +1,187 @@
+package com.twolinecloud.MCP_gateway.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Bulk Ingestion Service
+ * Ingests many spec URLs concurrently, one virtual thread per URL.
+ *
+ * Concurrency is bounded per host (politeness; connections to a host are shared
+ * by the HTTP/2 client) and overall (parsing and conversion use CPU and heap).
+ * A failing URL does not affect the others; every URL gets its own result.
+ */
+@Service
+public class BulkIngestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkIngestionService.class);
+
+    private final OpenAPIService openAPIService;
+
+    /**
+     * Maximum concurrent ingestions per host
+     */
+    @Value("${openapi.bulk.max-per-host:4}")
+    private int maxPerHost = 4;
+
+    /**
+     * Maximum concurrent ingestions overall
+     */
+    @Value("${openapi.bulk.max-concurrency:16}")
+    private int maxConcurrency = 16;
+
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+    public BulkIngestionService(OpenAPIService openAPIService) {
+        this.openAPIService = openAPIService;
+    }
+
+    /**
+     * Download, analyze and convert every spec
+     *
+     * @param urls Spec URLs (duplicates are ingested once)
+     * @param includeResponses Whether to convert response schemas
+     * @return Per-URL results in input order
+     */
+    public BulkIngestionResult ingestAll(List<String> urls, boolean includeResponses) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(urls));
+        log.info("📦 Bulk ingestion: {} specs (max {} per host, {} overall)",
+            distinct.size(), maxPerHost, maxConcurrency);
+
+        long start = System.nanoTime();
+        Semaphore overall = new Semaphore(maxConcurrency);
+        List<SpecIngestion> results = new ArrayList<>(distinct.size());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<SpecIngestion>> futures = new ArrayList<>(distinct.size());
+            for (String url : distinct) {
+                futures.add(executor.submit(() -> ingest(url, includeResponses, overall)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                results.add(await(futures.get(i), distinct.get(i)));
+            }
+        }
+
+        long succeeded = results.stream().filter(SpecIngestion::success).count();
+        long wallMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("📦 Bulk ingestion done: {} succeeded, {} failed in {} ms",
+            succeeded, results.size() - succeeded, wallMillis);
+
+        return new BulkIngestionResult(results, (int) succeeded, (int) (results.size() - succeeded), wallMillis);
+    }
+
+    private SpecIngestion ingest(String url, boolean includeResponses, Semaphore overall) {
+        long start = System.nanoTime();
+        String fileName = null;
+        try {
+            URI uri = URI.create(url);
+            fileName = fileNameFor(uri);
+            Semaphore host = hostPermits.computeIfAbsent(
+                String.valueOf(uri.getHost()).toLowerCase(), h -> new Semaphore(maxPerHost));
+
+            host.acquire();
+            try {
+                overall.acquire();
+                try {
+                    var result = openAPIService.downloadAndSaveWithSchemas(url, fileName, includeResponses);
+                    IngestionTimings timings = result.timings();
+                    return new SpecIngestion(url, fileName, true,
+                        result.analysisResult().endpoints().size(),
+                        timings.schemasConverted(),
+                        timings.snapshotHit(),
+                        (System.nanoTime() - start) / 1_000_000,
+                        null);
+                } finally {
+                    overall.release();
+                }
+            } finally {
+                host.release();
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failed(url, fileName, start, "interrupted");
+        } catch (Exception e) {
+            log.warn("❌ Bulk ingestion failed for {}: {}", url, e.getMessage());
+            return failed(url, fileName, start, e.getMessage());
+        }
+    }
+
+    private SpecIngestion await(Future<SpecIngestion> future, String url) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new SpecIngestion(url, null, false, 0, 0, false, 0, "interrupted");
+        } catch (ExecutionException e) {
+            return new SpecIngestion(url, null, false, 0, 0, false, 0, String.valueOf(e.getCause()));
+        }
+    }
+
+    private static SpecIngestion failed(String url, String fileName, long start, String error) {
+        return new SpecIngestion(url, fileName, false, 0, 0, false, (System.nanoTime() - start) / 1_000_000, error);
+    }
+
+    /**
+     * Distinct file name per URL (scheme + host + port + path): catalogs often serve every spec
+     * as "openapi.json", and the same path may serve different specs over http and https or on another port
+     */
+    static String fileNameFor(URI uri) {
+        String scheme = uri.getScheme() != null ? uri.getScheme().toLowerCase() + "_" : "";
+        String host = uri.getHost() != null ? uri.getHost() : "unknown";
+        String port = uri.getPort() != -1 ? "_" + uri.getPort() : "";
+        String path = uri.getRawPath() != null ? uri.getRawPath() : "";
+        String query = uri.getRawQuery() != null ? "_" + uri.getRawQuery() : "";
+        String name = (scheme + host.replace('.', '_') + port + path + query)
+            .replaceAll("[^A-Za-z0-9._-]+", "_")
+            .replaceAll("_+$", "");
+        return name.isEmpty() ? "openapi" : name;
+    }
+
+    /**
+     * Result of one URL
+     *
+     * @param url Spec URL
+     * @param fileName Saved file name (without extension if none was in the URL)
+     * @param success Whether the spec was ingested
+     * @param endpoints Number of endpoints
+     * @param schemasConverted Number of schemas converted (0 on snapshot hit)
+     * @param snapshotHit Whether converted schemas came from a snapshot
+     * @param wallMillis Time including waiting for permits
+     * @param error Error message, or null
+     */
+    public record SpecIngestion(
+        String url,
+        String fileName,
+        boolean success,
+        int endpoints,
+        int schemasConverted,
+        boolean snapshotHit,
+        long wallMillis,
+        String error
+    ) {}
+
+    /**
+     * Result of a bulk ingestion
+     */
+    public record BulkIngestionResult(
+        List<SpecIngestion> results,
+        int succeeded,
+        int failed,
+        long wallMillis
+    ) {}
+}
@@ -0,0 +1,149 @@
+package com.twolinecloud.MCP_gateway.service;
+
+import com.twolinecloud.MCP_gateway.service.IngestionTimings.StageTiming;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Ingestion Timer
+ * Measures the stages of one ingestion on the calling thread. Work a stage
+ * hands to other threads is added with {@link #worker(String, Supplier)}.
+ *
+ * CPU time and allocation are per-thread counters the JVM does not provide for
+ * every thread (e.g. virtual threads); a stage with any unmeasured part reports
+ * {@link IngestionTimings#UNAVAILABLE} instead of a partial or zero value.
+ */
+final class IngestionTimer {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final Thread owner = Thread.currentThread();
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Stage> stages = new LinkedHashMap<>();
+
+    /**
+     * Run and time a stage on the calling thread
+     */
+    <T> T stage(String name, Supplier<T> work) {
+        Stage stage;
+        synchronized (stages) {
+            stage = stages.computeIfAbsent(name, k -> new Stage());
+        }
+        long wall = System.nanoTime();
+        long cpu = currentThreadCpuNanos();
+        long allocated = currentThreadAllocatedBytes();
+        try {
+            return work.get();
+        } finally {
+            stage.wallNanos += System.nanoTime() - wall;
+            stage.cpuNanos.add(cpu, currentThreadCpuNanos());
+            stage.allocatedBytes.add(allocated, currentThreadAllocatedBytes());
+        }
+    }
+
+    void stage(String name, Runnable work) {
+        stage(name, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Run work of a stage that may execute on another thread (e.g. a parallel stream task)
+     * Work on the calling thread is already counted by {@link #stage}.
+     */
+    <T> T worker(String name, Supplier<T> work) {
+        if (Thread.currentThread() == owner) {
+            return work.get();
+        }
+        Stage stage;
+        synchronized (stages) {
+            stage = stages.computeIfAbsent(name, k -> new Stage());
+        }
+        long cpu = currentThreadCpuNanos();
+        long allocated = currentThreadAllocatedBytes();
+        try {
+            return work.get();
+        } finally {
+            stage.cpuNanos.add(cpu, currentThreadCpuNanos());
+            stage.allocatedBytes.add(allocated, currentThreadAllocatedBytes());
+        }
+    }
+
+    IngestionTimings finish(long bytesDownloaded, int endpoints, int schemasConverted, boolean snapshotHit) {
+        List<StageTiming> timings = new ArrayList<>();
+        long totalCpu = 0;
+        long totalAllocated = 0;
+        synchronized (stages) {
+            for (Map.Entry<String, Stage> entry : stages.entrySet()) {
+                Stage stage = entry.getValue();
+                StageTiming timing = new StageTiming(entry.getKey(), stage.wallNanos,
+                    stage.cpuNanos.value(), stage.allocatedBytes.value());
+                timings.add(timing);
+                totalCpu = sum(totalCpu, timing.cpuNanos());
+                totalAllocated = sum(totalAllocated, timing.allocatedBytes());
+            }
+        }
+        return new IngestionTimings(List.copyOf(timings), System.nanoTime() - startNanos,
+            totalCpu, totalAllocated, bytesDownloaded, endpoints, schemasConverted, snapshotHit);
+    }
+
+    private static long sum(long total, long value) {
+        return total < 0 || value < 0 ? IngestionTimings.UNAVAILABLE : total + value;
+    }
+
+    /**
+     * @return CPU time of the current thread, or -1 when not measurable (e.g. virtual thread)
+     */
+    private static long currentThreadCpuNanos() {
+        if (!THREADS.isCurrentThreadCpuTimeSupported()) {
+            return IngestionTimings.UNAVAILABLE;
+        }
+        return THREADS.getCurrentThreadCpuTime();
+    }
+
+    /**
+     * @return Bytes allocated by the current thread, or -1 when not measurable
+     */
+    private static long currentThreadAllocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported()
+                && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads.getCurrentThreadAllocatedBytes();
+        }
+        return IngestionTimings.UNAVAILABLE;
+    }
+
+    private static final class Stage {
+        private long wallNanos;   // owner thread only
+        private final Counter cpuNanos = new Counter();
+        private final Counter allocatedBytes = new Counter();
+    }
+
+    /**
+     * Sum of per-thread deltas; unavailable once any thread could not be measured
+     */
+    private static final class Counter {
+        private final LongAdder sum = new LongAdder();
+        private volatile boolean unavailable;
+
+        void add(long before, long after) {
+            if (before < 0 || after < 0) {
+                unavailable = true;
+            } else {
+                sum.add(after - before);
+            }
+        }
+
+        long value() {
+            return unavailable ? IngestionTimings.UNAVAILABLE : sum.sum();
+        }
+    }
+}
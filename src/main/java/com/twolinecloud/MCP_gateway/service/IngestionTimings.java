@@ -0,0 +1,78 @@
+package com.twolinecloud.MCP_gateway.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Ingestion Timings
+ * Wall time, CPU time and allocated bytes per ingestion stage
+ * (download, save, snapshot, read, parse, analyze, convert), plus totals.
+ *
+ * CPU time and allocation include work done for the stage on other threads
+ * (parallel endpoint conversion), so CPU time can exceed wall time. Both are
+ * {@link #UNAVAILABLE} when a thread doing the work cannot be measured
+ * (e.g. a virtual thread in bulk ingestion).
+ *
+ * @param stages Stages in execution order
+ * @param totalWallNanos Wall time of the whole ingestion
+ * @param totalCpuNanos CPU time of all stages (or UNAVAILABLE)
+ * @param totalAllocatedBytes Bytes allocated by all stages (or UNAVAILABLE)
+ * @param bytesDownloaded Bytes received on the wire (0 when not modified)
+ * @param endpoints Number of endpoints
+ * @param schemasConverted Number of schemas converted (0 on snapshot hit or lazy conversion)
+ * @param snapshotHit Whether converted schemas came from a snapshot
+ */
+public record IngestionTimings(
+    List<StageTiming> stages,
+    long totalWallNanos,
+    long totalCpuNanos,
+    long totalAllocatedBytes,
+    long bytesDownloaded,
+    int endpoints,
+    int schemasConverted,
+    boolean snapshotHit
+) {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestionTimings.class);
+
+    /**
+     * CPU time or allocation that could not be measured
+     */
+    public static final long UNAVAILABLE = -1;
+
+    /**
+     * Timing of one stage
+     *
+     * @param stage Stage name
+     * @param wallNanos Wall time
+     * @param cpuNanos CPU time (all threads working for the stage), or UNAVAILABLE
+     * @param allocatedBytes Allocated bytes (all threads working for the stage), or UNAVAILABLE
+     */
+    public record StageTiming(
+        String stage,
+        long wallNanos,
+        long cpuNanos,
+        long allocatedBytes
+    ) {}
+
+    public void printSummary() {
+        log.info("⏱️ Ingestion timings ({} bytes, {} endpoints, {} schemas{})",
+            bytesDownloaded, endpoints, schemasConverted, snapshotHit ? ", snapshot" : "");
+        for (StageTiming stage : stages) {
+            log.info("  {}: wall {} ms, cpu {} ms, allocated {} KB",
+                stage.stage(), stage.wallNanos() / 1_000_000, scaled(stage.cpuNanos(), 1_000_000),
+                scaled(stage.allocatedBytes(), 1024));
+        }
+        log.info("  total: wall {} ms, cpu {} ms, allocated {} KB",
+            totalWallNanos / 1_000_000, scaled(totalCpuNanos, 1_000_000), scaled(totalAllocatedBytes, 1024));
+        if (totalCpuNanos == UNAVAILABLE || totalAllocatedBytes == UNAVAILABLE) {
+            log.info("  (n/a: not measurable on this thread, e.g. a virtual thread; not exported)");
+        }
+    }
+
+    private static String scaled(long value, long unit) {
+        return value == UNAVAILABLE ? "n/a" : String.valueOf(value / unit);
+    }
+}
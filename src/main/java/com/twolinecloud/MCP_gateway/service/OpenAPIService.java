@@ -2,20 +2,33 @@ package com.twolinecloud.MCP_gateway.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer;
 import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer.EndpointInfo;
 import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIDownloader;
 import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIFileManager;
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPISpecParser;
+import com.twolinecloud.MCP_gateway.openapi.parser.SpecValidators;
+import com.twolinecloud.MCP_gateway.openapi.parser.StoredSpec;
+import com.twolinecloud.MCP_gateway.openapi.parser.StreamingOpenAPIAnalyzer;
+import com.twolinecloud.MCP_gateway.openapi.schema.ConversionContext;
 import com.twolinecloud.MCP_gateway.openapi.schema.EndpointSchemas;
+import com.twolinecloud.MCP_gateway.openapi.schema.LazyEndpointSchemaMap;
 import com.twolinecloud.MCP_gateway.openapi.schema.SchemaConverter;
+import com.twolinecloud.MCP_gateway.openapi.schema.snapshot.SchemaSnapshot;
+import com.twolinecloud.MCP_gateway.openapi.schema.snapshot.SchemaSnapshotStore;
 
-import io.swagger.v3.oas.models.OpenAPI;
-import io.swagger.v3.parser.OpenAPIV3Parser;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Phase 1.2: OpenAPI Service (Revamped)
@@ -34,16 +47,71 @@ public class OpenAPIService {
     private final OpenAPIDownloader downloader;
     private final OpenAPIAnalyzer analyzer;
     private final OpenAPIFileManager fileManager;
+    private final OpenAPISpecParser specParser;
+    private final StreamingOpenAPIAnalyzer streamingAnalyzer;
     private final SchemaConverter schemaConverter;
+    private final SchemaSnapshotStore snapshotStore;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * true: endpoints are converted in parallel (fork-join pool)
+     */
+    @Value("${openapi.conversion.parallel:true}")
+    private boolean parallelConversion = true;
+
+    /**
+     * true: endpoint schemas are converted on first use instead of at load time
+     */
+    @Value("${openapi.conversion.lazy:false}")
+    private boolean lazyConversion;
+
+    /**
+     * true: converted schemas are persisted and reused while the spec content is unchanged
+     */
+    @Value("${openapi.snapshot.enabled:true}")
+    private boolean snapshotEnabled = true;
+
+    /**
+     * true: JSON specs are analyzed with the streaming analyzer (no OpenAPI model is built)
+     */
+    @Value("${openapi.analysis.streaming:false}")
+    private boolean streamingAnalysis;
+
+    /**
+     * true: ETag / Last-Modified are kept next to the saved spec and sent on the next download
+     */
+    @Value("${openapi.download.conditional:true}")
+    private boolean conditionalDownload = true;
+
+    /**
+     * Maximum number of last ingestions kept for 304 responses (0 disables it)
+     */
+    @Value("${openapi.download.retained-size:16}")
+    private int retainedSize = 16;
+
+    /**
+     * Last ingestion per saved spec (LRU), returned as is when the server answers 304.
+     * Snapshots alone do not cover this: lazy conversion and disabled snapshots
+     * leave nothing on disk, and a 304 would parse and analyze the spec again.
+     */
+    private final Map<String, RetainedIngestion> retained = new LinkedHashMap<>(16, 0.75f, true);
 
     public OpenAPIService(OpenAPIDownloader downloader, 
                           OpenAPIAnalyzer analyzer,
                           OpenAPIFileManager fileManager,
-                          SchemaConverter schemaConverter) {
+                          OpenAPISpecParser specParser,
+                          StreamingOpenAPIAnalyzer streamingAnalyzer,
+                          SchemaConverter schemaConverter,
+                          SchemaSnapshotStore snapshotStore,
+                          MeterRegistry meterRegistry) {
         this.downloader = downloader;
         this.analyzer = analyzer;
         this.fileManager = fileManager;
+        this.specParser = specParser;
+        this.streamingAnalyzer = streamingAnalyzer;
         this.schemaConverter = schemaConverter;
+        this.snapshotStore = snapshotStore;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
@@ -59,42 +127,226 @@ public class OpenAPIService {
             String fileName,
             boolean includeResponses) {
         
-        // 1. Download
+        IngestionTimer timer = new IngestionTimer();
+        
+        // 1. Download (conditional when the saved spec has validators)
         log.info("📥 Downloading OpenAPI...");
-        var downloadResult = downloader.downloadSpec(url);
+        String savedName = fileManager.resolveFileName(fileName, url);
+        Optional<SpecValidators> previous = conditionalDownload
+            ? fileManager.readValidators(savedName).filter(v -> url.equals(v.url()))
+            : Optional.empty();
+        OpenAPIDownloader.DownloadOptions options = new OpenAPIDownloader.DownloadOptions();
+        previous.filter(SpecValidators::hasValidators).ifPresent(v -> {
+            options.setIfNoneMatch(v.etag());
+            options.setIfModifiedSince(v.lastModified());
+        });
+        // Streamed to disk: gzip/deflate decoded and hashed on the way, never held in memory
+        StoredSpec stored = timer.stage("download", () -> 
+            downloader.downloadSpecToFile(url, fileManager.getStorageDirectory(), options));
         
-        // 2. Save to file
-        if (fileName == null || fileName.isEmpty()) {
-            fileManager.saveSpecFromUrl(downloadResult.data(), url);
+        String savedFile;
+        String specHash;
+        long bytesDownloaded;
+        if (stored.notModified() && previous.isPresent()) {
+            // 304: the saved spec is current; nothing is saved again
+            log.info("♻️ Spec not modified since last download: {}", previous.get().fileName());
+            savedFile = previous.get().fileName();
+            specHash = previous.get().contentHash();
+            bytesDownloaded = 0;
         } else {
-            fileManager.saveSpec(downloadResult.data(), fileName);
+            if (stored.notModified()) {
+                throw new OpenAPIDownloader.OpenAPIDownloadException(
+                    "304 응답을 받았지만 저장된 명세서가 없습니다: " + url);
+            }
+            specHash = stored.sha256();
+            bytesDownloaded = stored.transferredBytes();
+            
+            // 2. Save to file
+            savedFile = timer.stage("save", () -> {
+                String saved = fileManager.storeDownloaded(stored.path(), specHash, savedName);
+                if (conditionalDownload) {
+                    fileManager.saveValidators(savedName, new SpecValidators(
+                        url, saved, stored.etag(), stored.lastModified(), specHash));
+                }
+                return saved;
+            });
         }
         
-        // 3. Load OpenAPI for $ref resolution
-        OpenAPIV3Parser parser = new OpenAPIV3Parser();
-        OpenAPI openAPI = parser.readContents(downloadResult.data(), null, null).getOpenAPI();
+        // 2-1. Not modified: the last result for this spec is still current (every mode)
+        if (stored.notModified()) {
+            RetainedIngestion last;
+            synchronized (retained) {
+                last = retained.get(savedFile);
+            }
+            if (last != null && last.matches(specHash, schemaConverter.getSettingsFingerprint(), includeResponses)) {
+                log.info("♻️ Reusing last ingestion: skipping parse and conversion ({} endpoints)", 
+                    last.analysis().endpoints().size());
+                IngestionTimings timings = finishTimings(timer, bytesDownloaded, 
+                    last.analysis().endpoints().size(), 0, false, "not-modified");
+                return new OpenAPIAnalysisWithSchemas(last.analysis(), last.endpointSchemas(), timings);
+            }
+        }
         
-        if (openAPI != null) {
-            schemaConverter.setOpenAPI(openAPI);
-        } else {
-            log.warn("⚠️ Failed to load OpenAPI components - $ref resolution may not work");
+        // 2-2. Unchanged spec: reuse converted schemas from the snapshot
+        if (snapshotEnabled) {
+            Optional<SchemaSnapshot> snapshot = timer.stage("snapshot", () -> 
+                snapshotStore.load(specHash, schemaConverter.getSettingsFingerprint(), 
+                    includeResponses, schemaConverter::forValidation));
+            if (snapshot.isPresent()) {
+                log.info("⚡ Snapshot hit: skipping parse and conversion ({} endpoints)", 
+                    snapshot.get().endpointSchemas().size());
+                retain(savedFile, specHash, includeResponses, 
+                    snapshot.get().analysis(), snapshot.get().endpointSchemas());
+                IngestionTimings timings = finishTimings(timer, bytesDownloaded, 
+                    snapshot.get().analysis().endpoints().size(), 0, true, "snapshot");
+                return new OpenAPIAnalysisWithSchemas(
+                    snapshot.get().analysis(), snapshot.get().endpointSchemas(), timings);
+            }
         }
         
-        // 4. Analyze
-        var analysisResult = analyzer.analyze(downloadResult.data());
+        // 3-4. Parse and analyze the saved spec (no usable snapshot)
+        Optional<StreamingOpenAPIAnalyzer.StreamingAnalysis> streamed = Optional.empty();
+        if (streamingAnalysis) {
+            // Read from the stored bytes; component schemas are read again from there
+            // (by byte offset, pinned to this content) when a $ref is resolved
+            streamed = timer.stage("analyze", () -> 
+                streamingAnalyzer.analyze(() -> fileManager.openSpec(savedFile, specHash)));
+        }
+        
+        ConversionContext conversionContext;
+        OpenAPIAnalyzer.AnalysisResult analysisResult;
+        if (streamed.isPresent()) {
+            // Component schemas are read from the stored spec when a $ref is resolved
+            conversionContext = schemaConverter.createContext(specHash, streamed.get().components());
+            analysisResult = streamed.get().analysisResult();
+        } else {
+            // Parse once: the same model feeds the analyzer and the converter ($ref resolution)
+            // Read from the memory-mapped stored bytes, without a String copy of the spec
+            var parsedSpec = timer.stage("parse", () -> 
+                specParser.parse(() -> fileManager.openSpec(savedFile), specHash));
+            conversionContext = schemaConverter.createContext(specHash, parsedSpec.openAPI());
+            analysisResult = timer.stage("analyze", () -> analyzer.analyze(parsedSpec.openAPI()));
+        }
         analysisResult.printSummary();
         
         // 5. ⭐ Convert Schemas (Phase 1.2)
+        if (lazyConversion) {
+            // Converted on first lookup; summaries would force every endpoint, so skip them
+            log.info("💤 Lazy mode: {} endpoints will be converted on first use", 
+                analysisResult.endpoints().size());
+            Map<String, EndpointSchemas> endpointSchemas = new LazyEndpointSchemaMap(
+                analysisResult.endpoints(),
+                endpoint -> convertEndpointSchemas(conversionContext, endpoint, includeResponses)
+            );
+            retain(savedFile, specHash, includeResponses, analysisResult, endpointSchemas);
+            IngestionTimings timings = finishTimings(timer, bytesDownloaded, 
+                analysisResult.endpoints().size(), 0, false, "lazy");
+            return new OpenAPIAnalysisWithSchemas(analysisResult, endpointSchemas, timings);
+        }
+        
         log.info("🔄 Phase 1.2: Converting schemas to Java validation metadata...");
         log.info("   Include responses: {}", includeResponses);
-        Map<String, EndpointSchemas> endpointSchemas = 
-            convertAllEndpointSchemas(analysisResult, includeResponses);
+        Map<String, EndpointSchemas> endpointSchemas = timer.stage("convert", () ->
+            convertAllEndpointSchemas(conversionContext, analysisResult, includeResponses, timer));
         
         // 6. Print summary
         printSchemaConversionSummary(endpointSchemas, includeResponses);
-        schemaConverter.printConversionSummary();
+        schemaConverter.printConversionSummary(conversionContext);
         
-        return new OpenAPIAnalysisWithSchemas(analysisResult, endpointSchemas);
+        // 7. Persist for the next start
+        if (snapshotEnabled) {
+            timer.stage("snapshot", () -> {
+                try {
+                    snapshotStore.save(new SchemaSnapshot(specHash, schemaConverter.getSettingsFingerprint(),
+                        includeResponses, analysisResult, endpointSchemas));
+                } catch (RuntimeException e) {
+                    log.warn("⚠️ Failed to save schema snapshot: {}", e.getMessage());
+                }
+            });
+        }
+        
+        retain(savedFile, specHash, includeResponses, analysisResult, endpointSchemas);
+        IngestionTimings timings = finishTimings(timer, bytesDownloaded, 
+            analysisResult.endpoints().size(), conversionContext.size(), false, "converted");
+        return new OpenAPIAnalysisWithSchemas(analysisResult, endpointSchemas, timings);
+    }
+    
+    /**
+     * Keep the result of an ingestion for the next 304 (only sent with conditional downloads)
+     * The least recently used results beyond retainedSize are dropped; their
+     * converted schemas stay in the bounded schema cache and snapshot store.
+     */
+    private void retain(
+            String savedFile,
+            String specHash,
+            boolean includeResponses,
+            OpenAPIAnalyzer.AnalysisResult analysisResult,
+            Map<String, EndpointSchemas> endpointSchemas) {
+        
+        if (!conditionalDownload || retainedSize <= 0) {
+            return;
+        }
+        synchronized (retained) {
+            retained.put(savedFile, new RetainedIngestion(specHash, schemaConverter.getSettingsFingerprint(), 
+                includeResponses, analysisResult, endpointSchemas));
+            while (retained.size() > retainedSize) {
+                String eldest = retained.keySet().iterator().next();
+                retained.remove(eldest);
+            }
+        }
+    }
+    
+    /**
+     * Finish timing, log it and export it as metrics
+     * 
+     * @param outcome converted, lazy, snapshot or not-modified
+     */
+    private IngestionTimings finishTimings(
+            IngestionTimer timer,
+            long bytesDownloaded,
+            int endpoints,
+            int schemasConverted,
+            boolean snapshotHit,
+            String outcome) {
+        
+        IngestionTimings timings = timer.finish(bytesDownloaded, endpoints, schemasConverted, snapshotHit);
+        timings.printSummary();
+        
+        for (IngestionTimings.StageTiming stage : timings.stages()) {
+            Timer.builder("openapi.ingestion.stage")
+                .description("Wall time per ingestion stage")
+                .tag("stage", stage.stage())
+                .register(meterRegistry)
+                .record(stage.wallNanos(), TimeUnit.NANOSECONDS);
+            // Unmeasured (e.g. virtual thread): not recorded rather than recorded as 0
+            if (stage.cpuNanos() != IngestionTimings.UNAVAILABLE) {
+                Timer.builder("openapi.ingestion.stage.cpu")
+                    .description("CPU time per ingestion stage (all threads)")
+                    .tag("stage", stage.stage())
+                    .register(meterRegistry)
+                    .record(stage.cpuNanos(), TimeUnit.NANOSECONDS);
+            }
+            if (stage.allocatedBytes() != IngestionTimings.UNAVAILABLE) {
+                DistributionSummary.builder("openapi.ingestion.stage.allocated")
+                    .description("Bytes allocated per ingestion stage")
+                    .baseUnit("bytes")
+                    .tag("stage", stage.stage())
+                    .register(meterRegistry)
+                    .record(stage.allocatedBytes());
+            }
+        }
+        Timer.builder("openapi.ingestion")
+            .description("Wall time of a whole ingestion")
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .record(timings.totalWallNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("openapi.ingestion.downloaded")
+            .description("Size of downloaded specs")
+            .baseUnit("bytes")
+            .register(meterRegistry)
+            .record(bytesDownloaded);
+        
+        return timings;
     }
     
     /**
@@ -112,71 +364,100 @@ public class OpenAPIService {
      * 1. Parameters (query, path, header, cookie)
      * 2. RequestBody (application/json content)
      * 3. Responses (optional - controlled by includeResponses flag)
+     * 
+     * Component schemas are converted once up front, then endpoints are converted
+     * in parallel; the result keeps the endpoint order of the spec.
      */
-    private Map<String, EndpointSchemas> convertAllEndpointSchemas(
+    Map<String, EndpointSchemas> convertAllEndpointSchemas(
+            ConversionContext conversionContext,
             OpenAPIAnalyzer.AnalysisResult analysisResult,
-            boolean includeResponses) {
+            boolean includeResponses,
+            IngestionTimer timer) {
         
-        Map<String, EndpointSchemas> result = new HashMap<>();
+        List<EndpointInfo> endpoints = analysisResult.endpoints();
         
         log.info("");
-        log.info("Converting {} endpoints...", analysisResult.endpoints().size());
+        log.info("Converting {} endpoints{}...", endpoints.size(), 
+            parallelConversion ? " (parallel)" : "");
         
-        for (EndpointInfo endpoint : analysisResult.endpoints()) {
-            String endpointKey = endpoint.method() + " " + endpoint.path();
-            String operationId = endpoint.operationId() != null ? 
-                endpoint.operationId() : endpointKey;
-            
-            log.info("  📍 Converting: {}", endpointKey);
-            
-            // 1️⃣ Convert Parameters
-            List<EndpointSchemas.ConvertedParameter> parameters = 
-                schemaConverter.convertParameters(endpoint.parameters());
-            
-            if (!parameters.isEmpty()) {
-                log.info("    ✓ Parameters: {} converted", parameters.size());
-            }
-            
-            // 2️⃣ Convert RequestBody
-            EndpointSchemas.ConvertedRequestBody requestBody = null;
-            if (endpoint.requestBodySchema() != null) {
-                // Note: In a real scenario, you'd check operation.requestBody.required
-                // For now, we assume true
-                requestBody = schemaConverter.convertRequestBody(
-                    endpoint.requestBodySchema(),
-                    true, // assume required by default
-                    operationId
-                );
-                log.info("    ✓ RequestBody: converted ({})", requestBody.javaType());
-            }
-            
-            // 3️⃣ Convert Responses (optional for Phase 1.2)
-            List<EndpointSchemas.ConvertedResponse> responses = null;
-            if (includeResponses && endpoint.responseSchemas() != null 
-                && !endpoint.responseSchemas().isEmpty()) {
-                responses = schemaConverter.convertResponses(
-                    endpoint.responseSchemas(),
-                    operationId
-                );
-                log.info("    ✓ Responses: {} converted", responses.size());
-            }
-            
-            // Create EndpointSchemas
-            EndpointSchemas schemas = new EndpointSchemas(
-                endpoint.path(),
-                endpoint.method(),
-                parameters,
-                requestBody,
-                responses
-            );
-            
-            result.put(endpointKey, schemas);
+        // Shared component schemas: converted exactly once
+        schemaConverter.convertComponents(conversionContext, parallelConversion);
+        
+        List<EndpointSchemas> converted = (parallelConversion 
+                ? endpoints.parallelStream() 
+                : endpoints.stream())
+            .map(endpoint -> timer.worker("convert", () -> 
+                convertEndpointSchemas(conversionContext, endpoint, includeResponses)))
+            .toList();
+        
+        Map<String, EndpointSchemas> result = new LinkedHashMap<>();
+        for (int i = 0; i < endpoints.size(); i++) {
+            EndpointInfo endpoint = endpoints.get(i);
+            result.put(endpoint.method() + " " + endpoint.path(), converted.get(i));
         }
         
         log.info("");
         return result;
     }
 
+    /**
+     * Convert schemas of one endpoint
+     */
+    private EndpointSchemas convertEndpointSchemas(
+            ConversionContext conversionContext,
+            EndpointInfo endpoint,
+            boolean includeResponses) {
+        
+        String endpointKey = endpoint.method() + " " + endpoint.path();
+        String operationId = endpoint.operationId() != null ? 
+            endpoint.operationId() : endpointKey;
+        
+        log.info("  📍 Converting: {}", endpointKey);
+        
+        // 1️⃣ Convert Parameters
+        List<EndpointSchemas.ConvertedParameter> parameters = 
+            schemaConverter.convertParameters(endpoint.parameters());
+        
+        if (!parameters.isEmpty()) {
+            log.info("    ✓ Parameters: {} converted", parameters.size());
+        }
+        
+        // 2️⃣ Convert RequestBody
+        EndpointSchemas.ConvertedRequestBody requestBody = null;
+        if (endpoint.requestBodySchema() != null) {
+            // Note: In a real scenario, you'd check operation.requestBody.required
+            // For now, we assume true
+            requestBody = schemaConverter.convertRequestBody(
+                conversionContext,
+                endpoint.requestBodySchema(),
+                true, // assume required by default
+                operationId
+            );
+            log.info("    ✓ RequestBody: converted ({})", requestBody.javaType());
+        }
+        
+        // 3️⃣ Convert Responses (optional for Phase 1.2)
+        List<EndpointSchemas.ConvertedResponse> responses = null;
+        if (includeResponses && endpoint.responseSchemas() != null 
+            && !endpoint.responseSchemas().isEmpty()) {
+            responses = schemaConverter.convertResponses(
+                conversionContext,
+                endpoint.responseSchemas(),
+                operationId
+            );
+            log.info("    ✓ Responses: {} converted", responses.size());
+        }
+        
+        // Create EndpointSchemas
+        return new EndpointSchemas(
+            endpoint.path(),
+            endpoint.method(),
+            parameters,
+            requestBody,
+            responses
+        );
+    }
+
     /**
      * Print schema conversion summary
      */
@@ -233,10 +514,10 @@ public class OpenAPIService {
      */
     public OpenAPIAnalyzer.AnalysisResult processFromFile(String fileName) {
         log.info("📄 Reading file: {}", fileName);
-        String content = fileManager.readSpec(fileName);
+        var parsedSpec = specParser.parse(() -> fileManager.openSpec(fileName), fileManager.getContentHash(fileName));
         
         log.info("🔍 Analyzing...");
-        var analysisResult = analyzer.analyze(content);
+        var analysisResult = analyzer.analyze(parsedSpec.openAPI());
         analysisResult.printSummary();
         
         return analysisResult;
@@ -247,6 +528,25 @@ public class OpenAPIService {
      */
     public record OpenAPIAnalysisWithSchemas(
         OpenAPIAnalyzer.AnalysisResult analysisResult,
-        Map<String, EndpointSchemas> endpointSchemas
+        Map<String, EndpointSchemas> endpointSchemas,
+        IngestionTimings timings
     ) {}
+
+    /**
+     * Result of the last ingestion of a saved spec, valid while content and settings match
+     */
+    private record RetainedIngestion(
+        String specHash,
+        String converterSettings,
+        boolean includeResponses,
+        OpenAPIAnalyzer.AnalysisResult analysis,
+        Map<String, EndpointSchemas> endpointSchemas
+    ) {
+
+        boolean matches(String specHash, String converterSettings, boolean includeResponses) {
+            return this.specHash.equals(specHash) 
+                && this.converterSettings.equals(converterSettings) 
+                && this.includeResponses == includeResponses;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,260 @@
+package com.twolinecloud.MCP_gateway.openapi.parser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import com.twolinecloud.MCP_gateway.config.RestClientConfig;
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIDownloader.DownloadOptions;
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIDownloader.OpenAPIDownloadException;
+
+class OpenAPIDownloaderTests {
+
+	private static final String SPEC = "{\"openapi\": \"3.0.3\", \"info\": {\"title\": \"pets\"}}";
+
+	private static final String LAST_MODIFIED = "Wed, 21 Oct 2015 07:28:00 GMT";
+
+	@TempDir
+	Path directory;
+
+	private HttpServer server;
+
+	private ExecutorService handlers;
+
+	private final List<Headers> requests = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Released when the test ends: stalled handlers wait on it
+	 */
+	private final CountDownLatch finished = new CountDownLatch(1);
+
+	@BeforeEach
+	void startServer() throws IOException {
+		handlers = Executors.newCachedThreadPool();
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.setExecutor(handlers);
+		server.start();
+	}
+
+	@AfterEach
+	void stopServer() {
+		finished.countDown();
+		server.stop(0);
+		handlers.shutdownNow();
+	}
+
+	@Test
+	void validatorsOfTheResponseAreReturned() {
+		serve("/spec.json", exchange -> {
+			exchange.getResponseHeaders().set("ETag", "\"v1\"");
+			exchange.getResponseHeaders().set("Last-Modified", LAST_MODIFIED);
+			send(exchange, 200, SPEC.getBytes(StandardCharsets.UTF_8));
+		});
+
+		StoredSpec stored = downloader().downloadSpecToFile(url("/spec.json"), directory, new DownloadOptions());
+
+		assertThat(stored.notModified()).isFalse();
+		assertThat(stored.etag()).isEqualTo("\"v1\"");
+		assertThat(stored.lastModified()).isEqualTo(LAST_MODIFIED);
+		assertThat(stored.sha256()).isEqualTo(OpenAPISpecParser.contentHash(SPEC));
+		assertThat(requests.get(0).getFirst("If-None-Match")).isNull();
+		assertThat(requests.get(0).getFirst("If-Modified-Since")).isNull();
+	}
+
+	@Test
+	void conditionalHeadersAreSentAndNotModifiedLeavesNoFile() throws IOException {
+		serve("/spec.json", exchange -> {
+			boolean current = "\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"));
+			send(exchange, current ? 304 : 200, current ? null : SPEC.getBytes(StandardCharsets.UTF_8));
+		});
+		DownloadOptions options = new DownloadOptions();
+		options.setIfNoneMatch("\"v1\"");
+		options.setIfModifiedSince(LAST_MODIFIED);
+
+		StoredSpec stored = downloader().downloadSpecToFile(url("/spec.json"), directory, options);
+
+		assertThat(requests.get(0).getFirst("If-None-Match")).isEqualTo("\"v1\"");
+		assertThat(requests.get(0).getFirst("If-Modified-Since")).isEqualTo(LAST_MODIFIED);
+		assertThat(stored.notModified()).isTrue();
+		assertThat(stored.path()).isNull();
+		// Validators the server did not repeat are carried over from the request
+		assertThat(stored.etag()).isEqualTo("\"v1\"");
+		assertThat(stored.lastModified()).isEqualTo(LAST_MODIFIED);
+		assertNoFilesLeft();
+	}
+
+	@Test
+	void newValidatorsOfANotModifiedResponseWin() {
+		serve("/spec.json", exchange -> {
+			exchange.getResponseHeaders().set("ETag", "\"v2\"");
+			send(exchange, 304, null);
+		});
+		DownloadOptions options = new DownloadOptions();
+		options.setIfNoneMatch("\"v1\"");
+		options.setIfModifiedSince(LAST_MODIFIED);
+
+		StoredSpec stored = downloader().downloadSpecToFile(url("/spec.json"), directory, options);
+
+		assertThat(stored.notModified()).isTrue();
+		assertThat(stored.etag()).isEqualTo("\"v2\"");
+		assertThat(stored.lastModified()).isEqualTo(LAST_MODIFIED);
+		assertThat(stored.transferredBytes()).isZero();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"gzip", "deflate"})
+	void encodedBodyIsStoredDecoded(String encoding) throws IOException {
+		String spec = SPEC.repeat(100);
+		byte[] encoded = encode(spec.getBytes(StandardCharsets.UTF_8), encoding);
+		serve("/spec.json", exchange -> {
+			exchange.getResponseHeaders().set("Content-Encoding", encoding);
+			send(exchange, 200, encoded);
+		});
+
+		StoredSpec stored = downloader().downloadSpecToFile(url("/spec.json"), directory, new DownloadOptions());
+
+		assertThat(requests.get(0).getFirst("Accept-Encoding")).isEqualTo("gzip, deflate");
+		assertThat(stored.readString()).isEqualTo(spec);
+		assertThat(stored.size()).isEqualTo(spec.length());
+		assertThat(stored.transferredBytes()).isEqualTo(encoded.length).isLessThan(spec.length());
+		assertThat(stored.sha256()).isEqualTo(OpenAPISpecParser.contentHash(spec));
+	}
+
+	@Test
+	void unknownEncodingIsRejected() throws IOException {
+		serve("/spec.json", exchange -> {
+			exchange.getResponseHeaders().set("Content-Encoding", "br");
+			send(exchange, 200, SPEC.getBytes(StandardCharsets.UTF_8));
+		});
+
+		assertThatThrownBy(() -> downloader().downloadSpecToFile(url("/spec.json"), directory, new DownloadOptions()))
+			.isInstanceOf(OpenAPIDownloadException.class)
+			.hasMessageContaining("br");
+		assertNoFilesLeft();
+	}
+
+	@Test
+	void declaredLengthOverTheLimitIsRejectedBeforeReading() throws IOException {
+		serve("/spec.json", exchange -> send(exchange, 200, SPEC.getBytes(StandardCharsets.UTF_8)));
+		DownloadOptions options = new DownloadOptions();
+		options.setMaxSize(10L);
+
+		assertThatThrownBy(() -> downloader().downloadSpecToFile(url("/spec.json"), directory, options))
+			.isInstanceOf(OpenAPIDownloadException.class)
+			.hasMessageContaining(SPEC.length() + " > 10 bytes");
+		assertNoFilesLeft();
+	}
+
+	@Test
+	void decodedSizeOverTheLimitIsRejected() throws IOException {
+		// Small on the wire, large once decoded
+		byte[] bomb = encode(new byte[1024 * 1024], "gzip");
+		serve("/spec.json", exchange -> {
+			exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+			send(exchange, 200, bomb);
+		});
+		DownloadOptions options = new DownloadOptions();
+		options.setMaxSize(64L * 1024);
+
+		assertThatThrownBy(() -> downloader().downloadSpecToFile(url("/spec.json"), directory, options))
+			.isInstanceOf(OpenAPIDownloadException.class)
+			.hasMessageContaining("> 65536 bytes");
+		assertNoFilesLeft();
+	}
+
+	@Test
+	void stalledBodyFailsAtTheDeadline() throws IOException {
+		serve("/spec.json", exchange -> {
+			exchange.getResponseHeaders().set("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, SPEC.length());
+			OutputStream out = exchange.getResponseBody();
+			out.write(SPEC.getBytes(StandardCharsets.UTF_8), 0, 10);
+			out.flush();
+			try {
+				finished.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		DownloadOptions options = new DownloadOptions();
+		options.setTimeout(Duration.ofSeconds(1));
+
+		long start = System.nanoTime();
+		assertThatThrownBy(() -> downloader().downloadSpecToFile(url("/spec.json"), directory, options))
+			.isInstanceOf(OpenAPIDownloadException.class)
+			.hasMessageContaining("시간 초과");
+		assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(10));
+		assertNoFilesLeft();
+	}
+
+	private void assertNoFilesLeft() throws IOException {
+		try (var files = Files.list(directory)) {
+			assertThat(files).isEmpty();
+		}
+	}
+
+	private static byte[] encode(byte[] content, String encoding) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (OutputStream out = encoding.equals("gzip") ? new GZIPOutputStream(bytes) : new DeflaterOutputStream(bytes)) {
+			out.write(content);
+		}
+		return bytes.toByteArray();
+	}
+
+	private OpenAPIDownloader downloader() {
+		RestClientConfig config = new RestClientConfig();
+		return new OpenAPIDownloader(config.restClient(config.httpClient()), config.httpClient());
+	}
+
+	private void serve(String path, HttpHandler handler) {
+		server.createContext(path, exchange -> {
+			requests.add(exchange.getRequestHeaders());
+			try (exchange) {
+				handler.handle(exchange);
+			}
+		});
+	}
+
+	private String url(String path) {
+		return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+	}
+
+	private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+		if (body == null) {
+			exchange.sendResponseHeaders(status, -1);
+			return;
+		}
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, body.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(body);
+		}
+	}
+}
@@ -0,0 +1,134 @@
+package com.twolinecloud.MCP_gateway.openapi.parser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class OpenAPIFileManagerTests {
+
+	private static final String SPEC = "{\"openapi\": \"3.0.3\", \"info\": {\"title\": \"pets\"}}";
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void validatorsAreKeptInASidecar() {
+		OpenAPIFileManager fileManager = fileManager();
+		String saved = fileManager.saveSpec(SPEC, "pets");
+		SpecValidators validators = new SpecValidators("https://example.com/pets.json", saved,
+			"\"v1\"", "Wed, 21 Oct 2015 07:28:00 GMT", OpenAPISpecParser.contentHash(SPEC));
+
+		fileManager.saveValidators("pets", validators);
+
+		assertThat(Files.exists(directory.resolve("pets.validators.json"))).isTrue();
+		assertThat(fileManager().readValidators("pets")).contains(validators);
+		assertThat(validators.hasValidators()).isTrue();
+	}
+
+	@Test
+	void savedValidatorsReplaceThePreviousOnes() {
+		OpenAPIFileManager fileManager = fileManager();
+		String saved = fileManager.saveSpec(SPEC, "pets");
+		fileManager.saveValidators("pets", new SpecValidators("https://example.com/pets.json", saved, "\"v1\"", null, "a"));
+
+		SpecValidators second = new SpecValidators("https://example.com/pets.json", saved, null, null, "b");
+		fileManager.saveValidators("pets", second);
+
+		assertThat(fileManager.readValidators("pets")).contains(second);
+		assertThat(second.hasValidators()).isFalse();
+		try (var files = Files.list(directory)) {
+			assertThat(files.map(Path::getFileName).map(Path::toString)).noneMatch(name -> name.endsWith(".tmp"));
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	@Test
+	void missingSidecarOrSpecHasNoValidators() {
+		OpenAPIFileManager fileManager = fileManager();
+
+		assertThat(fileManager.readValidators("pets")).isEmpty();
+
+		// The sidecar outlived its spec: a 304 would have nothing to reuse
+		fileManager.saveValidators("pets", new SpecValidators("https://example.com/pets.json", "pets.json", "\"v1\"", null, "a"));
+		assertThat(fileManager.readValidators("pets")).isEmpty();
+	}
+
+	@Test
+	void unreadableSidecarHasNoValidators() throws IOException {
+		OpenAPIFileManager fileManager = fileManager();
+		fileManager.saveSpec(SPEC, "pets");
+		Files.writeString(directory.resolve("pets.validators.json"), "{\"url\": ");
+
+		assertThat(fileManager.readValidators("pets")).isEmpty();
+	}
+
+	@Test
+	void concurrentSavesNeverIndexADeletedBlob() throws Exception {
+		OpenAPIFileManager fileManager = fileManager();
+		String other = SPEC.replace("pets", "dogs");
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			for (int i = 0; i < 100; i++) {
+				fileManager.saveSpec(SPEC, "a.json");
+				List<Future<String>> saves = new ArrayList<>();
+				// "a" moves off the shared blob while "b" starts using it
+				saves.add(executor.submit(() -> fileManager.saveSpec(other, "a.json")));
+				saves.add(executor.submit(() -> fileManager.saveSpec(SPEC, "b.json")));
+				for (Future<String> save : saves) {
+					save.get();
+				}
+
+				assertThat(fileManager.readSpec("a.json")).isEqualTo(other);
+				assertThat(fileManager.readSpec("b.json")).isEqualTo(SPEC);
+				fileManager.saveSpec(other, "b.json");
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		try (var files = Files.walk(directory)) {
+			assertThat(files.map(Path::getFileName).map(Path::toString)).noneMatch(name -> name.endsWith(".tmp"));
+		}
+	}
+
+	@Test
+	void storedAndPlainSpecsAreParsedFromTheirMappedBytes() throws IOException {
+		OpenAPIFileManager fileManager = fileManager();
+		String json = "{\"openapi\": \"3.0.3\", \"info\": {\"title\": \"pets\", \"version\": \"1\"}, \"paths\": {}}";
+		String yaml = "openapi: 3.0.3\ninfo:\n  title: dogs\n  version: '1'\npaths: {}\n";
+		String stored = fileManager.saveSpec(json, "pets");
+		// Plain file saved before the blob store
+		Files.writeString(directory.resolve("dogs.yaml"), yaml);
+		OpenAPISpecParser parser = new OpenAPISpecParser();
+
+		assertThat(fileManager.readSpec(stored)).isEqualTo(json);
+		assertThat(fileManager.readSpec("dogs.yaml")).isEqualTo(yaml);
+		try (InputStream in = fileManager.openSpec(stored)) {
+			assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(json);
+		}
+		assertThat(fileManager.getContentHash("dogs.yaml")).isEqualTo(OpenAPISpecParser.contentHash(yaml));
+		assertThat(parser.parse(() -> fileManager.openSpec(stored), fileManager.getContentHash(stored)).openAPI().getInfo().getTitle())
+			.isEqualTo("pets");
+		assertThat(parser.parse(() -> fileManager.openSpec("dogs.yaml"), fileManager.getContentHash("dogs.yaml")).openAPI().getInfo().getTitle())
+			.isEqualTo("dogs");
+	}
+
+	private OpenAPIFileManager fileManager() {
+		OpenAPIFileManager fileManager = new OpenAPIFileManager();
+		ReflectionTestUtils.setField(fileManager, "storageDirectory", directory.toString());
+		return fileManager;
+	}
+}
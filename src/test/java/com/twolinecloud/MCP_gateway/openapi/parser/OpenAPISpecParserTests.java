@@ -0,0 +1,175 @@
+package com.twolinecloud.MCP_gateway.openapi.parser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer.OpenAPIAnalysisException;
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPISpecParser.ParsedSpec;
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPISpecParser.SpecSource;
+
+class OpenAPISpecParserTests {
+
+	private static final String JSON = """
+		{
+		  "openapi": "3.0.3",
+		  "info": {"title": "pets", "version": "1"},
+		  "paths": {
+		    "/pets": {
+		      "get": {"operationId": "listPets", "responses": {"200": {"description": "ok"}}}
+		    }
+		  },
+		  "components": {"schemas": {"Pet": {"type": "object", "required": ["name"],
+		    "properties": {"name": {"type": "string"}}}}}
+		}
+		""";
+
+	private static final String YAML = """
+		openapi: 3.1.0
+		info:
+		  title: pets
+		  version: "1"
+		paths:
+		  /pets:
+		    get:
+		      operationId: listPets
+		      responses:
+		        "200":
+		          description: ok
+		components:
+		  schemas:
+		    Pet:
+		      type: object
+		      required: [name]
+		      properties:
+		        name:
+		          type: string
+		""";
+
+	private static final String SWAGGER = """
+		{
+		  "swagger": "2.0",
+		  "info": {"title": "pets", "version": "1"},
+		  "paths": {
+		    "/pets": {
+		      "get": {"operationId": "listPets", "responses": {"200": {"description": "ok"}}}
+		    }
+		  },
+		  "definitions": {"Pet": {"type": "object", "required": ["name"],
+		    "properties": {"name": {"type": "string"}}}}
+		}
+		""";
+
+	@ParameterizedTest
+	@ValueSource(strings = {JSON, YAML, SWAGGER})
+	void bytesAreParsedLikeText(String spec) {
+		ParsedSpec fromText = new OpenAPISpecParser().parse(spec);
+		ParsedSpec fromBytes = new OpenAPISpecParser().parse(source(spec, new AtomicInteger()), fromText.contentHash());
+
+		assertThat(fromBytes.detectedVersion()).isEqualTo(fromText.detectedVersion());
+		assertThat(fromBytes.openAPI().getInfo().getTitle()).isEqualTo("pets");
+		assertThat(fromBytes.openAPI().getPaths()).containsOnlyKeys("/pets");
+		assertThat(fromBytes.openAPI().getPaths().get("/pets").getGet().getOperationId()).isEqualTo("listPets");
+		assertThat(fromBytes.openAPI().getComponents().getSchemas()).containsOnlyKeys("Pet");
+		assertThat(fromBytes.openAPI().getComponents().getSchemas().get("Pet").getRequired()).containsExactly("name");
+	}
+
+	@Test
+	void detectedVersionComesFromTheTree() {
+		OpenAPISpecParser parser = new OpenAPISpecParser();
+
+		assertThat(parser.parse(source(JSON, new AtomicInteger()), "a").detectedVersion()).isEqualTo("OpenAPI 3.0");
+		assertThat(parser.parse(source(YAML, new AtomicInteger()), "b").detectedVersion()).isEqualTo("OpenAPI 3.1");
+		assertThat(parser.parse(source(SWAGGER, new AtomicInteger()), "c").detectedVersion())
+			.isEqualTo("Swagger 2.0 (OpenAPI 2.0)");
+	}
+
+	@Test
+	void jsonAfterByteOrderMarkAndWhitespaceIsDetected() {
+		ParsedSpec parsed = new OpenAPISpecParser().parse(source("\uFEFF\n  " + JSON, new AtomicInteger()), "bom");
+
+		assertThat(parsed.openAPI().getPaths()).containsOnlyKeys("/pets");
+	}
+
+	@Test
+	void cachedModelIsReusedWithoutOpeningTheSource() {
+		OpenAPISpecParser parser = new OpenAPISpecParser();
+		AtomicInteger opened = new AtomicInteger();
+		String hash = OpenAPISpecParser.contentHash(YAML);
+
+		ParsedSpec first = parser.parse(source(YAML, opened), hash);
+		ParsedSpec second = parser.parse(source(YAML, opened), hash);
+
+		assertThat(second).isSameAs(first);
+		assertThat(opened.get()).isEqualTo(1);
+		// Same content parsed from text hits the same entry
+		assertThat(parser.parse(YAML)).isSameAs(first);
+	}
+
+	@Test
+	void leastRecentlyUsedModelIsEvicted() {
+		OpenAPISpecParser parser = new OpenAPISpecParser();
+		ReflectionTestUtils.setField(parser, "cacheSize", 2);
+		AtomicInteger opened = new AtomicInteger();
+
+		parser.parse(source(JSON, opened), "json");
+		parser.parse(source(YAML, opened), "yaml");
+		parser.parse(source(JSON, opened), "json");
+		parser.parse(source(SWAGGER, opened), "swagger");
+		assertThat(opened.get()).isEqualTo(3);
+
+		parser.parse(source(JSON, opened), "json");
+		assertThat(opened.get()).isEqualTo(3);
+		parser.parse(source(YAML, opened), "yaml");
+		assertThat(opened.get()).isEqualTo(4);
+	}
+
+	@Test
+	void zeroCacheSizeDisablesTheCache() {
+		OpenAPISpecParser parser = new OpenAPISpecParser();
+		ReflectionTestUtils.setField(parser, "cacheSize", 0);
+		AtomicInteger opened = new AtomicInteger();
+
+		parser.parse(source(JSON, opened), "json");
+		parser.parse(source(JSON, opened), "json");
+
+		assertThat(opened.get()).isEqualTo(2);
+	}
+
+	@Test
+	void clearedCacheParsesAgain() {
+		OpenAPISpecParser parser = new OpenAPISpecParser();
+		AtomicInteger opened = new AtomicInteger();
+
+		parser.parse(source(JSON, opened), "json");
+		parser.clearCache();
+		parser.parse(source(JSON, opened), "json");
+
+		assertThat(opened.get()).isEqualTo(2);
+	}
+
+	@Test
+	void invalidContentIsRejected() {
+		OpenAPISpecParser parser = new OpenAPISpecParser();
+
+		assertThatThrownBy(() -> parser.parse(source("[1, 2]", new AtomicInteger()), "array"))
+			.isInstanceOf(OpenAPIAnalysisException.class);
+		assertThatThrownBy(() -> parser.parse(source("{\"openapi\": ", new AtomicInteger()), "truncated"))
+			.isInstanceOf(OpenAPIAnalysisException.class);
+	}
+
+	private static SpecSource source(String spec, AtomicInteger opened) {
+		return () -> {
+			opened.incrementAndGet();
+			return new ByteArrayInputStream(spec.getBytes(StandardCharsets.UTF_8));
+		};
+	}
+}
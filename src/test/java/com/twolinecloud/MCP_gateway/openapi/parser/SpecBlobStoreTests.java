@@ -0,0 +1,95 @@
+package com.twolinecloud.MCP_gateway.openapi.parser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SpecBlobStoreTests {
+
+	private static final String SPEC = "{\"openapi\": \"3.0.3\", \"info\": {\"title\": \"pets\"}}";
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void stagedBlobIsOnlyVisibleOnceCommitted() throws IOException {
+		SpecBlobStore blobs = new SpecBlobStore(directory);
+		String hash = OpenAPISpecParser.contentHash(SPEC);
+
+		Path staged = blobs.stage(hash, content(SPEC));
+
+		assertThat(blobs.contains(hash)).isFalse();
+		long size = blobs.commit(hash, staged);
+		assertThat(blobs.contains(hash)).isTrue();
+		assertThat(size).isEqualTo(Files.size(blobs.path(hash)));
+		assertThat(staged).doesNotExist();
+	}
+
+	@Test
+	void committingAStoredBlobDropsTheStagedFile() throws IOException {
+		SpecBlobStore blobs = new SpecBlobStore(directory);
+		String hash = OpenAPISpecParser.contentHash(SPEC);
+		blobs.commit(hash, blobs.stage(hash, content(SPEC)));
+		long modified = Files.getLastModifiedTime(blobs.path(hash)).toMillis();
+
+		Path staged = blobs.stage(hash, content(SPEC));
+		long size = blobs.commit(hash, staged);
+
+		assertThat(staged).doesNotExist();
+		assertThat(size).isEqualTo(blobs.size(hash));
+		assertThat(Files.getLastModifiedTime(blobs.path(hash)).toMillis()).isEqualTo(modified);
+		try (var files = Files.list(blobs.path(hash).getParent())) {
+			assertThat(files).containsExactly(blobs.path(hash));
+		}
+	}
+
+	@Test
+	void closedMappedStreamIsUnmappedAndLetsTheFileGo() throws IOException {
+		Path file = directory.resolve("pets.json");
+		Files.writeString(file, SPEC);
+
+		InputStream in = SpecBlobStore.map(file);
+		assertThat(in.available()).isEqualTo(SPEC.length());
+		assertThat(in.read()).isEqualTo('{');
+		in.close();
+		in.close();
+
+		assertThatThrownBy(in::read).isInstanceOf(IOException.class).hasMessage("Stream closed");
+		assertThatThrownBy(() -> in.read(new byte[8], 0, 8)).isInstanceOf(IOException.class);
+		Files.delete(file);
+		assertThat(file).doesNotExist();
+	}
+
+	@Test
+	void gzipBlobIsInflatedThroughTheMapping() throws IOException {
+		SpecBlobStore blobs = new SpecBlobStore(directory);
+		String spec = SPEC.repeat(10_000);
+		String hash = OpenAPISpecParser.contentHash(spec);
+		blobs.commit(hash, blobs.stage(hash, content(spec)));
+
+		byte[] stored = Files.readAllBytes(blobs.path(hash));
+		assertThat(stored[0] & 0xFF).isEqualTo(0x1f);
+		assertThat(stored[1] & 0xFF).isEqualTo(0x8b);
+		assertThat(stored.length).isLessThan(spec.length() / 10);
+
+		try (InputStream in = blobs.open(hash)) {
+			assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(spec);
+		}
+		// Closing the inflater unmapped the blob
+		blobs.delete(hash);
+		assertThat(blobs.contains(hash)).isFalse();
+	}
+
+	private static InputStream content(String spec) {
+		return new ByteArrayInputStream(spec.getBytes(StandardCharsets.UTF_8));
+	}
+}
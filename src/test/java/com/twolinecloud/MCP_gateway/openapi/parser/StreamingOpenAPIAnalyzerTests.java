@@ -0,0 +1,205 @@
+package com.twolinecloud.MCP_gateway.openapi.parser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer.AnalysisResult;
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer.EndpointInfo;
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer.SchemaInfo;
+import com.twolinecloud.MCP_gateway.openapi.parser.StreamingOpenAPIAnalyzer.StreamingAnalysis;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+class StreamingOpenAPIAnalyzerTests {
+
+	/**
+	 * Fixture for both 3.0 and 3.1: %s is the openapi version, %s the exclusive bounds of Weight
+	 */
+	private static final String SPEC = """
+		{
+		  "openapi": "%s",
+		  "info": {"title": "pets", "version": "1"},
+		  "paths": {
+		    "/pets": {
+		      "post": {
+		        "operationId": "createPet",
+		        "tags": ["pets"],
+		        "parameters": [
+		          {"$ref": "#/components/parameters/Limit"},
+		          {"name": "trace", "in": "header", "schema": {"type": "boolean", "enum": [true]}}
+		        ],
+		        "requestBody": {"content": {
+		          "text/plain": {"schema": {"type": "string"}},
+		          "application/json": {"schema": {"$ref": "#/components/schemas/Pet"}}
+		        }},
+		        "responses": {
+		          "201": {"description": "created", "content": {"application/json": {"schema": {
+		            "$ref": "#/components/schemas/Pet", "description": "the created pet"}}}},
+		          "400": {"$ref": "#/components/responses/BadRequest"},
+		          "204": {"description": "no content"}
+		        }
+		      },
+		      "get": {
+		        "operationId": "listPets",
+		        "parameters": [{"name": "status", "in": "query", "required": true,
+		          "schema": {"type": "string", "enum": ["available", "sold"]}}],
+		        "responses": {"200": {"description": "ok", "content": {"application/json": {"schema": {
+		          "type": "array", "items": {"$ref": "#/components/schemas/Pet"}}}}}}
+		      }
+		    },
+		    "/pets/{id}": {
+		      "delete": {
+		        "parameters": [{"name": "id", "in": "path", "required": true,
+		          "schema": {"type": "integer", "format": "int64", "minimum": 1}}],
+		        "responses": {"204": {"description": "deleted"}}
+		      }
+		    }
+		  },
+		  "components": {
+		    "parameters": {
+		      "Limit": {"name": "limit", "in": "query", "schema": {"type": "integer", "maximum": 100}}
+		    },
+		    "responses": {
+		      "BadRequest": {"description": "bad", "content": {"application/json": {"schema": {"type": "object"}}}}
+		    },
+		    "schemas": {
+		      "Pet": {
+		        "type": "object",
+		        "required": ["name"],
+		        "properties": {
+		          "name": {"type": "string", "minLength": 1, "maxLength": 20, "pattern": "^[a-z]+$"},
+		          "weight": {"$ref": "#/components/schemas/Weight"},
+		          "category": {"$ref": "#/components/schemas/Category", "description": "sibling of $ref"},
+		          "tags": {"type": "array", "items": {"type": "string"}, "minItems": 1, "uniqueItems": true},
+		          "attributes": {"type": "object", "additionalProperties": {"type": "string"}},
+		          "legs": {"type": "integer", "format": "int32", "enum": [2, 4]},
+		          "ratio": {"type": "number", "enum": [0.5, 1, 2.25]},
+		          "code": {"type": "integer", "format": "int64", "enum": [1, 5000000000]},
+		          "status": {"type": "string", "enum": ["available", "sold"]},
+		          "children": {"type": "array", "items": {"$ref": "#/components/schemas/Pet"}}
+		        }
+		      },
+		      "Weight": %s,
+		      "Category": {"type": "object", "required": ["id"], "properties": {"id": {"type": "integer"}}},
+		      "Named": {"required": ["name"]},
+		      "Dog": {"allOf": [{"$ref": "#/components/schemas/Pet"},
+		        {"type": "object", "properties": {"bark": {"type": "boolean"}}}], "required": ["bark"]},
+		      "Animal": {"oneOf": [{"$ref": "#/components/schemas/Dog"}, {"$ref": "#/components/schemas/Category"}],
+		        "discriminator": {"propertyName": "kind", "mapping": {"dog": "#/components/schemas/Dog"}}},
+		      "Either": {"anyOf": [{"type": "string"}, {"type": "integer", "minimum": 0}]}
+		    }
+		  }
+		}
+		""";
+
+	private static final String WEIGHT_30 = """
+		{"type": "number", "minimum": 0, "exclusiveMinimum": true, "maximum": 50.5, "exclusiveMaximum": false}""";
+
+	private static final String WEIGHT_31 = """
+		{"type": ["number", "null"], "exclusiveMinimum": 0, "exclusiveMaximum": 50.5}""";
+
+	@ParameterizedTest
+	@ValueSource(strings = {"3.0.3", "3.1.0"})
+	void streamingMatchesModelAnalysis(String openapiVersion) {
+		String spec = SPEC.formatted(openapiVersion, openapiVersion.startsWith("3.1") ? WEIGHT_31 : WEIGHT_30);
+		OpenAPISpecParser parser = new OpenAPISpecParser();
+		OpenAPI openAPI = parser.parse(spec).openAPI();
+		AnalysisResult expected = new OpenAPIAnalyzer(parser).analyze(openAPI);
+
+		StreamingAnalysis streamed = new StreamingOpenAPIAnalyzer().analyze(spec).orElseThrow();
+		AnalysisResult actual = streamed.analysisResult();
+
+		assertThat(actual.apiTitle()).isEqualTo(expected.apiTitle());
+		assertThat(actual.apiVersion()).isEqualTo(expected.apiVersion());
+		assertThat(actual.endpoints()).extracting(endpoint -> endpoint.method() + " " + endpoint.path())
+			.containsExactly("GET /pets", "POST /pets", "DELETE /pets/{id}");
+		assertThat(actual.endpoints()).hasSameSizeAs(expected.endpoints());
+		for (int i = 0; i < expected.endpoints().size(); i++) {
+			assertSameEndpoint(actual.endpoints().get(i), expected.endpoints().get(i));
+		}
+
+		assertThat(streamed.components().names()).containsExactlyElementsOf(
+			openAPI.getComponents().getSchemas().keySet());
+		for (String name : streamed.components().names()) {
+			assertThat(streamed.components().get(name)).as("%s %s", openapiVersion, name)
+				.isEqualTo(OpenAPIAnalyzer.extractSchemaInfo(openAPI.getComponents().getSchemas().get(name)));
+		}
+	}
+
+	@Test
+	void siblingsOfRefAreKeptOnlyIn31() {
+		for (String version : List.of("3.0.3", "3.1.0")) {
+			String spec = SPEC.formatted(version, version.startsWith("3.1") ? WEIGHT_31 : WEIGHT_30);
+			SchemaInfo category = new StreamingOpenAPIAnalyzer().analyze(spec).orElseThrow()
+				.components().get("Pet").properties().get("category");
+
+			assertThat(category.ref()).isEqualTo("#/components/schemas/Category");
+			assertThat(category.description()).as(version)
+				.isEqualTo(version.startsWith("3.1") ? "sibling of $ref" : null);
+		}
+	}
+
+	@Test
+	void componentsAreReadAgainFromTheSourceByByteOffset() throws Exception {
+		// Non-ASCII text and a byte order mark: byte and character offsets differ
+		String spec = SPEC.formatted("3.0.3", WEIGHT_30).replace("\"pets\"", "\"펫 목록\"");
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		bytes.write(new byte[] {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF});
+		bytes.write(spec.getBytes(StandardCharsets.UTF_8));
+		byte[] content = bytes.toByteArray();
+		AtomicInteger opens = new AtomicInteger();
+
+		StreamingAnalysis streamed = new StreamingOpenAPIAnalyzer().analyze(() -> {
+			opens.incrementAndGet();
+			return new ByteArrayInputStream(content);
+		}).orElseThrow();
+		StreamingAnalysis fromString = new StreamingOpenAPIAnalyzer().analyze(spec).orElseThrow();
+
+		assertThat(streamed.analysisResult().apiTitle()).isEqualTo("펫 목록");
+		assertThat(opens.get()).isEqualTo(1);
+		for (String name : fromString.components().names()) {
+			assertThat(streamed.components().get(name)).as(name).isEqualTo(fromString.components().get(name));
+		}
+
+		opens.set(0);
+		Map<String, SchemaInfo> scanned = new LinkedHashMap<>();
+		streamed.components().scan(List.of("Either", "Category", "Missing", "Pet"), scanned::put);
+
+		assertThat(opens.get()).isEqualTo(1);
+		assertThat(scanned).containsOnlyKeys("Pet", "Category", "Either");
+		assertThat(new ArrayList<>(scanned.keySet())).containsExactly("Pet", "Category", "Either");
+		scanned.forEach((name, schema) ->
+			assertThat(schema).as(name).isEqualTo(fromString.components().get(name)));
+	}
+
+	@Test
+	void yamlAndSwaggerAreLeftToTheModelAnalyzer() {
+		StreamingOpenAPIAnalyzer analyzer = new StreamingOpenAPIAnalyzer();
+
+		assertThat(analyzer.analyze("openapi: 3.0.3\ninfo:\n  title: pets\n")).isEmpty();
+		assertThat(analyzer.analyze("{\"swagger\": \"2.0\", \"info\": {\"title\": \"pets\"}}")).isEmpty();
+		assertThat(analyzer.analyze("{\"paths\": {}, \"openapi\": \"3.1.0\"}")).isEmpty();
+	}
+
+	private static void assertSameEndpoint(EndpointInfo actual, EndpointInfo expected) {
+		String endpoint = expected.method() + " " + expected.path();
+		assertThat(actual.operationId()).as(endpoint).isEqualTo(expected.operationId());
+		assertThat(actual.tags()).as(endpoint).isEqualTo(expected.tags());
+		assertThat(actual.parameters()).as(endpoint).isEqualTo(expected.parameters());
+		assertThat(actual.requestBodySchema()).as(endpoint).isEqualTo(expected.requestBodySchema());
+		Map<String, SchemaInfo> responses = actual.responseSchemas();
+		assertThat(responses).as(endpoint).isEqualTo(expected.responseSchemas());
+	}
+}
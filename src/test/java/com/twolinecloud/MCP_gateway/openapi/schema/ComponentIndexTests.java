@@ -0,0 +1,160 @@
+package com.twolinecloud.MCP_gateway.openapi.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer.DiscriminatorInfo;
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer.SchemaInfo;
+
+class ComponentIndexTests {
+
+	@Test
+	void dependenciesComeBeforeDependents() {
+		Map<String, SchemaInfo> schemas = new LinkedHashMap<>();
+		schemas.put("A", object(Map.of("b", ref("B"))));
+		schemas.put("B", object(Map.of("c", array(ref("C")))));
+		schemas.put("C", object(Map.of()));
+
+		ComponentIndex index = index(schemas);
+
+		assertThat(index.getStronglyConnected()).containsExactly(List.of("C"), List.of("B"), List.of("A"));
+		assertThat(index.getLevels()).containsExactly(
+			List.of(List.of("C")), List.of(List.of("B")), List.of(List.of("A")));
+		assertThat(index.isCyclic(List.of("A"))).isFalse();
+	}
+
+	@Test
+	void selfReferenceIsACyclicSingleton() {
+		Map<String, SchemaInfo> schemas = new LinkedHashMap<>();
+		schemas.put("Node", object(Map.of("children", array(ref("Node")))));
+		schemas.put("Tree", object(Map.of("root", ref("Node"))));
+
+		ComponentIndex index = index(schemas);
+
+		assertThat(index.getStronglyConnected()).containsExactly(List.of("Node"), List.of("Tree"));
+		assertThat(index.isCyclic(List.of("Node"))).isTrue();
+		assertThat(index.isCyclic(List.of("Tree"))).isFalse();
+		assertThat(index.getLevels()).hasSize(2);
+	}
+
+	@Test
+	void mutualReferencesFormOneSccBelowItsDependents() {
+		Map<String, SchemaInfo> schemas = new LinkedHashMap<>();
+		schemas.put("A", object(Map.of("b", ref("B"), "leaf", ref("Leaf"))));
+		schemas.put("B", object(Map.of("c", ref("C"))));
+		schemas.put("C", object(Map.of("a", ref("A"))));
+		schemas.put("Leaf", object(Map.of()));
+		schemas.put("User", object(Map.of("b", ref("B"))));
+
+		ComponentIndex index = index(schemas);
+
+		List<List<String>> sccs = index.getStronglyConnected();
+		assertThat(sccs).hasSize(3);
+		assertThat(sccs.get(0)).containsExactly("Leaf");
+		assertThat(sccs.get(1)).containsExactlyInAnyOrder("A", "B", "C");
+		assertThat(sccs.get(2)).containsExactly("User");
+		assertThat(index.isCyclic(sccs.get(1))).isTrue();
+		assertThat(index.getLevels()).hasSize(3);
+	}
+
+	@Test
+	void independentSccsShareALevel() {
+		Map<String, SchemaInfo> schemas = new LinkedHashMap<>();
+		schemas.put("Owner", object(Map.of("pet", ref("Pet"), "address", ref("Address"))));
+		schemas.put("Pet", object(Map.of("tag", ref("Tag"))));
+		schemas.put("Address", object(Map.of()));
+		schemas.put("Tag", object(Map.of()));
+
+		ComponentIndex index = index(schemas);
+
+		assertThat(index.getLevels()).hasSize(3);
+		assertThat(index.getLevels().get(0)).containsExactlyInAnyOrder(List.of("Address"), List.of("Tag"));
+		assertThat(index.getLevels().get(1)).containsExactly(List.of("Pet"));
+		assertThat(index.getLevels().get(2)).containsExactly(List.of("Owner"));
+	}
+
+	@Test
+	void discriminatorMappingIsAnEdge() {
+		Map<String, SchemaInfo> schemas = new LinkedHashMap<>();
+		schemas.put("Animal", object(Map.of()).withComposition(null, null, null,
+			new DiscriminatorInfo("kind", Map.of("dog", "#/components/schemas/Dog", "cat", "Cat"))));
+		schemas.put("Dog", object(Map.of()).withComposition(List.of(ref("Animal")), null, null, null));
+		schemas.put("Cat", object(Map.of()));
+
+		ComponentIndex index = index(schemas);
+
+		assertThat(index.getDependencies("Animal")).containsExactlyInAnyOrder("Dog", "Cat");
+		assertThat(index.getStronglyConnected()).hasSize(2);
+		assertThat(index.getStronglyConnected().get(0)).containsExactly("Cat");
+		assertThat(index.getStronglyConnected().get(1)).containsExactlyInAnyOrder("Animal", "Dog");
+	}
+
+	@Test
+	void unresolvableReferencesAreNotEdges() {
+		Map<String, SchemaInfo> schemas = new LinkedHashMap<>();
+		schemas.put("A", object(Map.of("missing", ref("Missing"), "external", new SchemaInfo(
+			null, null, null, null, null, null, "other.yaml#/Pet"))));
+		schemas.put("Broken", null);
+
+		ComponentIndex index = new ComponentIndex(Set.of("A", "Broken"), schemas::get);
+
+		assertThat(index.size()).isEqualTo(1);
+		assertThat(index.getDependencies("A")).isEmpty();
+		assertThat(index.getStronglyConnected()).containsExactly(List.of("A"));
+	}
+
+	@Test
+	void eachSchemaIsResolvedOnce() {
+		Map<String, SchemaInfo> schemas = new LinkedHashMap<>();
+		schemas.put("A", object(Map.of("b", ref("B"))));
+		schemas.put("B", object(Map.of("a", ref("A"))));
+		Map<String, AtomicInteger> calls = new HashMap<>();
+
+		new ComponentIndex(schemas.keySet(), name -> {
+			calls.computeIfAbsent(name, k -> new AtomicInteger()).incrementAndGet();
+			return schemas.get(name);
+		});
+
+		assertThat(calls).containsOnlyKeys("A", "B");
+		assertThat(calls.values()).allSatisfy(count -> assertThat(count.get()).isEqualTo(1));
+	}
+
+	@Test
+	void deepChainDoesNotOverflowTheStack() {
+		int depth = 20_000;
+		Map<String, SchemaInfo> schemas = new HashMap<>();
+		for (int i = 0; i < depth; i++) {
+			schemas.put("S" + i, i + 1 < depth ? object(Map.of("next", ref("S" + (i + 1)))) : object(Map.of()));
+		}
+
+		ComponentIndex index = index(schemas);
+
+		assertThat(index.getStronglyConnected()).hasSize(depth);
+		assertThat(index.getLevels()).hasSize(depth);
+		assertThat(index.getLevels().get(0)).containsExactly(List.of("S" + (depth - 1)));
+	}
+
+	private static ComponentIndex index(Map<String, SchemaInfo> schemas) {
+		return new ComponentIndex(schemas.keySet(), schemas::get);
+	}
+
+	private static SchemaInfo object(Map<String, SchemaInfo> properties) {
+		return new SchemaInfo("object", null, properties, null, null, null);
+	}
+
+	private static SchemaInfo array(SchemaInfo items) {
+		return new SchemaInfo("array", null, null, items, null, null);
+	}
+
+	private static SchemaInfo ref(String name) {
+		return new SchemaInfo(null, null, null, null, null, null, "#/components/schemas/" + name);
+	}
+}
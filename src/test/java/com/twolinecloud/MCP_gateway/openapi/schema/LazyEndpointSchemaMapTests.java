@@ -0,0 +1,118 @@
+package com.twolinecloud.MCP_gateway.openapi.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer.EndpointInfo;
+
+class LazyEndpointSchemaMapTests {
+
+	private static final List<EndpointInfo> ENDPOINTS = List.of(
+		endpoint("GET", "/pets"),
+		endpoint("POST", "/pets"),
+		endpoint("DELETE", "/pets/{id}"));
+
+	@Test
+	void endpointIsConvertedOnFirstGetOnly() {
+		Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+		LazyEndpointSchemaMap map = new LazyEndpointSchemaMap(ENDPOINTS, counting(calls));
+
+		assertThat(map.keySet()).containsExactly("GET /pets", "POST /pets", "DELETE /pets/{id}");
+		assertThat(map.containsKey("POST /pets")).isTrue();
+		assertThat(map.getConvertedCount()).isZero();
+
+		EndpointSchemas first = map.get("POST /pets");
+		assertThat(map.get("POST /pets")).isSameAs(first);
+		assertThat(map.isConverted("POST /pets")).isTrue();
+		assertThat(map.isConverted("GET /pets")).isFalse();
+		assertThat(map.get("PUT /pets")).isNull();
+		assertThat(calls).containsOnlyKeys("POST /pets");
+		assertThat(calls.get("POST /pets").get()).isEqualTo(1);
+	}
+
+	@Test
+	void iterationConvertsEveryEndpointOnce() {
+		Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+		LazyEndpointSchemaMap map = new LazyEndpointSchemaMap(ENDPOINTS, counting(calls));
+		map.get("GET /pets");
+
+		assertThat(map.values()).extracting(EndpointSchemas::method).containsExactly("GET", "POST", "DELETE");
+		assertThat(map.getConvertedCount()).isEqualTo(3);
+		assertThat(calls.values()).allSatisfy(count -> assertThat(count.get()).isEqualTo(1));
+	}
+
+	@Test
+	void concurrentLookupsConvertOnce() throws Exception {
+		Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+		CountDownLatch converting = new CountDownLatch(1);
+		LazyEndpointSchemaMap map = new LazyEndpointSchemaMap(ENDPOINTS, endpoint -> {
+			try {
+				// Keep the first conversion running while the other threads arrive
+				converting.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return counting(calls).apply(endpoint);
+		});
+
+		int threads = 32;
+		CountDownLatch start = new CountDownLatch(threads);
+		List<Callable<EndpointSchemas>> tasks = new ArrayList<>();
+		for (int i = 0; i < threads; i++) {
+			String key = i % 2 == 0 ? "GET /pets" : "POST /pets";
+			tasks.add(() -> {
+				start.countDown();
+				start.await();
+				return map.get(key);
+			});
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<EndpointSchemas>> futures = new ArrayList<>();
+			for (Callable<EndpointSchemas> task : tasks) {
+				futures.add(executor.submit(task));
+			}
+			start.await();
+			converting.countDown();
+
+			List<EndpointSchemas> results = new ArrayList<>();
+			for (Future<EndpointSchemas> future : futures) {
+				results.add(future.get());
+			}
+
+			assertThat(calls.get("GET /pets").get()).isEqualTo(1);
+			assertThat(calls.get("POST /pets").get()).isEqualTo(1);
+			assertThat(calls).doesNotContainKey("DELETE /pets/{id}");
+			for (int i = 0; i < threads; i++) {
+				assertThat(results.get(i)).isSameAs(results.get(i % 2));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static Function<EndpointInfo, EndpointSchemas> counting(Map<String, AtomicInteger> calls) {
+		return endpoint -> {
+			calls.computeIfAbsent(endpoint.method() + " " + endpoint.path(), k -> new AtomicInteger()).incrementAndGet();
+			return new EndpointSchemas(endpoint.path(), endpoint.method(), List.of(), null, null);
+		};
+	}
+
+	private static EndpointInfo endpoint(String method, String path) {
+		return new EndpointInfo(path, method, null, null, null, List.of(), List.of(), null, Map.of());
+	}
+}
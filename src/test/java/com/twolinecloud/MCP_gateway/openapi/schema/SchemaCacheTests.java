@@ -0,0 +1,188 @@
+package com.twolinecloud.MCP_gateway.openapi.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.twolinecloud.MCP_gateway.openapi.schema.validator.ArrayValidator;
+import com.twolinecloud.MCP_gateway.openapi.schema.validator.IntegerValidator;
+import com.twolinecloud.MCP_gateway.openapi.schema.validator.ObjectValidator;
+import com.twolinecloud.MCP_gateway.openapi.schema.validator.ReferenceValidator;
+import com.twolinecloud.MCP_gateway.openapi.schema.validator.StringValidator;
+
+class SchemaCacheTests {
+
+	@Test
+	void weightCountsReachableNodesOnce() {
+		StringValidator name = new StringValidator(null, null);
+		ReferenceValidator next = new ReferenceValidator("Node");
+		Map<String, ValidationSchema> properties = new LinkedHashMap<>();
+		properties.put("name", name);
+		properties.put("alias", name);
+		properties.put("next", next);
+		properties.put("tags", new ArrayValidator(name, null));
+		ObjectValidator node = new ObjectValidator(properties, Set.of(), null);
+		next.bind(node);
+
+		// node, name, next, tags (the reference target is not followed)
+		assertThat(SchemaCache.estimateWeight(node)).isEqualTo(4);
+	}
+
+	@Test
+	void sharedComponentIsCountedByItsOwnEntryOnly() {
+		SchemaCache cache = new SchemaCache();
+		ObjectValidator category = category();
+		cache.putIfAbsent("spec", "#/components/schemas/Category", category, 0);
+		assertThat(weight(cache)).isEqualTo(3);
+
+		cache.putIfAbsent("spec", "#/components/schemas/Pet", pet(category), 0);
+		cache.putIfAbsent("spec", "createPet.requestBody", new ArrayValidator(pet(category), null), 0);
+
+		// Category 3 + Pet (object, id) 2 + body (array, object, id) 3
+		assertThat(weight(cache)).isEqualTo(8);
+		assertThat(cache.getStats().get("entries")).isEqualTo(3);
+	}
+
+	@Test
+	void sameRootUnderTwoKeysIsCountedOnce() {
+		SchemaCache cache = new SchemaCache();
+		ObjectValidator category = category();
+
+		cache.putIfAbsent("spec", "#/components/schemas/Category", category, 0);
+		cache.putIfAbsent("spec", "Category", category, 0);
+
+		assertThat(weight(cache)).isEqualTo(3);
+	}
+
+	@Test
+	void firstConversionWins() {
+		SchemaCache cache = new SchemaCache();
+		ObjectValidator first = category();
+
+		assertThat(cache.putIfAbsent("spec", "key", first, 0)).isSameAs(first);
+		assertThat(cache.putIfAbsent("spec", "key", category(), 0)).isSameAs(first);
+		assertThat(cache.get("spec", "key")).isSameAs(first);
+		assertThat(weight(cache)).isEqualTo(3);
+	}
+
+	@Test
+	void leastRecentlyUsedEntriesAreEvictedByCount() {
+		SchemaCache cache = new SchemaCache();
+		ReflectionTestUtils.setField(cache, "maxEntries", 10L);
+		for (int i = 0; i < 10; i++) {
+			cache.putIfAbsent("spec", "s" + i, new StringValidator(null, null), 0);
+		}
+		cache.get("spec", "s0");
+		cache.get("spec", "s1");
+
+		cache.putIfAbsent("spec", "s10", new StringValidator(null, null), 0);
+
+		// Evicted down to 90% of the limit, oldest access first
+		assertThat(cache.size("spec")).isEqualTo(9);
+		assertThat(cache.getEntries("spec")).containsKeys("s0", "s1", "s10");
+		assertThat(cache.getEntries("spec")).doesNotContainKeys("s2", "s3");
+		assertThat(cache.getStats().get("evictions")).isEqualTo(2L);
+		assertThat(weight(cache)).isEqualTo(9);
+	}
+
+	@Test
+	void leastRecentlyUsedEntriesAreEvictedByWeight() {
+		SchemaCache cache = new SchemaCache();
+		ReflectionTestUtils.setField(cache, "maxWeight", 10L);
+		cache.putIfAbsent("spec", "a", category(), 0);
+		cache.putIfAbsent("spec", "b", category(), 0);
+		cache.putIfAbsent("spec", "c", category(), 0);
+		cache.get("spec", "a");
+
+		cache.putIfAbsent("spec", "d", category(), 0);
+
+		// 12 > 10: evicted down to 9, oldest access first
+		assertThat(cache.getEntries("spec")).containsOnlyKeys("a", "c", "d");
+		assertThat(weight(cache)).isEqualTo(9);
+	}
+
+	@Test
+	void evictedComponentNoLongerHidesItsNodes() {
+		SchemaCache cache = new SchemaCache();
+		ObjectValidator category = category();
+		cache.putIfAbsent("spec", "#/components/schemas/Category", category, 0);
+		cache.evictSpec("spec");
+
+		cache.putIfAbsent("spec", "#/components/schemas/Pet", pet(category), 0);
+
+		assertThat(weight(cache)).isEqualTo(5);
+	}
+
+	@Test
+	void specsAreEvictedSeparately() {
+		SchemaCache cache = new SchemaCache();
+		cache.putIfAbsent("first", "a", category(), 0);
+		cache.putIfAbsent("second", "a", category(), 0);
+
+		assertThat(cache.evictSpec("first")).isEqualTo(1);
+
+		assertThat(cache.get("first", "a")).isNull();
+		assertThat(cache.get("second", "a")).isNotNull();
+		assertThat(weight(cache)).isEqualTo(3);
+
+		cache.clear();
+		assertThat(weight(cache)).isZero();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void statsListEverySpecHeaviestFirst() {
+		SchemaCache cache = new SchemaCache();
+		cache.putIfAbsent("light", "a", new StringValidator(null, null), 0);
+		cache.putIfAbsent("heavy", "a", category(), 0);
+		cache.putIfAbsent("heavy", "b", category(), 0);
+
+		Map<String, Map<String, Object>> bySpec = (Map<String, Map<String, Object>>) cache.getStats().get("bySpec");
+
+		assertThat(bySpec.keySet()).containsExactly("heavy", "light");
+		assertThat(bySpec.get("heavy")).containsEntry("entries", 2L).containsEntry("weight", 6L);
+		assertThat(bySpec.get("light")).containsEntry("entries", 1L).containsEntry("weight", 1L);
+
+		cache.evictSpec("heavy");
+		assertThat((Map<String, Object>) cache.getStats().get("bySpec")).containsOnlyKeys("light");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void clearIsNotCountedAsEviction() {
+		SchemaCache cache = new SchemaCache();
+		cache.putIfAbsent("spec", "a", category(), 0);
+		cache.putIfAbsent("spec", "b", category(), 0);
+
+		cache.clear();
+
+		Map<String, Object> stats = cache.getStats();
+		assertThat(stats.get("evictions")).isEqualTo(0L);
+		assertThat(stats.get("clears")).isEqualTo(1L);
+		assertThat(stats.get("clearedEntries")).isEqualTo(2L);
+		assertThat((Map<String, Object>) stats.get("bySpec")).isEmpty();
+	}
+
+	private static long weight(SchemaCache cache) {
+		return (long) cache.getStats().get("weight");
+	}
+
+	private static ObjectValidator category() {
+		Map<String, ValidationSchema> properties = new LinkedHashMap<>();
+		properties.put("id", new IntegerValidator(null, null));
+		properties.put("name", new StringValidator(null, null));
+		return new ObjectValidator(properties, Set.of("id"), null);
+	}
+
+	private static ObjectValidator pet(ObjectValidator category) {
+		Map<String, ValidationSchema> properties = new LinkedHashMap<>();
+		properties.put("id", new IntegerValidator(null, null));
+		properties.put("category", category);
+		return new ObjectValidator(properties, Set.of("id"), null);
+	}
+}
@@ -0,0 +1,175 @@
+package com.twolinecloud.MCP_gateway.openapi.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer;
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer.EndpointInfo;
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPISpecParser;
+import com.twolinecloud.MCP_gateway.openapi.parser.StreamingOpenAPIAnalyzer;
+import com.twolinecloud.MCP_gateway.openapi.schema.compiler.SchemaCompiler;
+import com.twolinecloud.MCP_gateway.openapi.schema.validator.ArrayValidator;
+import com.twolinecloud.MCP_gateway.openapi.schema.validator.ObjectValidator;
+import com.twolinecloud.MCP_gateway.openapi.schema.validator.ReferenceValidator;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+class SchemaConverterTests {
+
+	private static final String BASE = """
+		"Base": {
+		  "type": "object",
+		  "properties": {"id": {"type": "integer"}, "name": {"type": "string"}}
+		}
+		""";
+
+	private static final String NODE = """
+		"Node": {
+		  "type": "object",
+		  "required": ["value"],
+		  "properties": {
+		    "value": {"type": "integer"},
+		    "children": {"type": "array", "items": {"$ref": "#/components/schemas/Node"}}
+		  }
+		}
+		""";
+
+	@Test
+	void allOfPartWithOnlyRequiredIsMerged() {
+		assertRequiresName("""
+			{"allOf": [{"$ref": "#/components/schemas/Base"}, {"required": ["name"]}]}
+			""");
+	}
+
+	@Test
+	void ownRequiredNextToAllOfIsKept() {
+		assertRequiresName("""
+			{"required": ["name"], "allOf": [{"$ref": "#/components/schemas/Base"}]}
+			""");
+	}
+
+	@Test
+	void objectWithRequiredButNoPropertiesKeepsRequired() {
+		assertRequiresName("""
+			{"type": "object", "required": ["name"]}
+			""");
+	}
+
+	@Test
+	void recursiveReferenceIsBoundToConvertedTarget() {
+		ValidationSchema body = convertBody("{\"$ref\": \"#/components/schemas/Node\"}", NODE);
+
+		ObjectValidator node = (ObjectValidator) body;
+		ArrayValidator children = (ArrayValidator) node.getPropertySchema("children");
+		ReferenceValidator reference = (ReferenceValidator) children.getItemsSchema();
+		assertThat(reference.getTarget()).isSameAs(node);
+
+		Map<String, Object> tree = Map.of("value", 1, "children", List.of(
+			Map.of("value", 2, "children", List.of(
+				Map.of("value", 3),
+				Map.of("value", "four")))));
+
+		ValidationResult result = body.validate(tree);
+		assertThat(result.isValid()).isFalse();
+		assertThat(result.getErrors().get(0).getFieldPath()).isEqualTo("children[0].children[1].value");
+
+		ValidationResult missing = body.validate(Map.of("value", 1, "children", List.of(Map.of("children", List.of()))));
+		assertThat(missing.getErrors().get(0).getErrorCode()).isEqualTo("required");
+		assertThat(missing.getErrors().get(0).getFieldPath()).isEqualTo("children[0].value");
+	}
+
+	@Test
+	void discriminatorWithInlineBranchValidatesEveryBranch() {
+		ValidationSchema body = convertBody("""
+			{"anyOf": [
+			  {"$ref": "#/components/schemas/Base"},
+			  {"type": "object", "required": ["kind", "size"],
+			   "properties": {"kind": {"type": "string"}, "size": {"type": "integer"}}}],
+			 "discriminator": {"propertyName": "kind"}}
+			""", BASE);
+
+		assertThat(body.validate(Map.of("kind", "Base", "id", 1)).isValid()).isTrue();
+		// The inline branch has no discriminator value but must stay reachable
+		assertThat(body.validate(Map.of("kind", "small", "size", 1)).isValid()).isTrue();
+		assertThat(body.validate(Map.of("kind", "small", "id", "x")).isValid()).isFalse();
+	}
+
+	@Test
+	void modelComponentSchemasAreExtractedOnce() {
+		OpenAPI openAPI = new OpenAPISpecParser().parse(spec("{\"$ref\": \"#/components/schemas/Node\"}", NODE + "," + BASE)).openAPI();
+		ConversionContext context = converter().createContext("memo", openAPI);
+
+		context.getComponentIndex();
+		var node = context.getComponentSchema("Node");
+
+		assertThat(node).isNotNull();
+		assertThat(context.getComponentSchema("Node")).isSameAs(node);
+		assertThat(context.getComponentSchema("Base")).isSameAs(context.getComponentSchema("Base"));
+		assertThat(context.getComponentSchema("Missing")).isNull();
+	}
+
+	/**
+	 * Tree and streaming analyzer must both keep "name" required
+	 */
+	private static void assertRequiresName(String bodySchema) {
+		assertRequiresName(convertBody(bodySchema, BASE));
+		assertRequiresName(convertStreaming(bodySchema, BASE));
+	}
+
+	private static void assertRequiresName(ValidationSchema body) {
+		assertThat(body.validate(Map.of("id", 1, "name", "rex")).isValid()).isTrue();
+
+		ValidationResult result = body.validate(Map.of("id", 1));
+		assertThat(result.isValid()).isFalse();
+		assertThat(result.getErrors().get(0).getErrorCode()).isEqualTo("required");
+		assertThat(result.getErrors().get(0).getFieldPath()).isEqualTo("name");
+	}
+
+	/**
+	 * Convert the request body schema of a one-endpoint spec
+	 */
+	private static ValidationSchema convertBody(String bodySchema, String components) {
+		OpenAPISpecParser parser = new OpenAPISpecParser();
+		OpenAPI openAPI = parser.parse(spec(bodySchema, components)).openAPI();
+		EndpointInfo endpoint = new OpenAPIAnalyzer(parser).analyze(openAPI).endpoints().get(0);
+		SchemaConverter converter = converter();
+		return converter.convertRequestBody(
+			converter.createContext("tree", openAPI), endpoint.requestBodySchema(), true, "createPet").schema();
+	}
+
+	private static ValidationSchema convertStreaming(String bodySchema, String components) {
+		var streamed = new StreamingOpenAPIAnalyzer().analyze(spec(bodySchema, components)).orElseThrow();
+		var schemas = streamed.components();
+		SchemaConverter converter = converter();
+		return converter.convertRequestBody(
+			converter.createContext("streaming", schemas.names(), schemas::get),
+			streamed.analysisResult().endpoints().get(0).requestBodySchema(), true, "createPet").schema();
+	}
+
+	private static SchemaConverter converter() {
+		return new SchemaConverter(new SchemaCompiler(), new ValidatorInterner(), new SchemaCache());
+	}
+
+	private static String spec(String bodySchema, String components) {
+		return """
+			{
+			  "openapi": "3.0.3",
+			  "info": {"title": "test", "version": "1"},
+			  "paths": {
+			    "/pets": {
+			      "post": {
+			        "operationId": "createPet",
+			        "requestBody": {"content": {"application/json": {"schema": %s}}},
+			        "responses": {"200": {"description": "ok"}}
+			      }
+			    }
+			  },
+			  "components": {"schemas": {%s}}
+			}
+			""".formatted(bodySchema, components);
+	}
+}
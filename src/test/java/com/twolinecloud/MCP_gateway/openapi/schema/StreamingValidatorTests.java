@@ -0,0 +1,222 @@
+package com.twolinecloud.MCP_gateway.openapi.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.twolinecloud.MCP_gateway.openapi.schema.compiler.SchemaCompiler;
+import com.twolinecloud.MCP_gateway.openapi.schema.validator.*;
+
+class StreamingValidatorTests {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+		"{\"id\": 1, \"name\": \"rex\", \"category\": {\"id\": 2, \"name\": \"dog\"}, \"tags\": [\"a\", \"b\"]}",
+		"{\"id\": 1, \"name\": \"rex\", \"category\": {\"id\": 2, \"name\": 7}}",
+		"{\"id\": 1, \"name\": \"rex\", \"tags\": [\"a\", 3, \"c\"]}",
+		"{\"id\": \"x\", \"category\": {\"id\": 2}}",
+		"{\"id\": 1, \"name\": null}",
+		"{\"id\": 1, \"name\": \"rex\", \"owner\": \"bob\"}",
+		"{\"id\": 1, \"name\": \"rex\", \"tags\": []}",
+		"{\"id\": 1, \"name\": \"rex\", \"tags\": [\"a\", \"b\", \"c\", \"d\"]}",
+		"{\"id\": 1, \"name\": \"rex\", \"tags\": [1, \"b\", \"c\", \"d\"]}",
+		"{\"category\": {\"id\": 2, \"name\": 7}, \"id\": 1}",
+		"{\"id\": 1, \"owner\": {\"a\": [1]}, \"name\": \"rex\"}",
+		"\"rex\""
+	})
+	void streamingMatchesTreeValidation(String json) throws Exception {
+		ValidationSchema schema = petSchema();
+
+		ValidationResult tree = schema.validate(MAPPER.readValue(json, Object.class));
+		ValidationResult streaming = stream(schema, json);
+		ValidationResult compiled = stream(new SchemaCompiler().compile(schema), json);
+
+		assertSameErrors(streaming, tree);
+		assertSameErrors(compiled, tree);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+		"{\"id\": 1, \"name\": \"rex\", \"category\": [1]}",
+		"{\"id\": [1, 2], \"name\": \"rex\"}",
+		"[1, 2]"
+	})
+	void wrongTypedContainerIsSkippedAndReportedByKind(String json) throws Exception {
+		ValidationResult tree = petSchema().validate(MAPPER.readValue(json, Object.class));
+		ValidationResult streaming = stream(petSchema(), json);
+
+		assertThat(streaming.isValid()).isFalse();
+		assertThat(streaming.getErrors()).hasSameSizeAs(tree.getErrors());
+		ValidationErrorMessage error = streaming.getErrors().get(0);
+		assertThat(error.getFieldPath()).isEqualTo(tree.getErrors().get(0).getFieldPath());
+		assertThat(error.getErrorCode()).isEqualTo(tree.getErrors().get(0).getErrorCode());
+		assertThat(error.getMessage()).contains("JsonArray");
+		assertThat(error.getRejectedValue()).isNotInstanceOf(List.class);
+	}
+
+	@Test
+	void additionalPropertyValueIsNotMaterialized() {
+		ValidationResult result = stream(petSchema(), "{\"id\": 1, \"name\": \"rex\", \"owner\": {\"name\": \"bob\"}}");
+
+		assertThat(result.getErrors()).hasSize(1);
+		assertThat(result.getErrors().get(0).getErrorCode()).isEqualTo("additionalProperties");
+		assertThat(result.getErrors().get(0).getRejectedValue()).isNotInstanceOf(Map.class);
+	}
+
+	@Test
+	void stopsAtFirstErrorOnceNoLaterCheckCanReplaceIt() {
+		// Everything after the error is never read, so the broken tail goes unnoticed
+		ValidationResult objectError = stream(petSchema(),
+			"{\"id\": 1, \"name\": \"rex\", \"category\": {\"id\": 2, \"name\": 7, ");
+		assertThat(objectError.getErrors()).hasSize(1);
+		assertThat(objectError.getErrors().get(0).getFieldPath()).isEqualTo("category.name");
+
+		ValidationResult itemError = stream(new ArrayValidator(new IntegerValidator(null, null), null),
+			"[1, \"x\", ");
+		assertThat(itemError.getErrors()).hasSize(1);
+		assertThat(itemError.getErrors().get(0).getFieldPath()).isEqualTo("[1]");
+	}
+
+	@Test
+	void readsOnWhileRequiredOrSizeChecksCanStillReplaceTheError() {
+		// "name" could still follow, so the truncated payload is read to its end
+		ValidationResult missingRequired = stream(petSchema(), "{\"id\": 1, \"category\": {\"id\": 2, \"name\": 7}, ");
+		assertThat(missingRequired.getErrors().get(0).getErrorCode()).isEqualTo("json.malformed");
+
+		// minItems could still fail
+		ValidationResult belowMinItems = stream(new ArrayValidator(new IntegerValidator(null, null), null, 3, null, null),
+			"[\"x\", ");
+		assertThat(belowMinItems.getErrors().get(0).getErrorCode()).isEqualTo("json.malformed");
+	}
+
+	@Test
+	void trailingContentIsRejected() {
+		ValidationResult result = stream(petSchema(), "{\"id\": 1, \"name\": \"rex\"} {}");
+
+		assertThat(result.isValid()).isFalse();
+		assertThat(result.getErrors().get(0).getErrorCode()).isEqualTo("json.malformed");
+	}
+
+	@Test
+	void truncatedPayloadIsRejected() {
+		ValidationResult result = stream(petSchema(), "{\"id\": 1, \"name\": \"rex\"");
+
+		assertThat(result.isValid()).isFalse();
+		assertThat(result.getErrors().get(0).getErrorCode()).isEqualTo("json.malformed");
+	}
+
+	@Test
+	void manyRequiredFieldsAreTracked() throws Exception {
+		Map<String, ValidationSchema> properties = new LinkedHashMap<>();
+		Map<String, Object> payload = new LinkedHashMap<>();
+		for (int i = 0; i < 70; i++) {
+			properties.put("f" + i, new IntegerValidator(null, null));
+			payload.put("f" + i, i);
+		}
+		ValidationSchema schema = new ObjectValidator(properties, properties.keySet(), null);
+
+		assertThat(stream(schema, MAPPER.writeValueAsString(payload)).isValid()).isTrue();
+
+		payload.remove("f65");
+		String json = MAPPER.writeValueAsString(payload);
+		ValidationResult streaming = stream(schema, json);
+
+		assertSameErrors(streaming, schema.validate(MAPPER.readValue(json, Object.class)));
+		assertThat(streaming.getErrors().get(0).getFieldPath()).isEqualTo("f65");
+	}
+
+	@Test
+	void listPayloadMatchesTreeForUniqueItems() throws Exception {
+		ValidationSchema schema = new ArrayValidator(new IntegerValidator(null, null), null, null, null, true);
+		String json = MAPPER.writeValueAsString(List.of(1, 2, 1));
+
+		assertSameErrors(stream(schema, json), schema.validate(MAPPER.readValue(json, Object.class)));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+		"{\"value\": 1, \"children\": [{\"value\": 2, \"children\": [{\"value\": 3}]}]}",
+		"{\"value\": 1, \"children\": [{\"value\": 2, \"children\": [{\"value\": \"x\"}]}]}",
+		"{\"value\": 1, \"children\": [{\"children\": []}]}",
+		"{\"value\": 1, \"children\": [{\"value\": 2, \"children\": [{\"value\": 3, \"children\": [{\"value\": 4}]}]}]}"
+	})
+	void recursiveSchemaMatchesTreeValidation(String json) throws Exception {
+		ValidationSchema schema = nodeSchema(new ReferenceValidator("Node", 5));
+
+		assertSameErrors(stream(schema, json), schema.validate(MAPPER.readValue(json, Object.class)));
+	}
+
+	@Test
+	void recursiveSubtreesAreStreamedNotMaterialized() {
+		ReferenceValidator children = new ReferenceValidator("Node");
+		ObjectValidator node = new ObjectValidator(
+			Map.of("value", new IntegerValidator(null, null),
+				"children", new ArrayValidator(children, null)),
+			Set.of("value"),
+			null) {
+			@Override
+			public boolean validate(Object value, ValidationContext context) {
+				throw new AssertionError("subtree was materialized");
+			}
+		};
+		children.bind(node);
+
+		String json = "{\"value\": 1, \"children\": [{\"value\": 2, \"children\": [{\"value\": 3}]}]}";
+		assertThat(stream(node, json).isValid()).isTrue();
+	}
+
+	private static ValidationResult stream(ValidationSchema schema, String json) {
+		return StreamingValidator.validate(schema, new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static void assertSameErrors(ValidationResult actual, ValidationResult expected) {
+		assertThat(actual.isValid()).isEqualTo(expected.isValid());
+		assertThat(actual.getErrors()).hasSameSizeAs(expected.getErrors());
+		for (int i = 0; i < expected.getErrors().size(); i++) {
+			ValidationErrorMessage actualError = actual.getErrors().get(i);
+			ValidationErrorMessage expectedError = expected.getErrors().get(i);
+			assertThat(actualError.getFieldPath()).isEqualTo(expectedError.getFieldPath());
+			assertThat(actualError.getErrorCode()).isEqualTo(expectedError.getErrorCode());
+			assertThat(actualError.getMessage()).isEqualTo(expectedError.getMessage());
+		}
+	}
+
+	/**
+	 * Node { value: integer (required), children: Node[] } with the reference bound after conversion
+	 */
+	private static ValidationSchema nodeSchema(ReferenceValidator children) {
+		ObjectValidator node = new ObjectValidator(
+			Map.of("value", new IntegerValidator(null, null),
+				"children", new ArrayValidator(children, null)),
+			Set.of("value"),
+			null);
+		children.bind(node);
+		return node;
+	}
+
+	private static ValidationSchema petSchema() {
+		Map<String, ValidationSchema> category = new LinkedHashMap<>();
+		category.put("id", new IntegerValidator("int64", null));
+		category.put("name", new StringValidator(null, null));
+
+		Map<String, ValidationSchema> properties = new LinkedHashMap<>();
+		properties.put("id", new IntegerValidator("int64", null));
+		properties.put("name", new StringValidator(null, null));
+		properties.put("category", new ObjectValidator(category, Set.of("id"), null));
+		properties.put("tags", new ArrayValidator(new StringValidator(null, null), null, 1, 3, null));
+
+		return new ObjectValidator(properties, Set.of("id", "name"), null, false);
+	}
+}
@@ -0,0 +1,137 @@
+package com.twolinecloud.MCP_gateway.openapi.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.twolinecloud.MCP_gateway.openapi.schema.validator.*;
+
+class ValidationAllocationTests {
+
+	private static final int WARMUP_ITERATIONS = 200_000;
+	private static final int MEASURED_ITERATIONS = 100_000;
+
+	@Test
+	void validPayloadAllocatesNothingPerCall() {
+		ValidationSchema schema = petSchema();
+		Map<String, Object> pet = validPet();
+
+		// Let the JIT settle before measuring
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			assertThat(schema.validate(pet).isValid()).isTrue();
+		}
+
+		com.sun.management.ThreadMXBean threadMXBean =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+		long before = threadMXBean.getCurrentThreadAllocatedBytes();
+		for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+			schema.validate(pet);
+		}
+		long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - before;
+
+		// Not even one object per call: anything per-call would add up to megabytes
+		assertThat((double) allocated / MEASURED_ITERATIONS).isLessThan(1);
+	}
+
+	@Test
+	void pooledContextDoesNotLeakErrorsIntoTheNextCall() {
+		ValidationSchema schema = petSchema();
+		Map<String, Object> pet = validPet();
+		pet.put("tags", List.of(1, 2));
+
+		ValidationResult failed = schema.validate(pet);
+		ValidationResult passed = schema.validate(validPet());
+
+		assertThat(failed.getErrors()).hasSize(1);
+		assertThat(failed.getErrors().get(0).getFieldPath()).isEqualTo("tags[0]");
+		assertThat(passed.isValid()).isTrue();
+
+		// The result owns its errors; callers get their own copy
+		failed.getErrors().clear();
+		assertThat(failed.getErrors()).hasSize(1);
+	}
+
+	@Test
+	void successResultIsShared() {
+		assertThat(petSchema().validate(validPet())).isSameAs(ValidationResult.success());
+	}
+
+	@Test
+	void failureWithoutRecordedErrorIsNotSuccess() {
+		ValidationSchema silent = new ValidationSchema() {
+			@Override
+			public String getType() {
+				return "any";
+			}
+
+			@Override
+			public String getDescription() {
+				return null;
+			}
+
+			@Override
+			public boolean validate(Object value, ValidationContext context) {
+				return false;
+			}
+		};
+
+		ValidationResult result = new ObjectValidator(Map.of("pet", silent), Set.of(), null)
+			.validate(Map.of("pet", 1));
+
+		assertThat(result.isValid()).isFalse();
+		assertThat(result.getErrors()).hasSize(1);
+		assertThat(result.getErrors().get(0).getErrorCode()).isEqualTo("validation.failed");
+	}
+
+	@Test
+	void nestedErrorCarriesFullPath() {
+		Map<String, Object> pet = validPet();
+		pet.put("tags", List.of("a", 3));
+
+		ValidationResult result = petSchema().validate(pet);
+
+		assertThat(result.isValid()).isFalse();
+		assertThat(result.getErrors()).hasSize(1);
+		assertThat(result.getErrors().get(0).getFieldPath()).isEqualTo("tags[1]");
+		assertThat(result.getErrors().get(0).getErrorCode()).isEqualTo("type.mismatch");
+	}
+
+	private static ValidationSchema petSchema() {
+		Map<String, ValidationSchema> category = new HashMap<>();
+		category.put("id", new IntegerValidator("int64", null));
+		category.put("name", new StringValidator(null, null));
+
+		Map<String, ValidationSchema> properties = new HashMap<>();
+		properties.put("id", new IntegerValidator("int64", null));
+		properties.put("name", new StringValidator(null, null));
+		properties.put("price", new NumberValidator("double", null));
+		properties.put("active", new BooleanValidator(null));
+		properties.put("category", new ObjectValidator(category, Set.of("id"), null));
+		properties.put("tags", new ArrayValidator(new StringValidator(null, null), null));
+
+		return new ObjectValidator(properties, Set.of("id", "name"), null, false);
+	}
+
+	private static Map<String, Object> validPet() {
+		Map<String, Object> category = new HashMap<>();
+		category.put("id", 2);
+		category.put("name", "Dogs");
+
+		Map<String, Object> pet = new HashMap<>();
+		pet.put("id", 123L);
+		pet.put("name", "Fluffy");
+		pet.put("price", 9.5);
+		pet.put("active", true);
+		pet.put("category", category);
+		pet.put("tags", new ArrayList<>(List.of("cute", "small")));
+		return pet;
+	}
+}
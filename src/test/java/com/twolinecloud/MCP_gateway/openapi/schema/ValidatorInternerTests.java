@@ -0,0 +1,139 @@
+package com.twolinecloud.MCP_gateway.openapi.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import com.twolinecloud.MCP_gateway.openapi.schema.validator.*;
+
+class ValidatorInternerTests {
+
+	@Test
+	void structurallyEqualSubtreesShareOneInstance() {
+		ValidatorInterner interner = new ValidatorInterner();
+
+		ObjectValidator first = (ObjectValidator) interner.intern(pet());
+		ObjectValidator second = (ObjectValidator) interner.intern(pet());
+
+		assertThat(second).isSameAs(first);
+		assertThat(interner.intern(category())).isSameAs(first.getPropertySchema("category"));
+
+		ArrayValidator tags = (ArrayValidator) first.getPropertySchema("tags");
+		assertThat(tags.getItemsSchema()).isSameAs(first.getPropertySchema("name"));
+	}
+
+	@Test
+	void differentSettingsAreNotShared() {
+		ValidatorInterner interner = new ValidatorInterner();
+
+		ValidationSchema plain = interner.intern(new StringValidator(null, null));
+		ValidationSchema email = interner.intern(new StringValidator("email", null));
+
+		assertThat(email).isNotSameAs(plain);
+	}
+
+	@Test
+	void declaredOrderIsPartOfTheKey() {
+		ValidatorInterner interner = new ValidatorInterner();
+
+		ValidationSchema idFirst = interner.intern(object(List.of("id", "name"), List.of("id", "name")));
+		ValidationSchema nameFirst = interner.intern(object(List.of("id", "name"), List.of("name", "id")));
+		ValidationSchema propertiesSwapped = interner.intern(object(List.of("name", "id"), List.of("id", "name")));
+
+		assertThat(interner.intern(object(List.of("id", "name"), List.of("id", "name")))).isSameAs(idFirst);
+		assertThat(nameFirst).isNotSameAs(idFirst);
+		assertThat(propertiesSwapped).isNotSameAs(idFirst);
+		// Missing required fields are still reported in declared order
+		assertThat(nameFirst.validate(Map.of()).getErrors().get(0).getFieldPath()).isEqualTo("name");
+	}
+
+	@Test
+	void inputTreeIsNotModified() {
+		ValidatorInterner interner = new ValidatorInterner();
+		interner.intern(pet());
+
+		ObjectValidator category = category();
+		ValidationSchema categoryName = category.getPropertySchema("name");
+		AllOfValidator allOf = new AllOfValidator(new ArrayList<>(List.of(category())), null);
+		List<ValidationSchema> parts = allOf.getSchemas();
+
+		ObjectValidator owner = new ObjectValidator(Map.of("category", category), Set.of(), null);
+		ValidationSchema interned = interner.intern(owner);
+
+		assertThat(interned).isNotSameAs(owner);
+		assertThat(owner.getPropertySchema("category")).isSameAs(category);
+		assertThat(category.getPropertySchema("name")).isSameAs(categoryName);
+
+		interner.intern(allOf);
+		assertThat(allOf.getSchemas()).containsExactlyElementsOf(parts);
+	}
+
+	@Test
+	void concurrentInterningAgreesOnOneInstance() throws Exception {
+		ValidatorInterner interner = new ValidatorInterner();
+		List<Callable<ValidationSchema>> tasks = new ArrayList<>();
+		for (int i = 0; i < 64; i++) {
+			tasks.add(() -> interner.intern(pet()));
+		}
+
+		List<ValidationSchema> results = new ArrayList<>();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			for (Future<ValidationSchema> future : executor.invokeAll(tasks)) {
+				results.add(future.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		assertThat(results).allSatisfy(result -> assertThat(result).isSameAs(results.get(0)));
+	}
+
+	@Test
+	void recursiveReferenceKeepsItsIdentity() {
+		ValidatorInterner interner = new ValidatorInterner();
+		ReferenceValidator next = new ReferenceValidator("Node");
+		ObjectValidator node = new ObjectValidator(Map.of("next", next), Set.of(), null);
+		next.bind(node);
+
+		ObjectValidator interned = (ObjectValidator) interner.intern(node);
+
+		assertThat(interned.getPropertySchema("next")).isSameAs(next);
+	}
+
+	private static ObjectValidator pet() {
+		Map<String, ValidationSchema> properties = new HashMap<>();
+		properties.put("id", new IntegerValidator("int64", null));
+		properties.put("name", new StringValidator(null, null));
+		properties.put("category", category());
+		properties.put("tags", new ArrayValidator(new StringValidator(null, null), null));
+		return new ObjectValidator(properties, Set.of("id", "name"), null);
+	}
+
+	private static ObjectValidator object(List<String> properties, List<String> required) {
+		Map<String, ValidationSchema> schemas = new LinkedHashMap<>();
+		for (String name : properties) {
+			schemas.put(name, new StringValidator(null, null));
+		}
+		return new ObjectValidator(schemas, new LinkedHashSet<>(required), null);
+	}
+
+	private static ObjectValidator category() {
+		Map<String, ValidationSchema> properties = new HashMap<>();
+		properties.put("id", new IntegerValidator("int64", null));
+		properties.put("name", new StringValidator(null, null));
+		return new ObjectValidator(properties, Set.of("id"), null);
+	}
+}
@@ -0,0 +1,138 @@
+package com.twolinecloud.MCP_gateway.openapi.schema.compiler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer;
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPISpecParser;
+import com.twolinecloud.MCP_gateway.openapi.schema.SchemaCache;
+import com.twolinecloud.MCP_gateway.openapi.schema.SchemaConverter;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationResult;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationSchema;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidatorInterner;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+/**
+ * Compiled and interpreted validation must give the same answer for every payload
+ */
+class SchemaCompilerTests {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private static final int MAX_DEPTH = 8;
+
+	private static final String SPEC = """
+		{
+		  "openapi": "3.0.3",
+		  "info": {"title": "test", "version": "1"},
+		  "paths": {
+		    "/pets": {
+		      "post": {
+		        "operationId": "createPet",
+		        "requestBody": {"content": {"application/json": {"schema": {"$ref": "#/components/schemas/Pet"}}}},
+		        "responses": {"200": {"description": "ok"}}
+		      }
+		    }
+		  },
+		  "components": {"schemas": {
+		    "Pet": {
+		      "type": "object",
+		      "required": ["name"],
+		      "properties": {
+		        "name": {"type": "string"},
+		        "age": {"type": "integer"},
+		        "tag": {"oneOf": [{"type": "string"}, {"type": "integer"}]},
+		        "label": {"anyOf": [{"type": "string"}, {"type": "integer"}]},
+		        "kind": {"type": "string", "enum": ["dog", "cat"]},
+		        "tags": {"type": "array", "items": {"oneOf": [{"type": "string"}, {"type": "integer"}]}},
+		        "owner": {"type": "object", "additionalProperties": false, "properties": {"id": {"type": "integer"}}},
+		        "tree": {"$ref": "#/components/schemas/Node"}
+		      }
+		    },
+		    "Node": {
+		      "type": "object",
+		      "required": ["value"],
+		      "properties": {
+		        "value": {"type": "integer"},
+		        "children": {"type": "array", "items": {"$ref": "#/components/schemas/Node"}}
+		      }
+		    }
+		  }}
+		}
+		""";
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+		"{\"name\": \"rex\"}",
+		"{\"name\": null}",
+		"{}",
+		"{\"name\": \"rex\", \"age\": null}",
+		"{\"name\": \"rex\", \"tag\": null}",
+		"{\"name\": \"rex\", \"tag\": \"a\"}",
+		"{\"name\": \"rex\", \"tag\": 1.5}",
+		"{\"name\": \"rex\", \"label\": null}",
+		"{\"name\": \"rex\", \"label\": true}",
+		"{\"name\": \"rex\", \"kind\": null}",
+		"{\"name\": \"rex\", \"kind\": \"cow\"}",
+		"{\"name\": \"rex\", \"tags\": [\"a\", 1, null]}",
+		"{\"name\": \"rex\", \"tags\": [\"a\", false]}",
+		"{\"name\": \"rex\", \"owner\": null}",
+		"{\"name\": \"rex\", \"owner\": {\"id\": null}}",
+		"{\"name\": \"rex\", \"owner\": {\"id\": 1, \"extra\": null}}",
+		"{\"name\": \"rex\", \"tree\": null}",
+		"{\"name\": \"rex\", \"tree\": {\"value\": 1, \"children\": [{\"value\": 2}, {\"value\": \"x\"}]}}",
+		"{\"name\": \"rex\", \"tree\": {\"value\": 1, \"children\": [{\"children\": []}]}}",
+		"{\"name\": \"rex\", \"tree\": {\"value\": 1, \"children\": [null]}}"
+	})
+	void compiledMatchesInterpreted(String json) throws Exception {
+		assertSameResults(MAPPER.readValue(json, Object.class));
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {1, 2, 3, 4, 5, 6})
+	void compiledEnforcesTheSameDepthLimit(int levels) throws Exception {
+		// Each level adds "children" and an index to the path
+		String tree = "{\"value\": 0}";
+		for (int i = 0; i < levels; i++) {
+			tree = "{\"value\": " + i + ", \"children\": [" + tree + "]}";
+		}
+
+		assertSameResults(MAPPER.readValue("{\"name\": \"rex\", \"tree\": " + tree + "}", Object.class));
+	}
+
+	private static void assertSameResults(Object payload) {
+		ValidationSchema interpreted = body();
+		ValidationSchema compiled = new SchemaCompiler().compile(interpreted);
+
+		ValidationResult expected = interpreted.validate(payload);
+		ValidationResult actual = compiled.validate(payload);
+
+		assertThat(actual.isValid()).as("valid").isEqualTo(expected.isValid());
+		assertThat(errors(actual)).isEqualTo(errors(expected));
+	}
+
+	private static List<String> errors(ValidationResult result) {
+		if (result.isValid()) {
+			return List.of();
+		}
+		return result.getErrors().stream()
+			.map(error -> error.getFieldPath() + " " + error.getErrorCode())
+			.toList();
+	}
+
+	private static ValidationSchema body() {
+		OpenAPISpecParser parser = new OpenAPISpecParser();
+		OpenAPI openAPI = parser.parse(SPEC).openAPI();
+		SchemaConverter converter = new SchemaConverter(new SchemaCompiler(), new ValidatorInterner(), new SchemaCache());
+		ReflectionTestUtils.setField(converter, "maxValidationDepth", MAX_DEPTH);
+		return converter.convertRequestBody(converter.createContext("compiled", openAPI),
+			new OpenAPIAnalyzer(parser).analyze(openAPI).endpoints().get(0).requestBodySchema(), true, "createPet").schema();
+	}
+}
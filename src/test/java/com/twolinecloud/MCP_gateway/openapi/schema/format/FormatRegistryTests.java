@@ -0,0 +1,84 @@
+package com.twolinecloud.MCP_gateway.openapi.schema.format;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.twolinecloud.MCP_gateway.openapi.schema.validator.StringValidator;
+
+class FormatRegistryTests {
+
+	@ParameterizedTest
+	@CsvSource({
+		"date-time, 2024-01-31T23:59:60Z, true",
+		"date-time, 2024-01-31t10:00:00.123+09:00, true",
+		"date-time, 2024-02-29T00:00:00-05:30, true",
+		"date-time, 2023-02-29T00:00:00Z, false",
+		"date-time, 2024-01-31T24:00:00Z, false",
+		"date-time, 2024-01-31T10:00:00, false",
+		"date-time, 2024-01-31T10:00:00.Z, false",
+		"date-time, 2024-01-31 10:00:00Z, false",
+		"date, 2024-12-31, true",
+		"date, 2024-04-31, false",
+		"ipv4, 192.168.0.1, true",
+		"ipv4, 255.255.255.255, true",
+		"ipv4, 256.1.1.1, false",
+		"ipv4, 1.2.3, false",
+		"ipv4, 1.2.3.4.5, false",
+		"ipv6, ::, true",
+		"ipv6, ::1, true",
+		"ipv6, 2001:db8::8a2e:370:7334, true",
+		"ipv6, 2001:0db8:0000:0000:0000:ff00:0042:8329, true",
+		"ipv6, ::ffff:192.0.2.128, true",
+		"ipv6, 2001:db8::1::1, false",
+		"ipv6, 2001:db8:1, false",
+		"ipv6, 12345::1, false",
+		"ipv6, 1:2:3:4:5:6:7:8:9, false",
+		"hostname, example.com, true",
+		"hostname, a-b.example, true",
+		"hostname, -example.com, false",
+		"hostname, example-.com, false",
+		"hostname, exa_mple.com, false",
+		"hostname, example..com, false",
+		"uuid, 123e4567-e89b-12d3-a456-426614174000, true",
+		"uuid, 123E4567-E89B-12D3-A456-426614174000, true",
+		"uuid, 123e4567e89b12d3a456426614174000, false",
+		"uuid, 123e4567-e89b-12d3-a456-42661417400g, false",
+		"uri, https://example.com/path?q=1#frag, true",
+		"uri, urn:isbn:0451450523, true",
+		"uri, /relative/path, true",
+		"uri, no-scheme, false",
+		"uri, http://example.com/a b, false",
+		"uri, http://example.com/%zz, false",
+		"email, user.name+tag@example.com, true",
+		"email, a@b, false",
+		"email, .user@example.com, false",
+		"email, user..name@example.com, false",
+		"email, @example.com, false"
+	})
+	void builtInFormats(String format, String value, boolean valid) {
+		assertThat(FormatRegistry.get(format).isValid(value))
+			.as("%s: %s", format, value)
+			.isEqualTo(valid);
+	}
+
+	@Test
+	void unknownFormatIsNotValidated() {
+		assertThat(FormatRegistry.get("no-such-format")).isNull();
+		assertThat(new StringValidator("no-such-format", null).validate("anything").isValid()).isTrue();
+	}
+
+	@Test
+	void formatRegisteredAfterValidatorWasBuiltIsApplied() {
+		StringValidator validator = new StringValidator("test-even-length", null);
+		assertThat(validator.validate("abc").isValid()).isTrue();
+
+		FormatRegistry.register("test-even-length", value -> value.length() % 2 == 0);
+
+		assertThat(validator.validate("abc").isValid()).isFalse();
+		assertThat(validator.validate("abc").getErrors().get(0).getErrorCode()).isEqualTo("format.test-even-length");
+		assertThat(validator.validate("abcd").isValid()).isTrue();
+	}
+}
@@ -0,0 +1,245 @@
+package com.twolinecloud.MCP_gateway.openapi.schema.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer;
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer.AnalysisResult;
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer.EndpointInfo;
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPISpecParser;
+import com.twolinecloud.MCP_gateway.openapi.schema.ConversionContext;
+import com.twolinecloud.MCP_gateway.openapi.schema.EndpointSchemas;
+import com.twolinecloud.MCP_gateway.openapi.schema.SchemaCache;
+import com.twolinecloud.MCP_gateway.openapi.schema.SchemaConverter;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationErrorMessage;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationResult;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationSchema;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidatorInterner;
+import com.twolinecloud.MCP_gateway.openapi.schema.compiler.SchemaCompiler;
+import com.twolinecloud.MCP_gateway.openapi.schema.validator.ArrayValidator;
+import com.twolinecloud.MCP_gateway.openapi.schema.validator.ObjectValidator;
+import com.twolinecloud.MCP_gateway.openapi.schema.validator.ReferenceValidator;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+class SchemaSnapshotCodecTests {
+
+	private static final String SPEC = """
+		{
+		  "openapi": "3.0.3",
+		  "info": {"title": "pets", "version": "2"},
+		  "paths": {
+		    "/pets/{id}": {
+		      "put": {
+		        "operationId": "updatePet",
+		        "tags": ["pets"],
+		        "parameters": [{"name": "id", "in": "path", "required": true,
+		          "schema": {"type": "integer", "minimum": 1}}],
+		        "requestBody": {"content": {"application/json": {"schema": {"$ref": "#/components/schemas/Pet"}}}},
+		        "responses": {"200": {"description": "ok",
+		          "content": {"application/json": {"schema": {"$ref": "#/components/schemas/Pet"}}}}}
+		      }
+		    },
+		    "/trees": {
+		      "post": {
+		        "operationId": "createTree",
+		        "requestBody": {"content": {"application/json": {"schema": {"$ref": "#/components/schemas/Node"}}}},
+		        "responses": {"200": {"description": "ok"}}
+		      }
+		    },
+		    "/animals": {
+		      "post": {
+		        "operationId": "createAnimal",
+		        "requestBody": {"content": {"application/json": {"schema": {"$ref": "#/components/schemas/Animal"}}}},
+		        "responses": {"200": {"description": "ok"}}
+		      }
+		    }
+		  },
+		  "components": {"schemas": {
+		    "Pet": {"type": "object", "required": ["name"], "additionalProperties": false,
+		      "properties": {
+		        "name": {"type": "string", "minLength": 1, "pattern": "^[a-z]+$"},
+		        "weight": {"type": "number", "minimum": 0, "exclusiveMinimum": true},
+		        "status": {"type": "string", "enum": ["available", "sold"]},
+		        "tags": {"type": "array", "items": {"type": "string"}, "maxItems": 2, "uniqueItems": true}}},
+		    "Node": {"type": "object", "required": ["value"],
+		      "properties": {"value": {"type": "integer"},
+		        "children": {"type": "array", "items": {"$ref": "#/components/schemas/Node"}}}},
+		    "Dog": {"type": "object", "required": ["kind", "bark"],
+		      "properties": {"kind": {"type": "string"}, "bark": {"type": "boolean"}}},
+		    "Cat": {"type": "object", "required": ["kind"],
+		      "properties": {"kind": {"type": "string"}, "lives": {"type": "integer", "maximum": 9}}},
+		    "Animal": {"oneOf": [{"$ref": "#/components/schemas/Dog"}, {"$ref": "#/components/schemas/Cat"}],
+		      "discriminator": {"propertyName": "kind",
+		        "mapping": {"dog": "#/components/schemas/Dog", "cat": "#/components/schemas/Cat"}}}
+		  }}
+		}
+		""";
+
+	private static final Map<String, List<Object>> PAYLOADS = Map.of(
+		"PUT /pets/{id}", List.of(
+			Map.of("name", "rex", "weight", 3.5, "status", "sold", "tags", List.of("a", "b")),
+			Map.of("name", "Rex"),
+			Map.of("name", "rex", "weight", 0),
+			Map.of("name", "rex", "status", "lost"),
+			Map.of("name", "rex", "tags", List.of("a", "a")),
+			Map.of("name", "rex", "owner", "bob"),
+			Map.of("weight", 1)),
+		"POST /trees", List.of(
+			Map.of("value", 1, "children", List.of(Map.of("value", 2, "children", List.of(Map.of("value", 3))))),
+			Map.of("value", 1, "children", List.of(Map.of("value", 2, "children", List.of(Map.of("value", "x"))))),
+			Map.of("value", 1, "children", List.of(Map.of("children", List.of()))),
+			nested(6)),
+		"POST /animals", List.of(
+			Map.of("kind", "dog", "bark", true),
+			Map.of("kind", "cat", "lives", 10),
+			Map.of("kind", "dog"),
+			Map.of("kind", "bird")));
+
+	@Test
+	void restoredSchemasValidateLikeTheConvertedOnes() throws IOException {
+		SchemaConverter converter = converter(4);
+		SchemaSnapshot original = convert(converter);
+
+		SchemaSnapshot restored = read(write(original), UnaryOperator.identity());
+
+		assertThat(restored.specHash()).isEqualTo("hash");
+		assertThat(restored.converterSettings()).isEqualTo("max-depth=4");
+		assertThat(restored.includeResponses()).isTrue();
+		assertThat(restored.analysis().apiTitle()).isEqualTo("pets");
+		assertThat(restored.analysis().endpoints()).extracting(EndpointInfo::operationId)
+			.containsExactly("updatePet", "createTree", "createAnimal");
+		assertThat(restored.endpointSchemas().keySet()).containsExactlyElementsOf(original.endpointSchemas().keySet());
+
+		EndpointSchemas.ConvertedParameter id = restored.endpointSchemas().get("PUT /pets/{id}").parameters().get(0);
+		assertThat(id.name()).isEqualTo("id");
+		assertThat(id.validations().minimum()).isEqualTo(
+			original.endpointSchemas().get("PUT /pets/{id}").parameters().get(0).validations().minimum());
+
+		PAYLOADS.forEach((endpoint, payloads) -> {
+			ValidationSchema expected = original.endpointSchemas().get(endpoint).requestBody().schema();
+			ValidationSchema actual = restored.endpointSchemas().get(endpoint).requestBody().schema();
+			for (Object payload : payloads) {
+				assertSameErrors(actual.validate(payload), expected.validate(payload), endpoint + " " + payload);
+			}
+		});
+	}
+
+	@Test
+	void recursionAndSharingSurviveTheRoundTrip() throws IOException {
+		SchemaSnapshot restored = read(write(convert(converter(4))), UnaryOperator.identity());
+
+		ObjectValidator node = (ObjectValidator) restored.endpointSchemas().get("POST /trees").requestBody().schema();
+		ReferenceValidator reference = (ReferenceValidator) ((ArrayValidator) node.getPropertySchema("children")).getItemsSchema();
+		assertThat(reference.getMaxDepth()).isEqualTo(4);
+		assertThat(((ArrayValidator) ((ObjectValidator) reference.getTarget()).getPropertySchema("children")).getItemsSchema())
+			.isSameAs(reference);
+
+		EndpointSchemas pets = restored.endpointSchemas().get("PUT /pets/{id}");
+		assertThat(pets.responses().get(0).schema()).isSameAs(pets.requestBody().schema());
+	}
+
+	@Test
+	void rewritingARestoredSnapshotGivesTheSameBytes() throws IOException {
+		byte[] bytes = write(convert(converter(4)));
+
+		assertThat(write(read(bytes, UnaryOperator.identity()))).isEqualTo(bytes);
+	}
+
+	@Test
+	void finisherIsAppliedOncePerRoot() throws IOException {
+		SchemaConverter converter = converter(4);
+		ReflectionTestUtils.setField(converter, "compiledValidation", true);
+		SchemaSnapshot original = convert(converter);
+
+		SchemaSnapshot restored = read(write(original), converter::forValidation);
+
+		EndpointSchemas pets = restored.endpointSchemas().get("PUT /pets/{id}");
+		assertThat(pets.responses().get(0).schema()).isSameAs(pets.requestBody().schema());
+		for (Object payload : PAYLOADS.get("PUT /pets/{id}")) {
+			assertSameErrors(pets.requestBody().schema().validate(payload),
+				original.endpointSchemas().get("PUT /pets/{id}").requestBody().schema().validate(payload),
+				String.valueOf(payload));
+		}
+	}
+
+	@Test
+	void snapshotOfOtherConverterSettingsIsNotLoaded(@TempDir Path directory) {
+		SchemaSnapshotStore store = new SchemaSnapshotStore();
+		ReflectionTestUtils.setField(store, "storageDirectory", directory.toString());
+		store.save(convert(converter(4)));
+
+		assertThat(store.load("hash", "max-depth=4", true, UnaryOperator.identity())).isPresent();
+		assertThat(store.load("hash", "max-depth=8", true, UnaryOperator.identity())).isEmpty();
+		assertThat(store.load("hash", "max-depth=4", false, UnaryOperator.identity())).isEmpty();
+		assertThat(store.load("other", "max-depth=4", true, UnaryOperator.identity())).isEmpty();
+	}
+
+	private static SchemaSnapshot convert(SchemaConverter converter) {
+		OpenAPISpecParser parser = new OpenAPISpecParser();
+		OpenAPI openAPI = parser.parse(SPEC).openAPI();
+		AnalysisResult analysis = new OpenAPIAnalyzer(parser).analyze(openAPI);
+		ConversionContext context = converter.createContext("hash", openAPI);
+
+		Map<String, EndpointSchemas> schemas = new LinkedHashMap<>();
+		for (EndpointInfo endpoint : analysis.endpoints()) {
+			schemas.put(endpoint.method() + " " + endpoint.path(), new EndpointSchemas(
+				endpoint.path(),
+				endpoint.method(),
+				converter.convertParameters(endpoint.parameters()),
+				converter.convertRequestBody(context, endpoint.requestBodySchema(), true, endpoint.operationId()),
+				converter.convertResponses(context, endpoint.responseSchemas(), endpoint.operationId())));
+		}
+		return new SchemaSnapshot("hash", converter.getSettingsFingerprint(), true, analysis, schemas);
+	}
+
+	private static SchemaConverter converter(int maxDepth) {
+		SchemaConverter converter = new SchemaConverter(new SchemaCompiler(), new ValidatorInterner(), new SchemaCache());
+		ReflectionTestUtils.setField(converter, "maxValidationDepth", maxDepth);
+		return converter;
+	}
+
+	private static byte[] write(SchemaSnapshot snapshot) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		SchemaSnapshotCodec.write(snapshot, new DataOutputStream(bytes));
+		return bytes.toByteArray();
+	}
+
+	private static SchemaSnapshot read(byte[] bytes, UnaryOperator<ValidationSchema> finisher) throws IOException {
+		return SchemaSnapshotCodec.read(new DataInputStream(new ByteArrayInputStream(bytes)), finisher);
+	}
+
+	private static Map<String, Object> nested(int depth) {
+		Map<String, Object> node = Map.of("value", depth);
+		for (int i = depth - 1; i >= 0; i--) {
+			node = Map.of("value", i, "children", List.of(node));
+		}
+		return node;
+	}
+
+	private static void assertSameErrors(ValidationResult actual, ValidationResult expected, String description) {
+		assertThat(actual.isValid()).as(description).isEqualTo(expected.isValid());
+		assertThat(actual.getErrors()).as(description).hasSameSizeAs(expected.getErrors());
+		for (int i = 0; i < expected.getErrors().size(); i++) {
+			ValidationErrorMessage actualError = actual.getErrors().get(i);
+			ValidationErrorMessage expectedError = expected.getErrors().get(i);
+			assertThat(actualError.getFieldPath()).as(description).isEqualTo(expectedError.getFieldPath());
+			assertThat(actualError.getErrorCode()).as(description).isEqualTo(expectedError.getErrorCode());
+			assertThat(actualError.getMessage()).as(description).isEqualTo(expectedError.getMessage());
+		}
+	}
+}
@@ -0,0 +1,129 @@
+package com.twolinecloud.MCP_gateway.openapi.schema.validator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationContext;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationResult;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationSchema;
+
+class ArrayValidatorTests {
+
+	@Test
+	void numbersAreEqualByValue() {
+		assertEqual(1, 1.0);
+		assertEqual(1, 1L);
+		assertEqual(1L, new BigDecimal("1.00"));
+		assertEqual(new BigInteger("42"), 42);
+		assertEqual(0.5f, 0.5d);
+
+		assertThat(JsonEquality.equals(1, 1.5)).isFalse();
+		assertThat(JsonEquality.equals(1, "1")).isFalse();
+	}
+
+	@Test
+	void objectsAreEqualRegardlessOfKeyOrder() {
+		Map<String, Object> first = new LinkedHashMap<>();
+		first.put("a", 1);
+		first.put("b", List.of(1, 2));
+		Map<String, Object> second = new LinkedHashMap<>();
+		second.put("b", List.of(1.0, 2.0));
+		second.put("a", 1L);
+
+		assertEqual(first, second);
+		assertThat(JsonEquality.equals(List.of(1, 2), List.of(2, 1))).isFalse();
+		assertThat(JsonEquality.equals(Map.of("a", 1), Map.of("b", 1))).isFalse();
+	}
+
+	@Test
+	void uniqueItemsUsesJsonEquality() {
+		ArrayValidator validator = new ArrayValidator(null, null, null, null, true);
+		Map<String, Object> first = new LinkedHashMap<>();
+		first.put("a", 1);
+		first.put("b", 2);
+		Map<String, Object> second = new LinkedHashMap<>();
+		second.put("b", 2);
+		second.put("a", 1.0);
+
+		assertThat(validator.validate(List.of(1, 2, 3)).isValid()).isTrue();
+		assertThat(validator.validate(List.of(1, 2, 1.0)).isValid()).isFalse();
+		assertThat(validator.validate(List.of(first, second)).isValid()).isFalse();
+		assertThat(validator.validate(List.of(List.of(1, 2), List.of(2, 1))).isValid()).isTrue();
+	}
+
+	@Test
+	void largeArrayReportsFirstFailingItem() {
+		List<Object> items = new ArrayList<>(Collections.nCopies(3 * ArrayValidator.PARALLEL_THRESHOLD, "ok"));
+		items.set(5000, 1);
+		items.set(9000, 2);
+
+		ValidationResult result = new ArrayValidator(new StringValidator(null, null), null).validate(items);
+
+		assertThat(result.getErrors()).hasSize(1);
+		assertThat(result.getErrors().get(0).getFieldPath()).isEqualTo("[5000]");
+		assertThat(result.getErrors().get(0).getErrorCode()).isEqualTo("type.mismatch");
+	}
+
+	@Test
+	void largeFailingArrayIsValidatedOnce() {
+		AtomicInteger calls = new AtomicInteger();
+		ValidationSchema counting = new ValidationSchema() {
+			@Override
+			public String getType() {
+				return "any";
+			}
+
+			@Override
+			public String getDescription() {
+				return null;
+			}
+
+			@Override
+			public boolean validate(Object value, ValidationContext context) {
+				calls.incrementAndGet();
+				if (value == null) {
+					context.addError("validation.failed", "null item", null);
+					return false;
+				}
+				return true;
+			}
+		};
+		int size = 2 * ArrayValidator.PARALLEL_THRESHOLD;
+		List<Object> items = new ArrayList<>(Collections.nCopies(size, "ok"));
+		items.set(size - 1, null);
+
+		ValidationResult result = new ArrayValidator(counting, null).validate(items);
+
+		assertThat(result.isValid()).isFalse();
+		assertThat(calls.get()).isEqualTo(size);
+	}
+
+	@Test
+	void largeArrayKeepsReferenceDepth() {
+		ReferenceValidator reference = new ReferenceValidator("Item", 1);
+		reference.bind(new StringValidator(null, null));
+		List<Object> items = Collections.nCopies(ArrayValidator.PARALLEL_THRESHOLD, "ok");
+
+		ValidationResult result = new ArrayValidator(reference, null).validate(items);
+
+		assertThat(result.isValid()).isFalse();
+		assertThat(result.getErrors().get(0).getErrorCode()).isEqualTo("depth.exceeded");
+		assertThat(result.getErrors().get(0).getFieldPath()).isEqualTo("[0]");
+	}
+
+	private static void assertEqual(Object a, Object b) {
+		assertThat(JsonEquality.equals(a, b)).as("%s equals %s", a, b).isTrue();
+		assertThat(JsonEquality.equals(b, a)).as("%s equals %s", b, a).isTrue();
+		assertThat(JsonEquality.hashCode(a)).as("hash of %s and %s", a, b).isEqualTo(JsonEquality.hashCode(b));
+	}
+}
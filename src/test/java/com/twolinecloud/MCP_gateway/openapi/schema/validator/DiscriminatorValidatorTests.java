@@ -0,0 +1,148 @@
+package com.twolinecloud.MCP_gateway.openapi.schema.validator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationContext;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationResult;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationSchema;
+
+class DiscriminatorValidatorTests {
+
+	@Test
+	void validatesOnlyTheMappedBranch() {
+		DiscriminatorValidator validator = petValidator();
+
+		assertThat(validator.validate(Map.of("petType", "Cat", "lives", 9)).isValid()).isTrue();
+		assertThat(validator.validate(Map.of("petType", "Dog", "bark", "woof")).isValid()).isTrue();
+
+		ValidationResult result = validator.validate(Map.of("petType", "Cat", "lives", "nine"));
+		assertThat(result.getErrors()).hasSize(1);
+		assertThat(result.getErrors().get(0).getFieldPath()).isEqualTo("lives");
+		assertThat(result.getErrors().get(0).getErrorCode()).isEqualTo("validation.failed");
+	}
+
+	@Test
+	void missingDiscriminatorIsRequired() {
+		ValidationResult result = petValidator().validate(Map.of("lives", 9));
+
+		assertThat(result.getErrors().get(0).getFieldPath()).isEqualTo("petType");
+		assertThat(result.getErrors().get(0).getErrorCode()).isEqualTo("required");
+	}
+
+	@Test
+	void unknownDiscriminatorValueListsMapping() {
+		ValidationResult result = petValidator().validate(Map.of("petType", "Bird"));
+
+		assertThat(result.getErrors().get(0).getErrorCode()).isEqualTo("discriminator.unknown");
+		assertThat(result.getErrors().get(0).getMessage()).contains("Cat", "Dog");
+	}
+
+	@Test
+	void nonObjectIsTypeMismatch() {
+		ValidationResult result = petValidator().validate(List.of());
+
+		assertThat(result.getErrors().get(0).getErrorCode()).isEqualTo("type.mismatch");
+	}
+
+	@Test
+	void branchFilterSkipsIncompatibleTypes() {
+		BranchFilter filter = new BranchFilter(List.of(
+			new StringValidator(null, null),
+			new IntegerValidator(null, null),
+			new EnumValidator(new BooleanValidator(null), List.of(true)),
+			new ArrayValidator(null, null),
+			petValidator(),
+			new AnyValidator(null)));
+
+		assertThat(mayMatch(filter, 6, "text")).containsExactly(true, false, false, false, false, true);
+		assertThat(mayMatch(filter, 6, 1.5)).containsExactly(false, true, false, false, false, true);
+		assertThat(mayMatch(filter, 6, true)).containsExactly(false, false, true, false, false, true);
+		assertThat(mayMatch(filter, 6, List.of())).containsExactly(false, false, false, true, false, true);
+		assertThat(mayMatch(filter, 6, Map.of())).containsExactly(false, false, false, false, true, true);
+		assertThat(mayMatch(filter, 6, null)).containsExactly(true, true, true, true, true, true);
+	}
+
+	@Test
+	void branchFilterSkipsObjectsMissingRequiredProperties() {
+		BranchFilter filter = new BranchFilter(List.of(cat(), dog()));
+
+		assertThat(mayMatch(filter, 2, Map.of("lives", 9))).containsExactly(true, false);
+		assertThat(mayMatch(filter, 2, Map.of("bark", "woof"))).containsExactly(false, true);
+		assertThat(mayMatch(filter, 2, nullValued("lives"))).containsExactly(false, false);
+	}
+
+	@Test
+	void oneOfReportsSkippedBranches() {
+		ValidationResult result = new OneOfValidator(List.of(cat(), dog()), null).validate(Map.of("lives", "nine"));
+
+		assertThat(result.isValid()).isFalse();
+		assertThat(result.getErrors().get(0).getMessage())
+			.contains("Schema [1]: incompatible type or missing required property");
+	}
+
+	@Test
+	void branchErrorsStayWithTheirBranch() {
+		// Branch 0 fails without recording an error
+		ValidationSchema silent = new ValidationSchema() {
+			@Override
+			public String getType() {
+				return "any";
+			}
+
+			@Override
+			public String getDescription() {
+				return null;
+			}
+
+			@Override
+			public boolean validate(Object value, ValidationContext context) {
+				return false;
+			}
+		};
+		Map<String, Object> payload = Map.of("lives", "nine");
+		String catError = cat().validate(payload).getErrors().get(0).getMessage();
+
+		String oneOf = new OneOfValidator(List.of(silent, cat()), null).validate(payload).getErrors().get(0).getMessage();
+		String anyOf = new AnyOfValidator(List.of(silent, cat()), null).validate(payload).getErrors().get(0).getMessage();
+
+		assertThat(oneOf).contains("Schema [1]: " + catError).doesNotContain("Schema [0]: " + catError);
+		assertThat(anyOf).contains("Schema [1]: " + catError).doesNotContain("Schema [0]: " + catError);
+	}
+
+	private static List<Boolean> mayMatch(BranchFilter filter, int branches, Object value) {
+		List<Boolean> result = new ArrayList<>();
+		for (int i = 0; i < branches; i++) {
+			result.add(filter.mayMatch(i, value));
+		}
+		return result;
+	}
+
+	private static Map<String, Object> nullValued(String name) {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put(name, null);
+		return map;
+	}
+
+	private static DiscriminatorValidator petValidator() {
+		Map<String, ValidationSchema> mapping = new LinkedHashMap<>();
+		mapping.put("Cat", cat());
+		mapping.put("Dog", dog());
+		return new DiscriminatorValidator("oneOf", "petType", mapping, null);
+	}
+
+	private static ObjectValidator cat() {
+		return new ObjectValidator(Map.of("lives", new IntegerValidator(null, null)), Set.of("lives"), null);
+	}
+
+	private static ObjectValidator dog() {
+		return new ObjectValidator(Map.of("bark", new StringValidator(null, null)), Set.of("bark"), null);
+	}
+}
@@ -0,0 +1,120 @@
+package com.twolinecloud.MCP_gateway.openapi.schema.validator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationResult;
+
+class EnumValidatorTests {
+
+	@Test
+	void smallStringEnum() {
+		EnumValidator validator = new EnumValidator(new StringValidator(null, null), List.of("KRW", "USD", "JPY"));
+
+		assertThat(validator.validate("KRW").isValid()).isTrue();
+
+		ValidationResult result = validator.validate("EUR");
+		assertThat(result.getErrors().get(0).getErrorCode()).isEqualTo("enum");
+		assertThat(result.getErrors().get(0).getMessage()).contains("KRW", "USD", "JPY");
+	}
+
+	@Test
+	void delegateTypeErrorComesFirst() {
+		EnumValidator validator = new EnumValidator(new StringValidator(null, null), List.of("1"));
+
+		assertThat(validator.validate(1).getErrors().get(0).getErrorCode()).isEqualTo("type.mismatch");
+	}
+
+	@Test
+	void largeStringEnumUsesTrie() {
+		List<String> codes = new ArrayList<>();
+		for (char a = 'A'; a <= 'H'; a++) {
+			for (char b = 'A'; b <= 'J'; b++) {
+				codes.add("" + a + b);
+			}
+		}
+		codes.add("A");
+		EnumValidator validator = new EnumValidator(null, codes);
+		assertThat(codes.size()).isGreaterThanOrEqualTo(EnumValidator.TRIE_THRESHOLD);
+
+		for (String code : codes) {
+			assertThat(validator.validate(code).isValid()).as(code).isTrue();
+		}
+		assertThat(validator.validate("").isValid()).isFalse();
+		assertThat(validator.validate("B").isValid()).isFalse();
+		assertThat(validator.validate("AK").isValid()).isFalse();
+		assertThat(validator.validate("AAA").isValid()).isFalse();
+		assertThat(validator.validate("ZZ").isValid()).isFalse();
+		assertThat(validator.validate("enum").getErrors().get(0).getMessage()).contains("(" + codes.size() + "개)");
+	}
+
+	@Test
+	void trieMatchesSetMembership() {
+		Set<String> values = new HashSet<>(List.of("", "a", "ab", "abc", "b", "ba", "한국", "한"));
+		StringTrie trie = new StringTrie(values);
+
+		for (String candidate : List.of("", "a", "ab", "abc", "abcd", "b", "ba", "bb", "c", "한국", "한", "국")) {
+			assertThat(trie.contains(candidate)).as(candidate).isEqualTo(values.contains(candidate));
+		}
+	}
+
+	@Test
+	void numbersMatchByValue() {
+		EnumValidator validator = new EnumValidator(null, List.of(1, 2.5, new BigDecimal("10.00")));
+
+		assertThat(validator.validate(1).isValid()).isTrue();
+		assertThat(validator.validate(1L).isValid()).isTrue();
+		assertThat(validator.validate(1.0).isValid()).isTrue();
+		assertThat(validator.validate(new BigDecimal("1.0")).isValid()).isTrue();
+		assertThat(validator.validate(2.5).isValid()).isTrue();
+		assertThat(validator.validate(2.5f).isValid()).isTrue();
+		assertThat(validator.validate(10).isValid()).isTrue();
+		assertThat(validator.validate(BigInteger.TEN).isValid()).isTrue();
+
+		assertThat(validator.validate(2).isValid()).isFalse();
+		assertThat(validator.validate(1.5).isValid()).isFalse();
+		assertThat(validator.validate("1").isValid()).isFalse();
+	}
+
+	@Test
+	void largeNumbersCompareExactly() {
+		EnumValidator maxLong = new EnumValidator(null, List.of(Long.MAX_VALUE));
+		assertThat(maxLong.validate(Long.MAX_VALUE).isValid()).isTrue();
+		assertThat(maxLong.validate(0x1p63).isValid()).isFalse();
+
+		EnumValidator twoPow62 = new EnumValidator(null, List.of(0x1p62));
+		assertThat(twoPow62.validate(1L << 62).isValid()).isTrue();
+		assertThat(twoPow62.validate((1L << 62) + 1).isValid()).isFalse();
+
+		EnumValidator nested = new EnumValidator(null, List.of(List.of(Long.MAX_VALUE), List.of(1L << 62)));
+		assertThat(nested.validate(List.of(0x1p63)).isValid()).isFalse();
+		assertThat(nested.validate(List.of(0x1p62)).isValid()).isTrue();
+		assertThat(nested.validate(List.of((double) ((1L << 62) + 1))).isValid()).isTrue();
+		assertThat(nested.validate(List.of(0x1p62 + 1024)).isValid()).isFalse();
+	}
+
+	@Test
+	void otherValuesUseJsonEquality() {
+		EnumValidator validator = new EnumValidator(null, List.of(true, Map.of("a", 1), List.of(1, 2)));
+
+		assertThat(validator.validate(true).isValid()).isTrue();
+		assertThat(validator.validate(Map.of("a", 1.0)).isValid()).isTrue();
+		assertThat(validator.validate(List.of(1L, 2L)).isValid()).isTrue();
+		assertThat(validator.validate(false).isValid()).isFalse();
+		assertThat(validator.validate(List.of(2, 1)).isValid()).isFalse();
+	}
+
+	@Test
+	void nullIsAccepted() {
+		assertThat(new EnumValidator(null, List.of("a")).validate(null).isValid()).isTrue();
+	}
+}
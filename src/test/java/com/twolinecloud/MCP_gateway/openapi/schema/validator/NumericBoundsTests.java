@@ -0,0 +1,99 @@
+package com.twolinecloud.MCP_gateway.openapi.schema.validator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationContext;
+
+class NumericBoundsTests {
+
+	@Test
+	void inclusiveBounds() {
+		NumericBounds bounds = new NumericBounds(0, 10, null, null);
+
+		assertThat(errorCode(bounds, 0)).isNull();
+		assertThat(errorCode(bounds, 10)).isNull();
+		assertThat(errorCode(bounds, 10.0)).isNull();
+		assertThat(errorCode(bounds, -1)).isEqualTo("number.minimum");
+		assertThat(errorCode(bounds, 10.5)).isEqualTo("number.maximum");
+	}
+
+	@Test
+	void exclusiveBounds() {
+		NumericBounds bounds = new NumericBounds(null, null, 0, 10);
+
+		assertThat(errorCode(bounds, 0.001)).isNull();
+		assertThat(errorCode(bounds, 9)).isNull();
+		assertThat(errorCode(bounds, 0)).isEqualTo("number.exclusiveMinimum");
+		assertThat(errorCode(bounds, 10L)).isEqualTo("number.exclusiveMaximum");
+	}
+
+	@Test
+	void bigNumbersAreComparedExactly() {
+		NumericBounds bounds = new NumericBounds(null, new BigDecimal("0.1"), null, null);
+
+		assertThat(errorCode(bounds, new BigDecimal("0.1"))).isNull();
+		assertThat(errorCode(bounds, new BigDecimal("0.10000000000000000001"))).isEqualTo("number.maximum");
+
+		NumericBounds longBounds = new NumericBounds(null, Long.MAX_VALUE - 1, null, null);
+		assertThat(errorCode(longBounds, BigInteger.valueOf(Long.MAX_VALUE))).isEqualTo("number.maximum");
+		assertThat(errorCode(longBounds, BigInteger.valueOf(Long.MAX_VALUE - 1))).isNull();
+	}
+
+	@Test
+	void longValuesAbove2Pow53AreComparedExactly() {
+		NumericBounds bounds = new NumericBounds(null, new BigDecimal("9007199254740992"), null, null);
+
+		assertThat(errorCode(bounds, 9007199254740992L)).isNull();
+		assertThat(errorCode(bounds, 9007199254740993L)).isEqualTo("number.maximum");
+		assertThat(errorCode(bounds, 9.007199254740994E15)).isEqualTo("number.maximum");
+
+		NumericBounds exclusive = new NumericBounds(null, null, 9007199254740992L, null);
+		assertThat(errorCode(exclusive, 9007199254740992L)).isEqualTo("number.exclusiveMinimum");
+		assertThat(errorCode(exclusive, 9007199254740993L)).isNull();
+	}
+
+	@Test
+	void integralValuesAgainstFractionalAndOutOfRangeBounds() {
+		NumericBounds fractional = new NumericBounds(new BigDecimal("0.5"), null, null, new BigDecimal("10.2"));
+		assertThat(errorCode(fractional, 0)).isEqualTo("number.minimum");
+		assertThat(errorCode(fractional, 1)).isNull();
+		assertThat(errorCode(fractional, 10)).isNull();
+		assertThat(errorCode(fractional, 11L)).isEqualTo("number.exclusiveMaximum");
+
+		NumericBounds huge = new NumericBounds(new BigDecimal("1e30"), null, null, null);
+		assertThat(errorCode(huge, Long.MAX_VALUE)).isEqualTo("number.minimum");
+		assertThat(errorCode(new NumericBounds(null, new BigDecimal("1e30"), null, null), Long.MAX_VALUE)).isNull();
+	}
+
+	@Test
+	void messageNamesTheBound() {
+		ValidationContext context = new ValidationContext();
+		new NumericBounds(5, null, null, null).check(1, context);
+
+		assertThat(context.toResult().getErrors().get(0).getMessage()).contains("5");
+	}
+
+	@Test
+	void emptyBounds() {
+		assertThat(new NumericBounds(null, null, null, null).isEmpty()).isTrue();
+		assertThat(new NumericBounds(null, null, 1, null).isEmpty()).isFalse();
+		assertThat(new IntegerValidator(null, null).hasBounds()).isFalse();
+	}
+
+	@Test
+	void integerAndNumberValidatorsApplyBounds() {
+		assertThat(new IntegerValidator(null, null, 1, null, null, null).validate(0).isValid()).isFalse();
+		assertThat(new NumberValidator(null, null, null, null, null, 1.5).validate(1.5).isValid()).isFalse();
+		assertThat(new NumberValidator(null, null, null, null, null, 1.5).validate(1.49).isValid()).isTrue();
+	}
+
+	private static String errorCode(NumericBounds bounds, Number value) {
+		ValidationContext context = new ValidationContext();
+		return bounds.check(value, context) ? null : context.toResult().getErrors().get(0).getErrorCode();
+	}
+}
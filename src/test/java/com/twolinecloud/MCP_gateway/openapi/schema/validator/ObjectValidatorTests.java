@@ -0,0 +1,99 @@
+package com.twolinecloud.MCP_gateway.openapi.schema.validator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationResult;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationSchema;
+import com.twolinecloud.MCP_gateway.openapi.schema.compiler.SchemaCompiler;
+
+class ObjectValidatorTests {
+
+	@Test
+	void requiredNameNotDeclaredIsStillAnAdditionalProperty() {
+		ObjectValidator schema = new ObjectValidator(
+			Map.of("id", new IntegerValidator("int64", null)),
+			Set.of("id", "legacy"),
+			null,
+			false);
+		ValidationSchema compiled = new SchemaCompiler().compile(schema);
+
+		Map<String, Object> payload = new LinkedHashMap<>();
+		payload.put("id", 1);
+		payload.put("legacy", "x");
+
+		ValidationResult interpreted = schema.validate(payload);
+		assertThat(interpreted.isValid()).isFalse();
+		assertThat(interpreted.getErrors().get(0).getErrorCode()).isEqualTo("additionalProperties");
+		assertThat(interpreted.getErrors().get(0).getFieldPath()).isEqualTo("legacy");
+
+		ValidationResult compiledResult = compiled.validate(payload);
+		assertThat(compiledResult.isValid()).isFalse();
+		assertThat(compiledResult.getErrors().get(0).getErrorCode()).isEqualTo("additionalProperties");
+		assertThat(compiledResult.getErrors().get(0).getFieldPath()).isEqualTo("legacy");
+	}
+
+	@Test
+	void missingRequiredIsReportedBeforePropertyErrors() {
+		ObjectValidator schema = new ObjectValidator(
+			Map.of("id", new IntegerValidator("int64", null), "name", new StringValidator(null, null)),
+			Set.of("name"),
+			null);
+
+		Map<String, Object> payload = new LinkedHashMap<>();
+		payload.put("id", "not a number");
+
+		ValidationResult result = schema.validate(payload);
+
+		assertThat(result.getErrors()).hasSize(1);
+		assertThat(result.getErrors().get(0).getErrorCode()).isEqualTo("required");
+		assertThat(result.getErrors().get(0).getFieldPath()).isEqualTo("name");
+	}
+
+	@Test
+	void requiredNullIsReportedAsRequired() {
+		ObjectValidator schema = new ObjectValidator(
+			Map.of("name", new StringValidator(null, null)),
+			Set.of("name"),
+			null);
+
+		Map<String, Object> payload = new LinkedHashMap<>();
+		payload.put("name", null);
+
+		ValidationResult result = schema.validate(payload);
+
+		assertThat(result.getErrors().get(0).getErrorCode()).isEqualTo("required");
+		assertThat(result.getErrors().get(0).getMessage()).contains("null");
+	}
+
+	@Test
+	void firstMissingRequiredIsReportedInRequiredOrderBeyondOneWord() {
+		Map<String, ValidationSchema> properties = new LinkedHashMap<>();
+		Set<String> required = new LinkedHashSet<>();
+		Map<String, Object> payload = new HashMap<>();
+		for (int i = 0; i < 100; i++) {
+			properties.put("f" + i, new IntegerValidator("int32", null));
+			required.add("f" + i);
+			payload.put("f" + i, i);
+		}
+		ObjectValidator schema = new ObjectValidator(properties, required, null);
+		assertThat(schema.validate(payload).isValid()).isTrue();
+
+		payload.remove("f90");
+		payload.put("f70", null);
+		payload.put("f3", "not a number");
+
+		ValidationResult result = schema.validate(payload);
+
+		assertThat(result.getErrors()).hasSize(1);
+		assertThat(result.getErrors().get(0).getFieldPath()).isEqualTo("f70");
+		assertThat(result.getErrors().get(0).getMessage()).contains("null");
+	}
+}
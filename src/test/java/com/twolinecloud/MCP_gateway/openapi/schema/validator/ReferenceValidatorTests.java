@@ -0,0 +1,89 @@
+package com.twolinecloud.MCP_gateway.openapi.schema.validator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationResult;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationSchema;
+
+class ReferenceValidatorTests {
+
+	@Test
+	void unboundReferenceAcceptsAnything() {
+		ReferenceValidator reference = new ReferenceValidator("Missing");
+
+		assertThat(reference.validate(Map.of("any", "thing")).isValid()).isTrue();
+	}
+
+	@Test
+	void boundReferenceDelegatesToTarget() {
+		ReferenceValidator reference = new ReferenceValidator("Name");
+		reference.bind(new StringValidator(null, null));
+
+		assertThat(reference.validate("rex").isValid()).isTrue();
+		assertThat(reference.validate(1).isValid()).isFalse();
+	}
+
+	@Test
+	void recursionDeeperThanMaxDepthIsRejected() {
+		ValidationSchema node = linkedNode(3);
+
+		assertThat(node.validate(chain(2)).isValid()).isTrue();
+
+		ValidationResult result = node.validate(chain(5));
+		assertThat(result.isValid()).isFalse();
+		assertThat(result.getErrors().get(0).getErrorCode()).isEqualTo("depth.exceeded");
+		assertThat(result.getErrors().get(0).getFieldPath()).isEqualTo("next.next.next");
+	}
+
+	@Test
+	void compositionOnlyCycleIsRejectedInsteadOfOverflowing() {
+		// A: {allOf: [{$ref: A}]} - the path never grows
+		ReferenceValidator self = new ReferenceValidator("A", 16);
+		self.bind(new AllOfValidator(List.of(self), null));
+
+		ValidationResult result = self.validate(Map.of());
+		assertThat(result.isValid()).isFalse();
+		assertThat(result.getErrors().get(0).getErrorCode()).isEqualTo("depth.exceeded");
+
+		// A -> anyOf -> B -> oneOf -> A
+		ReferenceValidator toA = new ReferenceValidator("A", 16);
+		ReferenceValidator toB = new ReferenceValidator("B", 16);
+		toB.bind(new OneOfValidator(List.of(toA), null));
+		toA.bind(new AnyOfValidator(List.of(toB), null));
+
+		assertThat(toA.validate(Map.of()).isValid()).isFalse();
+	}
+
+	/**
+	 * Node { value: integer, next: Node } with the reference bound after conversion
+	 */
+	private static ValidationSchema linkedNode(int maxDepth) {
+		ReferenceValidator next = new ReferenceValidator("Node", maxDepth);
+		ObjectValidator node = new ObjectValidator(
+			Map.of("value", new IntegerValidator(null, null), "next", next),
+			Set.of("value"),
+			null);
+		next.bind(node);
+		return node;
+	}
+
+	private static Map<String, Object> chain(int length) {
+		Map<String, Object> head = new HashMap<>();
+		head.put("value", 0);
+		Map<String, Object> current = head;
+		for (int i = 1; i < length; i++) {
+			Map<String, Object> next = new HashMap<>();
+			next.put("value", i);
+			current.put("next", next);
+			current = next;
+		}
+		return head;
+	}
+}
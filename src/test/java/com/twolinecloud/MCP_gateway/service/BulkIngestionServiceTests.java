@@ -0,0 +1,142 @@
+package com.twolinecloud.MCP_gateway.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer.AnalysisResult;
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIDownloader.OpenAPIDownloadException;
+import com.twolinecloud.MCP_gateway.service.BulkIngestionService.BulkIngestionResult;
+import com.twolinecloud.MCP_gateway.service.BulkIngestionService.SpecIngestion;
+import com.twolinecloud.MCP_gateway.service.OpenAPIService.OpenAPIAnalysisWithSchemas;
+
+class BulkIngestionServiceTests {
+
+	@Test
+	void concurrencyIsBoundedPerHost() {
+		RecordingService ingestion = new RecordingService();
+		BulkIngestionService service = new BulkIngestionService(ingestion);
+		ReflectionTestUtils.setField(service, "maxPerHost", 2);
+		List<String> urls = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			urls.add("https://a.example.com/" + i + ".json");
+			urls.add("https://" + (i % 2 == 0 ? "b" : "B") + ".example.com/" + i + ".json");
+		}
+
+		BulkIngestionResult result = service.ingestAll(urls, false);
+
+		assertThat(result.succeeded()).isEqualTo(16);
+		// Host names are case-insensitive: B.example.com shares the permits of b.example.com
+		assertThat(ingestion.maxPerHost).containsOnlyKeys("a.example.com", "b.example.com");
+		assertThat(ingestion.maxPerHost.values()).allSatisfy(max -> assertThat(max.get()).isEqualTo(2));
+		assertThat(ingestion.maxOverall.get()).isLessThanOrEqualTo(4);
+	}
+
+	@Test
+	void concurrencyIsBoundedOverall() {
+		RecordingService ingestion = new RecordingService();
+		BulkIngestionService service = new BulkIngestionService(ingestion);
+		ReflectionTestUtils.setField(service, "maxConcurrency", 3);
+		List<String> urls = new ArrayList<>();
+		for (int i = 0; i < 12; i++) {
+			urls.add("https://host" + i + ".example.com/openapi.json");
+		}
+
+		BulkIngestionResult result = service.ingestAll(urls, false);
+
+		assertThat(result.succeeded()).isEqualTo(12);
+		assertThat(ingestion.maxOverall.get()).isEqualTo(3);
+	}
+
+	@Test
+	void failuresAreIsolatedAndResultsKeepInputOrder() {
+		RecordingService ingestion = new RecordingService();
+		BulkIngestionService service = new BulkIngestionService(ingestion);
+		List<String> urls = List.of(
+			"https://a.example.com/ok.json",
+			"https://a.example.com/fail.json",
+			"not a url",
+			"https://b.example.com/ok.json",
+			"https://a.example.com/ok.json");
+
+		BulkIngestionResult result = service.ingestAll(urls, true);
+
+		assertThat(result.results()).extracting(SpecIngestion::url).containsExactly(
+			"https://a.example.com/ok.json", "https://a.example.com/fail.json", "not a url", "https://b.example.com/ok.json");
+		assertThat(result.results()).extracting(SpecIngestion::success).containsExactly(true, false, false, true);
+		assertThat(result.succeeded()).isEqualTo(2);
+		assertThat(result.failed()).isEqualTo(2);
+		assertThat(result.results().get(0).endpoints()).isEqualTo(0);
+		assertThat(result.results().get(1).error()).isEqualTo("다운로드 실패: HTTP 500");
+		assertThat(result.results().get(1).fileName()).isEqualTo("https_a_example_com_fail.json");
+		assertThat(result.results().get(2).error()).isNotBlank();
+		// Duplicates are ingested once
+		assertThat(ingestion.calls).hasSize(3);
+		assertThat(ingestion.calls).allSatisfy(call -> assertThat(call).endsWith(":true"));
+	}
+
+	@Test
+	void fileNamesAreDistinctPerSchemeAndPort() {
+		List<String> names = List.of(
+			BulkIngestionService.fileNameFor(URI.create("https://api.example.com/v1/openapi.json")),
+			BulkIngestionService.fileNameFor(URI.create("http://api.example.com/v1/openapi.json")),
+			BulkIngestionService.fileNameFor(URI.create("https://api.example.com:8443/v1/openapi.json")),
+			BulkIngestionService.fileNameFor(URI.create("https://api.example.com/v2/openapi.json")),
+			BulkIngestionService.fileNameFor(URI.create("https://api.example.com/v1/openapi.json?tag=pets")));
+
+		assertThat(names).containsExactly(
+			"https_api_example_com_v1_openapi.json",
+			"http_api_example_com_v1_openapi.json",
+			"https_api_example_com_8443_v1_openapi.json",
+			"https_api_example_com_v2_openapi.json",
+			"https_api_example_com_v1_openapi.json_tag_pets");
+	}
+
+	/**
+	 * Records concurrent calls per host; fails URLs containing "fail"
+	 */
+	private static final class RecordingService extends OpenAPIService {
+
+		private final Map<String, AtomicInteger> currentPerHost = new ConcurrentHashMap<>();
+		private final Map<String, AtomicInteger> maxPerHost = new ConcurrentHashMap<>();
+		private final AtomicInteger currentOverall = new AtomicInteger();
+		private final AtomicInteger maxOverall = new AtomicInteger();
+		private final List<String> calls = new CopyOnWriteArrayList<>();
+
+		RecordingService() {
+			super(null, null, null, null, null, null, null, null);
+		}
+
+		@Override
+		public OpenAPIAnalysisWithSchemas downloadAndSaveWithSchemas(String url, String fileName, boolean includeResponses) {
+			calls.add(url + ":" + includeResponses);
+			String host = URI.create(url).getHost().toLowerCase();
+			AtomicInteger current = currentPerHost.computeIfAbsent(host, h -> new AtomicInteger());
+			maxPerHost.computeIfAbsent(host, h -> new AtomicInteger()).accumulateAndGet(current.incrementAndGet(), Math::max);
+			maxOverall.accumulateAndGet(currentOverall.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(50);
+				if (url.contains("fail")) {
+					throw new OpenAPIDownloadException("다운로드 실패: HTTP 500");
+				}
+				return new OpenAPIAnalysisWithSchemas(new AnalysisResult("pets", "1", List.of(), Map.of()), Map.of(),
+					new IngestionTimings(List.of(), 0, 0, 0, 0, 0, 0, false));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			} finally {
+				current.decrementAndGet();
+				currentOverall.decrementAndGet();
+			}
+		}
+	}
+}
@@ -0,0 +1,140 @@
+package com.twolinecloud.MCP_gateway.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.twolinecloud.MCP_gateway.service.IngestionTimings.StageTiming;
+
+class IngestionTimerTests {
+
+	@Test
+	void stagesAreReportedInFirstRunOrder() {
+		IngestionTimer timer = new IngestionTimer();
+
+		assertThat(timer.stage("download", () -> "spec")).isEqualTo("spec");
+		timer.stage("parse", () -> sleep(20));
+		timer.stage("download", () -> sleep(20));
+
+		IngestionTimings timings = timer.finish(1024, 3, 7, false);
+
+		assertThat(timings.stages()).extracting(StageTiming::stage).containsExactly("download", "parse");
+		assertThat(timings.stages()).allSatisfy(stage ->
+			assertThat(stage.wallNanos()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(20)));
+		assertThat(timings.totalWallNanos()).isGreaterThanOrEqualTo(
+			timings.stages().get(0).wallNanos() + timings.stages().get(1).wallNanos());
+		assertThat(timings.bytesDownloaded()).isEqualTo(1024);
+		assertThat(timings.endpoints()).isEqualTo(3);
+		assertThat(timings.schemasConverted()).isEqualTo(7);
+		assertThat(timings.snapshotHit()).isFalse();
+	}
+
+	@Test
+	void failedStageIsStillTimed() {
+		IngestionTimer timer = new IngestionTimer();
+
+		assertThatThrownBy(() -> timer.stage("parse", () -> {
+			sleep(10);
+			throw new IllegalStateException("broken");
+		})).hasMessage("broken");
+
+		StageTiming parse = timer.finish(0, 0, 0, false).stages().get(0);
+		assertThat(parse.stage()).isEqualTo("parse");
+		assertThat(parse.wallNanos()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(10));
+	}
+
+	@Test
+	void workerOnTheOwnerThreadIsNotCountedTwice() {
+		IngestionTimer timer = new IngestionTimer();
+
+		timer.stage("convert", () -> timer.worker("convert", () -> spin(50)));
+		assertThat(timer.worker("other", () -> "inline")).isEqualTo("inline");
+
+		IngestionTimings timings = timer.finish(0, 0, 0, false);
+		assertThat(timings.stages()).extracting(StageTiming::stage).containsExactly("convert");
+		assertThat(timings.totalCpuNanos()).isEqualTo(timings.stages().get(0).cpuNanos());
+	}
+
+	@Test
+	void workerOnAnotherThreadAddsCpuAndAllocationButNotWallTime() {
+		assumeTrue(ManagementFactory.getThreadMXBean().isCurrentThreadCpuTimeSupported());
+		IngestionTimer timer = new IngestionTimer();
+
+		CompletableFuture.supplyAsync(() -> timer.worker("convert", () -> {
+			spin(50);
+			return new byte[1 << 20];
+		})).join();
+
+		StageTiming convert = timer.finish(0, 0, 0, true).stages().get(0);
+		assertThat(convert.stage()).isEqualTo("convert");
+		assertThat(convert.wallNanos()).isZero();
+		assertThat(convert.cpuNanos()).isGreaterThan(0);
+		if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+				&& threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+			assertThat(convert.allocatedBytes()).isGreaterThanOrEqualTo(1 << 20);
+		}
+	}
+
+	@Test
+	void totalsAreTheSumOfStages() {
+		IngestionTimer timer = new IngestionTimer();
+		timer.stage("parse", () -> spin(10));
+		timer.stage("analyze", () -> new byte[64 * 1024]);
+
+		IngestionTimings timings = timer.finish(0, 0, 0, true);
+
+		assertThat(timings.totalCpuNanos()).isEqualTo(
+			timings.stages().stream().mapToLong(StageTiming::cpuNanos).sum());
+		assertThat(timings.totalAllocatedBytes()).isEqualTo(
+			timings.stages().stream().mapToLong(StageTiming::allocatedBytes).sum());
+		assertThat(timings.snapshotHit()).isTrue();
+		timings.printSummary();
+	}
+
+	@Test
+	void unmeasurableThreadIsReportedAsUnavailableNotZero() throws InterruptedException {
+		StageTiming[] parse = new StageTiming[1];
+		IngestionTimings[] timings = new IngestionTimings[1];
+		// Virtual threads have no per-thread CPU time (and, on some JDKs, no allocation counter)
+		Thread.ofVirtual().start(() -> {
+			IngestionTimer timer = new IngestionTimer();
+			timer.stage("parse", () -> {
+				spin(20);
+				return new byte[1 << 20];
+			});
+			timings[0] = timer.finish(0, 0, 0, false);
+			parse[0] = timings[0].stages().get(0);
+		}).join();
+
+		long cpu = parse[0].cpuNanos();
+		long allocated = parse[0].allocatedBytes();
+		assertThat(cpu == IngestionTimings.UNAVAILABLE || cpu > 0).as("cpu %d", cpu).isTrue();
+		assertThat(allocated == IngestionTimings.UNAVAILABLE || allocated >= 1 << 20)
+			.as("allocated %d", allocated).isTrue();
+		assertThat(timings[0].totalCpuNanos()).isEqualTo(parse[0].cpuNanos());
+		timings[0].printSummary();
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static long spin(long millis) {
+		long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+		long count = 0;
+		while (System.nanoTime() < end) {
+			count++;
+		}
+		return count;
+	}
+}
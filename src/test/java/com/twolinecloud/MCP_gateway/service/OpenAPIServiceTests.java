@@ -0,0 +1,266 @@
+package com.twolinecloud.MCP_gateway.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sun.net.httpserver.HttpServer;
+import com.twolinecloud.MCP_gateway.config.RestClientConfig;
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer;
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIAnalyzer.AnalysisResult;
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIDownloader;
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPIFileManager;
+import com.twolinecloud.MCP_gateway.openapi.parser.OpenAPISpecParser;
+import com.twolinecloud.MCP_gateway.openapi.schema.EndpointSchemas;
+import com.twolinecloud.MCP_gateway.openapi.schema.SchemaCache;
+import com.twolinecloud.MCP_gateway.openapi.schema.SchemaConverter;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidationSchema;
+import com.twolinecloud.MCP_gateway.openapi.schema.ValidatorInterner;
+import com.twolinecloud.MCP_gateway.openapi.schema.compiler.SchemaCompiler;
+import com.twolinecloud.MCP_gateway.openapi.schema.snapshot.SchemaSnapshot;
+import com.twolinecloud.MCP_gateway.openapi.schema.snapshot.SchemaSnapshotCodec;
+import com.twolinecloud.MCP_gateway.openapi.schema.validator.ArrayValidator;
+import com.twolinecloud.MCP_gateway.openapi.schema.validator.ObjectValidator;
+import com.twolinecloud.MCP_gateway.openapi.schema.validator.ReferenceValidator;
+import com.twolinecloud.MCP_gateway.service.IngestionTimings.StageTiming;
+import com.twolinecloud.MCP_gateway.service.OpenAPIService.OpenAPIAnalysisWithSchemas;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.swagger.v3.oas.models.OpenAPI;
+
+class OpenAPIServiceTests {
+
+	private static final String SPEC = """
+		{
+		  "openapi": "3.0.3",
+		  "info": {"title": "pets", "version": "1"},
+		  "paths": {
+		    "/pets": {
+		      "post": {
+		        "operationId": "createPet",
+		        "requestBody": {"content": {"application/json": {"schema": {"$ref": "#/components/schemas/Pet"}}}},
+		        "responses": {"201": {"description": "created",
+		          "content": {"application/json": {"schema": {"$ref": "#/components/schemas/Pet"}}}}}
+		      }
+		    },
+		    "/pets/{id}": {
+		      "put": {
+		        "operationId": "updatePet",
+		        "parameters": [{"name": "id", "in": "path", "required": true, "schema": {"type": "integer"}}],
+		        "requestBody": {"content": {"application/json": {"schema": {"$ref": "#/components/schemas/Pet"}}}},
+		        "responses": {"200": {"description": "ok"}}
+		      }
+		    },
+		    "/dogs": {
+		      "post": {
+		        "operationId": "createDog",
+		        "requestBody": {"content": {"application/json": {"schema": {"$ref": "#/components/schemas/Dog"}}}},
+		        "responses": {"200": {"description": "ok"}}
+		      }
+		    },
+		    "/animals": {
+		      "post": {
+		        "operationId": "createAnimal",
+		        "requestBody": {"content": {"application/json": {"schema": {"$ref": "#/components/schemas/Animal"}}}},
+		        "responses": {"200": {"description": "ok"}}
+		      }
+		    },
+		    "/trees": {
+		      "post": {
+		        "operationId": "createTree",
+		        "requestBody": {"content": {"application/json": {"schema": {"$ref": "#/components/schemas/Node"}}}},
+		        "responses": {"200": {"description": "ok",
+		          "content": {"application/json": {"schema": {"$ref": "#/components/schemas/A"}}}}}
+		      }
+		    }
+		  },
+		  "components": {"schemas": {
+		    "Category": {"type": "object", "required": ["id"],
+		      "properties": {"id": {"type": "integer"}, "name": {"type": "string"}}},
+		    "Pet": {"type": "object", "required": ["name"],
+		      "properties": {"name": {"type": "string"}, "category": {"$ref": "#/components/schemas/Category"},
+		        "tags": {"type": "array", "items": {"type": "string"}}}},
+		    "Dog": {"allOf": [{"$ref": "#/components/schemas/Pet"},
+		      {"type": "object", "required": ["bark"], "properties": {"bark": {"type": "boolean"}}}]},
+		    "Cat": {"type": "object", "required": ["kind"],
+		      "properties": {"kind": {"type": "string"}, "category": {"$ref": "#/components/schemas/Category"}}},
+		    "Animal": {"oneOf": [{"$ref": "#/components/schemas/Dog"}, {"$ref": "#/components/schemas/Cat"}],
+		      "discriminator": {"propertyName": "kind",
+		        "mapping": {"dog": "#/components/schemas/Dog", "cat": "#/components/schemas/Cat"}}},
+		    "Node": {"type": "object", "required": ["value"],
+		      "properties": {"value": {"type": "integer"},
+		        "children": {"type": "array", "items": {"$ref": "#/components/schemas/Node"}}}},
+		    "A": {"type": "object", "properties": {"b": {"$ref": "#/components/schemas/B"}}},
+		    "B": {"type": "object", "properties": {"a": {"$ref": "#/components/schemas/A"}}}
+		  }}
+		}
+		""";
+
+	@Test
+	void parallelAndSequentialConversionProduceTheSameSchemas() throws IOException {
+		Map<String, EndpointSchemas> parallel = convert(true);
+		Map<String, EndpointSchemas> sequential = convert(false);
+
+		assertThat(parallel.keySet()).containsExactlyElementsOf(sequential.keySet());
+		for (String key : sequential.keySet()) {
+			EndpointSchemas expected = sequential.get(key);
+			EndpointSchemas actual = parallel.get(key);
+			assertThat(actual.parameters()).as(key).hasSameSizeAs(expected.parameters());
+			assertThat(actual.responses() == null).as(key).isEqualTo(expected.responses() == null);
+		}
+		// The codec stores the validator graph node by node, sharing and recursion included
+		assertThat(encode(parallel)).isEqualTo(encode(sequential));
+	}
+
+	@Test
+	void sharedAndRecursiveComponentsAreLinkedInBothModes() {
+		for (boolean parallel : new boolean[] {true, false}) {
+			Map<String, EndpointSchemas> schemas = convert(parallel);
+
+			ValidationSchema created = schemas.get("POST /pets").requestBody().schema();
+			ValidationSchema updated = schemas.get("PUT /pets/{id}").requestBody().schema();
+			assertThat(updated).as("parallel=%s", parallel).isSameAs(created);
+			assertThat(schemas.get("POST /pets").responses().get(0).schema()).isSameAs(created);
+
+			// Components are interned when converted: the endpoint uses the component, the cycle closes on it
+			ObjectValidator node = (ObjectValidator) schemas.get("POST /trees").requestBody().schema();
+			ReferenceValidator reference = (ReferenceValidator) ((ArrayValidator) node.getPropertySchema("children")).getItemsSchema();
+			assertThat(reference.getTarget()).as("parallel=%s", parallel).isSameAs(node);
+			assertThat(node.validate(Map.of("value", 1, "children", List.of(
+				Map.of("value", 2, "children", List.of(Map.of("children", List.of())))))).getErrors().get(0).getFieldPath())
+				.isEqualTo("children[0].children[0].value");
+
+			ValidationSchema a = schemas.get("POST /trees").responses().get(0).schema();
+			assertThat(a.validate(Map.of("b", Map.of("a", Map.of("b", Map.of())))).isValid()).isTrue();
+			assertThat(a.validate(Map.of("b", Map.of("a", List.of()))).isValid()).isFalse();
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = {true, false})
+	void notModifiedSpecIsNeitherParsedNorConvertedAgain(boolean lazy, @TempDir Path directory) throws IOException {
+		HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/pets.json", exchange -> {
+			try (exchange) {
+				if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+					exchange.sendResponseHeaders(304, -1);
+					return;
+				}
+				byte[] body = SPEC.getBytes(StandardCharsets.UTF_8);
+				exchange.getResponseHeaders().set("ETag", "\"v1\"");
+				exchange.sendResponseHeaders(200, body.length);
+				try (OutputStream out = exchange.getResponseBody()) {
+					out.write(body);
+				}
+			}
+		});
+		server.start();
+		try {
+			String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/pets.json";
+			// No snapshot to fall back on: only the retained result can skip the work
+			OpenAPIService service = service(directory);
+			ReflectionTestUtils.setField(service, "lazyConversion", lazy);
+			ReflectionTestUtils.setField(service, "snapshotEnabled", false);
+
+			OpenAPIAnalysisWithSchemas first = service.downloadAndSaveWithSchemas(url, "pets", false);
+			OpenAPIAnalysisWithSchemas second = service.downloadAndSaveWithSchemas(url, "pets", false);
+
+			assertThat(first.timings().stages()).extracting(StageTiming::stage).contains("parse");
+			assertThat(second.timings().stages()).extracting(StageTiming::stage).containsExactly("download");
+			assertThat(second.timings().bytesDownloaded()).isZero();
+			assertThat(second.analysisResult()).isSameAs(first.analysisResult());
+			assertThat(second.endpointSchemas()).isSameAs(first.endpointSchemas());
+
+			// Other settings: the spec is still current but is converted again
+			OpenAPIAnalysisWithSchemas withResponses = service.downloadAndSaveWithSchemas(url, "pets", true);
+			assertThat(withResponses.timings().stages()).extracting(StageTiming::stage).contains("parse");
+			assertThat(withResponses.endpointSchemas()).isNotSameAs(first.endpointSchemas());
+		} finally {
+			server.stop(0);
+		}
+	}
+
+	@Test
+	void retainedIngestionsAreBounded(@TempDir Path directory) throws IOException {
+		HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/pets.json", exchange -> {
+			try (exchange) {
+				if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+					exchange.sendResponseHeaders(304, -1);
+					return;
+				}
+				byte[] body = SPEC.getBytes(StandardCharsets.UTF_8);
+				exchange.getResponseHeaders().set("ETag", "\"v1\"");
+				exchange.sendResponseHeaders(200, body.length);
+				try (OutputStream out = exchange.getResponseBody()) {
+					out.write(body);
+				}
+			}
+		});
+		server.start();
+		try {
+			String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/pets.json";
+			OpenAPIService service = service(directory);
+			ReflectionTestUtils.setField(service, "snapshotEnabled", false);
+			ReflectionTestUtils.setField(service, "retainedSize", 1);
+
+			service.downloadAndSaveWithSchemas(url, "pets", false);
+			service.downloadAndSaveWithSchemas(url, "dogs", false);
+
+			// "pets" was dropped for "dogs": the 304 is served by parsing the saved spec
+			OpenAPIAnalysisWithSchemas pets = service.downloadAndSaveWithSchemas(url, "pets", false);
+			assertThat(pets.timings().stages()).extracting(StageTiming::stage).contains("parse");
+
+			OpenAPIAnalysisWithSchemas again = service.downloadAndSaveWithSchemas(url, "pets", false);
+			assertThat(again.timings().stages()).extracting(StageTiming::stage).containsExactly("download");
+		} finally {
+			server.stop(0);
+		}
+	}
+
+	private static OpenAPIService service(Path directory) {
+		RestClientConfig config = new RestClientConfig();
+		OpenAPIDownloader downloader = new OpenAPIDownloader(config.restClient(config.httpClient()), config.httpClient());
+		OpenAPIFileManager fileManager = new OpenAPIFileManager();
+		ReflectionTestUtils.setField(fileManager, "storageDirectory", directory.toString());
+		OpenAPISpecParser parser = new OpenAPISpecParser();
+		SchemaConverter converter = new SchemaConverter(new SchemaCompiler(), new ValidatorInterner(), new SchemaCache());
+		return new OpenAPIService(downloader, new OpenAPIAnalyzer(parser), fileManager, parser, null, converter, null,
+			new SimpleMeterRegistry());
+	}
+
+	private static Map<String, EndpointSchemas> convert(boolean parallel) {
+		OpenAPISpecParser parser = new OpenAPISpecParser();
+		OpenAPIAnalyzer analyzer = new OpenAPIAnalyzer(parser);
+		SchemaConverter converter = new SchemaConverter(new SchemaCompiler(), new ValidatorInterner(), new SchemaCache());
+		OpenAPIService service = new OpenAPIService(
+			null, analyzer, null, parser, null, converter, null, new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(service, "parallelConversion", parallel);
+
+		OpenAPI openAPI = parser.parse(SPEC).openAPI();
+		AnalysisResult analysis = analyzer.analyze(openAPI);
+		return service.convertAllEndpointSchemas(
+			converter.createContext("spec", openAPI), analysis, true, new IngestionTimer());
+	}
+
+	private static byte[] encode(Map<String, EndpointSchemas> schemas) throws IOException {
+		AnalysisResult analysis = new AnalysisResult("pets", "1", List.of(), Map.of());
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		SchemaSnapshotCodec.write(new SchemaSnapshot("spec", "test", true, analysis, schemas), new DataOutputStream(bytes));
+		return bytes.toByteArray();
+	}
+}